@@ -0,0 +1,171 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+/**
+ * WAFLoggingInterceptor 캡처 경로 벤치마크
+ *
+ * legacyCapture: 개선 전 캡처 코드 (split, 문자열 연결, replace 기반 JSON, 빌더)
+ * afterCompletion: 현재 인터셉터 (스레드별 캡처 버퍼, 스트리밍 JSON 인코딩)
+ *
+ * 두 경로 모두 같은 링 버퍼에 발행하며, 요청당 할당량은 gc.alloc.rate.norm으로 비교
+ * 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+public class WAFLoggingInterceptorBenchmark {
+
+    private WAFLogRingBuffer ringBuffer;
+    private WAFLoggingInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WAFLogEventHandler discardingHandler = (wafLog, sequence, endOfBatch) -> { };
+        ringBuffer = new WAFLogRingBuffer(List.of(discardingHandler), new SimpleMeterRegistry(),
+            1 << 16, WAFLogRingBuffer.OverflowPolicy.SHED_WHEN_FULL, 1.0, 1.0, 0);
+        ringBuffer.start();
+        interceptor = new WAFLoggingInterceptor(ringBuffer);
+
+        request = new MockHttpServletRequest("GET", "/api/logs/recent");
+        request.setQueryString("page=0&size=20&sort=timestamp,desc");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1, 10.0.0.2");
+        request.addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/126.0");
+        request.addHeader("Referer", "https://console.example.com/dashboard?tab=\"logs\"");
+        request.addHeader("Accept", "application/json, text/plain, */*");
+        request.addHeader("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        request.addHeader("Connection", "keep-alive");
+
+        response = new MockHttpServletResponse();
+        response.setStatus(200);
+        response.setContentType("application/json");
+        response.setHeader("X-WAF-Status", "SUCCESS");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        ringBuffer.stop();
+    }
+
+    @Benchmark
+    public void afterCompletion() throws Exception {
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    @Benchmark
+    public void legacyCapture() {
+        request.setAttribute("waf.request.start.time", System.currentTimeMillis());
+        ringBuffer.publish(LegacyCapture.createLog(request, response));
+    }
+
+    /**
+     * 개선 전 WAFLoggingInterceptor.createAndSaveLog의 캡처 로직 (비교 기준)
+     */
+    static final class LegacyCapture {
+
+        static WAFLog createLog(HttpServletRequest request, HttpServletResponse response) {
+            Long startTime = (Long) request.getAttribute("waf.request.start.time");
+            long responseTime = startTime != null ? System.currentTimeMillis() - startTime : 0;
+
+            String sourceIp = getClientIp(request);
+            String requestUri = getFullRequestUri(request);
+            String riskScoreHeader = response.getHeader("X-WAF-Risk-Score");
+
+            return WAFLog.builder()
+                .sourceIp(sourceIp)
+                .httpMethod(request.getMethod())
+                .requestUri(requestUri)
+                .userAgent(request.getHeader("User-Agent"))
+                .status(determineLogStatus(response))
+                .responseTimeMs(responseTime)
+                .responseStatusCode(response.getStatus())
+                .attackType(response.getHeader("X-WAF-Attack-Type"))
+                .riskScore(riskScoreHeader != null ? Integer.parseInt(riskScoreHeader) : null)
+                .ruleId(response.getHeader("X-WAF-Rule-ID"))
+                .ruleName(response.getHeader("X-WAF-Rule-Name"))
+                .blockReason(response.getHeader("X-WAF-Block-Reason"))
+                .payloadSize(getPayloadSize(request))
+                .geoCountry(sourceIp.startsWith("10.") ? "KR" : null)
+                .sessionId(request.getSession(false) != null ? request.getSession().getId() : null)
+                .metadata(buildMetadata(request, response))
+                .build();
+        }
+
+        private static WAFLog.LogStatus determineLogStatus(HttpServletResponse response) {
+            String wafStatus = response.getHeader("X-WAF-Status");
+            if (wafStatus != null) {
+                switch (wafStatus.toUpperCase()) {
+                    case "BLOCKED":
+                        return WAFLog.LogStatus.BLOCKED;
+                    case "WARNING":
+                        return WAFLog.LogStatus.WARNING;
+                    case "SUCCESS":
+                        return WAFLog.LogStatus.SUCCESS;
+                }
+            }
+            return WAFLog.LogStatus.SUCCESS;
+        }
+
+        private static String getClientIp(HttpServletRequest request) {
+            String xForwardedFor = request.getHeader("X-Forwarded-For");
+            if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+                return xForwardedFor.split(",")[0].trim();
+            }
+            return request.getRemoteAddr();
+        }
+
+        private static String getFullRequestUri(HttpServletRequest request) {
+            String uri = request.getRequestURI();
+            String queryString = request.getQueryString();
+            if (queryString != null && !queryString.isEmpty()) {
+                return uri + "?" + queryString;
+            }
+            return uri;
+        }
+
+        private static Long getPayloadSize(HttpServletRequest request) {
+            String contentLength = request.getHeader("Content-Length");
+            if (contentLength != null && !contentLength.isEmpty()) {
+                return Long.parseLong(contentLength);
+            }
+            return null;
+        }
+
+        private static String buildMetadata(HttpServletRequest request, HttpServletResponse response) {
+            StringBuilder metadata = new StringBuilder("{");
+            addMetadataField(metadata, "referer", request.getHeader("Referer"));
+            addMetadataField(metadata, "accept", request.getHeader("Accept"));
+            addMetadataField(metadata, "accept_language", request.getHeader("Accept-Language"));
+            addMetadataField(metadata, "accept_encoding", request.getHeader("Accept-Encoding"));
+            addMetadataField(metadata, "connection", request.getHeader("Connection"));
+            addMetadataField(metadata, "response_content_type", response.getHeader("Content-Type"));
+            metadata.append("}");
+            return metadata.toString();
+        }
+
+        private static void addMetadataField(StringBuilder metadata, String key, String value) {
+            if (value != null && !value.isEmpty()) {
+                if (metadata.length() > 1) {
+                    metadata.append(",");
+                }
+                metadata.append("\"").append(key).append("\":\"")
+                    .append(value.replace("\"", "\\\"")).append("\"");
+            }
+        }
+    }
+}
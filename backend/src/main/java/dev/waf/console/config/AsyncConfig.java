@@ -5,6 +5,7 @@ import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -34,6 +35,11 @@ import java.util.concurrent.ThreadPoolExecutor;
  * 3. CPU Pool: CPU 집약적 작업 (계산, 분석)
  * 4. Report Pool: 리포트 생성 (리소스 제한)
  *
+ * 가상 스레드 모드 (app.async.virtual-threads.enabled, JDK 21 이상):
+ * - General/IO 실행자를 작업마다 가상 스레드를 만드는 실행자로 교체 (큐/거부 정책 없음)
+ * - 동시성은 풀 크기 대신 SinkConcurrencyLimiter의 싱크별 세마포어로 제한
+ * - CPU/Report 실행자는 자원 보호를 위해 플랫폼 스레드 풀 유지
+ *
  * @author WAF Console Team
  * @since 1.0.0
  */
@@ -57,12 +63,19 @@ public class AsyncConfig implements AsyncConfigurer {
     @Value("${app.async.thread-name-prefix:WAF-Async-}")
     private String threadNamePrefix;
 
+    @Value("${app.async.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
     /**
      * 기본 비동기 실행자 (일반적인 비동기 작업용)
      */
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (useVirtualThreads("General")) {
+            return createVirtualThreadExecutor("General");
+        }
+
         ThreadPoolTaskExecutor executor = createBaseExecutor(
             "General",
             corePoolSize,
@@ -87,6 +100,10 @@ public class AsyncConfig implements AsyncConfigurer {
      */
     @Bean(name = "ioTaskExecutor")
     public Executor ioTaskExecutor() {
+        if (useVirtualThreads("IO")) {
+            return createVirtualThreadExecutor("IO");
+        }
+
         ThreadPoolTaskExecutor executor = createBaseExecutor(
             "IO",
             corePoolSize * 2,    // I/O 작업은 더 많은 스레드 허용
@@ -174,6 +191,37 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 가상 스레드 실행자 생성
+     * 작업마다 새 가상 스레드를 만들고, 컨텍스트 전파 데코레이터는 플랫폼 풀과 동일하게 적용
+     */
+    private SimpleAsyncTaskExecutor createVirtualThreadExecutor(String poolName) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix + poolName + "-VT-");
+
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(30_000);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+
+        log.info("{} async executor configured: virtual threads (concurrency limited per sink)", poolName);
+        return executor;
+    }
+
+    /**
+     * 가상 스레드 모드 사용 여부
+     * 설정이 켜져 있어도 JDK 21 미만 런타임이면 플랫폼 스레드 풀로 대체
+     */
+    private boolean useVirtualThreads(String poolName) {
+        if (!virtualThreadsEnabled) {
+            return false;
+        }
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual threads requested for {} executor but runtime is Java {} - using platform thread pool",
+                poolName, Runtime.version().feature());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * 전역 비동기 예외 핸들러
      */
@@ -318,6 +366,8 @@ public class AsyncConfig implements AsyncConfigurer {
                     threadPool.getQueue().size(),
                     ((ThreadPoolTaskExecutor) executor).getQueueCapacity(),
                     threadPool.getCompletedTaskCount());
+            } else if (executor instanceof SimpleAsyncTaskExecutor) {
+                log.info("{} Executor - virtual threads (no pool, concurrency limited per sink)", poolName);
             }
         }
 
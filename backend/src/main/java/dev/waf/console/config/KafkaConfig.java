@@ -1,5 +1,10 @@
 package dev.waf.console.config;
 
+import dev.waf.console.infrastructure.kafka.serde.WAFEventBinaryCodec;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventDeserializer;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSchemaRegistry;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSerializer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
@@ -17,7 +22,6 @@ import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
@@ -39,20 +43,34 @@ import java.util.Map;
  * - waf.metrics: 성능 메트릭
  * - waf.audit: 감사 로그
  *
+ * 값 직렬화:
+ * - 스키마가 등록된 WAFEvent는 스키마 기반 바이너리 + 타입/버전 헤더 (kafka/schemas/*.json)
+ * - 그 외 값과 헤더 없는 기존 메시지는 JSON
+ *
  * @author WAF Console Team
  * @since 2.0.0
  */
 @Slf4j
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final WAFEventSchemaRegistry wafEventSchemaRegistry;
+    private final WAFEventBinaryCodec wafEventBinaryCodec;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id:waf-console-group}")
     private String groupId;
 
+    @Value("${app.kafka.serde.binary.enabled:true}")
+    private boolean binaryEventsEnabled;
+
+    @Value("${app.kafka.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
     @Value("${waf.console.events.kafka.topics.attacks:waf.attacks}")
     private String attacksTopic;
 
@@ -93,8 +111,6 @@ public class KafkaConfig {
 
         // 기본 연결 설정
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
         // 성능 최적화
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);        // 16KB 배치
@@ -111,8 +127,10 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
         configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 120000);
 
-        log.info("Kafka Producer configured with high-throughput and durability settings");
-        return new DefaultKafkaProducerFactory<>(configProps);
+        log.info("Kafka Producer configured with high-throughput and durability settings, binary WAF events: {}",
+            binaryEventsEnabled);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+            new WAFEventSerializer(wafEventSchemaRegistry, wafEventBinaryCodec, binaryEventsEnabled));
     }
 
     /**
@@ -141,11 +159,8 @@ public class KafkaConfig {
         // 기본 연결 설정
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
 
-        // JSON 역직렬화 설정 (에러 핸들링 포함)
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        // 바이너리/JSON 역직렬화 설정 (JSON 대체 경로용 신뢰 패키지, 에러 핸들링은 valueDeserializer 참고)
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "dev.waf.console.event");
 
         // 실시간 처리 최적화
@@ -160,7 +175,14 @@ public class KafkaConfig {
         props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, 10000);    // 10초 하트비트
 
         log.info("Kafka Consumer configured for real-time processing");
-        return new DefaultKafkaConsumerFactory<>(props);
+        return new DefaultKafkaConsumerFactory<>(props, StringDeserializer::new, this::valueDeserializer);
+    }
+
+    /**
+     * 값 역직렬화기 (헤더로 바이너리/JSON 판별, 실패 레코드는 ErrorHandlingDeserializer가 null로 전달)
+     */
+    private ErrorHandlingDeserializer<Object> valueDeserializer() {
+        return new ErrorHandlingDeserializer<>(new WAFEventDeserializer(wafEventSchemaRegistry, wafEventBinaryCodec));
     }
 
     /**
@@ -193,6 +215,39 @@ public class KafkaConfig {
         return factory;
     }
 
+    /**
+     * 배치 Kafka Listener Container Factory
+     *
+     * 고빈도 토픽(공격, 접근 로그, 메트릭)용
+     * - poll 한 번의 레코드를 List로 전달하여 ES Bulk 인덱싱, 알림 일괄 저장, 브로드캐스트 병합에 사용
+     * - 배치 처리가 끝난 뒤 한 번만 커밋 (레코드마다 커밋 왕복 없음)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props, StringDeserializer::new, this::valueDeserializer));
+
+        int concurrency = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        factory.setConcurrency(concurrency);
+
+        // 배치 단위 수동 커밋 (acknowledge 호출 시 poll 단위로 커밋)
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+            new FixedBackOff(5000L, 3L)
+        ));
+
+        factory.setBatchListener(true);
+
+        log.info("Kafka batch Listener Container configured with concurrency: {}, maxPollRecords: {}",
+            concurrency, batchMaxPollRecords);
+        return factory;
+    }
+
     /**
      * WAF 공격 탐지 이벤트 토픽
      */
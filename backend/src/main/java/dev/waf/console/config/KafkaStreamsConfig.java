@@ -0,0 +1,131 @@
+package dev.waf.console.config;
+
+import dev.waf.console.infrastructure.kafka.serde.WAFEventBinaryCodec;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventDeserializer;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSchemaRegistry;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSerializer;
+import dev.waf.console.infrastructure.kafka.streams.WAFAggregationTopology;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams 윈도우 집계 설정
+ *
+ * waf.attacks, waf.logs의 시간 윈도우 집계를 각 노드의 로컬 상태 저장소에 유지하여
+ * 대시보드 집계 조회를 MySQL 대신 대화형 쿼리로 처리 (WAFAggregationTopology)
+ * - application-server를 지정하면 다른 노드가 가진 파티션의 집계도 HTTP로 모아 응답
+ * - 상태 저장소는 변경 로그 토픽으로 복구되므로 state-dir은 노드 로컬 디스크면 충분
+ *
+ * @author WAF Console Team
+ * @since 2.0.0
+ */
+@Slf4j
+@Configuration
+@EnableKafkaStreams
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.kafka.streams", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaStreamsConfig {
+
+    private final WAFEventSchemaRegistry wafEventSchemaRegistry;
+    private final WAFEventBinaryCodec wafEventBinaryCodec;
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${app.kafka.streams.application-id:waf-console-aggregates}")
+    private String applicationId;
+
+    @Value("${app.kafka.streams.state-dir:${java.io.tmpdir}/waf-console-streams}")
+    private String stateDir;
+
+    @Value("${app.kafka.streams.application-server:}")
+    private String applicationServer;
+
+    @Value("${app.kafka.streams.num-stream-threads:1}")
+    private int numStreamThreads;
+
+    @Value("${app.kafka.streams.windows.tumbling-size-ms:60000}")
+    private long tumblingSizeMs;
+
+    @Value("${app.kafka.streams.windows.hopping-size-ms:300000}")
+    private long hoppingSizeMs;
+
+    @Value("${app.kafka.streams.windows.hopping-advance-ms:60000}")
+    private long hoppingAdvanceMs;
+
+    @Value("${app.kafka.streams.windows.grace-ms:30000}")
+    private long graceMs;
+
+    @Value("${app.kafka.streams.windows.retention-ms:86400000}")
+    private long retentionMs;
+
+    @Value("${waf.console.events.kafka.topics.attacks:waf.attacks}")
+    private String attacksTopic;
+
+    @Value("${waf.console.events.kafka.topics.logs:waf.logs}")
+    private String logsTopic;
+
+    /**
+     * Streams 기본 설정 (@EnableKafkaStreams의 StreamsBuilderFactoryBean이 사용)
+     */
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, numStreamThreads);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.LongSerde.class);
+
+        // 역직렬화 실패 레코드는 로그만 남기고 건너뜀 (리스너의 ErrorHandlingDeserializer와 같은 정책)
+        props.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+            LogAndContinueExceptionHandler.class);
+
+        if (!applicationServer.isBlank()) {
+            props.put(StreamsConfig.APPLICATION_SERVER_CONFIG, applicationServer);
+        }
+
+        log.info("Kafka Streams configured: applicationId={}, stateDir={}, applicationServer={}",
+            applicationId, stateDir, applicationServer.isBlank() ? "(single node)" : applicationServer);
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    /**
+     * 윈도우 집계 토폴로지 등록
+     */
+    @Bean
+    public WAFAggregationTopology wafAggregationTopology(StreamsBuilder streamsBuilder) {
+        WAFAggregationTopology topology = new WAFAggregationTopology(attacksTopic, logsTopic, eventSerde(),
+            Duration.ofMillis(tumblingSizeMs), Duration.ofMillis(hoppingSizeMs), Duration.ofMillis(hoppingAdvanceMs),
+            Duration.ofMillis(graceMs), Duration.ofMillis(retentionMs));
+        topology.build(streamsBuilder);
+        return topology;
+    }
+
+    /**
+     * 이벤트 값 Serde (리스너와 같은 바이너리/JSON 겸용 역직렬화기)
+     */
+    private Serde<Object> eventSerde() {
+        WAFEventDeserializer deserializer = new WAFEventDeserializer(wafEventSchemaRegistry, wafEventBinaryCodec);
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "dev.waf.console.event"), false);
+        return Serdes.serdeFrom(new WAFEventSerializer(wafEventSchemaRegistry, wafEventBinaryCodec, true), deserializer);
+    }
+}
@@ -3,11 +3,15 @@ package dev.waf.console.config;
 import dev.waf.console.infrastructure.logging.WAFLoggingInterceptor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 /**
  * Web MVC 설정
  *
@@ -15,6 +19,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * - CORS 설정
  * - 인터셉터 등록
  * - 정적 리소스 설정
+ * - 비동기 요청 제한 시간 (스트리밍 로그 내보내기)
  */
 @Slf4j
 @Configuration
@@ -23,6 +28,9 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     private final WAFLoggingInterceptor wafLoggingInterceptor;
 
+    @Value("${spring.mvc.async.request-timeout:30m}")
+    private Duration asyncRequestTimeout;
+
     /**
      * 인터셉터 등록
      */
@@ -54,4 +62,15 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
         log.info("CORS configured for /api/** paths");
     }
-}
\ No newline at end of file
+
+    /**
+     * 비동기 요청 제한 시간
+     *
+     * StreamingResponseBody 응답은 비동기 요청으로 처리되므로, 지정하지 않으면 서블릿 컨테이너 기본값(30초)에
+     * 대용량 로그 내보내기가 중간에 끊김
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+}
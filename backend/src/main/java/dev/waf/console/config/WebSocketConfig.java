@@ -1,10 +1,13 @@
 package dev.waf.console.config;
 
 import dev.waf.console.infrastructure.security.JwtTokenProvider;
+import dev.waf.console.infrastructure.websocket.CompactSubscriptionInterceptor;
 import dev.waf.console.infrastructure.websocket.JwtHandshakeInterceptor;
+import dev.waf.console.infrastructure.websocket.WebSocketOutboundBackpressure;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -30,6 +33,8 @@ import org.springframework.web.socket.config.annotation.WebSocketTransportRegist
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final WebSocketOutboundBackpressure webSocketOutboundBackpressure;
+    private final CompactSubscriptionInterceptor compactSubscriptionInterceptor;
 
     /**
      * TaskScheduler for WebSocket heartbeat
@@ -73,15 +78,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    /**
+     * 클라이언트 수신 채널 설정
+     * - format: compact 헤더로 구독하면 압축 프레임 목적지로 구독
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(compactSubscriptionInterceptor);
+    }
+
     /**
      * WebSocket transport 설정
      * - 메시지 크기 제한
      * - 전송 버퍼 크기
+     * - 세션별 송신 대기열 (느린 구독자가 송신 채널 스레드를 붙잡지 않도록 배압 정책 적용)
      */
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
         registration.setMessageSizeLimit(128 * 1024);      // 128KB
         registration.setSendBufferSizeLimit(512 * 1024);   // 512KB
         registration.setSendTimeLimit(20 * 1000);          // 20초
+        registration.addDecoratorFactory(webSocketOutboundBackpressure);
     }
 }
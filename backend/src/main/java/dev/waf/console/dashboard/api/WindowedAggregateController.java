@@ -0,0 +1,100 @@
+package dev.waf.console.dashboard.api;
+
+import dev.waf.console.common.dto.ApiResponse;
+import dev.waf.console.dashboard.api.dto.WindowedCountResponse;
+import dev.waf.console.dashboard.service.WindowedAggregateService;
+import dev.waf.console.infrastructure.kafka.streams.WAFAggregationTopology.Aggregate;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 시간 윈도우 집계 API 컨트롤러
+ *
+ * Kafka Streams 상태 저장소의 윈도우 집계(공격 IP/공격 유형/룰/응답 상태 코드별)를 조회
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/dashboard/windows")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard API", description = "WAF 대시보드 데이터 조회 API")
+public class WindowedAggregateController {
+
+    private final WindowedAggregateService windowedAggregateService;
+
+    /**
+     * 윈도우 집계 조회
+     *
+     * @param aggregate 집계 종류 (attacks-by-source-ip, attacks-by-type, attacks-by-rule, requests-by-status)
+     * @param minutes 조회할 시간 범위 (기본값: 60분)
+     * @param limit 윈도우별 상위 키 개수 (기본값: 10개)
+     * @param scope cluster면 모든 노드의 집계를 합침, local이면 이 노드의 저장소만 조회
+     * @return 윈도우별 전체 건수와 상위 키 목록
+     */
+    @GetMapping("/{aggregate}")
+    @Operation(
+        summary = "윈도우 집계 조회",
+        description = "최근 시간 범위의 윈도우별 집계를 조회합니다. 공격 IP별은 5분 호핑 윈도우, 공격 유형/룰/응답 상태 코드별은 1분 텀블링 윈도우입니다."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "윈도우 집계 조회 성공"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 파라미터"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "집계 저장소 조회 불가 (비활성화 또는 재조정 중)"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResponse<List<WindowedCountResponse>>> getWindows(
+        @Parameter(description = "집계 종류", example = "attacks-by-type")
+        @PathVariable String aggregate,
+        @Parameter(description = "조회할 시간 범위 (분 단위)", example = "60")
+        @RequestParam(defaultValue = "60") int minutes,
+        @Parameter(description = "윈도우별 상위 키 개수", example = "10")
+        @RequestParam(defaultValue = "10") int limit,
+        @Parameter(description = "조회 범위 (cluster, local)", example = "cluster")
+        @RequestParam(defaultValue = "cluster") String scope
+    ) {
+        log.debug("GET /api/dashboard/windows/{}?minutes={}&limit={}&scope={} - Retrieving windowed aggregates",
+            aggregate, minutes, limit, scope);
+
+        // 입력 검증
+        Optional<Aggregate> selected = Aggregate.fromStoreName(aggregate);
+        if (selected.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("알 수 없는 집계 종류입니다: " + aggregate));
+        }
+        if (minutes <= 0 || minutes > 1440) { // 최대 하루 (저장소 보존 기간)
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("시간 범위는 1~1440분 사이여야 합니다."));
+        }
+        if (limit <= 0 || limit > 100) { // 최대 100개
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("개수는 1~100 사이여야 합니다."));
+        }
+
+        try {
+            List<WindowedCountResponse> windows = windowedAggregateService.getWindows(
+                selected.get(), minutes, limit, "local".equals(scope));
+            return ResponseEntity.ok(ApiResponse.success(windows));
+        } catch (IllegalStateException e) {
+            log.warn("Windowed aggregates unavailable: aggregate={}, reason={}", aggregate, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("윈도우 집계 조회 불가: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to retrieve windowed aggregates for aggregate={}", aggregate, e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("윈도우 집계 조회 실패: " + e.getMessage()));
+        }
+    }
+}
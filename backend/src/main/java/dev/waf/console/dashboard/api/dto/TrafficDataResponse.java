@@ -20,5 +20,23 @@ public record TrafficDataResponse(
     long allowedRequests,
 
     @Schema(description = "평균 응답 시간 (ms)", example = "42.5")
-    double responseTime
+    double responseTime,
+
+    @Schema(description = "응답 시간 중앙값 (ms)", example = "11.8")
+    double p50ResponseTime,
+
+    @Schema(description = "응답 시간 90 백분위수 (ms)", example = "45.0")
+    double p90ResponseTime,
+
+    @Schema(description = "응답 시간 99 백분위수 (ms)", example = "190.0")
+    double p99ResponseTime,
+
+    @Schema(description = "응답 시간 99.9 백분위수 (ms)", example = "640.0")
+    double p999ResponseTime,
+
+    @Schema(description = "고유 클라이언트 IP 수 (HyperLogLog 추정치)", example = "87")
+    long uniqueVisitors,
+
+    @Schema(description = "고유 공격 IP 수 (HyperLogLog 추정치)", example = "5")
+    long uniqueAttackers
 ) {}
@@ -22,6 +22,27 @@ public record WAFStatsResponse(
     @Schema(description = "평균 응답 시간 (ms)", example = "45.6")
     double avgResponseTime,
 
+    @Schema(description = "최근 1시간 응답 시간 중앙값 (ms)", example = "12.4")
+    double p50ResponseTime,
+
+    @Schema(description = "최근 1시간 응답 시간 90 백분위수 (ms)", example = "48.0")
+    double p90ResponseTime,
+
+    @Schema(description = "최근 1시간 응답 시간 99 백분위수 (ms)", example = "210.5")
+    double p99ResponseTime,
+
+    @Schema(description = "최근 1시간 응답 시간 99.9 백분위수 (ms)", example = "880.0")
+    double p999ResponseTime,
+
     @Schema(description = "서버 가동 시간 (초)", example = "3600")
-    long uptime
+    long uptime,
+
+    @Schema(description = "최근 24시간 고유 클라이언트 IP 수 (HyperLogLog 추정치)", example = "1873")
+    long uniqueVisitors,
+
+    @Schema(description = "최근 24시간 고유 공격 IP 수 (HyperLogLog 추정치)", example = "57")
+    long uniqueAttackers,
+
+    @Schema(description = "최근 24시간 고유 세션 수 (HyperLogLog 추정치)", example = "2410")
+    long uniqueSessions
 ) {}
@@ -0,0 +1,37 @@
+package dev.waf.console.dashboard.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시간 윈도우 집계 응답 DTO
+ */
+@Schema(description = "시간 윈도우 집계")
+public record WindowedCountResponse(
+    @Schema(description = "윈도우 시작", example = "2024-12-10T14:00:00")
+    LocalDateTime windowStart,
+
+    @Schema(description = "윈도우 끝 (미포함)", example = "2024-12-10T14:01:00")
+    LocalDateTime windowEnd,
+
+    @Schema(description = "윈도우 내 전체 건수", example = "152")
+    long total,
+
+    @Schema(description = "건수 상위 키 목록")
+    List<KeyCount> top
+) {
+
+    /**
+     * 키별 건수
+     */
+    @Schema(description = "키별 건수")
+    public record KeyCount(
+        @Schema(description = "집계 키 (공격 IP, 공격 유형, 룰 ID, 상태 코드)", example = "SQL_INJECTION")
+        String key,
+
+        @Schema(description = "건수", example = "37")
+        long count
+    ) {}
+}
@@ -7,8 +7,10 @@ import dev.waf.console.dashboard.api.dto.TrafficDataResponse;
 import dev.waf.console.dashboard.api.dto.WAFStatsResponse;
 import dev.waf.console.dashboard.api.dto.WAFStatusResponse;
 import dev.waf.console.waflog.domain.WAFLog;
-import dev.waf.console.waflog.repository.WAFLogRepository;
+import dev.waf.console.waflog.rollup.WAFLogRollupService;
 import dev.waf.console.waflog.service.WAFLogService;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
+import dev.waf.console.waflog.stats.WAFLatencyTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -41,8 +43,10 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final WAFLogService wafLogService;
     private final CustomRuleService customRuleService;
-    private final WAFLogRepository wafLogRepository;
+    private final WAFLogRollupService wafLogRollupService;
     private final CustomRuleRepository customRuleRepository;
+    private final WAFDistinctTracker wafDistinctTracker;
+    private final WAFLatencyTracker wafLatencyTracker;
 
     // 서버 시작 시간 (uptime 계산용)
     private final Instant serverStartTime = Instant.now();
@@ -57,13 +61,23 @@ public class DashboardServiceImpl implements DashboardService {
         // Uptime 계산 (서버 시작 시간부터 현재까지의 시간)
         long uptime = Duration.between(serverStartTime, Instant.now()).getSeconds();
 
+        // 최근 1시간 응답 시간 분위수 (평균과 같은 기간)
+        WAFLatencyTracker.LatencyPercentiles latency = wafLatencyTracker.percentiles(60);
+
         WAFStatsResponse response = new WAFStatsResponse(
             stats.getTotalCount(),
             stats.getBlockedCount(),
             stats.getSuccessCount(),
             stats.getBlockedPercentage(),
             stats.getAverageResponseTimeMs(),
-            uptime
+            latency.getP50Ms(),
+            latency.getP90Ms(),
+            latency.getP99Ms(),
+            latency.getP999Ms(),
+            uptime,
+            wafDistinctTracker.distinct(WAFDistinctTracker.Metric.CLIENT_IP, 24 * 60),
+            wafDistinctTracker.distinct(WAFDistinctTracker.Metric.ATTACKER_IP, 24 * 60),
+            wafDistinctTracker.distinct(WAFDistinctTracker.Metric.SESSION_ID, 24 * 60)
         );
 
         log.debug("WAF stats retrieved: {} total requests, {} blocked, {  }% block rate",
@@ -107,26 +121,20 @@ public class DashboardServiceImpl implements DashboardService {
         LocalDateTime endTime = LocalDateTime.now();
         LocalDateTime startTime = endTime.minusHours(hours);
 
-        // 1. DB에서 실제 데이터 조회
-        List<Object[]> results = wafLogRepository.getTrafficDataByHour(startTime, endTime);
+        // 1. 시 단위 롤업에서 조회 (원본 로그 양과 무관하게 시간대 수만큼의 행만 읽음)
+        List<WAFLogRollupService.HourlyTraffic> results = wafLogRollupService.hourlyTraffic(startTime, endTime);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00:00");
 
         // 2. 실제 데이터를 Map으로 변환 (timestamp -> TrafficData)
         Map<String, TrafficDataResponse> dataMap = results.stream()
             .collect(Collectors.toMap(
-                row -> (String) row[0], // timestamp (key)
-                row -> new TrafficDataResponse(
-                    (String) row[0],  // DATE_FORMAT returns String
-                    ((Number) row[1]).longValue(),
-                    ((Number) row[2]).longValue(),
-                    ((Number) row[3]).longValue(),
-                    ((Number) row[4]).doubleValue()
-                )
+                traffic -> traffic.getHour().format(formatter), // timestamp (key)
+                traffic -> toTrafficData(traffic, formatter)
             ));
 
         // 3. 시간 범위 내 모든 시간대 생성
         List<TrafficDataResponse> filledData = new ArrayList<>();
         LocalDateTime currentHour = startTime.truncatedTo(ChronoUnit.HOURS);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00:00");
 
         while (currentHour.isBefore(endTime) || currentHour.isEqual(endTime)) {
             String hourKey = currentHour.format(formatter);
@@ -134,7 +142,7 @@ public class DashboardServiceImpl implements DashboardService {
             // 4. 실제 데이터가 있으면 사용, 없으면 0으로 채움
             TrafficDataResponse data = dataMap.getOrDefault(
                 hourKey,
-                new TrafficDataResponse(hourKey, 0L, 0L, 0L, 0.0)
+                new TrafficDataResponse(hourKey, 0L, 0L, 0L, 0.0, 0.0, 0.0, 0.0, 0.0, 0L, 0L)
             );
 
             filledData.add(data);
@@ -146,6 +154,26 @@ public class DashboardServiceImpl implements DashboardService {
         return filledData;
     }
 
+    /**
+     * 시 단위 롤업과 해당 시간대의 응답 시간 분위수, 고유 IP 수로 트래픽 데이터 구성
+     */
+    private TrafficDataResponse toTrafficData(WAFLogRollupService.HourlyTraffic traffic, DateTimeFormatter formatter) {
+        WAFLatencyTracker.LatencyPercentiles latency = wafLatencyTracker.hourly(traffic.getHour());
+        return new TrafficDataResponse(
+            traffic.getHour().format(formatter),
+            traffic.getTotalRequests(),
+            traffic.getBlockedRequests(),
+            traffic.getAllowedRequests(),
+            traffic.getAverageResponseTimeMs(),
+            latency.getP50Ms(),
+            latency.getP90Ms(),
+            latency.getP99Ms(),
+            latency.getP999Ms(),
+            wafDistinctTracker.hourly(WAFDistinctTracker.Metric.CLIENT_IP, traffic.getHour()),
+            wafDistinctTracker.hourly(WAFDistinctTracker.Metric.ATTACKER_IP, traffic.getHour())
+        );
+    }
+
     @Override
     public List<AttackEventResponse> getRecentAttacks(int limit) {
         log.debug("Retrieving recent {} attack events", limit);
@@ -158,7 +186,7 @@ public class DashboardServiceImpl implements DashboardService {
                 log.getId().toString(),
                 log.getTimestamp().toString(),
                 log.getSourceIp() != null ? log.getSourceIp() : "0.0.0.0",
-                log.getRequestUri() != null ? log.getRequestUri() : "/",
+                log.getRequestUri() != null ? log.getFullRequestUri() : "/",
                 log.getAttackType() != null ? log.getAttackType() : "UNKNOWN",
                 mapSeverity(log.getRiskScore()),
                 log.isBlocked(),
@@ -0,0 +1,24 @@
+package dev.waf.console.dashboard.service;
+
+import dev.waf.console.dashboard.api.dto.AttackEventResponse;
+import dev.waf.console.dashboard.api.dto.TrafficDataResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatsResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatusResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 한 시점에 함께 집계한 대시보드 데이터
+ *
+ * @param traffic 스냅샷 설정 시간 범위의 시간대별 트래픽 (오래된 순)
+ * @param attacks 스냅샷 설정 개수만큼의 최근 공격 (최신 순)
+ * @param generatedAt 집계 완료 시각
+ */
+public record DashboardSnapshot(
+    WAFStatsResponse stats,
+    WAFStatusResponse status,
+    List<TrafficDataResponse> traffic,
+    List<AttackEventResponse> attacks,
+    Instant generatedAt
+) {}
@@ -0,0 +1,192 @@
+package dev.waf.console.dashboard.service;
+
+import dev.waf.console.dashboard.api.dto.AttackEventResponse;
+import dev.waf.console.dashboard.api.dto.TrafficDataResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatsResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatusResponse;
+import dev.waf.console.service.WebSocketBroadcastService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 대시보드 스냅샷 서비스
+ *
+ * 대시보드를 보는 사용자 수만큼 통계/상태/트래픽/공격 조회가 반복되지 않도록,
+ * interval-ms마다 한 번 DashboardServiceImpl로 스냅샷을 집계하여 보관하고
+ * /topic/dashboard/stats, /topic/dashboard/status로 푸시함
+ * - REST 조회는 보관된 스냅샷에서 응답 (스냅샷 범위를 넘는 트래픽 시간/공격 개수만 직접 집계)
+ * - 집계는 단일 실행(single-flight): 스냅샷이 없거나 오래되어 여러 요청이 동시에 갱신해도 한 번만 집계
+ * - 집계 실패 시 이전 스냅샷을 유지하고 다음 주기에 다시 시도
+ *
+ * 노드마다 주기당 한 번 집계하므로 DB 부하는 조회자 수와 무관하게 (노드 수 × 주기)로 고정됨
+ * 비활성화하면 모든 조회를 DashboardServiceImpl로 바로 위임
+ */
+@Slf4j
+@Service
+@Primary
+public class DashboardSnapshotService implements DashboardService {
+
+    private final DashboardServiceImpl dashboardServiceImpl;
+    private final WebSocketBroadcastService webSocketBroadcastService;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int trafficHours;
+    private final int attackLimit;
+
+    private final AtomicReference<DashboardSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<DashboardSnapshot>> inFlight = new AtomicReference<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public DashboardSnapshotService(DashboardServiceImpl dashboardServiceImpl,
+                                    WebSocketBroadcastService webSocketBroadcastService,
+                                    @Value("${app.dashboard.snapshot.enabled:true}") boolean enabled,
+                                    @Value("${app.dashboard.snapshot.interval-ms:5000}") long intervalMs,
+                                    @Value("${app.dashboard.snapshot.traffic-hours:24}") int trafficHours,
+                                    @Value("${app.dashboard.snapshot.attack-limit:100}") int attackLimit) {
+        this.dashboardServiceImpl = dashboardServiceImpl;
+        this.webSocketBroadcastService = webSocketBroadcastService;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.trafficHours = trafficHours;
+        this.attackLimit = attackLimit;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Dashboard snapshot disabled - dashboard queries are computed per request");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshAndPush, 0, intervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Dashboard snapshot started: interval={}ms, trafficHours={}, attackLimit={}",
+            intervalMs, trafficHours, attackLimit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public WAFStatsResponse getWAFStats() {
+        return enabled ? current().stats() : dashboardServiceImpl.getWAFStats();
+    }
+
+    @Override
+    public WAFStatusResponse getWAFStatus() {
+        return enabled ? current().status() : dashboardServiceImpl.getWAFStatus();
+    }
+
+    /**
+     * 스냅샷 범위 이내면 스냅샷의 최근 hours시간 구간, 넘으면 직접 집계
+     */
+    @Override
+    public List<TrafficDataResponse> getTrafficData(int hours) {
+        if (!enabled || hours > trafficHours) {
+            return dashboardServiceImpl.getTrafficData(hours);
+        }
+        // 현재 시간대를 포함하므로 hours + 1개
+        List<TrafficDataResponse> traffic = current().traffic();
+        return traffic.subList(Math.max(0, traffic.size() - (hours + 1)), traffic.size());
+    }
+
+    /**
+     * 스냅샷 개수 이내면 스냅샷의 앞부분, 넘으면 직접 집계
+     */
+    @Override
+    public List<AttackEventResponse> getRecentAttacks(int limit) {
+        if (!enabled || limit > attackLimit) {
+            return dashboardServiceImpl.getRecentAttacks(limit);
+        }
+        List<AttackEventResponse> attacks = current().attacks();
+        return attacks.subList(0, Math.min(limit, attacks.size()));
+    }
+
+    /**
+     * 보관된 스냅샷 (없거나 주기 2회 이상 갱신되지 않았으면 갱신 후 반환)
+     *
+     * 갱신에 실패하면 이전 스냅샷이 있는 경우 그대로 반환
+     */
+    DashboardSnapshot current() {
+        DashboardSnapshot current = snapshot.get();
+        if (current != null
+            && Duration.between(current.generatedAt(), Instant.now()).toMillis() <= intervalMs * 2) {
+            return current;
+        }
+        try {
+            return refresh();
+        } catch (RuntimeException e) {
+            if (current == null) {
+                throw e;
+            }
+            log.warn("Failed to refresh stale dashboard snapshot generated at {}", current.generatedAt(), e);
+            return current;
+        }
+    }
+
+    /**
+     * 스냅샷 집계 (진행 중인 집계가 있으면 그 결과를 기다려 공유)
+     */
+    DashboardSnapshot refresh() {
+        CompletableFuture<DashboardSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardSnapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            DashboardSnapshot computed = new DashboardSnapshot(
+                dashboardServiceImpl.getWAFStats(),
+                dashboardServiceImpl.getWAFStatus(),
+                List.copyOf(dashboardServiceImpl.getTrafficData(trafficHours)),
+                List.copyOf(dashboardServiceImpl.getRecentAttacks(attackLimit)),
+                Instant.now());
+            snapshot.set(computed);
+            mine.complete(computed);
+            return computed;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private void refreshAndPush() {
+        try {
+            DashboardSnapshot computed = refresh();
+            webSocketBroadcastService.broadcastStatsUpdate(computed.stats());
+            webSocketBroadcastService.broadcastStatusChange(computed.status());
+        } catch (Exception e) {
+            log.warn("Failed to refresh dashboard snapshot - serving previous snapshot until next interval", e);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package dev.waf.console.dashboard.service;
+
+import dev.waf.console.common.dto.ApiResponse;
+import dev.waf.console.dashboard.api.dto.WindowedCountResponse;
+import dev.waf.console.infrastructure.kafka.streams.WAFAggregationTopology.Aggregate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.StreamsMetadata;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 시간 윈도우 집계 조회 서비스 (Kafka Streams 대화형 쿼리)
+ *
+ * WAFAggregationTopology의 상태 저장소에서 최근 윈도우별 전체 건수와 상위 키를 조회
+ * - 로컬 저장소는 이 노드에 할당된 파티션의 키만 가지므로, application-server가 지정되면
+ *   저장소의 활성 태스크를 가진 다른 노드에 scope=local로 조회를 보내 결과를 합침 (요청의 Authorization 헤더 전달)
+ * - 대기(standby) 복제본만 가진 노드는 같은 키를 중복으로 세거나 활성 저장소가 없어 실패하므로 조회하지 않음
+ * - 다른 노드는 병렬로 조회하고 전체를 remote-query-timeout-ms 안에 기다림 (노드 수와 무관한 응답 시간 상한)
+ * - 키는 한 노드에만 있으므로 노드별 상위 N개를 합쳐 다시 고른 상위 N개가 전체 상위 N개와 같음
+ * - 기한 안에 응답하지 않는 노드는 로그만 남기고 제외 (해당 파티션의 건수가 빠진 부분 결과)
+ */
+@Slf4j
+@Service
+public class WindowedAggregateService {
+
+    private static final String WINDOWS_PATH = "/api/dashboard/windows/{aggregate}?minutes={minutes}&limit={limit}&scope=local";
+
+    private final ObjectProvider<StreamsBuilderFactoryBean> streamsBuilderFactoryBean;
+    private final HostInfo self;
+    private final RestClient restClient;
+    private final Duration remoteQueryTimeout;
+    private final ExecutorService remoteQueryExecutor = Executors.newCachedThreadPool(daemonThreads("windowed-query-"));
+
+    public WindowedAggregateService(ObjectProvider<StreamsBuilderFactoryBean> streamsBuilderFactoryBean,
+                                    @Value("${app.kafka.streams.application-server:}") String applicationServer,
+                                    @Value("${app.kafka.streams.remote-query-timeout-ms:2000}") int remoteQueryTimeoutMs) {
+        this.streamsBuilderFactoryBean = streamsBuilderFactoryBean;
+        this.self = applicationServer.isBlank() ? null : HostInfo.buildFromEndpoint(applicationServer);
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(remoteQueryTimeoutMs);
+        requestFactory.setReadTimeout(remoteQueryTimeoutMs);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.remoteQueryTimeout = Duration.ofMillis(remoteQueryTimeoutMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        remoteQueryExecutor.shutdownNow();
+    }
+
+    /**
+     * 최근 minutes분 동안 시작한 윈도우의 집계 (윈도우 시작 시간 오름차순)
+     *
+     * @param localOnly true면 이 노드의 저장소만 조회 (다른 노드가 보내는 조회)
+     * @throws IllegalStateException Streams가 비활성화되었거나 재조정 중이라 저장소를 조회할 수 없을 때
+     */
+    public List<WindowedCountResponse> getWindows(Aggregate aggregate, int minutes, int limit, boolean localOnly) {
+        KafkaStreams streams = kafkaStreams();
+        Instant to = Instant.now();
+        Instant from = to.minus(Duration.ofMinutes(minutes));
+
+        List<WindowedCountResponse> local = readLocal(store(streams, aggregate), from, to, limit);
+        if (localOnly || self == null) {
+            return local;
+        }
+
+        List<HostInfo> peers = activePeers(streams.streamsMetadataForStore(aggregate.storeName()),
+            aggregate.storeName(), self);
+        if (peers.isEmpty()) {
+            return local;
+        }
+
+        String authorization = currentAuthorization();
+        List<List<WindowedCountResponse>> parts = new ArrayList<>();
+        parts.add(local);
+        parts.addAll(fetchAll(peers, host -> fetchRemote(host, aggregate, minutes, limit, authorization)));
+        return merge(parts, limit);
+    }
+
+    /**
+     * 저장소의 활성 태스크를 가진 다른 노드 (대기 복제본만 가진 노드와 이 노드는 제외)
+     */
+    static List<HostInfo> activePeers(Collection<StreamsMetadata> hosts, String storeName, HostInfo self) {
+        return hosts.stream()
+            .filter(host -> host.stateStoreNames().contains(storeName))
+            .map(StreamsMetadata::hostInfo)
+            .filter(hostInfo -> !hostInfo.equals(self))
+            .distinct()
+            .toList();
+    }
+
+    /**
+     * 노드들을 병렬로 조회하고 전체 기한까지 기다림 (기한을 넘긴 노드는 취소하고 제외)
+     */
+    List<List<WindowedCountResponse>> fetchAll(List<HostInfo> peers,
+                                               Function<HostInfo, List<WindowedCountResponse>> fetch) {
+        List<CompletableFuture<List<WindowedCountResponse>>> futures = new ArrayList<>(peers.size());
+        for (HostInfo peer : peers) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetch.apply(peer), remoteQueryExecutor));
+        }
+
+        long deadline = System.nanoTime() + remoteQueryTimeout.toNanos();
+        List<List<WindowedCountResponse>> parts = new ArrayList<>(peers.size());
+        for (int i = 0; i < futures.size(); i++) {
+            HostInfo peer = peers.get(i);
+            CompletableFuture<List<WindowedCountResponse>> future = futures.get(i);
+            try {
+                parts.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Remote windowed aggregate query timed out: host={}:{}, timeout={}ms",
+                    peer.host(), peer.port(), remoteQueryTimeout.toMillis());
+            } catch (ExecutionException e) {
+                log.warn("Remote windowed aggregate query failed: host={}:{}, error={}",
+                    peer.host(), peer.port(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                break;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * 로컬 윈도우 저장소에서 [from, to]에 시작한 윈도우를 읽어 윈도우별로 요약
+     */
+    static List<WindowedCountResponse> readLocal(ReadOnlyWindowStore<String, Long> store,
+                                                 Instant from, Instant to, int limit) {
+        Map<LocalDateTime, WindowAccumulator> windows = new TreeMap<>();
+        try (KeyValueIterator<Windowed<String>, Long> iterator = store.fetchAll(from, to)) {
+            while (iterator.hasNext()) {
+                KeyValue<Windowed<String>, Long> entry = iterator.next();
+                windows.computeIfAbsent(toLocalDateTime(entry.key.window().start()),
+                        start -> new WindowAccumulator(toLocalDateTime(entry.key.window().end())))
+                    .add(entry.key.key(), entry.value);
+            }
+        }
+        return summarize(windows, limit);
+    }
+
+    /**
+     * 노드별 조회 결과를 윈도우 시작 시간으로 합침 (전체 건수는 합산, 상위 키는 다시 선택)
+     */
+    static List<WindowedCountResponse> merge(List<List<WindowedCountResponse>> parts, int limit) {
+        Map<LocalDateTime, WindowAccumulator> windows = new TreeMap<>();
+        for (List<WindowedCountResponse> part : parts) {
+            for (WindowedCountResponse window : part) {
+                WindowAccumulator accumulator = windows.computeIfAbsent(window.windowStart(),
+                    start -> new WindowAccumulator(window.windowEnd()));
+                accumulator.total += window.total();
+                accumulator.counts.addAll(window.top());
+            }
+        }
+        return summarize(windows, limit);
+    }
+
+    private static List<WindowedCountResponse> summarize(Map<LocalDateTime, WindowAccumulator> windows, int limit) {
+        List<WindowedCountResponse> result = new ArrayList<>(windows.size());
+        windows.forEach((start, accumulator) -> result.add(new WindowedCountResponse(start, accumulator.end,
+            accumulator.total, accumulator.counts.stream()
+                .sorted(Comparator.comparingLong(WindowedCountResponse.KeyCount::count).reversed()
+                    .thenComparing(WindowedCountResponse.KeyCount::key))
+                .limit(limit)
+                .toList())));
+        return result;
+    }
+
+    private KafkaStreams kafkaStreams() {
+        StreamsBuilderFactoryBean factoryBean = streamsBuilderFactoryBean.getIfAvailable();
+        KafkaStreams streams = factoryBean != null ? factoryBean.getKafkaStreams() : null;
+        if (streams == null) {
+            throw new IllegalStateException("Kafka Streams windowed aggregation is not running");
+        }
+        return streams;
+    }
+
+    private static ReadOnlyWindowStore<String, Long> store(KafkaStreams streams, Aggregate aggregate) {
+        try {
+            return streams.store(StoreQueryParameters.fromNameAndType(aggregate.storeName(),
+                QueryableStoreTypes.<String, Long>windowStore()));
+        } catch (InvalidStateStoreException e) {
+            throw new IllegalStateException("Windowed aggregate store is not queryable yet: " + aggregate.storeName(), e);
+        }
+    }
+
+    private List<WindowedCountResponse> fetchRemote(HostInfo host, Aggregate aggregate, int minutes, int limit,
+                                                    String authorization) {
+        try {
+            ApiResponse<List<WindowedCountResponse>> response = restClient.get()
+                .uri("http://" + host.host() + ":" + host.port() + WINDOWS_PATH,
+                    aggregate.storeName(), minutes, limit)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .body(new ParameterizedTypeReference<ApiResponse<List<WindowedCountResponse>>>() {});
+            return response != null && response.data() != null ? response.data() : List.of();
+        } catch (RestClientException e) {
+            log.warn("Remote windowed aggregate query failed: host={}:{}, store={}, error={}",
+                host.host(), host.port(), aggregate.storeName(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static String currentAuthorization() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+        }
+        return null;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static final class WindowAccumulator {
+        private final LocalDateTime end;
+        private final List<WindowedCountResponse.KeyCount> counts = new ArrayList<>();
+        private long total;
+
+        private WindowAccumulator(LocalDateTime end) {
+            this.end = end;
+        }
+
+        private void add(String key, long count) {
+            total += count;
+            counts.add(new WindowedCountResponse.KeyCount(key, count));
+        }
+    }
+}
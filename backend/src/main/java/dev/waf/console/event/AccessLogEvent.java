@@ -35,6 +35,11 @@ public class AccessLogEvent extends WAFEvent {
     private String userId;
     private Boolean cached;
 
+    /**
+     * 이 이벤트가 대표하는 요청 수 (SUCCESS 샘플링 시 k, 그 외 null = 1)
+     */
+    private Integer sampleWeight;
+
     @Override
     public WAFEventType getEventType() {
         return WAFEventType.ACCESS_LOG;
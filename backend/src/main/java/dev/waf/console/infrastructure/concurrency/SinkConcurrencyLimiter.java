@@ -0,0 +1,128 @@
+package dev.waf.console.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 블로킹 싱크별 동시 실행 제한
+ *
+ * 가상 스레드 모드에서는 실행자에 풀 크기 제한이 없으므로,
+ * 외부 자원(JDBC 커넥션, Elasticsearch, Slack Webhook)별 동시 호출 수를 세마포어로 제한
+ * - 플랫폼 스레드 풀 모드에서도 동일하게 적용되어 실행자 종류와 무관하게 싱크 보호
+ * - JDBC 기본값은 Hikari 최대 풀 크기와 같게 두어 커넥션 대기 타임아웃 대신 세마포어에서 대기
+ * - acquire-timeout-ms 안에 허가를 얻지 못하면 RejectedExecutionException
+ */
+@Slf4j
+@Component
+public class SinkConcurrencyLimiter {
+
+    /**
+     * 동시 실행을 제한하는 블로킹 싱크
+     */
+    public enum Sink {
+        JDBC,
+        ELASTICSEARCH,
+        SLACK
+    }
+
+    /**
+     * 허가를 얻은 상태에서 실행할 블로킹 호출
+     */
+    @FunctionalInterface
+    public interface BlockingCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final Map<Sink, Semaphore> permits = new EnumMap<>(Sink.class);
+    private final Map<Sink, Integer> limits = new EnumMap<>(Sink.class);
+    private final Map<Sink, Counter> rejectedCounters = new EnumMap<>(Sink.class);
+    private final long acquireTimeoutMillis;
+
+    public SinkConcurrencyLimiter(MeterRegistry meterRegistry,
+                                  @Value("${app.async.sink-limits.jdbc:${spring.datasource.hikari.maximum-pool-size:10}}") int jdbcLimit,
+                                  @Value("${app.async.sink-limits.elasticsearch:32}") int elasticsearchLimit,
+                                  @Value("${app.async.sink-limits.slack:4}") int slackLimit,
+                                  @Value("${app.async.sink-limits.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+
+        register(meterRegistry, Sink.JDBC, jdbcLimit);
+        register(meterRegistry, Sink.ELASTICSEARCH, elasticsearchLimit);
+        register(meterRegistry, Sink.SLACK, slackLimit);
+
+        log.info("Sink concurrency limits configured: jdbc={}, elasticsearch={}, slack={}, acquireTimeout={}ms",
+            jdbcLimit, elasticsearchLimit, slackLimit, acquireTimeoutMillis);
+    }
+
+    /**
+     * 싱크 허가를 얻은 뒤 호출을 실행하고 허가를 반환
+     *
+     * @param sink 대상 싱크
+     * @param call 블로킹 호출
+     * @return 호출 결과
+     * @throws RejectedExecutionException 대기 시간 안에 허가를 얻지 못했거나 대기 중 인터럽트된 경우
+     */
+    public <T, E extends Exception> T execute(Sink sink, BlockingCall<T, E> call) throws E {
+        Semaphore semaphore = permits.get(sink);
+        acquire(sink, semaphore);
+        try {
+            return call.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 현재 실행 중인 호출 수
+     */
+    public int getInFlight(Sink sink) {
+        return limits.get(sink) - permits.get(sink).availablePermits();
+    }
+
+    public int getLimit(Sink sink) {
+        return limits.get(sink);
+    }
+
+    private void acquire(Sink sink, Semaphore semaphore) {
+        try {
+            if (semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCounters.get(sink).increment();
+            throw new RejectedExecutionException("Interrupted while waiting for " + sink + " sink permit", e);
+        }
+
+        rejectedCounters.get(sink).increment();
+        throw new RejectedExecutionException(
+            sink + " sink saturated - no permit within " + acquireTimeoutMillis + "ms (limit: " + limits.get(sink) + ")");
+    }
+
+    private void register(MeterRegistry meterRegistry, Sink sink, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Sink limit must be positive: " + sink + "=" + limit);
+        }
+        String tag = sink.name().toLowerCase();
+
+        permits.put(sink, new Semaphore(limit, true));
+        limits.put(sink, limit);
+        rejectedCounters.put(sink, Counter.builder("waf.async.sink.rejected")
+            .description("Number of blocking sink calls rejected because no permit was available")
+            .tag("sink", tag)
+            .register(meterRegistry));
+        Gauge.builder("waf.async.sink.in-flight", this, limiter -> limiter.getInFlight(sink))
+            .description("Number of blocking sink calls currently holding a permit")
+            .tag("sink", tag)
+            .register(meterRegistry);
+    }
+}
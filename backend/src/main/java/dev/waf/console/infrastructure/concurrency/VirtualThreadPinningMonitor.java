@@ -0,0 +1,123 @@
+package dev.waf.console.infrastructure.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 가상 스레드 고정(pinning) 진단
+ *
+ * JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 구독하여,
+ * 가상 스레드가 synchronized 블록이나 네이티브 호출 안에서 블로킹되어 캐리어 스레드를 점유한 경우를 기록
+ * - 스택에 포함된 프레임으로 경로를 분류 (jdbc: MySQL 드라이버/Hikari, hibernate, other)
+ * - 같은 호출 지점은 한 번만 스택과 함께 경고 로그, 이후는 카운터로만 집계
+ *
+ * 이 이벤트는 JDK 21 이상에만 존재하므로 그 미만 런타임에서는 시작하지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.async.virtual-threads.pinning-diagnostics", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_REPORTED_SITES = 256;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.async.virtual-threads.pinning-diagnostics.threshold-ms:20}") long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("Virtual thread pinning diagnostics requested but runtime is Java {} - skipping",
+                Runtime.version().feature());
+            return;
+        }
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning diagnostics started (threshold: {}ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String path = classify(frames);
+
+        Counter.builder("waf.async.virtual-thread.pinned")
+            .description("Number of virtual thread pinning events above the diagnostics threshold")
+            .tag("path", path)
+            .register(meterRegistry)
+            .increment();
+
+        String site = frames.isEmpty() ? "unknown" : describe(frames.get(0));
+        if (reportedSites.size() >= MAX_REPORTED_SITES || !reportedSites.add(site)) {
+            return;
+        }
+
+        StringBuilder trace = new StringBuilder();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            trace.append("\n\tat ").append(describe(frames.get(i)));
+        }
+        log.warn("Virtual thread pinned for {}ms (path: {}, thread: {}){}",
+            event.getDuration().toMillis(), path,
+            event.getThread() != null ? event.getThread().getJavaName() : "unknown", trace);
+    }
+
+    private String classify(List<RecordedFrame> frames) {
+        boolean hibernate = false;
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.mysql.") || type.startsWith("com.zaxxer.hikari.")) {
+                return "jdbc";
+            }
+            if (type.startsWith("org.hibernate.")) {
+                hibernate = true;
+            }
+        }
+        return hibernate ? "hibernate" : "other";
+    }
+
+    private String describe(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "unknown";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + ":" + frame.getLineNumber();
+    }
+}
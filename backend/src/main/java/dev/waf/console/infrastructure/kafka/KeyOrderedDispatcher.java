@@ -0,0 +1,271 @@
+package dev.waf.console.infrastructure.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 파티션 내 키 단위 병렬 처리기
+ *
+ * 토픽 파티션이 3개라 리스너 concurrency를 올려도 소비 병렬도는 3에 묶이고,
+ * 느린 싱크(ES, Slack) 하나가 파티션 전체를 직렬화하므로 배치 안에서 키별로 나눠 병렬 처리함
+ * - 같은 키(sourceIp 등 Kafka 레코드 키)의 레코드는 한 작업에서 오프셋 순서대로 처리 (키별 순서 보장)
+ * - 서로 다른 키는 공용 작업자 스레드에서 동시에 처리
+ * - 키 처리가 실패하면 그 키의 레코드만 미완료로 남기고, 배치에서 처음 미완료인 레코드 앞까지만 커밋
+ *   (배치 레코드는 파티션별로 묶여 오프셋 순서로 전달되므로 해당 파티션의 연속 완료 지점까지 커밋됨)
+ * - 미완료 레코드부터 다시 전달될 때 이미 완료한 오프셋은 건너뜀
+ * - 같은 키가 max-attempts번 연속 실패하면 로그를 남기고 건너뜀 (DefaultErrorHandler 재시도 횟수와 맞춤)
+ */
+@Slf4j
+@Component
+public class KeyOrderedDispatcher {
+
+    private final Executor workerExecutor;
+    private final int maxAttempts;
+    private final Duration redeliveryDelay;
+
+    // 재전달될 구간에서 이미 완료한 오프셋 (파티션별, 다음 배치의 시작 오프셋 아래는 정리)
+    private final Map<TopicPartition, NavigableSet<Long>> completedAhead = new ConcurrentHashMap<>();
+    // 실패한 키 작업의 첫 레코드별 시도 횟수
+    private final Map<RecordPosition, Integer> attempts = new ConcurrentHashMap<>();
+
+    private final Counter processedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
+    private final Counter gaveUpCounter;
+
+    @Autowired
+    public KeyOrderedDispatcher(MeterRegistry meterRegistry,
+                                @Value("${app.kafka.dispatch.parallelism:16}") int parallelism,
+                                @Value("${app.kafka.dispatch.max-attempts:4}") int maxAttempts,
+                                @Value("${app.kafka.dispatch.redelivery-delay-ms:5000}") long redeliveryDelayMs) {
+        this(meterRegistry, Executors.newFixedThreadPool(parallelism, daemonThreads("kafka-key-worker-")),
+            maxAttempts, Duration.ofMillis(redeliveryDelayMs));
+        log.info("Kafka key-ordered dispatcher configured: parallelism={}, maxAttempts={}, redeliveryDelay={}ms",
+            parallelism, maxAttempts, redeliveryDelayMs);
+    }
+
+    KeyOrderedDispatcher(MeterRegistry meterRegistry, Executor workerExecutor, int maxAttempts, Duration redeliveryDelay) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Dispatch attempts must be positive: " + maxAttempts);
+        }
+        this.workerExecutor = workerExecutor;
+        this.maxAttempts = maxAttempts;
+        this.redeliveryDelay = redeliveryDelay;
+
+        this.processedCounter = outcomeCounter(meterRegistry, "processed");
+        this.skippedCounter = outcomeCounter(meterRegistry, "skipped");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.gaveUpCounter = outcomeCounter(meterRegistry, "gave_up");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (workerExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * 배치 레코드를 키별로 나눠 병렬 처리하고 모든 키 작업이 끝날 때까지 대기
+     *
+     * @param records 리스너가 받은 배치 (값이 null이면 역직렬화 실패로 보고 건너뜀)
+     * @param handler 키와 그 키의 값 목록(오프셋 순서)을 받아 처리, 예외를 던지면 해당 키의 레코드 전체가 미완료
+     * @return 이번 배치에서 처리한 값과 커밋 위치
+     */
+    public <V> DispatchResult<V> dispatch(List<ConsumerRecord<String, V>> records, BiConsumer<String, List<V>> handler) {
+        int size = records.size();
+        boolean[] completed = new boolean[size];
+        boolean[] succeeded = new boolean[size];
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            ConsumerRecord<String, V> record = records.get(i);
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            firstOffsets.putIfAbsent(partition, record.offset());
+
+            if (record.value() == null || isCompletedAhead(partition, record.offset())) {
+                completed[i] = true;
+                skippedCounter.increment();
+                continue;
+            }
+            groups.computeIfAbsent(keyOf(record, partition), k -> new ArrayList<>()).add(i);
+        }
+        firstOffsets.forEach(this::pruneCompletedAhead);
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(groups.size());
+        groups.forEach((key, indexes) -> {
+            List<V> values = indexes.stream().map(i -> records.get(i).value()).toList();
+            tasks.add(CompletableFuture
+                .runAsync(() -> handler.accept(key, values), workerExecutor)
+                .handle((ignored, error) -> {
+                    RecordPosition head = RecordPosition.of(records.get(indexes.get(0)));
+                    if (error == null || gaveUp(key, head, indexes.size(), error)) {
+                        attempts.remove(head);
+                        indexes.forEach(i -> {
+                            completed[i] = true;
+                            succeeded[i] = error == null;
+                        });
+                    }
+                    return null;
+                }));
+        });
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        List<V> processed = new ArrayList<>();
+        int firstIncomplete = -1;
+        for (int i = 0; i < size; i++) {
+            if (succeeded[i]) {
+                processed.add(records.get(i).value());
+            } else if (!completed[i] && firstIncomplete < 0) {
+                firstIncomplete = i;
+            }
+        }
+
+        if (firstIncomplete >= 0) {
+            rememberCompletedAhead(records, completed, firstIncomplete);
+        }
+        processedCounter.increment(processed.size());
+
+        return new DispatchResult<>(Collections.unmodifiableList(processed), firstIncomplete, size);
+    }
+
+    /**
+     * 처리 결과에 따라 커밋
+     * - 모두 완료: 배치 전체 커밋
+     * - 미완료 있음: 첫 미완료 레코드 앞까지 커밋하고 그 레코드부터 redelivery-delay-ms 후 다시 전달
+     */
+    public void commit(DispatchResult<?> result, Acknowledgment acknowledgment) {
+        if (result.isComplete()) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        log.warn("Committing Kafka batch up to index {} of {}, redelivering the rest in {}ms",
+            result.firstIncompleteIndex(), result.batchSize(), redeliveryDelay.toMillis());
+        acknowledgment.nack(result.firstIncompleteIndex(), redeliveryDelay);
+    }
+
+    private boolean gaveUp(String key, RecordPosition head, int recordCount, Throwable failure) {
+        Throwable error = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        failedCounter.increment(recordCount);
+        int attempt = attempts.merge(head, 1, Integer::sum);
+        if (attempt < maxAttempts) {
+            log.warn("Failed to process {} records for key {} (attempt {}/{}), will redeliver from {}",
+                recordCount, key, attempt, maxAttempts, head, error);
+            return false;
+        }
+        log.error("Giving up on {} records for key {} after {} attempts, starting at {}",
+            recordCount, key, attempt, head, error);
+        gaveUpCounter.increment(recordCount);
+        return true;
+    }
+
+    private boolean isCompletedAhead(TopicPartition partition, long offset) {
+        NavigableSet<Long> offsets = completedAhead.get(partition);
+        return offsets != null && offsets.contains(offset);
+    }
+
+    /**
+     * 배치가 시작한 오프셋 아래는 다시 전달되지 않으므로 정리
+     */
+    private void pruneCompletedAhead(TopicPartition partition, long firstOffset) {
+        NavigableSet<Long> offsets = completedAhead.get(partition);
+        if (offsets == null) {
+            return;
+        }
+        offsets.headSet(firstOffset).clear();
+        if (offsets.isEmpty()) {
+            completedAhead.remove(partition, offsets);
+        }
+    }
+
+    /**
+     * 첫 미완료 레코드부터는 다시 전달되므로 그 뒤에서 완료한 오프셋을 기억
+     */
+    private <V> void rememberCompletedAhead(List<ConsumerRecord<String, V>> records, boolean[] completed, int firstIncomplete) {
+        for (int i = firstIncomplete + 1; i < records.size(); i++) {
+            if (completed[i]) {
+                ConsumerRecord<String, V> record = records.get(i);
+                completedAhead
+                    .computeIfAbsent(new TopicPartition(record.topic(), record.partition()), p -> new ConcurrentSkipListSet<>())
+                    .add(record.offset());
+            }
+        }
+    }
+
+    /**
+     * 키가 없는 레코드는 순서 보장 대상이 아니므로 레코드마다 별도 작업
+     */
+    private static String keyOf(ConsumerRecord<String, ?> record, TopicPartition partition) {
+        return record.key() != null ? record.key() : "\0" + partition + "@" + record.offset();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("waf.kafka.dispatch.records")
+            .description("Kafka records handled by the key-ordered dispatcher")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 배치 처리 결과
+     *
+     * @param processed 이번 배치에서 처리를 마친 값 (배치 순서, 건너뛴 레코드 제외)
+     * @param firstIncompleteIndex 처음 미완료인 레코드의 배치 내 위치 (모두 완료면 -1)
+     * @param batchSize 배치 레코드 수
+     */
+    public record DispatchResult<V>(List<V> processed, int firstIncompleteIndex, int batchSize) {
+
+        public boolean isComplete() {
+            return firstIncompleteIndex < 0;
+        }
+    }
+
+    private record RecordPosition(String topic, int partition, long offset) {
+
+        private static RecordPosition of(ConsumerRecord<String, ?> record) {
+            return new RecordPosition(record.topic(), record.partition(), record.offset());
+        }
+
+        @Override
+        public String toString() {
+            return topic + "-" + partition + "@" + offset;
+        }
+    }
+}
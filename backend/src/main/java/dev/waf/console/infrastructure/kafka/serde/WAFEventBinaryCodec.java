@@ -0,0 +1,436 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.waf.console.event.WAFEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스키마 기반 WAF 이벤트 바이너리 인코더/디코더
+ *
+ * 레코드 형식: [필드 존재 비트맵 ceil(n/8)바이트] [존재하는 필드 값들을 스키마 순서대로]
+ * - 필드 이름이나 타입 정보를 싣지 않으므로 같은 이벤트의 JSON보다 작고 파싱 비용이 낮음
+ * - 정수는 zigzag varint, 문자열은 길이(varint) + UTF-8
+ * - 디코딩은 기록 당시 스키마로 읽고 필드 이름으로 현재 클래스에 대응
+ *   (현재 클래스에 없는 필드는 읽고 버리며, 스키마에 없는 필드는 null로 둠)
+ * - 인코딩은 스키마에 있는 필드만 기록하므로, 최신 스키마가 클래스 필드를 모두 포함하는지는
+ *   WAFEventSchemaRegistry가 기동 시 확인함
+ * - 스키마 필드와 클래스 필드의 연결은 (클래스, 스키마)별로 한 번만 만들어 캐시
+ */
+@Component
+public class WAFEventBinaryCodec {
+
+    private final ObjectMapper objectMapper;
+    private final Map<WAFEvent.WAFEventType, Class<? extends WAFEvent>> eventClasses = eventClasses();
+    // (타입, 버전) → 필드 연결 (레지스트리가 타입/버전별로 스키마 하나만 두므로 키로 충분)
+    private final Map<Long, Binding> bindings = new ConcurrentHashMap<>();
+
+    public WAFEventBinaryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 이벤트 타입별 클래스 (WAFEvent의 @JsonSubTypes 기준)
+     */
+    static Map<WAFEvent.WAFEventType, Class<? extends WAFEvent>> eventClasses() {
+        Map<WAFEvent.WAFEventType, Class<? extends WAFEvent>> classes = new EnumMap<>(WAFEvent.WAFEventType.class);
+        for (JsonSubTypes.Type subType : WAFEvent.class.getAnnotation(JsonSubTypes.class).value()) {
+            classes.put(WAFEvent.WAFEventType.valueOf(subType.name()), subType.value().asSubclass(WAFEvent.class));
+        }
+        return classes;
+    }
+
+    /**
+     * 이벤트를 스키마 순서대로 인코딩
+     */
+    public byte[] encode(WAFEvent event, WAFEventSchema schema) {
+        Binding binding = binding(schema);
+        List<WAFEventSchema.Field> fields = schema.fields();
+        Object[] values = new Object[fields.size()];
+        byte[] presence = new byte[(fields.size() + 7) / 8];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = binding.get(i, event);
+            if (values[i] != null) {
+                presence[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+
+        Writer writer = new Writer(128);
+        writer.writeBytes(presence);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                writeValue(writer, fields.get(i).type(), values[i]);
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * 기록 당시 스키마로 이벤트를 디코딩
+     */
+    public WAFEvent decode(byte[] data, WAFEventSchema writerSchema) {
+        Binding binding = binding(writerSchema);
+        List<WAFEventSchema.Field> fields = writerSchema.fields();
+        Reader reader = new Reader(data);
+        byte[] presence = reader.readBytes((fields.size() + 7) / 8);
+
+        WAFEvent event = binding.newInstance();
+        for (int i = 0; i < fields.size(); i++) {
+            if ((presence[i >>> 3] & (1 << (i & 7))) != 0) {
+                binding.set(i, event, readValue(reader, fields.get(i).type(), binding.javaType(i)));
+            }
+        }
+        if (reader.remaining() != 0) {
+            throw new SerializationException("Trailing " + reader.remaining() + " bytes after "
+                + writerSchema.type() + " v" + writerSchema.version() + " record");
+        }
+        return event;
+    }
+
+    private Binding binding(WAFEventSchema schema) {
+        long key = ((long) schema.type().ordinal() << 32) | schema.version();
+        return bindings.computeIfAbsent(key, k -> new Binding(eventClasses.get(schema.type()), schema));
+    }
+
+    private void writeValue(Writer writer, WAFEventSchema.FieldType type, Object value) {
+        switch (type) {
+            case STRING -> writer.writeString((String) value);
+            case INT -> writer.writeVarLong(((Integer) value).longValue());
+            case LONG -> writer.writeVarLong((Long) value);
+            case DOUBLE -> writer.writeLong(Double.doubleToLongBits((Double) value));
+            case BOOLEAN -> writer.writeByte((Boolean) value ? 1 : 0);
+            case TIMESTAMP -> writer.writeVarLong(epochMicros((LocalDateTime) value));
+            case ENUM -> writer.writeString(((Enum<?>) value).name());
+            case STRING_MAP -> {
+                Map<?, ?> map = (Map<?, ?>) value;
+                writer.writeVarLong(map.size());
+                map.forEach((key, entry) -> {
+                    writer.writeString(String.valueOf(key));
+                    writer.writeNullableString(entry != null ? String.valueOf(entry) : null);
+                });
+            }
+            case JSON -> {
+                try {
+                    byte[] json = objectMapper.writeValueAsBytes(value);
+                    writer.writeVarLong(json.length);
+                    writer.writeBytes(json);
+                } catch (IOException e) {
+                    throw new SerializationException("Failed to encode JSON field", e);
+                }
+            }
+        }
+    }
+
+    private Object readValue(Reader reader, WAFEventSchema.FieldType type, JavaType javaType) {
+        return switch (type) {
+            case STRING -> reader.readString();
+            case INT -> (int) reader.readVarLong();
+            case LONG -> reader.readVarLong();
+            case DOUBLE -> Double.longBitsToDouble(reader.readLong());
+            case BOOLEAN -> reader.readByte() != 0;
+            case TIMESTAMP -> fromEpochMicros(reader.readVarLong());
+            case ENUM -> {
+                String name = reader.readString();
+                yield javaType != null ? enumConstant(javaType.getRawClass(), name) : name;
+            }
+            case STRING_MAP -> {
+                int size = (int) reader.readVarLong();
+                Map<String, String> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(reader.readString(), reader.readNullableString());
+                }
+                yield map;
+            }
+            case JSON -> {
+                byte[] json = reader.readBytes((int) reader.readVarLong());
+                if (javaType == null) {
+                    yield null;
+                }
+                try {
+                    yield objectMapper.readValue(json, javaType);
+                } catch (IOException e) {
+                    throw new SerializationException("Failed to decode JSON field", e);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> enumType, String name) {
+        try {
+            return Enum.valueOf((Class) enumType, name);
+        } catch (IllegalArgumentException e) {
+            // 소비 측보다 새 버전이 추가한 상수는 null로 둠
+            return null;
+        }
+    }
+
+    private static long epochMicros(LocalDateTime timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+            timestamp.getNano() / 1_000);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * (이벤트 클래스, 스키마)별 필드 연결
+     * 클래스에 없는 스키마 필드는 null (인코딩 시 null, 디코딩 시 버림)
+     */
+    private final class Binding {
+
+        private final Constructor<? extends WAFEvent> constructor;
+        private final Field[] fields;
+        private final JavaType[] javaTypes;
+
+        private Binding(Class<? extends WAFEvent> eventClass, WAFEventSchema schema) {
+            if (eventClass == null) {
+                throw new IllegalStateException("No event class for schema type " + schema.type());
+            }
+            try {
+                this.constructor = eventClass.getDeclaredConstructor();
+                this.constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("WAF event class needs a no-arg constructor: " + eventClass.getName(), e);
+            }
+
+            List<WAFEventSchema.Field> schemaFields = schema.fields();
+            this.fields = new Field[schemaFields.size()];
+            this.javaTypes = new JavaType[schemaFields.size()];
+            for (int i = 0; i < fields.length; i++) {
+                Field field = findField(eventClass, schemaFields.get(i).name());
+                if (field != null) {
+                    checkType(schema, schemaFields.get(i), field);
+                    field.setAccessible(true);
+                    fields[i] = field;
+                    javaTypes[i] = objectMapper.constructType(field.getGenericType());
+                }
+            }
+        }
+
+        private Object get(int index, WAFEvent event) {
+            try {
+                return fields[index] != null ? fields[index].get(event) : null;
+            } catch (IllegalAccessException e) {
+                throw new SerializationException("Cannot read field " + fields[index].getName(), e);
+            }
+        }
+
+        private void set(int index, WAFEvent event, Object value) {
+            if (fields[index] == null) {
+                return;
+            }
+            try {
+                fields[index].set(event, value);
+            } catch (IllegalAccessException e) {
+                throw new SerializationException("Cannot write field " + fields[index].getName(), e);
+            }
+        }
+
+        private JavaType javaType(int index) {
+            return javaTypes[index];
+        }
+
+        private WAFEvent newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new SerializationException("Cannot instantiate " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+
+        private static Field findField(Class<?> type, String name) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                try {
+                    return current.getDeclaredField(name);
+                } catch (NoSuchFieldException e) {
+                    // 상위 클래스에서 계속 찾음
+                }
+            }
+            return null;
+        }
+
+        private static void checkType(WAFEventSchema schema, WAFEventSchema.Field schemaField, Field field) {
+            Class<?> type = field.getType();
+            boolean compatible = switch (schemaField.type()) {
+                case STRING -> type == String.class;
+                case INT -> type == Integer.class;
+                case LONG -> type == Long.class;
+                case DOUBLE -> type == Double.class;
+                case BOOLEAN -> type == Boolean.class;
+                case TIMESTAMP -> type == LocalDateTime.class;
+                case ENUM -> type.isEnum();
+                case STRING_MAP -> Map.class.isAssignableFrom(type);
+                case JSON -> !type.isPrimitive();
+            };
+            if (!compatible) {
+                throw new IllegalStateException(String.format("Schema %s v%d field %s is %s but %s.%s is %s",
+                    schema.type(), schema.version(), schemaField.name(), schemaField.type(),
+                    field.getDeclaringClass().getSimpleName(), field.getName(), type.getSimpleName()));
+            }
+        }
+    }
+
+    /**
+     * 확장 가능한 바이트 버퍼 쓰기
+     */
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[size++] = (byte) zigzag;
+        }
+
+        private void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        /**
+         * 길이 + 1 (0이면 null)
+         */
+        private void writeNullableString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            writeBytes(bytes);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * 바이트 배열 읽기 (범위를 벗어나면 SerializationException)
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+
+        private int remaining() {
+            return data.length - position;
+        }
+
+        private void require(int length) {
+            if (length < 0 || length > remaining()) {
+                throw new SerializationException("Truncated WAF event record: need " + length
+                    + " bytes at " + position + ", have " + remaining());
+            }
+        }
+
+        private int readByte() {
+            require(1);
+            return data[position++];
+        }
+
+        private byte[] readBytes(int length) {
+            require(length);
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        private long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private long readVarLong() {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new SerializationException("Malformed varint at " + position);
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            require(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private String readNullableString() {
+            int length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            require(length);
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
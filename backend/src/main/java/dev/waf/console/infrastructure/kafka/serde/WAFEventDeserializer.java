@@ -0,0 +1,70 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import dev.waf.console.event.WAFEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * WAF 이벤트 Kafka 값 역직렬화기
+ *
+ * 이벤트 타입/스키마 버전 헤더가 있으면 해당 스키마로 바이너리를 읽고,
+ * 없으면 기존 JsonDeserializer로 읽음 (전환 전에 기록된 JSON 메시지 호환)
+ * 알 수 없는 스키마나 손상된 레코드는 SerializationException (ErrorHandlingDeserializer가 처리)
+ */
+public class WAFEventDeserializer implements Deserializer<Object> {
+
+    private final WAFEventSchemaRegistry schemaRegistry;
+    private final WAFEventBinaryCodec codec;
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    public WAFEventDeserializer(WAFEventSchemaRegistry schemaRegistry, WAFEventBinaryCodec codec) {
+        this.schemaRegistry = schemaRegistry;
+        this.codec = codec;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        Header typeHeader = headers.lastHeader(WAFEventSerializer.EVENT_TYPE_HEADER);
+        if (typeHeader == null) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        if (data == null) {
+            return null;
+        }
+
+        Header versionHeader = headers.lastHeader(WAFEventSerializer.SCHEMA_VERSION_HEADER);
+        String type = new String(typeHeader.value(), StandardCharsets.UTF_8);
+        String version = versionHeader != null ? new String(versionHeader.value(), StandardCharsets.UTF_8) : null;
+        WAFEventSchema schema;
+        try {
+            schema = schemaRegistry.find(WAFEvent.WAFEventType.valueOf(type), Integer.parseInt(version));
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Invalid WAF event schema headers: type=" + type + ", version=" + version, e);
+        }
+        if (schema == null) {
+            throw new SerializationException("Unknown WAF event schema: type=" + type + ", version=" + version);
+        }
+        return codec.decode(data, schema);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
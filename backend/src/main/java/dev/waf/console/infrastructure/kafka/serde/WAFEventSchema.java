@@ -0,0 +1,56 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import dev.waf.console.event.WAFEvent;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * WAF 이벤트 바이너리 스키마 (이벤트 타입 + 버전별 필드 목록)
+ *
+ * 필드는 목록 순서대로 기록되며 모든 필드는 null 가능
+ * 버전이 다른 스키마 사이에서는 필드 이름으로 대응 (없는 필드는 건너뛰거나 null로 둠)
+ *
+ * @param type 이벤트 타입
+ * @param version 스키마 버전 (WAFEvent.version의 주 버전과 대응)
+ * @param fields 기록 순서의 필드 목록
+ */
+public record WAFEventSchema(WAFEvent.WAFEventType type, int version, List<Field> fields) {
+
+    public WAFEventSchema {
+        if (type == null || version <= 0 || fields == null || fields.isEmpty()) {
+            throw new IllegalArgumentException("Invalid WAF event schema: type=" + type + ", version=" + version);
+        }
+        fields = List.copyOf(fields);
+    }
+
+    /**
+     * 스키마 필드
+     *
+     * @param name 이벤트 클래스의 필드 이름
+     * @param type 인코딩 타입
+     */
+    public record Field(String name, FieldType type) {}
+
+    /**
+     * 필드 인코딩 타입
+     */
+    public enum FieldType {
+        STRING,         // 길이(varint) + UTF-8
+        INT,            // zigzag varint
+        LONG,           // zigzag varint
+        DOUBLE,         // 8바이트 IEEE 754
+        BOOLEAN,        // 1바이트
+        TIMESTAMP,      // epoch 마이크로초 zigzag varint (LocalDateTime, UTC 기준 벽시계 값)
+        ENUM,           // 상수 이름 문자열 (순서 변경에 안전)
+        STRING_MAP,     // 개수(varint) + 키/값 문자열
+        JSON;           // 길이(varint) + JSON (metadata처럼 구조가 정해지지 않은 필드)
+
+        /**
+         * 스키마 파일 표기("string", "string-map" 등)를 타입으로 변환
+         */
+        public static FieldType of(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+}
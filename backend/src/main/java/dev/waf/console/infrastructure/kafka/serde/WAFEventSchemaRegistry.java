@@ -0,0 +1,183 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.waf.console.event.WAFEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 파일 기반 WAF 이벤트 스키마 저장소 (스키마 레지스트리 대용)
+ *
+ * classpath:kafka/schemas/*.json과 schema-dir 디렉터리의 *.json 파일에서 스키마를 읽음
+ * - 파일 하나가 (이벤트 타입, 버전) 스키마 하나이며 같은 타입/버전이 다시 나오면 뒤의 파일이 우선
+ *   (배포 없이 schema-dir에 새 버전을 추가해 소비 측을 먼저 준비할 수 있음)
+ * - 발행 시 이벤트의 version 주 버전("1.0" → 1)과 같은 스키마, 없으면 최신 스키마를 사용
+ * - 소비 시 헤더의 버전으로 기록 당시 스키마를 찾음
+ * - 인코딩은 스키마에 있는 필드만 싣기 때문에, 타입별 최신 스키마가 이벤트 클래스의 필드를 모두 포함하지 않으면
+ *   기동 시 실패함 (이벤트에 필드를 추가하면 새 스키마 버전도 함께 추가해야 함)
+ */
+@Slf4j
+@Component
+public class WAFEventSchemaRegistry {
+
+    private static final String CLASSPATH_SCHEMAS = "classpath*:kafka/schemas/*.json";
+
+    private final Map<WAFEvent.WAFEventType, NavigableMap<Integer, WAFEventSchema>> schemas =
+        new EnumMap<>(WAFEvent.WAFEventType.class);
+
+    @Autowired
+    public WAFEventSchemaRegistry(ObjectMapper objectMapper,
+                                  @Value("${app.kafka.serde.schema-dir:}") String schemaDir) {
+        this(loadSchemas(objectMapper, schemaDir));
+        verifyLatestSchemasCoverEventFields();
+        log.info("WAF event schema registry loaded: {}", describe());
+    }
+
+    WAFEventSchemaRegistry(List<WAFEventSchema> schemas) {
+        for (WAFEventSchema schema : schemas) {
+            this.schemas.computeIfAbsent(schema.type(), type -> new TreeMap<>()).put(schema.version(), schema);
+        }
+    }
+
+    /**
+     * 발행할 이벤트에 사용할 스키마 (등록된 스키마가 없는 타입이면 null)
+     */
+    public WAFEventSchema forEvent(WAFEvent event) {
+        NavigableMap<Integer, WAFEventSchema> versions = schemas.get(event.getEventType());
+        if (versions == null) {
+            return null;
+        }
+        WAFEventSchema matching = versions.get(majorVersion(event.getVersion()));
+        return matching != null ? matching : versions.lastEntry().getValue();
+    }
+
+    /**
+     * 기록 당시 스키마 조회 (없으면 null)
+     */
+    public WAFEventSchema find(WAFEvent.WAFEventType type, int version) {
+        NavigableMap<Integer, WAFEventSchema> versions = schemas.get(type);
+        return versions != null ? versions.get(version) : null;
+    }
+
+    /**
+     * 타입별 최신 스키마가 이벤트 클래스(상위 클래스 포함)의 static이 아닌 필드를 모두 포함하는지 확인
+     *
+     * @throws IllegalStateException 스키마에 없는 필드가 있는 경우 (발행 시 값이 조용히 빠지는 것을 막음)
+     */
+    void verifyLatestSchemasCoverEventFields() {
+        List<String> problems = new ArrayList<>();
+        WAFEventBinaryCodec.eventClasses().forEach((type, eventClass) -> {
+            NavigableMap<Integer, WAFEventSchema> versions = schemas.get(type);
+            if (versions == null) {
+                return;
+            }
+            WAFEventSchema latest = versions.lastEntry().getValue();
+            List<String> missing = missingFields(eventClass, latest);
+            if (!missing.isEmpty()) {
+                problems.add(type + " v" + latest.version() + " is missing " + missing);
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("WAF event schemas do not cover event fields: " + String.join("; ", problems));
+        }
+    }
+
+    static List<String> missingFields(Class<?> eventClass, WAFEventSchema schema) {
+        Set<String> covered = new HashSet<>();
+        schema.fields().forEach(field -> covered.add(field.name()));
+
+        List<String> missing = new ArrayList<>();
+        for (Class<?> current = eventClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!covered.contains(field.getName())) {
+                    missing.add(field.getName());
+                }
+            }
+        }
+        return missing;
+    }
+
+    private static int majorVersion(String version) {
+        if (version == null || version.isBlank()) {
+            return -1;
+        }
+        int dot = version.indexOf('.');
+        try {
+            return Integer.parseInt(dot < 0 ? version.trim() : version.substring(0, dot).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder();
+        schemas.forEach((type, versions) ->
+            description.append(description.isEmpty() ? "" : ", ").append(type).append(versions.keySet()));
+        return description.toString();
+    }
+
+    private static List<WAFEventSchema> loadSchemas(ObjectMapper objectMapper, String schemaDir) {
+        List<WAFEventSchema> loaded = new ArrayList<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(CLASSPATH_SCHEMAS)) {
+                try (InputStream in = resource.getInputStream()) {
+                    loaded.add(parse(objectMapper.readTree(in), resource.getDescription()));
+                }
+            }
+            if (schemaDir != null && !schemaDir.isBlank()) {
+                Path directory = Path.of(schemaDir);
+                if (Files.isDirectory(directory)) {
+                    try (var files = Files.newDirectoryStream(directory, "*.json")) {
+                        for (Path file : files) {
+                            loaded.add(parse(objectMapper.readTree(file.toFile()), file.toString()));
+                        }
+                    }
+                } else {
+                    log.warn("WAF event schema directory not found: {}", directory.toAbsolutePath());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load WAF event schemas", e);
+        }
+        return loaded;
+    }
+
+    private static WAFEventSchema parse(JsonNode node, String origin) {
+        try {
+            List<WAFEventSchema.Field> fields = new ArrayList<>();
+            for (JsonNode field : node.path("fields")) {
+                fields.add(new WAFEventSchema.Field(field.path("name").asText(),
+                    WAFEventSchema.FieldType.of(field.path("type").asText())));
+            }
+            return new WAFEventSchema(WAFEvent.WAFEventType.valueOf(node.path("type").asText()),
+                node.path("version").asInt(), fields);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid WAF event schema file: " + origin, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import dev.waf.console.event.WAFEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * WAF 이벤트 Kafka 값 직렬화기
+ *
+ * 스키마가 등록된 WAFEvent는 바이너리로 기록하고 이벤트 타입과 스키마 버전을 헤더에 실음
+ * 그 외 값(스키마 없는 타입, 바이너리 비활성화)은 기존 JsonSerializer로 기록
+ */
+public class WAFEventSerializer implements Serializer<Object> {
+
+    public static final String EVENT_TYPE_HEADER = "waf_event_type";
+    public static final String SCHEMA_VERSION_HEADER = "waf_schema_version";
+
+    private final WAFEventSchemaRegistry schemaRegistry;
+    private final WAFEventBinaryCodec codec;
+    private final boolean binaryEnabled;
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+
+    public WAFEventSerializer(WAFEventSchemaRegistry schemaRegistry, WAFEventBinaryCodec codec, boolean binaryEnabled) {
+        this.schemaRegistry = schemaRegistry;
+        this.codec = codec;
+        this.binaryEnabled = binaryEnabled;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (binaryEnabled && data instanceof WAFEvent event) {
+            WAFEventSchema schema = schemaRegistry.forEvent(event);
+            if (schema != null) {
+                headers.remove(EVENT_TYPE_HEADER);
+                headers.remove(SCHEMA_VERSION_HEADER);
+                headers.add(EVENT_TYPE_HEADER, schema.type().name().getBytes(StandardCharsets.UTF_8));
+                headers.add(SCHEMA_VERSION_HEADER, Integer.toString(schema.version()).getBytes(StandardCharsets.UTF_8));
+                return codec.encode(event, schema);
+            }
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,126 @@
+package dev.waf.console.infrastructure.kafka.streams;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * WAF 이벤트 윈도우 집계 토폴로지 (Kafka Streams)
+ *
+ * waf.attacks, waf.logs를 읽어 시간 윈도우별 건수를 로컬 상태 저장소(RocksDB)에 유지
+ * - 공격 IP별: 호핑 윈도우 (기본 5분 크기, 1분 간격) - 토픽 키가 공격 IP라 재파티션 없이 집계
+ * - 공격 유형별 / 룰별 / 응답 상태 코드별: 텀블링 윈도우 (기본 1분)
+ * - 접근 로그는 샘플링 가중치(sampleWeight)만큼 요청 수로 합산
+ *
+ * 유형/룰/상태 코드 집계는 해당 값으로 재파티션하므로 키 하나는 한 인스턴스에만 있고,
+ * 인스턴스를 늘리면 파티션 단위로 저장소와 집계 부하가 나뉨
+ * 저장소는 대화형 쿼리(Interactive Queries)로 조회 (WindowedAggregateService)
+ */
+public class WAFAggregationTopology {
+
+    /**
+     * 윈도우 집계 종류 (이름은 상태 저장소 이름이자 조회 API 경로)
+     */
+    public enum Aggregate {
+        ATTACKS_BY_SOURCE_IP("attacks-by-source-ip"),
+        ATTACKS_BY_TYPE("attacks-by-type"),
+        ATTACKS_BY_RULE("attacks-by-rule"),
+        REQUESTS_BY_STATUS("requests-by-status");
+
+        private final String storeName;
+
+        Aggregate(String storeName) {
+            this.storeName = storeName;
+        }
+
+        public String storeName() {
+            return storeName;
+        }
+
+        public static Optional<Aggregate> fromStoreName(String storeName) {
+            return Arrays.stream(values())
+                .filter(aggregate -> aggregate.storeName.equals(storeName))
+                .findFirst();
+        }
+    }
+
+    private final String attacksTopic;
+    private final String logsTopic;
+    private final Serde<Object> eventSerde;
+    private final TimeWindows tumblingWindows;
+    private final TimeWindows hoppingWindows;
+    private final Duration retention;
+
+    public WAFAggregationTopology(String attacksTopic, String logsTopic, Serde<Object> eventSerde,
+                                  Duration tumblingSize, Duration hoppingSize, Duration hoppingAdvance,
+                                  Duration grace, Duration retention) {
+        this.attacksTopic = attacksTopic;
+        this.logsTopic = logsTopic;
+        this.eventSerde = eventSerde;
+        this.tumblingWindows = TimeWindows.ofSizeAndGrace(tumblingSize, grace);
+        this.hoppingWindows = TimeWindows.ofSizeAndGrace(hoppingSize, grace).advanceBy(hoppingAdvance);
+        this.retention = retention;
+    }
+
+    public void build(StreamsBuilder builder) {
+        KStream<String, AttackDetectedEvent> attacks = builder
+            .stream(attacksTopic, Consumed.with(Serdes.String(), eventSerde))
+            .filter((key, value) -> value instanceof AttackDetectedEvent)
+            .mapValues(value -> (AttackDetectedEvent) value);
+
+        attacks
+            .filter((sourceIp, event) -> sourceIp != null)
+            .mapValues(event -> 1L)
+            .groupByKey(Grouped.with(Serdes.String(), Serdes.Long()))
+            .windowedBy(hoppingWindows)
+            .reduce(Long::sum, materialized(Aggregate.ATTACKS_BY_SOURCE_IP));
+
+        sumBy(attacks, event -> event.getAttackType() != null ? event.getAttackType().name() : null,
+            event -> 1L, Aggregate.ATTACKS_BY_TYPE);
+        sumBy(attacks, AttackDetectedEvent::getRuleId, event -> 1L, Aggregate.ATTACKS_BY_RULE);
+
+        KStream<String, AccessLogEvent> accessLogs = builder
+            .stream(logsTopic, Consumed.with(Serdes.String(), eventSerde))
+            .filter((key, value) -> value instanceof AccessLogEvent)
+            .mapValues(value -> (AccessLogEvent) value);
+
+        sumBy(accessLogs, event -> event.getStatusCode() != null ? event.getStatusCode().toString() : null,
+            event -> event.getSampleWeight() != null ? event.getSampleWeight() : 1L, Aggregate.REQUESTS_BY_STATUS);
+    }
+
+    /**
+     * 이벤트에서 뽑은 값으로 재파티션하여 텀블링 윈도우별 가중치 합계 집계 (값이 없는 이벤트는 제외)
+     */
+    private <E> void sumBy(KStream<String, E> events, Function<E, String> dimension,
+                           ToLongFunction<E> weight, Aggregate aggregate) {
+        events
+            .map((key, event) -> KeyValue.pair(dimension.apply(event), weight.applyAsLong(event)))
+            .filter((key, count) -> key != null)
+            .groupByKey(Grouped.with(aggregate.storeName(), Serdes.String(), Serdes.Long()))
+            .windowedBy(tumblingWindows)
+            .reduce(Long::sum, materialized(aggregate));
+    }
+
+    private Materialized<String, Long, WindowStore<Bytes, byte[]>> materialized(Aggregate aggregate) {
+        return Materialized.<String, Long, WindowStore<Bytes, byte[]>>as(aggregate.storeName())
+            .withKeySerde(Serdes.String())
+            .withValueSerde(Serdes.Long())
+            .withRetention(retention);
+    }
+}
@@ -0,0 +1,124 @@
+package dev.waf.console.infrastructure.logging;
+
+/**
+ * 요청 캡처 버퍼 (스레드별 재사용)
+ *
+ * WAFLoggingInterceptor가 모든 /api/** 요청마다 수행하는 문자열 가공을 중간 객체 없이 처리
+ * - X-Forwarded-For: split 없이 첫 쉼표까지 인덱스로 스캔, 잘라낼 부분이 없으면 헤더 문자열을 그대로 반환
+ * - 메타데이터 JSON: 스레드별 StringBuilder에 바로 기록하고 이스케이프도 스트리밍으로 처리
+ * - 결과 문자열은 WAFLog에 담겨 링 버퍼로 넘어가므로 필드당 최종 toString 한 번만 할당
+ *
+ * 서블릿 요청 스레드에서만 사용하며, 한 번에 하나의 값만 조립함 (재진입 불가)
+ */
+final class WAFLogCaptureBuffer {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+    private static final String EMPTY_OBJECT = "{}";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<WAFLogCaptureBuffer> BUFFERS =
+        ThreadLocal.withInitial(WAFLogCaptureBuffer::new);
+
+    private StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    private int fieldCount;
+
+    private WAFLogCaptureBuffer() {
+    }
+
+    /**
+     * 현재 스레드의 캡처 버퍼
+     */
+    static WAFLogCaptureBuffer current() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * X-Forwarded-For 헤더의 첫 번째 주소 (split(",")[0].trim()과 동일한 결과)
+     */
+    static String firstForwardedAddress(String header) {
+        int length = header.length();
+        int start = 0;
+        while (start < length && header.charAt(start) <= ' ') {
+            start++;
+        }
+        int end = start;
+        while (end < length && header.charAt(end) != ',') {
+            end++;
+        }
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return start == 0 && end == length ? header : header.substring(start, end);
+    }
+
+    /**
+     * 메타데이터 JSON 객체 시작
+     */
+    WAFLogCaptureBuffer beginObject() {
+        reset();
+        fieldCount = 0;
+        builder.append('{');
+        return this;
+    }
+
+    /**
+     * 문자열 필드 추가 (값이 없거나 비어 있으면 생략)
+     */
+    WAFLogCaptureBuffer field(String key, String value) {
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        if (fieldCount++ > 0) {
+            builder.append(',');
+        }
+        builder.append('"').append(key).append("\":\"");
+        appendEscaped(value);
+        builder.append('"');
+        return this;
+    }
+
+    /**
+     * 메타데이터 JSON 객체 완료
+     */
+    String endObject() {
+        if (fieldCount == 0) {
+            return EMPTY_OBJECT;
+        }
+        return builder.append('}').toString();
+    }
+
+    private void reset() {
+        // 긴 헤더 한 번으로 커진 버퍼를 스레드가 계속 붙잡고 있지 않도록 교체
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            builder = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            builder.setLength(0);
+        }
+    }
+
+    private void appendEscaped(String value) {
+        int length = value.length();
+        int copied = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+
+            builder.append(value, copied, i);
+            copied = i + 1;
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> builder.append("\\u00")
+                    .append(HEX_DIGITS[c >> 4])
+                    .append(HEX_DIGITS[c & 0xF]);
+            }
+        }
+        builder.append(value, copied, length);
+    }
+}
@@ -0,0 +1,35 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.waflog.domain.WAFLog;
+
+/**
+ * WAF 로그 링 버퍼 소비자
+ *
+ * 등록된 핸들러마다 WAFLogRingBuffer가 전용 소비 스레드를 하나씩 할당하며,
+ * 모든 핸들러는 링 버퍼에 발행된 로그를 같은 순서로 전부 전달받음
+ */
+public interface WAFLogEventHandler {
+
+    /**
+     * 로그 처리
+     *
+     * @param wafLog 발행된 로그 (다른 핸들러와 공유되므로 변경 시 주의)
+     * @param sequence 링 버퍼 시퀀스
+     * @param endOfBatch 현재 소비 가능한 구간의 마지막 로그 여부
+     */
+    void onEvent(WAFLog wafLog, long sequence, boolean endOfBatch) throws Exception;
+
+    /**
+     * 처리할 로그가 없어 소비 스레드가 대기할 때 호출
+     * 시간 기준으로 누적분을 내보내는 핸들러가 사용
+     */
+    default void onIdle() {
+    }
+
+    /**
+     * 소비 스레드 이름 및 메트릭 태그에 사용할 핸들러 이름
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
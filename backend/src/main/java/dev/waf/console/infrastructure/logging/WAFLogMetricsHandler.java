@@ -0,0 +1,56 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 링 버퍼 소비자 - 수집 메트릭
+ *
+ * 저장 여부와 무관하게 수집된 모든 로그에 대해 상태별 요청 수와 응답 시간 분포를 기록하고,
+ * 고유 IP/세션 스케치(WAFDistinctTracker)도 샘플링 전 전체 요청으로 갱신
+ * 상태별 카운터는 미리 등록해 두어 이벤트마다 미터 조회/생성을 하지 않음
+ */
+@Component
+public class WAFLogMetricsHandler implements WAFLogEventHandler {
+
+    private final Map<WAFLog.LogStatus, Counter> requestCounters = new EnumMap<>(WAFLog.LogStatus.class);
+    private final DistributionSummary responseTimeSummary;
+    private final WAFDistinctTracker wafDistinctTracker;
+
+    public WAFLogMetricsHandler(MeterRegistry meterRegistry, WAFDistinctTracker wafDistinctTracker) {
+        this.wafDistinctTracker = wafDistinctTracker;
+        for (WAFLog.LogStatus status : WAFLog.LogStatus.values()) {
+            requestCounters.put(status, Counter.builder("waf.traffic.requests")
+                .description("Number of requests captured by the WAF logging pipeline")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        }
+        this.responseTimeSummary = DistributionSummary.builder("waf.response.time")
+            .description("Response time of requests captured by the WAF logging pipeline")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onEvent(WAFLog wafLog, long sequence, boolean endOfBatch) {
+        WAFLog.LogStatus status = wafLog.getStatus() != null ? wafLog.getStatus() : WAFLog.LogStatus.SUCCESS;
+        requestCounters.get(status).increment();
+
+        if (wafLog.getResponseTimeMs() != null) {
+            responseTimeSummary.record(wafLog.getResponseTimeMs());
+        }
+        wafDistinctTracker.record(wafLog);
+    }
+
+    @Override
+    public String getName() {
+        return "metrics";
+    }
+}
@@ -0,0 +1,130 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.infrastructure.logging.spool.WAFLogSpool;
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.service.WAFLogBatchWriter;
+import dev.waf.console.waflog.service.WAFLogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 링 버퍼 소비자 - 로그 저장
+ *
+ * 부하가 높으면 WAFLogSampler가 SUCCESS 로그 일부를 건너뛰고 저장되는 로그에 가중치를 기록
+ * (메트릭 핸들러는 별도 소비자이므로 샘플링과 무관하게 전수 집계)
+ *
+ * 스풀이 활성화된 경우(app.waf-log.spool.enabled) 로그를 로컬 선기록 스풀에 기록하고,
+ * DB 저장은 WAFLogSpoolReplayer가 비동기로 수행하여 요청 경로가 MySQL/Kafka 상태와 분리됨
+ * 스풀이 가득 찼거나 비활성화된 경우 WAFLogBatchWriter로 직접 넘겨 배치 저장
+ * Kafka 발행은 저장 트랜잭션에 함께 기록된 발행 대기열을 WAFLogOutboxRelay가 처리
+ *
+ * 배치 기록기 큐가 가득 차면 이 소비 스레드가 대기하고,
+ * 그 동안 링 버퍼 점유율이 올라가 오버플로 정책(SUCCESS 우선 폐기)이 적용됨
+ * 대기가 submit-timeout-ms를 넘으면(DB 장애로 큐가 비지 않는 경우) 해당 로그를 폐기하고
+ * waf.log.persistence.dropped로 집계하여, 소비 스레드가 무한히 멈춰 링 버퍼 전체가 막히지 않도록 함
+ */
+@Slf4j
+@Component
+public class WAFLogPersistenceHandler implements WAFLogEventHandler {
+
+    private static final long SUBMIT_WAIT_MILLIS = 100;
+
+    private final WAFLogBatchWriter wafLogBatchWriter;
+    private final WAFLogSampler wafLogSampler;
+    private final WAFLogSpool wafLogSpool;
+    private final long submitTimeoutNanos;
+    private final Map<WAFLog.LogStatus, Counter> droppedCounters = new EnumMap<>(WAFLog.LogStatus.class);
+
+    public WAFLogPersistenceHandler(WAFLogBatchWriter wafLogBatchWriter,
+                                    WAFLogSampler wafLogSampler,
+                                    ObjectProvider<WAFLogSpool> wafLogSpoolProvider,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.waf-log.ingest.submit-timeout-ms:5000}") long submitTimeoutMs) {
+        this.wafLogBatchWriter = wafLogBatchWriter;
+        this.wafLogSampler = wafLogSampler;
+        this.wafLogSpool = wafLogSpoolProvider.getIfAvailable();
+        this.submitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(SUBMIT_WAIT_MILLIS, submitTimeoutMs));
+
+        for (WAFLog.LogStatus status : WAFLog.LogStatus.values()) {
+            droppedCounters.put(status, Counter.builder("waf.log.persistence.dropped")
+                .description("Number of WAF logs dropped after the batch writer queue stayed full past the submit timeout")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void onEvent(WAFLog wafLog, long sequence, boolean endOfBatch) throws InterruptedException {
+        boolean keep = wafLogSampler.sample(wafLog);
+        WAFLog flushed = wafLogSampler.takeFlushed();
+        if (flushed != null) {
+            persist(flushed, sequence, endOfBatch);
+        }
+        if (keep) {
+            persist(wafLog, sequence, endOfBatch);
+        }
+    }
+
+    @Override
+    public void onIdle() {
+        WAFLog flushed = wafLogSampler.flushIfWindowClosed(LocalDateTime.now());
+        if (flushed != null) {
+            try {
+                persist(flushed, -1, true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (wafLogSpool != null) {
+            wafLogSpool.forceIfDue();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "persistence";
+    }
+
+    private void persist(WAFLog wafLog, long sequence, boolean endOfBatch) throws InterruptedException {
+        if (wafLogSpool != null && appendToSpool(wafLog, endOfBatch)) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + submitTimeoutNanos;
+        while (!wafLogBatchWriter.submit(wafLog, SUBMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (System.nanoTime() - deadline >= 0) {
+                droppedCounters.get(wafLog.getStatus()).increment();
+                log.error("WAF log dropped - batch writer queue full for {}ms (sequence: {}, status: {}, sourceIp: {}, timestamp: {})",
+                    TimeUnit.NANOSECONDS.toMillis(submitTimeoutNanos), sequence, wafLog.getStatus(),
+                    wafLog.getSourceIp(), wafLog.getTimestamp());
+                return;
+            }
+            log.debug("WAF log batch writer queue full - waiting (sequence: {})", sequence);
+        }
+    }
+
+    private boolean appendToSpool(WAFLog wafLog, boolean endOfBatch) {
+        try {
+            if (!wafLogSpool.append(wafLog)) {
+                return false;
+            }
+            if (endOfBatch) {
+                wafLogSpool.forceIfDue();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to append WAF log to spool - falling back to direct batch write", e);
+            return false;
+        }
+    }
+}
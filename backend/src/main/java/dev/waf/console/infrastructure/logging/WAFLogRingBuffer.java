@@ -0,0 +1,459 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * WAF 로그 링 버퍼
+ *
+ * WAFLoggingInterceptor(요청 스레드)와 로그 파이프라인(저장, 메트릭 등) 사이의 핸드오프 구간
+ * - 미리 할당된 고정 크기 슬롯 배열, 이벤트마다 실행자 태스크를 만들지 않음
+ * - 다수 생산자는 CAS로 시퀀스를 선점하고 O(1)로 발행, 요청 스레드를 절대 블로킹하지 않음
+ * - 등록된 WAFLogEventHandler마다 독립 소비 스레드와 시퀀스를 가지며 모든 로그를 순서대로 처리
+ * - 가장 느린 소비자가 생산자의 선점 한계를 결정 (Disruptor 방식의 게이팅)
+ * - 모든 소비자가 지나간 슬롯은 비워서 처리가 끝난 로그를 붙잡고 있지 않으며,
+ *   생산자는 비워진 위치까지만 슬롯을 재사용함
+ * - 종료 시 발행 중인 생산자가 모두 빠져나간 뒤 마지막 선점 시퀀스까지 처리하고 소비자가 종료됨
+ *   (종료 이후의 발행은 폐기로 집계)
+ *
+ * 오버플로 정책:
+ * - SHED_BY_PRIORITY: 점유율이 높아지면 SUCCESS부터 버리고, 그 다음 WARNING/ERROR를 버림
+ * - SHED_WHEN_FULL: 버퍼가 가득 찼을 때만 BLOCKED가 아닌 로그를 버림
+ * - 어느 정책이든 BLOCKED 로그는 버리지 않고 보조 큐에 보관 후 여유가 생기면 링으로 재발행
+ */
+@Slf4j
+@Component
+public class WAFLogRingBuffer {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+    private static final long OVERFLOW_PUMP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * 버퍼 포화 시 로그 처리 정책
+     */
+    public enum OverflowPolicy {
+        /**
+         * 점유율 구간별로 SUCCESS → WARNING/ERROR 순서로 버림
+         */
+        SHED_BY_PRIORITY,
+
+        /**
+         * 가득 찼을 때만 BLOCKED 외 로그를 버림
+         */
+        SHED_WHEN_FULL
+    }
+
+    private final WAFLog[] entries;
+    private final AtomicLongArray published;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+    private final AtomicLong gatingSequenceCache = new AtomicLong(-1);
+    // 모든 소비자가 지나가 슬롯을 비운 마지막 시퀀스 (생산자 게이팅 기준)
+    private final AtomicLong releasedSequence = new AtomicLong(-1);
+    private final ReentrantLock releaseLock = new ReentrantLock();
+    // 선점/재발행 중인 생산자 수 (종료 시 소비자가 마지막 선점까지 기다리는 데 사용)
+    private final AtomicInteger activePublishers = new AtomicInteger();
+
+    private final List<ConsumerWorker> consumers = new ArrayList<>();
+    private final OverflowPolicy overflowPolicy;
+    private final long successLimit;
+    private final long nonBlockedLimit;
+
+    private final ConcurrentLinkedDeque<WAFLog> blockedOverflow = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger blockedOverflowSize = new AtomicInteger();
+    private final int blockedOverflowCapacity;
+
+    private final Map<WAFLog.LogStatus, Counter> droppedCounters = new EnumMap<>(WAFLog.LogStatus.class);
+    private final Map<WAFLog.LogStatus, AtomicLong> droppedCounts = new EnumMap<>(WAFLog.LogStatus.class);
+    private final Counter overflowedCounter;
+    private final Counter handlerErrorCounter;
+
+    private volatile boolean running;
+    private Thread overflowPumpThread;
+
+    public WAFLogRingBuffer(List<WAFLogEventHandler> handlers,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.waf-log.ring.capacity:16384}") int capacity,
+                            @Value("${app.waf-log.ring.overflow-policy:SHED_BY_PRIORITY}") OverflowPolicy overflowPolicy,
+                            @Value("${app.waf-log.ring.success-high-watermark:0.75}") double successHighWatermark,
+                            @Value("${app.waf-log.ring.non-blocked-high-watermark:0.9}") double nonBlockedHighWatermark,
+                            @Value("${app.waf-log.ring.blocked-overflow-capacity:100000}") int blockedOverflowCapacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of 2: " + capacity);
+        }
+        if (handlers.isEmpty()) {
+            throw new IllegalArgumentException("At least one WAFLogEventHandler is required");
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.entries = new WAFLog[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+
+        this.overflowPolicy = overflowPolicy;
+        this.successLimit = overflowPolicy == OverflowPolicy.SHED_BY_PRIORITY
+            ? Math.max(1, (long) (capacity * successHighWatermark)) : capacity;
+        this.nonBlockedLimit = overflowPolicy == OverflowPolicy.SHED_BY_PRIORITY
+            ? Math.max(1, (long) (capacity * nonBlockedHighWatermark)) : capacity;
+        this.blockedOverflowCapacity = blockedOverflowCapacity;
+
+        for (WAFLogEventHandler handler : handlers) {
+            consumers.add(new ConsumerWorker(handler));
+        }
+
+        for (WAFLog.LogStatus status : WAFLog.LogStatus.values()) {
+            droppedCounts.put(status, new AtomicLong());
+            droppedCounters.put(status, Counter.builder("waf.log.ring.dropped")
+                .description("Number of WAF logs shed by the ring buffer overflow policy")
+                .tag("status", status.name())
+                .register(meterRegistry));
+        }
+        this.overflowedCounter = Counter.builder("waf.log.ring.blocked.overflowed")
+            .description("Number of BLOCKED logs parked in the overflow queue")
+            .register(meterRegistry);
+        this.handlerErrorCounter = Counter.builder("waf.log.ring.handler.errors")
+            .description("Number of ring buffer handler failures")
+            .register(meterRegistry);
+        Gauge.builder("waf.log.ring.occupancy", this, WAFLogRingBuffer::getOccupancy)
+            .description("Ring buffer slots not yet consumed by the slowest handler")
+            .register(meterRegistry);
+        Gauge.builder("waf.log.ring.blocked.overflow.size", blockedOverflowSize, AtomicInteger::get)
+            .description("BLOCKED logs currently parked in the overflow queue")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (ConsumerWorker consumer : consumers) {
+            consumer.start();
+        }
+
+        overflowPumpThread = new Thread(this::runOverflowPump, "waf-log-ring-overflow");
+        overflowPumpThread.setDaemon(true);
+        overflowPumpThread.start();
+
+        log.info("WAF log ring buffer started: capacity={}, policy={}, consumers={}",
+            capacity, overflowPolicy, consumers.stream().map(c -> c.handler.getName()).toList());
+    }
+
+    /**
+     * 발행을 중단하고 소비자가 남은 로그를 모두 처리할 때까지 대기
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (overflowPumpThread != null) {
+            overflowPumpThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        for (ConsumerWorker consumer : consumers) {
+            consumer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        log.info("WAF log ring buffer stopped: dropped={}", getDroppedCounts());
+    }
+
+    /**
+     * 로그 발행 (요청 스레드에서 호출, 논블로킹)
+     *
+     * @param wafLog 발행할 로그
+     * @return 링 버퍼 또는 BLOCKED 보조 큐에 수용된 경우 true, 정책에 따라 버려진 경우 false
+     */
+    public boolean publish(WAFLog wafLog) {
+        WAFLog.LogStatus status = wafLog.getStatus() != null ? wafLog.getStatus() : WAFLog.LogStatus.SUCCESS;
+
+        // running 확인 전에 등록하여, 종료 중인 소비자가 이 발행이 끝날 때까지 기다리게 함
+        activePublishers.incrementAndGet();
+        try {
+            if (!running) {
+                log.debug("WAF log ring buffer stopped - dropping {} log from {}", status, wafLog.getSourceIp());
+                drop(status);
+                return false;
+            }
+
+            long sequence = tryClaim(limitFor(status));
+            if (sequence >= 0) {
+                write(sequence, wafLog);
+                return true;
+            }
+
+            if (status == WAFLog.LogStatus.BLOCKED && blockedOverflowSize.incrementAndGet() <= blockedOverflowCapacity) {
+                blockedOverflow.offerLast(wafLog);
+                overflowedCounter.increment();
+                return true;
+            }
+            if (status == WAFLog.LogStatus.BLOCKED) {
+                blockedOverflowSize.decrementAndGet();
+                log.error("BLOCKED log overflow capacity exhausted - dropping log from {}", wafLog.getSourceIp());
+            }
+
+            drop(status);
+            return false;
+        } finally {
+            activePublishers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 처리 대기 중인 슬롯 수 (가장 느린 소비자 기준)
+     */
+    public long getOccupancy() {
+        return claimSequence.get() - minimumConsumerSequence();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 상태별 누적 폐기 건수
+     */
+    public Map<WAFLog.LogStatus, Long> getDroppedCounts() {
+        Map<WAFLog.LogStatus, Long> counts = new EnumMap<>(WAFLog.LogStatus.class);
+        droppedCounts.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    public int getBlockedOverflowSize() {
+        return blockedOverflowSize.get();
+    }
+
+    private void drop(WAFLog.LogStatus status) {
+        droppedCounts.get(status).incrementAndGet();
+        droppedCounters.get(status).increment();
+    }
+
+    private long limitFor(WAFLog.LogStatus status) {
+        return switch (status) {
+            case SUCCESS -> successLimit;
+            case WARNING, ERROR -> nonBlockedLimit;
+            case BLOCKED -> capacity;
+        };
+    }
+
+    /**
+     * 시퀀스 선점
+     *
+     * @param limit 선점 후 허용되는 최대 점유 슬롯 수
+     * @return 선점한 시퀀스, 한도를 넘는 경우 -1
+     */
+    private long tryClaim(long limit) {
+        while (true) {
+            long current = claimSequence.get();
+            long next = current + 1;
+
+            long gating = gatingSequenceCache.get();
+            if (next - gating > limit) {
+                gating = releasedSequence.get();
+                gatingSequenceCache.set(gating);
+                if (next - gating > limit) {
+                    return -1;
+                }
+            }
+
+            if (claimSequence.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private void write(long sequence, WAFLog wafLog) {
+        int index = (int) (sequence & mask);
+        entries[index] = wafLog;
+        // volatile 쓰기로 슬롯 내용을 소비자에게 공개
+        published.set(index, sequence);
+    }
+
+    /**
+     * 모든 소비자가 지나간 슬롯을 비우고 생산자가 재사용할 수 있는 위치를 전진
+     *
+     * 비우는 동안에는 해당 슬롯이 재사용되지 않도록 releasedSequence를 비운 뒤에 갱신하며,
+     * 한 번에 한 소비자만 비움 (잠금을 얻지 못한 소비자의 진행분은 잠금을 가진 쪽이 다시 확인하여 반영)
+     */
+    private void release() {
+        do {
+            if (!releaseLock.tryLock()) {
+                return;
+            }
+            try {
+                long minimum = minimumConsumerSequence();
+                for (long sequence = releasedSequence.get() + 1; sequence <= minimum; sequence++) {
+                    entries[(int) (sequence & mask)] = null;
+                }
+                if (minimum > releasedSequence.get()) {
+                    releasedSequence.set(minimum);
+                }
+            } finally {
+                releaseLock.unlock();
+            }
+        } while (minimumConsumerSequence() > releasedSequence.get());
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (ConsumerWorker consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * from부터 연속으로 발행이 완료된 마지막 시퀀스
+     */
+    private long highestPublished(long from, long claimed) {
+        for (long sequence = from; sequence <= claimed; sequence++) {
+            if (published.get((int) (sequence & mask)) != sequence) {
+                return sequence - 1;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * BLOCKED 보조 큐의 로그를 링 버퍼 여유분만큼 재발행
+     */
+    private void runOverflowPump() {
+        // 종료 후에도 발행 중인 생산자가 남기는 로그까지 보조 큐가 빌 때까지 소비자와 함께 계속 비움
+        while (running || activePublishers.get() > 0 || !blockedOverflow.isEmpty()) {
+            drainBlockedOverflow();
+            LockSupport.parkNanos(OVERFLOW_PUMP_INTERVAL_NANOS);
+        }
+    }
+
+    private void drainBlockedOverflow() {
+        activePublishers.incrementAndGet();
+        try {
+            WAFLog wafLog;
+            while ((wafLog = blockedOverflow.pollFirst()) != null) {
+                long sequence = tryClaim(capacity);
+                if (sequence < 0) {
+                    blockedOverflow.offerFirst(wafLog);
+                    return;
+                }
+                blockedOverflowSize.decrementAndGet();
+                write(sequence, wafLog);
+            }
+        } finally {
+            activePublishers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 핸들러별 소비 스레드
+     */
+    private final class ConsumerWorker implements Runnable {
+
+        private final WAFLogEventHandler handler;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final Thread thread;
+
+        private ConsumerWorker(WAFLogEventHandler handler) {
+            this.handler = handler;
+            this.thread = new Thread(this, "waf-log-ring-" + handler.getName());
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+            thread.start();
+        }
+
+        private void join(long millis) throws InterruptedException {
+            thread.join(millis);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idleCount = 0;
+
+            while (true) {
+                long claimed = claimSequence.get();
+                long available = highestPublished(next, claimed);
+
+                if (available < next) {
+                    if (isDrained(next)) {
+                        break;
+                    }
+                    idleCount = waitForEvents(idleCount);
+                    continue;
+                }
+
+                idleCount = 0;
+                for (long current = next; current <= available; current++) {
+                    WAFLog wafLog = entries[(int) (current & mask)];
+                    try {
+                        handler.onEvent(wafLog, current, current == available);
+                    } catch (Exception e) {
+                        handlerErrorCounter.increment();
+                        log.error("WAF log handler {} failed at sequence {}", handler.getName(), current, e);
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+                release();
+            }
+
+            try {
+                handler.onIdle();
+            } catch (Exception e) {
+                log.warn("WAF log handler {} failed during final flush", handler.getName(), e);
+            }
+            log.debug("WAF log ring consumer {} stopped at sequence {}", handler.getName(), sequence.get());
+        }
+
+        /**
+         * 종료 후 더 처리할 로그가 없는지 확인
+         *
+         * 발행 중인 생산자가 없음을 확인한 다음에 선점 시퀀스를 다시 읽으므로,
+         * 종료 전에 선점된 시퀀스는 모두 처리한 뒤에만 true
+         */
+        private boolean isDrained(long next) {
+            return !running
+                && activePublishers.get() == 0
+                && blockedOverflow.isEmpty()
+                && next > claimSequence.get();
+        }
+
+        private int waitForEvents(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                try {
+                    handler.onIdle();
+                } catch (Exception e) {
+                    handlerErrorCounter.increment();
+                    log.error("WAF log handler {} failed on idle", handler.getName(), e);
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            return idleCount + 1;
+        }
+    }
+}
@@ -1,29 +1,35 @@
 package dev.waf.console.infrastructure.logging;
 
 import dev.waf.console.waflog.domain.WAFLog;
-import dev.waf.console.waflog.service.WAFLogService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
 /**
  * WAF 로깅 인터셉터
  *
  * 모든 HTTP 요청에 대해 WAF 로그를 자동으로 생성하고 저장
  * - 요청 시작 시간 기록
- * - 응답 완료 후 로그 저장
+ * - 응답 완료 후 로그를 링 버퍼에 발행 (요청 스레드는 O(1) 발행만 수행하고 블로킹되지 않음)
  * - WAF 처리 결과 분석 및 기록
+ *
+ * 요청마다 실행되는 경로이므로 문자열 가공은 스레드별 WAFLogCaptureBuffer에서 처리하고,
+ * 요청당 새로 만드는 객체는 WAFLog와 그 필드 문자열로 한정함
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WAFLoggingInterceptor implements HandlerInterceptor {
 
-    private final WAFLogService wafLogService;
+    private final WAFLogRingBuffer wafLogRingBuffer;
 
     private static final String START_TIME_ATTRIBUTE = "waf.request.start.time";
     private static final String WAF_STATUS_HEADER = "X-WAF-Status";
@@ -35,8 +41,8 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        // 요청 시작 시간 기록
-        request.setAttribute(START_TIME_ATTRIBUTE, System.currentTimeMillis());
+        // 요청 시작 시각 기록 (단조 시계, 1ms 미만 응답도 구분되도록 나노초 단위)
+        request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
         return true;
     }
 
@@ -56,53 +62,57 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
     }
 
     private void createAndSaveLog(HttpServletRequest request, HttpServletResponse response, Exception ex) {
-        // 요청 처리 시간 계산
+        // 요청 처리 시간 계산 (히스토그램용 마이크로초, 저장용 밀리초)
         Long startTime = (Long) request.getAttribute(START_TIME_ATTRIBUTE);
-        long responseTime = startTime != null ? System.currentTimeMillis() - startTime : 0;
+        long elapsedNanos = startTime != null ? Math.max(0, System.nanoTime() - startTime) : 0;
+        long responseTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
 
-        // 기본 요청 정보 추출
-        String sourceIp = getClientIp(request);
-        String httpMethod = request.getMethod();
-        String requestUri = getFullRequestUri(request);
-        String userAgent = request.getHeader("User-Agent");
-        int responseStatusCode = response.getStatus();
+        WAFLogCaptureBuffer capture = WAFLogCaptureBuffer.current();
+
+        // 기본 요청 정보 추출 (헤더에서 온 값은 컬럼 길이로 잘라서 저장 단계에서 거부되지 않도록 함)
+        String sourceIp = WAFLog.fitColumn(getClientIp(request), WAFLog.SOURCE_IP_LENGTH);
+        String requestUri = request.getRequestURI();
+        String queryString = request.getQueryString();
 
         // WAF 처리 결과 분석
         WAFLog.LogStatus logStatus = determineLogStatus(response, ex);
 
+        // 로그 엔티티 생성 (빌더 객체 없이 직접 채움)
+        WAFLog wafLog = new WAFLog();
+        wafLog.setTimestamp(LocalDateTime.now());
+        wafLog.setSourceIp(sourceIp);
+        wafLog.setHttpMethod(WAFLog.fitColumn(request.getMethod(), WAFLog.HTTP_METHOD_LENGTH));
+        wafLog.setRequestUri(requestUri);
+        wafLog.setRequestQuery(queryString != null && !queryString.isEmpty() ? queryString : null);
+        wafLog.setUserAgent(request.getHeader("User-Agent"));
+        wafLog.setStatus(logStatus);
+        wafLog.setResponseTimeMs(responseTime);
+        wafLog.setResponseTimeUs(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        wafLog.setResponseStatusCode(response.getStatus());
+
         // WAF 헤더에서 추가 정보 추출
-        String attackType = response.getHeader(WAF_ATTACK_TYPE_HEADER);
-        String riskScoreHeader = response.getHeader(WAF_RISK_SCORE_HEADER);
-        Integer riskScore = parseRiskScore(riskScoreHeader);
-        String ruleId = response.getHeader(WAF_RULE_ID_HEADER);
-        String ruleName = response.getHeader(WAF_RULE_NAME_HEADER);
-        String blockReason = response.getHeader(WAF_BLOCK_REASON_HEADER);
-
-        // 로그 엔티티 생성
-        WAFLog wafLog = WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
-            .userAgent(userAgent)
-            .status(logStatus)
-            .responseTimeMs(responseTime)
-            .responseStatusCode(responseStatusCode)
-            .attackType(attackType)
-            .riskScore(riskScore)
-            .ruleId(ruleId)
-            .ruleName(ruleName)
-            .blockReason(blockReason)
-            .payloadSize(getPayloadSize(request))
-            .geoCountry(extractCountryFromIp(sourceIp))
-            .sessionId(request.getSession(false) != null ? request.getSession().getId() : null)
-            .metadata(buildMetadata(request, response))
-            .build();
-
-        // 비동기로 로그 저장
-        wafLogService.saveLogAsync(wafLog);
-
-        log.debug("WAF log created: {} {} {} - Status: {}, Response Time: {}ms",
-            httpMethod, requestUri, sourceIp, logStatus, responseTime);
+        wafLog.setAttackType(WAFLog.fitColumn(response.getHeader(WAF_ATTACK_TYPE_HEADER), WAFLog.ATTACK_TYPE_LENGTH));
+        wafLog.setRiskScore(parseRiskScore(response.getHeader(WAF_RISK_SCORE_HEADER)));
+        wafLog.setRuleId(WAFLog.fitColumn(response.getHeader(WAF_RULE_ID_HEADER), WAFLog.RULE_ID_LENGTH));
+        wafLog.setRuleName(response.getHeader(WAF_RULE_NAME_HEADER));
+        wafLog.setBlockReason(response.getHeader(WAF_BLOCK_REASON_HEADER));
+
+        wafLog.setPayloadSize(getPayloadSize(request));
+        wafLog.setGeoCountry(extractCountryFromIp(sourceIp));
+        HttpSession session = request.getSession(false);
+        wafLog.setSessionId(session != null ? WAFLog.fitColumn(session.getId(), WAFLog.SESSION_ID_LENGTH) : null);
+        wafLog.setMetadata(buildMetadata(capture, request, response));
+
+        // 링 버퍼에 발행 (포화 시 오버플로 정책에 따라 SUCCESS부터 폐기)
+        if (!wafLogRingBuffer.publish(wafLog)) {
+            log.debug("WAF log shed by ring buffer overflow policy: {} {}", logStatus, requestUri);
+        }
+
+        // 가변 인자 배열 생성을 피하기 위해 레벨 확인 후 기록
+        if (log.isDebugEnabled()) {
+            log.debug("WAF log created: {} {} {} - Status: {}, Response Time: {}ms",
+                wafLog.getHttpMethod(), requestUri, sourceIp, logStatus, responseTime);
+        }
     }
 
     /**
@@ -117,13 +127,12 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
         // WAF 상태 헤더 확인
         String wafStatus = response.getHeader(WAF_STATUS_HEADER);
         if (wafStatus != null) {
-            switch (wafStatus.toUpperCase()) {
-                case "BLOCKED":
-                    return WAFLog.LogStatus.BLOCKED;
-                case "WARNING":
-                    return WAFLog.LogStatus.WARNING;
-                case "SUCCESS":
-                    return WAFLog.LogStatus.SUCCESS;
+            if ("BLOCKED".equalsIgnoreCase(wafStatus)) {
+                return WAFLog.LogStatus.BLOCKED;
+            } else if ("WARNING".equalsIgnoreCase(wafStatus)) {
+                return WAFLog.LogStatus.WARNING;
+            } else if ("SUCCESS".equalsIgnoreCase(wafStatus)) {
+                return WAFLog.LogStatus.SUCCESS;
             }
         }
 
@@ -146,7 +155,7 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
     private String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+            return WAFLogCaptureBuffer.firstForwardedAddress(xForwardedFor);
         }
 
         String xRealIp = request.getHeader("X-Real-IP");
@@ -157,20 +166,6 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 
-    /**
-     * 전체 요청 URI 생성 (쿼리 스트링 포함)
-     */
-    private String getFullRequestUri(HttpServletRequest request) {
-        String uri = request.getRequestURI();
-        String queryString = request.getQueryString();
-
-        if (queryString != null && !queryString.isEmpty()) {
-            return uri + "?" + queryString;
-        }
-
-        return uri;
-    }
-
     /**
      * 위험도 점수 파싱
      */
@@ -188,18 +183,11 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
     }
 
     /**
-     * 요청 페이로드 크기 추출
+     * 요청 페이로드 크기 추출 (컨테이너가 이미 파싱한 Content-Length 사용)
      */
     private Long getPayloadSize(HttpServletRequest request) {
-        String contentLength = request.getHeader("Content-Length");
-        if (contentLength != null && !contentLength.isEmpty()) {
-            try {
-                return Long.parseLong(contentLength);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid content length: {}", contentLength);
-            }
-        }
-        return null;
+        long contentLength = request.getContentLengthLong();
+        return contentLength >= 0 ? contentLength : null;
     }
 
     /**
@@ -215,36 +203,19 @@ public class WAFLoggingInterceptor implements HandlerInterceptor {
 
     /**
      * 메타데이터 구성 (JSON 형태)
+     *
+     * 값은 JSON 문자열 규칙에 맞게 이스케이프됨 (따옴표, 역슬래시, 제어 문자)
      */
-    private String buildMetadata(HttpServletRequest request, HttpServletResponse response) {
-        StringBuilder metadata = new StringBuilder("{");
-
-        // 주요 헤더 정보 수집
-        addMetadataField(metadata, "referer", request.getHeader("Referer"));
-        addMetadataField(metadata, "accept", request.getHeader("Accept"));
-        addMetadataField(metadata, "accept_language", request.getHeader("Accept-Language"));
-        addMetadataField(metadata, "accept_encoding", request.getHeader("Accept-Encoding"));
-        addMetadataField(metadata, "connection", request.getHeader("Connection"));
-
-        // 응답 헤더 정보
-        addMetadataField(metadata, "response_content_type", response.getHeader("Content-Type"));
-
-        // 마지막 쉼표 제거
-        if (metadata.length() > 1 && metadata.charAt(metadata.length() - 1) == ',') {
-            metadata.setLength(metadata.length() - 1);
-        }
-
-        metadata.append("}");
-        return metadata.toString();
-    }
-
-    private void addMetadataField(StringBuilder metadata, String key, String value) {
-        if (value != null && !value.isEmpty()) {
-            if (metadata.length() > 1) {
-                metadata.append(",");
-            }
-            metadata.append("\"").append(key).append("\":\"")
-                .append(value.replace("\"", "\\\"")).append("\"");
-        }
+    private String buildMetadata(WAFLogCaptureBuffer capture, HttpServletRequest request, HttpServletResponse response) {
+        return capture.beginObject()
+            // 주요 헤더 정보 수집
+            .field("referer", request.getHeader("Referer"))
+            .field("accept", request.getHeader("Accept"))
+            .field("accept_language", request.getHeader("Accept-Language"))
+            .field("accept_encoding", request.getHeader("Accept-Encoding"))
+            .field("connection", request.getHeader("Connection"))
+            // 응답 헤더 정보
+            .field("response_content_type", response.getHeader("Content-Type"))
+            .endObject();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,478 @@
+package dev.waf.console.infrastructure.logging.spool;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * WAF 로그 선기록 스풀 (Write-Ahead Spool)
+ *
+ * 수집 경로가 MySQL/Kafka 상태와 무관하게 로그를 먼저 로컬 디스크에 순차 기록하는 저장소
+ * - 고정 크기 세그먼트 파일을 메모리 매핑하여 append-only로 기록
+ * - force(fsync)는 레코드마다가 아니라 force-batch-size 건 또는 force-interval-ms 단위로 묶어서 수행
+ * - WAFLogSpoolReplayer가 커밋된 위치부터 읽어 DB에 저장한 뒤 체크포인트를 전진시킴
+ * - 체크포인트 이전 세그먼트는 삭제, 재시작 시 체크포인트 이후 레코드부터 다시 재생
+ *
+ * 레코드 형식: [payload 길이(int)][payload CRC32(int)][payload]
+ * 길이 필드를 마지막에 기록하므로 길이가 0이거나 CRC가 맞지 않는 지점이 세그먼트의 끝
+ *
+ * 위치는 (세그먼트 ID << 32 | 세그먼트 내 오프셋) 형태의 long 하나로 표현
+ * 기록은 링 버퍼 저장 소비 스레드, 읽기는 재생 스레드 하나씩만 수행함
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.waf-log.spool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WAFLogSpool {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long forceIntervalNanos;
+    private final int forceBatchSize;
+
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+
+    // 기록 스레드 상태
+    private final WAFLogSpoolCodec codec = new WAFLogSpoolCodec();
+    private final CRC32 writeCrc = new CRC32();
+    private int writeSegmentId;
+    private FileChannel writeChannel;
+    private MappedByteBuffer writeBuffer;
+    private int unforcedRecords;
+    private long lastForceNanos;
+    private boolean full;
+
+    // 재생 스레드 상태
+    private final CRC32 readCrc = new CRC32();
+    private int readSegmentId = -1;
+    private MappedByteBuffer readBuffer;
+
+    // 기록 완료 위치와 재생 커밋 위치
+    private volatile long writeMark;
+    private volatile long committedMark;
+    private volatile int oldestSegmentId;
+
+    private final Counter appendedCounter;
+    private final Counter rejectedCounter;
+    private final Counter corruptedCounter;
+
+    public WAFLogSpool(MeterRegistry meterRegistry,
+                       @Value("${app.waf-log.spool.directory:./data/waf-log-spool}") String directory,
+                       @Value("${app.waf-log.spool.segment-size-mb:64}") int segmentSizeMb,
+                       @Value("${app.waf-log.spool.max-segments:32}") int maxSegments,
+                       @Value("${app.waf-log.spool.force-interval-ms:50}") long forceIntervalMs,
+                       @Value("${app.waf-log.spool.force-batch-size:1000}") int forceBatchSize) {
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("Spool requires at least 2 segments: " + maxSegments);
+        }
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.maxSegments = maxSegments;
+        this.forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(forceIntervalMs);
+        this.forceBatchSize = forceBatchSize;
+
+        this.appendedCounter = Counter.builder("waf.log.spool.appended")
+            .description("Number of WAF logs appended to the local spool")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("waf.log.spool.rejected")
+            .description("Number of WAF logs rejected by the spool (full or oversized)")
+            .register(meterRegistry);
+        this.corruptedCounter = Counter.builder("waf.log.spool.corrupted")
+            .description("Number of unreadable spool records skipped during replay")
+            .register(meterRegistry);
+        Gauge.builder("waf.log.spool.backlog.bytes", this, WAFLogSpool::getBacklogBytes)
+            .description("Approximate spool bytes not yet replayed into the database")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 세그먼트 및 체크포인트 복구
+     *
+     * 이전 실행에서 쓰던 세그먼트는 닫힌 것으로 보고, 기록은 항상 새 세그먼트에서 시작함
+     * (비정상 종료로 중간까지만 기록된 레코드 뒤에 이어 쓰지 않기 위함)
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Integer> segmentIds = listSegmentIds();
+        long checkpoint = readCheckpoint();
+
+        if (segmentIds.isEmpty()) {
+            writeSegmentId = checkpoint >= 0 ? segmentOf(checkpoint) + 1 : 0;
+            committedMark = mark(writeSegmentId, 0);
+        } else {
+            int firstSegmentId = segmentIds.get(0);
+            committedMark = checkpoint >= 0 && segmentOf(checkpoint) >= firstSegmentId
+                ? checkpoint : mark(firstSegmentId, 0);
+            writeSegmentId = segmentIds.get(segmentIds.size() - 1) + 1;
+        }
+
+        oldestSegmentId = segmentOf(committedMark);
+        deleteSegmentsBefore(oldestSegmentId);
+        openWriteSegment(writeSegmentId);
+
+        log.info("WAF log spool opened: directory={}, pendingSegments={}, segmentSizeMb={}, maxSegments={}",
+            directory.toAbsolutePath(), writeSegmentId - oldestSegmentId, segmentSize / (1024 * 1024), maxSegments);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (writeChannel != null) {
+                force();
+                writeChannel.close();
+                writeChannel = null;
+            }
+        }
+        log.info("WAF log spool closed: backlog={} bytes", getBacklogBytes());
+    }
+
+    /**
+     * 로그 기록
+     *
+     * @param wafLog 기록할 로그
+     * @return 스풀이 가득 찼거나 레코드가 세그먼트보다 커서 기록하지 못한 경우 false
+     */
+    public boolean append(WAFLog wafLog) throws IOException {
+        synchronized (writeLock) {
+            ByteBuffer payload = codec.encode(wafLog);
+            int length = payload.remaining();
+            int recordSize = RECORD_HEADER_BYTES + length;
+
+            if (recordSize > segmentSize) {
+                rejectedCounter.increment();
+                log.warn("WAF log too large for spool segment: {} bytes", recordSize);
+                return false;
+            }
+            if (writeBuffer.remaining() < recordSize && !rollSegment()) {
+                rejectedCounter.increment();
+                return false;
+            }
+
+            writeCrc.reset();
+            writeCrc.update(payload.duplicate());
+
+            int position = writeBuffer.position();
+            writeBuffer.putInt(position + 4, (int) writeCrc.getValue());
+            writeBuffer.position(position + RECORD_HEADER_BYTES);
+            writeBuffer.put(payload);
+            // 길이를 마지막에 기록하여 읽는 쪽이 완성된 레코드만 보도록 함
+            writeBuffer.putInt(position, length);
+
+            writeMark = mark(writeSegmentId, writeBuffer.position());
+            appendedCounter.increment();
+
+            if (++unforcedRecords >= forceBatchSize) {
+                force();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 마지막 force 이후 force-interval-ms가 지났으면 디스크에 동기화
+     */
+    public void forceIfDue() {
+        synchronized (writeLock) {
+            if (unforcedRecords > 0 && System.nanoTime() - lastForceNanos >= forceIntervalNanos) {
+                force();
+            }
+        }
+    }
+
+    /**
+     * 커밋 위치부터 최대 maxRecords 건을 읽음 (커밋 위치는 변경하지 않음)
+     *
+     * 재생에 실패하면 commit 없이 다시 호출하여 같은 레코드를 재시도
+     */
+    public SpoolBatch poll(int maxRecords) throws IOException {
+        synchronized (readLock) {
+            long startMark = committedMark;
+            int segmentId = segmentOf(startMark);
+            int position = positionOf(startMark);
+            List<WAFLog> logs = new ArrayList<>(Math.min(maxRecords, 1024));
+
+            while (logs.size() < maxRecords) {
+                long limitMark = writeMark;
+                int limitSegmentId = segmentOf(limitMark);
+                boolean sealed = segmentId < limitSegmentId;
+                int limit = sealed ? segmentSize : positionOf(limitMark);
+
+                ByteBuffer segment = readSegment(segmentId);
+                if (segment == null || position + RECORD_HEADER_BYTES > limit) {
+                    if (sealed) {
+                        segmentId++;
+                        position = 0;
+                        continue;
+                    }
+                    break;
+                }
+
+                int length = segment.getInt(position);
+                if (length <= 0 || position + RECORD_HEADER_BYTES + length > limit) {
+                    if (sealed) {
+                        segmentId++;
+                        position = 0;
+                        continue;
+                    }
+                    break;
+                }
+
+                ByteBuffer payload = segment.duplicate();
+                payload.limit(position + RECORD_HEADER_BYTES + length).position(position + RECORD_HEADER_BYTES);
+                readCrc.reset();
+                readCrc.update(payload.duplicate());
+
+                WAFLog wafLog = null;
+                if ((int) readCrc.getValue() == segment.getInt(position + 4)) {
+                    try {
+                        wafLog = WAFLogSpoolCodec.decode(payload);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to decode spool record at segment {} offset {}", segmentId, position, e);
+                    }
+                }
+
+                if (wafLog == null) {
+                    // 손상된 레코드 이후는 신뢰할 수 없으므로 세그먼트의 나머지를 건너뜀
+                    corruptedCounter.increment();
+                    log.warn("Corrupted spool record at segment {} offset {} - skipping rest of segment",
+                        segmentId, position);
+                    if (sealed) {
+                        segmentId++;
+                        position = 0;
+                        continue;
+                    }
+                    break;
+                }
+
+                logs.add(wafLog);
+                position += RECORD_HEADER_BYTES + length;
+            }
+
+            return new SpoolBatch(logs, startMark, mark(segmentId, position));
+        }
+    }
+
+    /**
+     * 재생이 끝난 배치까지 커밋 위치를 전진시키고 지난 세그먼트를 삭제
+     */
+    public void commit(SpoolBatch batch) throws IOException {
+        synchronized (readLock) {
+            if (batch.startMark() != committedMark) {
+                throw new IllegalStateException("Spool batch does not start at the committed position");
+            }
+            writeCheckpoint(batch.endMark());
+            committedMark = batch.endMark();
+
+            int committedSegmentId = segmentOf(batch.endMark());
+            if (committedSegmentId > oldestSegmentId) {
+                if (readSegmentId < committedSegmentId) {
+                    readSegmentId = -1;
+                    readBuffer = null;
+                }
+                deleteSegmentsBefore(committedSegmentId);
+                oldestSegmentId = committedSegmentId;
+            }
+        }
+    }
+
+    /**
+     * 아직 재생되지 않은 스풀 크기 (봉인된 세그먼트의 미사용 꼬리를 포함하는 근사치)
+     */
+    public long getBacklogBytes() {
+        long write = writeMark;
+        long committed = committedMark;
+        return (long) (segmentOf(write) - segmentOf(committed)) * segmentSize
+            + positionOf(write) - positionOf(committed);
+    }
+
+    /**
+     * 재생 대기 중인 레코드 여부
+     */
+    public boolean hasBacklog() {
+        return writeMark != committedMark;
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 다음 세그먼트로 전환
+     *
+     * @return 세그먼트 수가 max-segments에 도달하여 전환하지 못한 경우 false
+     */
+    private boolean rollSegment() throws IOException {
+        if (writeSegmentId + 1 - oldestSegmentId >= maxSegments) {
+            if (!full) {
+                full = true;
+                log.warn("WAF log spool is full ({} segments) - replay is not keeping up", maxSegments);
+            }
+            return false;
+        }
+        if (full) {
+            full = false;
+            log.info("WAF log spool has free segments again");
+        }
+
+        force();
+        writeChannel.close();
+        openWriteSegment(writeSegmentId + 1);
+        return true;
+    }
+
+    private void openWriteSegment(int segmentId) throws IOException {
+        writeChannel = FileChannel.open(segmentPath(segmentId),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeBuffer = writeChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        writeSegmentId = segmentId;
+        writeMark = mark(segmentId, 0);
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void force() {
+        if (unforcedRecords == 0) {
+            return;
+        }
+        writeBuffer.force();
+        unforcedRecords = 0;
+        lastForceNanos = System.nanoTime();
+    }
+
+    private ByteBuffer readSegment(int segmentId) throws IOException {
+        if (readSegmentId == segmentId) {
+            return readBuffer;
+        }
+
+        Path path = segmentPath(segmentId);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), segmentSize));
+        }
+        readSegmentId = segmentId;
+        return readBuffer;
+    }
+
+    private List<Integer> listSegmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                    name.length() - SEGMENT_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private void deleteSegmentsBefore(int segmentId) throws IOException {
+        for (int id : listSegmentIds()) {
+            if (id < segmentId) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+    }
+
+    /**
+     * 체크포인트 읽기 (없거나 손상된 경우 -1)
+     */
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return -1;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() != Long.BYTES * 2) {
+            log.warn("Ignoring malformed WAF log spool checkpoint: {}", path);
+            return -1;
+        }
+        long checkpoint = buffer.getLong();
+        if (buffer.getLong() != ~checkpoint) {
+            log.warn("Ignoring corrupted WAF log spool checkpoint: {}", path);
+            return -1;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * 체크포인트 기록 (임시 파일 기록 후 원자적 교체)
+     */
+    private void writeCheckpoint(long checkpoint) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2).putLong(checkpoint).putLong(~checkpoint).flip();
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentPath(int segmentId) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+
+    private static long mark(int segmentId, int position) {
+        return ((long) segmentId << 32) | (position & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long mark) {
+        return (int) (mark >>> 32);
+    }
+
+    private static int positionOf(long mark) {
+        return (int) mark;
+    }
+
+    /**
+     * 스풀에서 읽은 로그 묶음
+     *
+     * @param logs 읽은 로그 목록
+     * @param startMark 읽기 시작 위치 (읽을 당시의 커밋 위치)
+     * @param endMark 마지막 레코드 다음 위치
+     */
+    public record SpoolBatch(List<WAFLog> logs, long startMark, long endMark) {
+
+        public boolean isEmpty() {
+            return logs.isEmpty();
+        }
+
+        /**
+         * 로그가 없어도 끝난 세그먼트를 건너뛰어 위치가 전진했는지 여부
+         */
+        public boolean advances() {
+            return endMark != startMark;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package dev.waf.console.infrastructure.logging.spool;
+
+import dev.waf.console.waflog.domain.WAFLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 스풀 레코드 직렬화
+ *
+ * WAFLog를 고정 순서의 바이너리 필드로 기록 (null 가능 필드는 존재 플래그 또는 길이 -1로 표시)
+ * 아직 저장 전인 로그만 다루므로 ID는 기록하지 않음
+ *
+ * 인코딩 버퍼를 재사용하므로 인스턴스는 스레드 안전하지 않음
+ */
+final class WAFLogSpoolCodec {
+
+    private static final byte FORMAT_VERSION = 4;
+    private static final byte MIN_SUPPORTED_VERSION = 1;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    /**
+     * 로그를 레코드 페이로드로 인코딩
+     */
+    ByteBuffer encode(WAFLog wafLog) throws IOException {
+        bytes.reset();
+        out.writeByte(FORMAT_VERSION);
+        writeTimestamp(wafLog.getTimestamp());
+        writeString(wafLog.getStatus() != null ? wafLog.getStatus().name() : null);
+        writeString(wafLog.getSourceIp());
+        writeString(wafLog.getHttpMethod());
+        writeString(wafLog.getRequestUri());
+        writeString(wafLog.getUserAgent());
+        writeString(wafLog.getAttackType());
+        writeInteger(wafLog.getRiskScore());
+        writeString(wafLog.getRuleId());
+        writeString(wafLog.getRuleName());
+        writeString(wafLog.getBlockReason());
+        writeLong(wafLog.getResponseTimeMs());
+        writeInteger(wafLog.getResponseStatusCode());
+        writeLong(wafLog.getPayloadSize());
+        writeString(wafLog.getGeoCountry());
+        writeString(wafLog.getMetadata());
+        writeString(wafLog.getSessionId());
+        writeInteger(wafLog.getSampleWeight());
+        writeLong(wafLog.getResponseTimeUs());
+        writeString(wafLog.getRequestQuery());
+        out.flush();
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /**
+     * 레코드 페이로드를 로그로 디코딩
+     *
+     * 이전 버전 레코드는 이후에 추가된 필드를 null로 둠
+     * (쿼리 스트링을 분리하기 전인 버전 3 이하 레코드는 요청 URI를 경로와 쿼리로 나눔)
+     *
+     * @throws IllegalStateException 지원하지 않는 포맷 버전인 경우
+     */
+    static WAFLog decode(ByteBuffer payload) {
+        byte version = payload.get();
+        if (version < MIN_SUPPORTED_VERSION || version > FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported spool record version: " + version);
+        }
+
+        WAFLog wafLog = new WAFLog();
+        wafLog.setTimestamp(readTimestamp(payload));
+        String status = readString(payload);
+        wafLog.setStatus(status != null ? WAFLog.LogStatus.valueOf(status) : null);
+        wafLog.setSourceIp(readString(payload));
+        wafLog.setHttpMethod(readString(payload));
+        wafLog.setRequestUri(readString(payload));
+        wafLog.setUserAgent(readString(payload));
+        wafLog.setAttackType(readString(payload));
+        wafLog.setRiskScore(readInteger(payload));
+        wafLog.setRuleId(readString(payload));
+        wafLog.setRuleName(readString(payload));
+        wafLog.setBlockReason(readString(payload));
+        wafLog.setResponseTimeMs(readLong(payload));
+        wafLog.setResponseStatusCode(readInteger(payload));
+        wafLog.setPayloadSize(readLong(payload));
+        wafLog.setGeoCountry(readString(payload));
+        wafLog.setMetadata(readString(payload));
+        wafLog.setSessionId(readString(payload));
+        if (version >= 2) {
+            wafLog.setSampleWeight(readInteger(payload));
+        }
+        if (version >= 3) {
+            wafLog.setResponseTimeUs(readLong(payload));
+        }
+        if (version >= 4) {
+            wafLog.setRequestQuery(readString(payload));
+        } else {
+            String requestTarget = wafLog.getRequestUri();
+            wafLog.setRequestUri(WAFLog.pathOf(requestTarget));
+            wafLog.setRequestQuery(WAFLog.queryOf(requestTarget));
+        }
+        return wafLog;
+    }
+
+    private void writeTimestamp(LocalDateTime timestamp) throws IOException {
+        out.writeBoolean(timestamp != null);
+        if (timestamp != null) {
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private void writeInteger(Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private void writeLong(Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer payload) {
+        if (payload.get() == 0) {
+            return null;
+        }
+        long epochSecond = payload.getLong();
+        int nano = payload.getInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static String readString(ByteBuffer payload) {
+        int length = payload.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] encoded = new byte[length];
+        payload.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInteger(ByteBuffer payload) {
+        return payload.get() == 0 ? null : payload.getInt();
+    }
+
+    private static Long readLong(ByteBuffer payload) {
+        return payload.get() == 0 ? null : payload.getLong();
+    }
+}
@@ -0,0 +1,176 @@
+package dev.waf.console.infrastructure.logging.spool;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.service.WAFLogBatchWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WAF 로그 스풀 재생기
+ *
+ * 스풀에 쌓인 로그를 WAFLogBatchWriter.persistBatch로 저장(발행 대기열 행 포함)하고,
+ * 저장이 성공한 경우에만 스풀 체크포인트를 전진시킴
+ * - 연결/일시적 DB 오류(WAFLogBatchWriter.isTransient)는 지수 백오프(최대 max-backoff-ms)로 같은 배치를 재시도
+ * - 장애가 풀리면 쌓인 순서대로 batch-size 단위로 따라잡음
+ * - 데이터/제약 조건 오류는 재시도해도 같으므로, 읽는 건수를 반씩 줄여 성공한 앞부분은 커밋하고
+ *   문제 행 하나만 남으면 격리(카운터와 오류 로그)한 뒤 그 다음으로 진행 (한 행이 스풀 전체를 막지 않음)
+ *
+ * 저장 커밋과 체크포인트 기록 사이에 프로세스가 종료되면 해당 배치가 한 번 더 저장될 수 있음 (at-least-once)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.waf-log.spool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WAFLogSpoolReplayer {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final WAFLogSpool wafLogSpool;
+    private final WAFLogBatchWriter wafLogBatchWriter;
+    private final int batchSize;
+    private final long idleWaitMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter replayedCounter;
+    private final Counter failureCounter;
+    private final Counter quarantinedCounter;
+
+    private volatile boolean running;
+    private Thread replayThread;
+
+    public WAFLogSpoolReplayer(WAFLogSpool wafLogSpool,
+                               WAFLogBatchWriter wafLogBatchWriter,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.waf-log.ingest.batch-size:500}") int batchSize,
+                               @Value("${app.waf-log.spool.replay.idle-wait-ms:50}") long idleWaitMillis,
+                               @Value("${app.waf-log.spool.replay.max-backoff-ms:30000}") long maxBackoffMillis) {
+        this.wafLogSpool = wafLogSpool;
+        this.wafLogBatchWriter = wafLogBatchWriter;
+        this.batchSize = batchSize;
+        this.idleWaitMillis = idleWaitMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+
+        this.replayedCounter = Counter.builder("waf.log.spool.replayed")
+            .description("Number of spooled WAF logs persisted to the database")
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("waf.log.spool.replay.failures")
+            .description("Number of failed spool replay attempts")
+            .register(meterRegistry);
+        this.quarantinedCounter = Counter.builder("waf.log.spool.quarantined")
+            .description("Number of spooled WAF logs skipped because the database rejected the row")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        replayThread = new Thread(this::runReplayLoop, "waf-log-spool-replayer");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    /**
+     * 재생 중단 (남은 레코드는 스풀에 보존되어 다음 기동 시 재생됨)
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (replayThread != null) {
+            replayThread.interrupt();
+            replayThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void runReplayLoop() {
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        // 데이터 오류 배치를 나눠 읽는 동안의 읽기 건수와, 실패한 배치의 끝 위치
+        int pollSize = batchSize;
+        long isolateUntilMark = -1;
+
+        while (running) {
+            try {
+                WAFLogSpool.SpoolBatch batch = wafLogSpool.poll(pollSize);
+                if (batch.isEmpty()) {
+                    if (batch.advances()) {
+                        wafLogSpool.commit(batch);
+                    }
+                    Thread.sleep(idleWaitMillis);
+                    continue;
+                }
+
+                try {
+                    wafLogBatchWriter.persistBatch(batch.logs());
+                } catch (RuntimeException e) {
+                    if (WAFLogBatchWriter.isTransient(e)) {
+                        throw e;
+                    }
+                    failureCounter.increment();
+                    if (batch.logs().size() == 1) {
+                        quarantine(batch, e);
+                    } else {
+                        isolateUntilMark = Math.max(isolateUntilMark, batch.endMark());
+                        pollSize = batch.logs().size() / 2;
+                        log.warn("WAF log spool batch of {} rows rejected - replaying {} rows at a time to isolate it: {}",
+                            batch.logs().size(), pollSize, e.getMessage());
+                    }
+                    continue;
+                }
+                wafLogSpool.commit(batch);
+                replayedCounter.increment(batch.logs().size());
+
+                if (isolateUntilMark >= 0 && batch.endMark() >= isolateUntilMark) {
+                    pollSize = batchSize;
+                    isolateUntilMark = -1;
+                }
+                if (backoffMillis > INITIAL_BACKOFF_MILLIS) {
+                    log.info("WAF log spool replay recovered - remaining backlog: {} bytes",
+                        wafLogSpool.getBacklogBytes());
+                    backoffMillis = INITIAL_BACKOFF_MILLIS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("WAF log spool replay failed - retrying in {} ms (backlog: {} bytes)",
+                    backoffMillis, wafLogSpool.getBacklogBytes(), e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+
+        log.info("WAF log spool replayer stopped - backlog left for next start: {} bytes",
+            wafLogSpool.getBacklogBytes());
+    }
+
+    /**
+     * DB가 거부한 한 행을 건너뛰고 커밋 위치를 그 다음으로 전진
+     */
+    private void quarantine(WAFLogSpool.SpoolBatch batch, Exception cause) {
+        WAFLog rejected = batch.logs().get(0);
+        try {
+            wafLogSpool.commit(batch);
+        } catch (IOException e) {
+            log.warn("Failed to commit past rejected spool record - it will be retried", e);
+            return;
+        }
+        quarantinedCounter.increment();
+        log.error("Spooled WAF log rejected by the database - skipped: status={}, sourceIp={}, method={}, " +
+                "timestamp={}, attackType={}, ruleId={}",
+            rejected.getStatus(), rejected.getSourceIp(), rejected.getHttpMethod(), rejected.getTimestamp(),
+            rejected.getAttackType(), rejected.getRuleId(), cause);
+    }
+}
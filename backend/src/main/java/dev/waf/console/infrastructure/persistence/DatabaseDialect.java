@@ -0,0 +1,51 @@
+package dev.waf.console.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 연결된 데이터베이스 종류
+ *
+ * 파티션/롤업/사전 관리처럼 MySQL 전용 SQL을 쓰는 컴포넌트가 실행 여부를 판단할 때 사용
+ * - 기동 시 한 번 JDBC 메타데이터로 확인하고 결과를 재사용
+ * - 기동 시 DB에 연결하지 못했으면 다음 조회에서 다시 확인 (그때까지는 MySQL이 아닌 것으로 간주)
+ */
+@Slf4j
+@Component
+public class DatabaseDialect {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean mySql;
+
+    public DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mySql = detect();
+    }
+
+    /**
+     * MySQL 여부 (확인하지 못했으면 false)
+     */
+    public boolean isMySql() {
+        Boolean detected = mySql;
+        if (detected == null) {
+            detected = detect();
+            mySql = detected;
+        }
+        return detected != null && detected;
+    }
+
+    private Boolean detect() {
+        try {
+            String productName = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            boolean detected = productName != null && productName.toLowerCase().contains("mysql");
+            log.info("Database product detected: {}", productName);
+            return detected;
+        } catch (Exception e) {
+            log.warn("Failed to detect database product - MySQL-only maintenance skipped until it can be detected", e);
+            return null;
+        }
+    }
+}
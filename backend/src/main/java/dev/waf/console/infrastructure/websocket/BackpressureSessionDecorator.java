@@ -0,0 +1,192 @@
+package dev.waf.console.infrastructure.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 세션별 송신 대기열을 둔 WebSocket 세션
+ *
+ * sendMessage는 대기열에 넣고 바로 반환하며, 실제 전송은 공용 송신 실행자에서 세션당 한 스레드만 수행
+ * - 스냅샷 성격의 목적지(conflated)는 대기열에 최신 프레임 하나만 유지
+ * - 대기열이 가득 차면 더 이상 따라잡을 수 없는 세션으로 보고 연결 종료
+ * - 송신 실행자를 오래 점유하지 않도록 한 번에 DRAIN_BATCH개까지만 보내고 다시 제출
+ */
+@Slf4j
+final class BackpressureSessionDecorator extends WebSocketSessionDecorator {
+
+    static final int DRAIN_BATCH = 32;
+
+    private static final String DESTINATION_HEADER = "destination:";
+
+    private final WebSocketOutboundBackpressure policy;
+    private final ArrayDeque<Outbound> queue = new ArrayDeque<>();
+    private boolean draining;
+    private volatile boolean closing;
+
+    /**
+     * 진행 중인 전송의 시작 시각 (System.nanoTime, 전송 중이 아니면 0)
+     */
+    private volatile long sendStartedNanos;
+    private volatile String sendingDestination;
+
+    BackpressureSessionDecorator(WebSocketSession delegate, WebSocketOutboundBackpressure policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closing) {
+            return;
+        }
+
+        String destination = destinationOf(message);
+        boolean overflow = false;
+        boolean startDrain = false;
+        synchronized (queue) {
+            if (destination != null && policy.isConflated(destination)) {
+                Iterator<Outbound> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (destination.equals(iterator.next().destination())) {
+                        iterator.remove();
+                        policy.recordConflated(destination);
+                    }
+                }
+            }
+            if (queue.size() >= policy.getMaxQueueDepth()) {
+                overflow = true;
+            } else {
+                queue.addLast(new Outbound(destination, message));
+                if (!draining) {
+                    draining = true;
+                    startDrain = true;
+                }
+            }
+        }
+
+        if (overflow) {
+            policy.disconnect(this, destination, "outbound queue full (" + policy.getMaxQueueDepth() + " frames)");
+        } else if (startDrain) {
+            policy.submit(this::drain);
+        }
+    }
+
+    /**
+     * 대기 중인 프레임 수
+     */
+    int getQueued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * 진행 중인 전송이 시작된 지 지난 시간 (전송 중이 아니면 0)
+     */
+    long sendingNanos(long nowNanos) {
+        long started = sendStartedNanos;
+        return started == 0 ? 0 : nowNanos - started;
+    }
+
+    String getSendingDestination() {
+        return sendingDestination;
+    }
+
+    /**
+     * 연결 종료 처리: 이후 전송은 무시하고 대기 중인 프레임 목록을 반환
+     *
+     * @return 이미 종료 중이면 null
+     */
+    List<String> markClosing() {
+        synchronized (queue) {
+            if (closing) {
+                return null;
+            }
+            closing = true;
+            List<String> dropped = queue.stream().map(Outbound::destination).toList();
+            queue.clear();
+            return dropped;
+        }
+    }
+
+    private void drain() {
+        for (int sent = 0; sent < DRAIN_BATCH; sent++) {
+            Outbound next;
+            synchronized (queue) {
+                next = queue.pollFirst();
+                if (next == null || closing) {
+                    draining = false;
+                    return;
+                }
+            }
+
+            sendingDestination = next.destination();
+            sendStartedNanos = System.nanoTime();
+            try {
+                getDelegate().sendMessage(next.message());
+            } catch (Exception e) {
+                log.debug("WebSocket send failed: sessionId={}, destination={}", getId(), next.destination(), e);
+                policy.disconnect(this, next.destination(), "send failed: " + e.getMessage());
+                return;
+            } finally {
+                sendStartedNanos = 0;
+                sendingDestination = null;
+            }
+        }
+        // 다른 세션도 송신 스레드를 쓸 수 있도록 남은 프레임은 다시 제출
+        policy.submit(this::drain);
+    }
+
+    /**
+     * STOMP MESSAGE 프레임의 destination 헤더 (MESSAGE 프레임이 아니거나 없으면 null)
+     */
+    static String destinationOf(WebSocketMessage<?> message) {
+        String frame;
+        if (message instanceof TextMessage text) {
+            frame = text.getPayload();
+        } else if (message instanceof BinaryMessage binary) {
+            ByteBuffer payload = binary.getPayload().asReadOnlyBuffer();
+            byte[] head = new byte[Math.min(payload.remaining(), 1024)];
+            payload.get(head);
+            frame = new String(head, StandardCharsets.ISO_8859_1);
+        } else {
+            return null;
+        }
+
+        if (!frame.startsWith("MESSAGE\n") && !frame.startsWith("MESSAGE\r\n")) {
+            return null;
+        }
+        int lineStart = frame.indexOf('\n') + 1;
+        while (lineStart < frame.length()) {
+            int lineEnd = frame.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                return null;
+            }
+            String line = frame.substring(lineStart, lineEnd);
+            if (line.isEmpty() || line.equals("\r")) {
+                return null;
+            }
+            if (line.startsWith(DESTINATION_HEADER)) {
+                return line.substring(DESTINATION_HEADER.length()).strip();
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+
+    private record Outbound(String destination, WebSocketMessage<?> message) {}
+}
@@ -0,0 +1,203 @@
+package dev.waf.console.infrastructure.websocket;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.waf.console.event.AttackDetectedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대시보드 WebSocket 압축 프레임 인코더
+ *
+ * 공격/트래픽 이벤트 전체를 JSON으로 보내면 metadata, version, source, correlationId, payload 등
+ * 대시보드가 쓰지 않는 필드까지 구독자마다 전송되므로, 화면에 필요한 필드만 열 단위로 담은 압축 프레임을 함께 제공함
+ * - 반복되는 문자열(공격 유형, IP, URL, 룰 등)은 프레임마다 사전(dict)에 한 번만 두고 인덱스로 참조
+ * - 타임스탬프는 첫 값(t0, epoch ms)과 직전 값과의 차이(dt)로 표현
+ * - 압축 프레임은 /topic/dashboard/compact/* 목적지로 전송되며, 구독 시 format: compact 헤더를 주면
+ *   CompactSubscriptionInterceptor가 해당 목적지로 바꿔 구독시킴 (구독 단위 선택)
+ *
+ * SockJS 전송은 텍스트 프레임만 지원하므로 바이너리(CBOR/Smile) 대신 JSON 형태를 유지함
+ */
+@Slf4j
+@Component
+public class CompactDashboardEncoder {
+
+    public static final int FORMAT_VERSION = 1;
+    public static final String FORMAT_HEADER = "format";
+    public static final String FORMAT_COMPACT = "compact";
+
+    public static final String COMPACT_ATTACKS = "/topic/dashboard/compact/attacks";
+    public static final String COMPACT_TRAFFIC = "/topic/dashboard/compact/traffic";
+
+    private static final Map<String, String> COMPACT_DESTINATIONS = Map.of(
+        "/topic/dashboard/attacks", COMPACT_ATTACKS,
+        "/topic/dashboard/traffic", COMPACT_TRAFFIC);
+
+    private final boolean enabled;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public CompactDashboardEncoder(@Value("${app.websocket.compact.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        log.info("Compact dashboard WebSocket frames {}", enabled ? "enabled" : "disabled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 압축 프레임을 제공하는 목적지면 압축 프레임 목적지, 아니면 null
+     */
+    public static String compactDestination(String destination) {
+        return destination != null ? COMPACT_DESTINATIONS.get(destination) : null;
+    }
+
+    /**
+     * 공격 이벤트 배치를 열 단위 압축 프레임으로 변환
+     */
+    public CompactAttackBatch encodeAttacks(List<AttackDetectedEvent> events) {
+        Dictionary dictionary = new Dictionary();
+        int size = events.size();
+        List<Long> timestampDeltas = new ArrayList<>(size);
+        List<String> eventIds = new ArrayList<>(size);
+        List<Integer> attackTypes = new ArrayList<>(size);
+        List<Integer> sourceIps = new ArrayList<>(size);
+        List<Integer> targetUrls = new ArrayList<>(size);
+        List<Integer> httpMethods = new ArrayList<>(size);
+        List<Integer> ruleIds = new ArrayList<>(size);
+        List<Integer> ruleNames = new ArrayList<>(size);
+        List<Integer> riskScores = new ArrayList<>(size);
+        List<Integer> blocked = new ArrayList<>(size);
+        List<Integer> geoLocations = new ArrayList<>(size);
+
+        Long baseTimestamp = null;
+        long previous = 0;
+        for (AttackDetectedEvent event : events) {
+            Long timestamp = epochMillis(event.getTimestamp());
+            if (timestamp == null) {
+                timestampDeltas.add(null);
+            } else if (baseTimestamp == null) {
+                baseTimestamp = timestamp;
+                timestampDeltas.add(0L);
+                previous = timestamp;
+            } else {
+                timestampDeltas.add(timestamp - previous);
+                previous = timestamp;
+            }
+
+            eventIds.add(event.getEventId());
+            attackTypes.add(dictionary.indexOf(event.getAttackType() != null ? event.getAttackType().name() : null));
+            sourceIps.add(dictionary.indexOf(event.getSourceIp()));
+            targetUrls.add(dictionary.indexOf(event.getTargetUrl()));
+            httpMethods.add(dictionary.indexOf(event.getHttpMethod()));
+            ruleIds.add(dictionary.indexOf(event.getRuleId()));
+            ruleNames.add(dictionary.indexOf(event.getRuleName()));
+            riskScores.add(event.getRiskScore());
+            blocked.add(event.getBlocked() == null ? null : event.getBlocked() ? 1 : 0);
+            geoLocations.add(dictionary.indexOf(event.getGeoLocation()));
+        }
+
+        return new CompactAttackBatch(FORMAT_VERSION, size, baseTimestamp, timestampDeltas, dictionary.values(),
+            eventIds, attackTypes, sourceIps, targetUrls, httpMethods, ruleIds, ruleNames, riskScores, blocked,
+            geoLocations);
+    }
+
+    /**
+     * 주기별 트래픽 집계를 압축 프레임으로 변환 (응답 시간은 0.1ms 단위로 반올림)
+     */
+    public CompactTraffic encodeTraffic(DashboardBroadcastCoalescer.TrafficDelta delta) {
+        Long start = epochMillis(delta.getWindowStart());
+        Long end = epochMillis(delta.getWindowEnd());
+        List<DashboardBroadcastCoalescer.UriCount> topUris = delta.getTopUris() != null ? delta.getTopUris() : List.of();
+
+        return new CompactTraffic(
+            FORMAT_VERSION,
+            start,
+            start != null && end != null ? end - start : null,
+            delta.getTotalRequests(),
+            delta.getStatusCounts(),
+            topUris.stream().map(DashboardBroadcastCoalescer.UriCount::uri).toList(),
+            topUris.stream().map(DashboardBroadcastCoalescer.UriCount::count).toList(),
+            delta.getOtherUriRequests(),
+            List.of(tenths(delta.getAvgResponseTime()), tenths(delta.getP50ResponseTime()),
+                tenths(delta.getP99ResponseTime()), tenths(delta.getMaxResponseTime())));
+    }
+
+    private Long epochMillis(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(zone).toInstant().toEpochMilli() : null;
+    }
+
+    private static double tenths(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    /**
+     * 프레임 안에서 반복되는 문자열 사전
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Integer indexOf(String value) {
+            if (value == null) {
+                return null;
+            }
+            return indexes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        private List<String> values() {
+            return values;
+        }
+    }
+
+    /**
+     * 공격 이벤트 배치 압축 프레임 (/topic/dashboard/compact/attacks)
+     *
+     * 모든 열은 길이가 count이고 같은 위치가 같은 이벤트이며, 문자열 열은 dictionary 인덱스 (없으면 null)
+     */
+    public record CompactAttackBatch(
+        @JsonProperty("v") int version,
+        @JsonProperty("n") int count,
+        @JsonProperty("t0") Long baseTimestamp,
+        @JsonProperty("dt") List<Long> timestampDeltas,
+        @JsonProperty("dict") List<String> dictionary,
+        @JsonProperty("id") List<String> eventIds,
+        @JsonProperty("type") List<Integer> attackTypes,
+        @JsonProperty("ip") List<Integer> sourceIps,
+        @JsonProperty("url") List<Integer> targetUrls,
+        @JsonProperty("method") List<Integer> httpMethods,
+        @JsonProperty("rule") List<Integer> ruleIds,
+        @JsonProperty("ruleName") List<Integer> ruleNames,
+        @JsonProperty("risk") List<Integer> riskScores,
+        @JsonProperty("blocked") List<Integer> blocked,
+        @JsonProperty("geo") List<Integer> geoLocations
+    ) {}
+
+    /**
+     * 주기별 트래픽 압축 프레임 (/topic/dashboard/compact/traffic)
+     *
+     * @param latency [평균, p50, p99, 최대] 응답 시간 (밀리초)
+     */
+    public record CompactTraffic(
+        @JsonProperty("v") int version,
+        @JsonProperty("t0") Long windowStart,
+        @JsonProperty("dur") Long durationMillis,
+        @JsonProperty("n") long totalRequests,
+        @JsonProperty("s") Map<String, Long> statusCounts,
+        @JsonProperty("uri") List<String> topUris,
+        @JsonProperty("uc") List<Long> topUriCounts,
+        @JsonProperty("o") long otherUriRequests,
+        @JsonProperty("lat") List<Double> latency
+    ) {}
+}
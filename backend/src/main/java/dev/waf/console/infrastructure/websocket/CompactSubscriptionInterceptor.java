@@ -0,0 +1,78 @@
+package dev.waf.console.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 구독 단위 압축 프레임 선택 및 구독 집계
+ *
+ * SUBSCRIBE 프레임에 format: compact 헤더가 있고 압축 프레임을 제공하는 목적지면
+ * 구독 목적지를 압축 프레임 목적지(/topic/dashboard/compact/*)로 바꿈
+ * - 클라이언트는 같은 목적지를 구독하면서 헤더로 형식만 선택
+ * - 압축 프레임이 비활성화되어 있으면 바꾸지 않으므로 기존 JSON을 그대로 받음
+ *
+ * 최종 구독 목적지는 DashboardSubscriptionTracker에 집계하여 구독자가 있는 형식만 만들어 보내도록 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompactSubscriptionInterceptor implements ChannelInterceptor {
+
+    private final CompactDashboardEncoder compactDashboardEncoder;
+    private final DashboardSubscriptionTracker dashboardSubscriptionTracker;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.UNSUBSCRIBE) {
+            dashboardSubscriptionTracker.onUnsubscribe(
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()),
+                SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+            return message;
+        }
+        if (messageType == SimpMessageType.DISCONNECT) {
+            dashboardSubscriptionTracker.onDisconnect(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+            return message;
+        }
+        if (messageType != SimpMessageType.SUBSCRIBE) {
+            return message;
+        }
+
+        Message<?> subscription = selectFormat(message);
+        dashboardSubscriptionTracker.onSubscribe(
+            SimpMessageHeaderAccessor.getSessionId(subscription.getHeaders()),
+            SimpMessageHeaderAccessor.getSubscriptionId(subscription.getHeaders()),
+            SimpMessageHeaderAccessor.getDestination(subscription.getHeaders()));
+        return subscription;
+    }
+
+    private Message<?> selectFormat(Message<?> message) {
+        if (!compactDashboardEncoder.isEnabled()) {
+            return message;
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (!CompactDashboardEncoder.FORMAT_COMPACT.equalsIgnoreCase(
+                accessor.getFirstNativeHeader(CompactDashboardEncoder.FORMAT_HEADER))) {
+            return message;
+        }
+
+        String compactDestination = CompactDashboardEncoder.compactDestination(accessor.getDestination());
+        if (compactDestination == null) {
+            return message;
+        }
+
+        log.debug("Compact subscription: sessionId={}, {} -> {}",
+            accessor.getSessionId(), accessor.getDestination(), compactDestination);
+        accessor.setDestination(compactDestination);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
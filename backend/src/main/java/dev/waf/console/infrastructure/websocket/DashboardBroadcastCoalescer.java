@@ -0,0 +1,333 @@
+package dev.waf.console.infrastructure.websocket;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.service.WebSocketBroadcastService;
+import dev.waf.console.waflog.stats.LatencyHistogram;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대시보드 WebSocket 브로드캐스트 병합기
+ *
+ * 접근 로그마다 STOMP 프레임을 보내면 초당 수천 건의 요청이 그대로 구독자 수만큼의 프레임이 되어
+ * 브로커 스레드 풀과 브라우저를 모두 압박하므로, 이벤트를 모아 주기마다 한 번만 전송함
+ * - 트래픽: traffic-interval-ms 동안의 접근 로그를 상태 코드별 건수, 상위 URI, 응답 시간 요약으로 집계하여
+ *   /topic/dashboard/traffic에 주기당 최대 1개 프레임 전송 (요청이 없던 주기는 전송하지 않음)
+ * - 공격: attack-interval-ms마다 모인 공격 이벤트를 배열 하나로 /topic/dashboard/attacks에 전송
+ *   (주기당 max-attack-batch건 초과분은 오래된 것부터 버림)
+ * - 샘플링된 접근 로그는 샘플 가중치만큼 반영
+ *
+ * 비활성화하면 이전처럼 이벤트마다 바로 전송
+ */
+@Slf4j
+@Component
+public class DashboardBroadcastCoalescer {
+
+    /**
+     * 상위 URI 집계 시 기억하는 서로 다른 URI 수 상한 (초과분은 otherUriRequests로 합산)
+     */
+    static final int MAX_TRACKED_URIS = 1000;
+
+    private final WebSocketBroadcastService webSocketBroadcastService;
+    private final boolean enabled;
+    private final long trafficIntervalMs;
+    private final long attackIntervalMs;
+    private final int topUris;
+    private final int maxAttackBatch;
+
+    private final Object trafficLock = new Object();
+    private TrafficWindow trafficWindow = new TrafficWindow(LocalDateTime.now());
+
+    private final Object attackLock = new Object();
+    private final ArrayDeque<AttackDetectedEvent> pendingAttacks = new ArrayDeque<>();
+    private long droppedAttacks;
+
+    private ScheduledExecutorService scheduler;
+
+    public DashboardBroadcastCoalescer(WebSocketBroadcastService webSocketBroadcastService,
+                                       @Value("${app.websocket.coalesce.enabled:true}") boolean enabled,
+                                       @Value("${app.websocket.coalesce.traffic-interval-ms:1000}") long trafficIntervalMs,
+                                       @Value("${app.websocket.coalesce.attack-interval-ms:250}") long attackIntervalMs,
+                                       @Value("${app.websocket.coalesce.top-uris:10}") int topUris,
+                                       @Value("${app.websocket.coalesce.max-attack-batch:200}") int maxAttackBatch) {
+        this.webSocketBroadcastService = webSocketBroadcastService;
+        this.enabled = enabled;
+        this.trafficIntervalMs = trafficIntervalMs;
+        this.attackIntervalMs = attackIntervalMs;
+        this.topUris = topUris;
+        this.maxAttackBatch = maxAttackBatch;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Dashboard broadcast coalescing disabled - broadcasting every event");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-broadcast-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flushTraffic, trafficIntervalMs, trafficIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::flushAttacks, attackIntervalMs, attackIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("Dashboard broadcast coalescing started: trafficInterval={}ms, attackInterval={}ms, topUris={}, maxAttackBatch={}",
+            trafficIntervalMs, attackIntervalMs, topUris, maxAttackBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flushTraffic();
+            flushAttacks();
+        }
+    }
+
+    /**
+     * 접근 로그를 현재 트래픽 주기에 반영
+     */
+    public void recordAccess(AccessLogEvent event) {
+        if (!enabled) {
+            webSocketBroadcastService.broadcastTrafficUpdate(event);
+            return;
+        }
+        synchronized (trafficLock) {
+            trafficWindow.add(event);
+        }
+    }
+
+    /**
+     * 공격 이벤트를 다음 배치에 추가
+     */
+    public void recordAttack(AttackDetectedEvent event) {
+        if (!enabled) {
+            webSocketBroadcastService.broadcastAttackEvent(event);
+            return;
+        }
+        synchronized (attackLock) {
+            if (pendingAttacks.size() >= maxAttackBatch) {
+                pendingAttacks.pollFirst();
+                droppedAttacks++;
+            }
+            pendingAttacks.addLast(event);
+        }
+    }
+
+    /**
+     * Kafka 배치로 받은 접근 로그를 한 번의 잠금으로 현재 트래픽 주기에 반영
+     */
+    public void recordAccesses(List<AccessLogEvent> events) {
+        if (!enabled) {
+            events.forEach(webSocketBroadcastService::broadcastTrafficUpdate);
+            return;
+        }
+        synchronized (trafficLock) {
+            events.forEach(trafficWindow::add);
+        }
+    }
+
+    /**
+     * Kafka 배치로 받은 공격 이벤트를 한 번의 잠금으로 다음 배치에 추가
+     */
+    public void recordAttacks(List<AttackDetectedEvent> events) {
+        if (!enabled) {
+            webSocketBroadcastService.broadcastAttackBatch(events);
+            return;
+        }
+        synchronized (attackLock) {
+            for (AttackDetectedEvent event : events) {
+                if (pendingAttacks.size() >= maxAttackBatch) {
+                    pendingAttacks.pollFirst();
+                    droppedAttacks++;
+                }
+                pendingAttacks.addLast(event);
+            }
+        }
+    }
+
+    /**
+     * 현재 트래픽 주기를 닫고 요청이 있었으면 집계 프레임 전송
+     */
+    void flushTraffic() {
+        LocalDateTime now = LocalDateTime.now();
+        TrafficWindow closed;
+        synchronized (trafficLock) {
+            closed = trafficWindow;
+            trafficWindow = new TrafficWindow(now);
+        }
+        if (closed.totalRequests == 0) {
+            return;
+        }
+
+        try {
+            webSocketBroadcastService.broadcastTrafficDelta(closed.toDelta(now, topUris));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast coalesced traffic delta: requests={}", closed.totalRequests, e);
+        }
+    }
+
+    /**
+     * 모인 공격 이벤트를 배열 하나로 전송
+     */
+    void flushAttacks() {
+        List<AttackDetectedEvent> batch;
+        long dropped;
+        synchronized (attackLock) {
+            if (pendingAttacks.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pendingAttacks);
+            pendingAttacks.clear();
+            dropped = droppedAttacks;
+            droppedAttacks = 0;
+        }
+
+        if (dropped > 0) {
+            log.warn("Dropped {} attack events from WebSocket batch - more than {} attacks in {}ms",
+                dropped, maxAttackBatch, attackIntervalMs);
+        }
+        try {
+            webSocketBroadcastService.broadcastAttackBatch(batch);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast attack batch: size={}", batch.size(), e);
+        }
+    }
+
+    /**
+     * 한 트래픽 주기의 집계 (trafficLock 안에서만 갱신)
+     */
+    private static final class TrafficWindow {
+
+        private final LocalDateTime start;
+        private long totalRequests;
+        private final Map<String, Long> statusCounts = new TreeMap<>();
+        private final Map<String, Long> uriCounts = new HashMap<>();
+        private long otherUriRequests;
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private TrafficWindow(LocalDateTime start) {
+            this.start = start;
+        }
+
+        private void add(AccessLogEvent event) {
+            long weight = event.getSampleWeight() != null ? event.getSampleWeight() : 1;
+            totalRequests += weight;
+            statusCounts.merge(statusClass(event.getStatusCode()), weight, Long::sum);
+
+            String uri = pathOf(event.getUri());
+            if (uri != null) {
+                if (uriCounts.containsKey(uri) || uriCounts.size() < MAX_TRACKED_URIS) {
+                    uriCounts.merge(uri, weight, Long::sum);
+                } else {
+                    otherUriRequests += weight;
+                }
+            }
+
+            if (event.getResponseTime() != null) {
+                latency.record(event.getResponseTime() * 1000, weight);
+            }
+        }
+
+        private TrafficDelta toDelta(LocalDateTime end, int limit) {
+            List<UriCount> top = uriCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new UriCount(entry.getKey(), entry.getValue()))
+                .toList();
+
+            return TrafficDelta.builder()
+                .windowStart(start)
+                .windowEnd(end)
+                .totalRequests(totalRequests)
+                .statusCounts(statusCounts)
+                .topUris(top)
+                .otherUriRequests(otherUriRequests)
+                .avgResponseTime(latency.getMeanMicros() / 1000.0)
+                .p50ResponseTime(latency.valueAtQuantile(0.50) / 1000.0)
+                .p99ResponseTime(latency.valueAtQuantile(0.99) / 1000.0)
+                .maxResponseTime(latency.getMaxMicros() / 1000.0)
+                .build();
+        }
+
+        private static String statusClass(Integer statusCode) {
+            if (statusCode == null || statusCode < 100 || statusCode > 599) {
+                return "unknown";
+            }
+            return (statusCode / 100) + "xx";
+        }
+
+        /**
+         * 쿼리 문자열을 제외한 경로 (URI 종류 수를 제한하기 위함)
+         */
+        private static String pathOf(String uri) {
+            if (uri == null || uri.isEmpty()) {
+                return null;
+            }
+            int query = uri.indexOf('?');
+            return query >= 0 ? uri.substring(0, query) : uri;
+        }
+    }
+
+    /**
+     * 한 주기 동안의 트래픽 집계 (/topic/dashboard/traffic)
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class TrafficDelta {
+        private LocalDateTime windowStart;
+        private LocalDateTime windowEnd;
+
+        /**
+         * 주기 동안의 요청 수 (샘플 가중치 포함)
+         */
+        private long totalRequests;
+
+        /**
+         * 상태 코드 계열별 요청 수 ("2xx", "4xx", ..., 알 수 없으면 "unknown")
+         */
+        private Map<String, Long> statusCounts;
+
+        /**
+         * 요청 수 상위 URI (쿼리 문자열 제외)
+         */
+        private List<UriCount> topUris;
+
+        /**
+         * URI 종류 상한을 넘어 개별 집계하지 못한 요청 수
+         */
+        private long otherUriRequests;
+
+        /**
+         * 응답 시간 요약 (밀리초)
+         */
+        private double avgResponseTime;
+        private double p50ResponseTime;
+        private double p99ResponseTime;
+        private double maxResponseTime;
+    }
+
+    /**
+     * URI별 요청 수
+     */
+    public record UriCount(String uri, long count) {}
+}
@@ -0,0 +1,182 @@
+package dev.waf.console.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대시보드 목적지별 구독 현황
+ *
+ * 구독자가 없는 목적지의 프레임을 만들고 중계하지 않도록 WebSocketBroadcastService가 전송 전에 확인함
+ * - 이 노드의 구독은 CompactSubscriptionInterceptor가 SUBSCRIBE/UNSUBSCRIBE/DISCONNECT에서 세션별로 집계
+ * - 다른 노드의 구독은 refresh-ms마다 Redis 정렬 집합(목적지별, 노드 ID와 만료 시각)으로 주고받음
+ * - 다른 노드에 새로 생긴 구독은 최대 refresh-ms 늦게 반영되며, Redis를 읽지 못하면 구독자가 있다고 간주함
+ *
+ * 중계가 꺼져 있으면 이 노드의 구독만 확인
+ */
+@Slf4j
+@Component
+public class DashboardSubscriptionTracker {
+
+    static final String KEY_PREFIX = "waf:websocket:subscribers:";
+    private static final String TRACKED_PREFIX = "/topic/dashboard/";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String nodeId;
+    private final boolean clustered;
+    private final long refreshMs;
+
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> localCounts = new ConcurrentHashMap<>();
+    private final Set<String> queriedDestinations = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> remoteDestinations = Set.of();
+
+    private ScheduledExecutorService scheduler;
+
+    public DashboardSubscriptionTracker(RedisTemplate<String, Object> redisTemplate,
+                                        WebSocketClusterRelay webSocketClusterRelay,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.websocket.relay.enabled:true}") boolean clustered,
+                                        @Value("${app.websocket.subscriptions.refresh-ms:1000}") long refreshMs) {
+        this(redisTemplate, webSocketClusterRelay.getNodeId(), meterRegistry, clustered, refreshMs);
+    }
+
+    DashboardSubscriptionTracker(RedisTemplate<String, Object> redisTemplate, String nodeId, MeterRegistry meterRegistry,
+                                 boolean clustered, long refreshMs) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+        this.clustered = clustered;
+        this.refreshMs = refreshMs;
+
+        Gauge.builder("waf.websocket.dashboard.subscriptions", localCounts,
+                counts -> counts.values().stream().mapToInt(AtomicInteger::get).sum())
+            .description("Dashboard subscriptions held by this node")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!clustered) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-subscription-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            for (String destination : localCounts.keySet()) {
+                redisTemplate.opsForZSet().remove(KEY_PREFIX + destination, nodeId);
+            }
+        } catch (Exception e) {
+            log.debug("Failed to withdraw dashboard subscriptions on shutdown", e);
+        }
+    }
+
+    /**
+     * 목적지에 이 노드 또는 다른 노드의 구독자가 있는지 확인
+     */
+    public boolean hasSubscribers(String destination) {
+        queriedDestinations.add(destination);
+        AtomicInteger local = localCounts.get(destination);
+        return (local != null && local.get() > 0) || remoteDestinations.contains(destination);
+    }
+
+    void onSubscribe(String sessionId, String subscriptionId, String destination) {
+        if (sessionId == null || subscriptionId == null || destination == null || !destination.startsWith(TRACKED_PREFIX)) {
+            return;
+        }
+        String previous = subscriptionsBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+            .put(subscriptionId, destination);
+        if (previous != null) {
+            decrement(previous);
+        }
+        localCounts.computeIfAbsent(destination, d -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void onUnsubscribe(String sessionId, String subscriptionId) {
+        if (sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Map<String, String> subscriptions = subscriptionsBySession.get(sessionId);
+        String destination = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+        if (destination != null) {
+            decrement(destination);
+        }
+    }
+
+    void onDisconnect(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Map<String, String> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    /**
+     * 이 노드의 구독 목적지를 Redis에 알리고 다른 노드의 구독 목적지를 갱신
+     */
+    void refresh() {
+        Set<String> destinations = new HashSet<>(queriedDestinations);
+        destinations.addAll(localCounts.keySet());
+
+        long now = System.currentTimeMillis();
+        long expiresAt = now + refreshMs * 3;
+        try {
+            Set<String> remote = new HashSet<>();
+            for (String destination : destinations) {
+                String key = KEY_PREFIX + destination;
+                AtomicInteger local = localCounts.get(destination);
+                boolean subscribedHere = local != null && local.get() > 0;
+                if (subscribedHere) {
+                    redisTemplate.opsForZSet().add(key, nodeId, expiresAt);
+                } else {
+                    redisTemplate.opsForZSet().remove(key, nodeId);
+                }
+                redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+
+                Long nodes = redisTemplate.opsForZSet().count(key, now, Double.POSITIVE_INFINITY);
+                if (nodes != null && nodes > (subscribedHere ? 1 : 0)) {
+                    remote.add(destination);
+                }
+            }
+            remoteDestinations = Set.copyOf(remote);
+        } catch (Exception e) {
+            remoteDestinations = Set.copyOf(destinations);
+            log.warn("Failed to refresh dashboard subscriptions from Redis - relaying all formats", e);
+        }
+    }
+
+    private void decrement(String destination) {
+        AtomicInteger count = localCounts.get(destination);
+        if (count != null) {
+            count.updateAndGet(value -> Math.max(0, value - 1));
+        }
+    }
+}
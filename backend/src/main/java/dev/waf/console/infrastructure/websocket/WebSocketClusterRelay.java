@@ -0,0 +1,303 @@
+package dev.waf.console.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 콘솔 노드 간 WebSocket 브로드캐스트 중계 (Redis pub/sub)
+ *
+ * 심플 브로커는 프로세스 안에서만 동작하고 Kafka 파티션은 노드마다 나뉘어 소비되므로,
+ * 각 노드에서 소비한 실시간 이벤트를 Redis 채널로 다른 노드에 전달하여 모든 노드의 구독자가 전체 피드를 받도록 함
+ * - 이벤트당 직렬화는 한 번: 브로커 메시지 변환기로 만든 바이트를 로컬 전송과 Redis 발행에 함께 사용
+ * - 발행은 batch-interval-ms마다 모아서 한 번 (배치당 최대 max-batch-frames개)
+ * - 수신 노드는 자신이 발행한 배치를 건너뛰고, 발행 노드별 배치 순번으로 중복 수신을 제거
+ * - 발행 대기열이 max-pending-frames를 넘거나 Redis 발행에 실패하면 다른 노드로의 전달만 버림 (로컬 전송은 유지)
+ *
+ * 노드마다 같은 데이터로 집계하는 통계/상태 스냅샷은 중계하지 않음
+ */
+@Slf4j
+@Component
+public class WebSocketClusterRelay {
+
+    static final String CHANNEL = "waf:websocket:relay";
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_TRACKED_NODES = 256;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final long batchIntervalMs;
+    private final int maxBatchFrames;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final BlockingQueue<RelayFrame> pending;
+    private final Map<String, Long> lastSequenceByNode = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_TRACKED_NODES;
+        }
+    };
+
+    private final Counter publishedFrames;
+    private final Counter publishFailures;
+    private final Counter droppedFrames;
+    private final Counter receivedFrames;
+    private final Counter duplicateBatches;
+
+    private ScheduledExecutorService scheduler;
+    private RedisMessageListenerContainer listenerContainer;
+
+    public WebSocketClusterRelay(SimpMessagingTemplate messagingTemplate,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.websocket.relay.enabled:true}") boolean enabled,
+                                 @Value("${app.websocket.relay.batch-interval-ms:50}") long batchIntervalMs,
+                                 @Value("${app.websocket.relay.max-batch-frames:500}") int maxBatchFrames,
+                                 @Value("${app.websocket.relay.max-pending-frames:10000}") int maxPendingFrames) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.batchIntervalMs = batchIntervalMs;
+        this.maxBatchFrames = maxBatchFrames;
+        this.pending = new LinkedBlockingQueue<>(maxPendingFrames);
+
+        this.publishedFrames = Counter.builder("waf.websocket.relay.published")
+            .description("Frames published to other console nodes")
+            .register(meterRegistry);
+        this.publishFailures = Counter.builder("waf.websocket.relay.publish.failures")
+            .description("Relay batches that could not be published to Redis")
+            .register(meterRegistry);
+        this.droppedFrames = Counter.builder("waf.websocket.relay.dropped")
+            .description("Frames not relayed because the publish queue was full")
+            .register(meterRegistry);
+        this.receivedFrames = Counter.builder("waf.websocket.relay.received")
+            .description("Frames received from other console nodes and delivered locally")
+            .register(meterRegistry);
+        this.duplicateBatches = Counter.builder("waf.websocket.relay.duplicates")
+            .description("Relay batches ignored because they were already delivered")
+            .register(meterRegistry);
+        Gauge.builder("waf.websocket.relay.pending", pending, BlockingQueue::size)
+            .description("Frames waiting to be published to other console nodes")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("WebSocket cluster relay disabled - broadcasts reach local subscribers only");
+            return;
+        }
+
+        RedisConnectionFactory connectionFactory = redisTemplate.getConnectionFactory();
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.addMessageListener((message, pattern) -> onEnvelope(message.getBody()), new ChannelTopic(CHANNEL));
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "websocket-cluster-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::publishPending, batchIntervalMs, batchIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("WebSocket cluster relay started: channel={}, node={}, batchInterval={}ms, maxBatchFrames={}",
+            CHANNEL, nodeId, batchIntervalMs, maxBatchFrames);
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            publishPending();
+        }
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+    }
+
+    /**
+     * 로컬 구독자에게 전송하고 다른 노드로 중계
+     *
+     * @param destination 목적지 (예: /topic/dashboard/attacks)
+     * @param payload     전송할 객체 (브로커 메시지 변환기로 한 번만 직렬화)
+     */
+    public void broadcast(String destination, Object payload) {
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null || !(converted.getPayload() instanceof byte[] body)) {
+            // 바이트로 변환되지 않는 페이로드는 로컬로만 전송
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+
+        MimeType contentType = contentTypeOf(converted.getHeaders());
+        messagingTemplate.send(destination, localMessage(body, contentType));
+
+        if (enabled && !pending.offer(new RelayFrame(destination, contentType, body))) {
+            droppedFrames.increment();
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 대기 중인 프레임을 배치 단위로 모두 발행
+     */
+    void publishPending() {
+        byte[] batch;
+        while ((batch = nextBatch()) != null) {
+            byte[] envelope = batch;
+            try {
+                redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(CHANNEL_BYTES, envelope));
+            } catch (Exception e) {
+                publishFailures.increment();
+                log.warn("Failed to publish WebSocket relay batch - other nodes miss {} bytes of live events",
+                    envelope.length, e);
+            }
+        }
+    }
+
+    /**
+     * 대기열에서 최대 max-batch-frames개를 꺼내 봉투 하나로 인코딩
+     *
+     * @return 대기열이 비었으면 null
+     */
+    byte[] nextBatch() {
+        List<RelayFrame> frames = new ArrayList<>();
+        pending.drainTo(frames, maxBatchFrames);
+        if (frames.isEmpty()) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(nodeId);
+            out.writeLong(sequence.incrementAndGet());
+            out.writeInt(frames.size());
+            for (RelayFrame frame : frames) {
+                out.writeUTF(frame.destination());
+                out.writeUTF(frame.contentType() != null ? frame.contentType().toString() : "");
+                out.writeInt(frame.body().length);
+                out.write(frame.body());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        publishedFrames.increment(frames.size());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 다른 노드가 발행한 배치를 로컬 구독자에게 전달
+     */
+    void onEnvelope(byte[] envelope) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(envelope))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                log.warn("Ignoring WebSocket relay batch with unsupported format version: {}", version);
+                return;
+            }
+            String origin = in.readUTF();
+            long batchSequence = in.readLong();
+            if (nodeId.equals(origin) || !markDelivered(origin, batchSequence)) {
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String destination = in.readUTF();
+                String contentType = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                messagingTemplate.send(destination,
+                    localMessage(body, contentType.isEmpty() ? null : MimeType.valueOf(contentType)));
+            }
+            receivedFrames.increment(count);
+        } catch (Exception e) {
+            log.warn("Failed to deliver WebSocket relay batch: {} bytes", envelope.length, e);
+        }
+    }
+
+    /**
+     * 발행 노드별 마지막 배치 순번을 기록
+     *
+     * @return 이미 전달한 배치면 false
+     */
+    private boolean markDelivered(String origin, long batchSequence) {
+        synchronized (lastSequenceByNode) {
+            Long last = lastSequenceByNode.get(origin);
+            if (last != null && batchSequence <= last) {
+                duplicateBatches.increment();
+                return false;
+            }
+            if (last != null && batchSequence > last + 1) {
+                log.debug("WebSocket relay batches missed from node {}: {} -> {}", origin, last, batchSequence);
+            }
+            lastSequenceByNode.put(origin, batchSequence);
+            return true;
+        }
+    }
+
+    private static Message<byte[]> localMessage(byte[] body, MimeType contentType) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (contentType != null) {
+            accessor.setContentType(contentType);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    private static MimeType contentTypeOf(MessageHeaders headers) {
+        Object value = headers.get(MessageHeaders.CONTENT_TYPE);
+        if (value instanceof MimeType mimeType) {
+            return mimeType;
+        }
+        return value != null ? MimeType.valueOf(value.toString()) : null;
+    }
+
+    private record RelayFrame(String destination, MimeType contentType, byte[] body) {}
+}
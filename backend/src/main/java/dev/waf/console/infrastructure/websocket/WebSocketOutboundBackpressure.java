@@ -0,0 +1,248 @@
+package dev.waf.console.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 느린 구독자에 대한 STOMP 송신 배압 정책
+ *
+ * 기본 구조에서는 브로커가 clientOutbound 채널 스레드로 세션에 직접 쓰기 때문에,
+ * 네트워크가 느린 탭 하나가 send-time-limit(20초)까지 채널 스레드를 붙잡아 전체 브로드캐스트가 멈출 수 있음
+ * 이를 막기 위해 세션마다 BackpressureSessionDecorator로 송신 대기열을 두어 채널 스레드는 대기열에 넣고 바로 반환하고,
+ * 실제 전송은 크기가 고정된 송신 실행자에서 수행함
+ * - conflated-destinations(기본: 대시보드 통계/상태)는 세션 대기열에 최신 스냅샷 하나만 유지
+ * - 대기열이 max-queue-depth를 넘거나 한 프레임 전송이 stall-timeout-ms 이상 걸리면 세션 연결 종료
+ *   (클라이언트는 재연결 후 REST로 현재 상태를 다시 조회)
+ * - 목적지별 병합/버림/연결 종료 횟수를 waf.websocket.outbound.* 메트릭으로 기록
+ */
+@Slf4j
+@Component
+public class WebSocketOutboundBackpressure implements WebSocketHandlerDecoratorFactory {
+
+    private static final long SWEEP_INTERVAL_MS = 1000;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxQueueDepth;
+    private final Set<String> conflatedDestinations;
+    private final long stallTimeoutMs;
+    private final Executor senderExecutor;
+
+    private final Map<String, BackpressureSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public WebSocketOutboundBackpressure(MeterRegistry meterRegistry,
+                                         @Value("${app.websocket.outbound.max-queue-depth:256}") int maxQueueDepth,
+                                         @Value("${app.websocket.outbound.conflated-destinations:/topic/dashboard/stats,/topic/dashboard/status}") String[] conflatedDestinations,
+                                         @Value("${app.websocket.outbound.sender-threads:8}") int senderThreads,
+                                         @Value("${app.websocket.outbound.stall-timeout-ms:10000}") long stallTimeoutMs) {
+        this(meterRegistry, maxQueueDepth, conflatedDestinations, stallTimeoutMs,
+            Executors.newFixedThreadPool(senderThreads, daemonThreads("ws-outbound-")));
+    }
+
+    WebSocketOutboundBackpressure(MeterRegistry meterRegistry, int maxQueueDepth, String[] conflatedDestinations,
+                                  long stallTimeoutMs, Executor senderExecutor) {
+        if (maxQueueDepth <= 0) {
+            throw new IllegalArgumentException("Outbound queue depth must be positive: " + maxQueueDepth);
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxQueueDepth = maxQueueDepth;
+        this.conflatedDestinations = Set.of(conflatedDestinations);
+        this.stallTimeoutMs = stallTimeoutMs;
+        this.senderExecutor = senderExecutor;
+
+        Gauge.builder("waf.websocket.outbound.sessions", sessions, Map::size)
+            .description("WebSocket sessions with an outbound queue")
+            .register(meterRegistry);
+        Gauge.builder("waf.websocket.outbound.queued", this, WebSocketOutboundBackpressure::getQueued)
+            .description("Frames waiting in WebSocket session outbound queues")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("ws-outbound-sweeper"));
+        sweeper.scheduleWithFixedDelay(this::disconnectStalled, SWEEP_INTERVAL_MS, SWEEP_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        log.info("WebSocket outbound backpressure enabled: maxQueueDepth={}, conflated={}, stallTimeout={}ms",
+            maxQueueDepth, conflatedDestinations, stallTimeoutMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        if (senderExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(register(session));
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(sessions.getOrDefault(session.getId(), session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(sessions.getOrDefault(session.getId(), session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BackpressureSessionDecorator decorated = sessions.remove(session.getId());
+                if (decorated != null) {
+                    decorated.markClosing();
+                }
+                super.afterConnectionClosed(decorated != null ? decorated : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션에 송신 대기열을 씌워 등록
+     */
+    BackpressureSessionDecorator register(WebSocketSession session) {
+        BackpressureSessionDecorator decorated = new BackpressureSessionDecorator(session, this);
+        sessions.put(session.getId(), decorated);
+        return decorated;
+    }
+
+    int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    boolean isConflated(String destination) {
+        return conflatedDestinations.contains(destination);
+    }
+
+    /**
+     * 모든 세션 대기열의 프레임 수
+     */
+    public int getQueued() {
+        int queued = 0;
+        for (BackpressureSessionDecorator session : sessions.values()) {
+            queued += session.getQueued();
+        }
+        return queued;
+    }
+
+    void submit(Runnable drain) {
+        try {
+            senderExecutor.execute(drain);
+        } catch (RejectedExecutionException e) {
+            log.debug("WebSocket sender executor is shut down - dropping drain task");
+        }
+    }
+
+    void recordConflated(String destination) {
+        counter("waf.websocket.outbound.conflated", "Frames replaced by a newer frame for the same destination",
+            destination).increment();
+    }
+
+    /**
+     * 세션 연결 종료 (대기 중인 프레임은 버림)
+     *
+     * @param destination 종료 원인이 된 프레임의 목적지 (메트릭 태그)
+     */
+    void disconnect(BackpressureSessionDecorator session, String destination, String reason) {
+        List<String> dropped = session.markClosing();
+        if (dropped == null) {
+            return;
+        }
+
+        for (String droppedDestination : dropped) {
+            counter("waf.websocket.outbound.dropped", "Frames discarded from the queue of a disconnected session",
+                droppedDestination).increment();
+        }
+        counter("waf.websocket.outbound.disconnects", "Sessions disconnected because they could not keep up",
+            destination).increment();
+        log.warn("Disconnecting slow WebSocket subscriber: sessionId={}, destination={}, reason={}, droppedFrames={}",
+            session.getId(), destination, reason, dropped.size());
+
+        try {
+            session.getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            log.debug("Failed to close slow WebSocket session: {}", session.getId(), e);
+        }
+    }
+
+    /**
+     * 한 프레임 전송이 stall-timeout-ms 이상 걸리고 있는 세션 연결 종료
+     */
+    void disconnectStalled() {
+        long now = System.nanoTime();
+        long stallTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs);
+        for (BackpressureSessionDecorator session : sessions.values()) {
+            if (!session.isClosing() && session.sendingNanos(now) > stallTimeoutNanos) {
+                disconnect(session, session.getSendingDestination(), "send stalled for more than " + stallTimeoutMs + "ms");
+            }
+        }
+    }
+
+    private Counter counter(String name, String description, String destination) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("destination", destinationTag(destination))
+            .register(meterRegistry);
+    }
+
+    /**
+     * 메트릭 태그용 목적지 (/queue/user-{id}처럼 세션마다 다른 목적지는 접두사로 묶음)
+     */
+    static String destinationTag(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        if (destination.startsWith("/topic/")) {
+            return destination;
+        }
+        if (destination.startsWith("/queue/")) {
+            return "/queue";
+        }
+        return "other";
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix.endsWith("-") ? prefix + sequence.incrementAndGet() : prefix);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
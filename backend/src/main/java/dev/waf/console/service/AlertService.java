@@ -4,6 +4,8 @@ import dev.waf.console.event.AttackDetectedEvent;
 import dev.waf.console.event.AuditEvent;
 import dev.waf.console.event.SecurityAlertEvent;
 
+import java.util.List;
+
 /**
  * 알림 서비스 인터페이스
  *
@@ -12,6 +14,7 @@ import dev.waf.console.event.SecurityAlertEvent;
  */
 public interface AlertService {
     void sendCriticalAlert(AttackDetectedEvent event);
+    void sendCriticalAlerts(List<AttackDetectedEvent> events);
     void requestAutoBlock(String sourceIp, AttackDetectedEvent.AttackType attackType);
     boolean isRepeatedAttacker(String sourceIp);
     void sendImmediateNotification(SecurityAlertEvent event);
@@ -11,6 +11,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 알림 서비스 구현체
@@ -77,6 +79,52 @@ public class AlertServiceImpl implements AlertService {
         }
     }
 
+    /**
+     * 긴급 공격 알림 일괄 전송 (Kafka 배치 리스너용)
+     * 1. Alert 엔티티를 한 번에 저장 (saveAll)
+     * 2. 이벤트별 Slack 알림
+     * 3. Slack 발송 여부를 한 번에 갱신
+     */
+    @Override
+    public void sendCriticalAlerts(List<AttackDetectedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.warn("CRITICAL ALERTS: {} attacks in batch", events.size());
+
+        try {
+            List<Alert> alerts = new ArrayList<>(events.size());
+            for (AttackDetectedEvent event : events) {
+                alerts.add(Alert.builder()
+                        .level(Alert.AlertLevel.CRITICAL)
+                        .title("Critical Attack: " + event.getAttackType())
+                        .description(buildDescription(event))
+                        .sourceIp(event.getSourceIp())
+                        .affectedResource(event.getTargetUrl())
+                        .occurrenceCount(1)
+                        .slackSent(false)
+                        .build());
+            }
+            alertRepository.saveAll(alerts);
+
+            for (int i = 0; i < events.size(); i++) {
+                AttackDetectedEvent event = events.get(i);
+                try {
+                    slackNotificationService.sendCriticalAlert(event);
+                    alerts.get(i).setSlackSent(true);
+                } catch (Exception e) {
+                    log.error("Failed to send critical alert to Slack: {}", event.getEventId(), e);
+                }
+            }
+            alertRepository.saveAll(alerts);
+
+            log.info("Critical alerts processed: count={}", events.size());
+
+        } catch (Exception e) {
+            log.error("Failed to send critical alerts: count={}", events.size(), e);
+        }
+    }
+
     /**
      * 자동 차단 요청
      * TODO: 실제 차단 로직은 Phase 2에서 구현 (IP 블랙리스트 등)
@@ -1,12 +1,17 @@
 package dev.waf.console.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import dev.waf.console.event.*;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter.Sink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -18,6 +23,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -38,6 +44,7 @@ import java.util.stream.Collectors;
 public class ElasticsearchIndexingService {
 
     private final ElasticsearchClient elasticsearchClient;
+    private final SinkConcurrencyLimiter sinkConcurrencyLimiter;
 
     private static final DateTimeFormatter INDEX_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd");
 
@@ -55,14 +62,15 @@ public class ElasticsearchIndexingService {
                 .document(event)
             );
 
-            IndexResponse response = elasticsearchClient.index(request);
+            IndexResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.index(request));
 
             log.debug("Attack event indexed: index={}, id={}, result={}",
                 indexName, response.id(), response.result());
 
             return CompletableFuture.completedFuture(response.id());
 
-        } catch (IOException e) {
+        } catch (IOException | RejectedExecutionException e) {
             log.error("Failed to index attack event: {}", event.getEventId(), e);
             return CompletableFuture.failedFuture(e);
         }
@@ -82,14 +90,15 @@ public class ElasticsearchIndexingService {
                 .document(event)
             );
 
-            IndexResponse response = elasticsearchClient.index(request);
+            IndexResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.index(request));
 
             log.debug("Access log indexed: index={}, id={}, result={}",
                 indexName, response.id(), response.result());
 
             return CompletableFuture.completedFuture(response.id());
 
-        } catch (IOException e) {
+        } catch (IOException | RejectedExecutionException e) {
             log.error("Failed to index access log: {}", event.getEventId(), e);
             return CompletableFuture.failedFuture(e);
         }
@@ -109,14 +118,15 @@ public class ElasticsearchIndexingService {
                 .document(event)
             );
 
-            IndexResponse response = elasticsearchClient.index(request);
+            IndexResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.index(request));
 
             log.debug("Security alert indexed: index={}, id={}, result={}",
                 indexName, response.id(), response.result());
 
             return CompletableFuture.completedFuture(response.id());
 
-        } catch (IOException e) {
+        } catch (IOException | RejectedExecutionException e) {
             log.error("Failed to index security alert: {}", event.getEventId(), e);
             return CompletableFuture.failedFuture(e);
         }
@@ -136,14 +146,15 @@ public class ElasticsearchIndexingService {
                 .document(event)
             );
 
-            IndexResponse response = elasticsearchClient.index(request);
+            IndexResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.index(request));
 
             log.debug("Metrics event indexed: index={}, id={}, result={}",
                 indexName, response.id(), response.result());
 
             return CompletableFuture.completedFuture(response.id());
 
-        } catch (IOException e) {
+        } catch (IOException | RejectedExecutionException e) {
             log.error("Failed to index metrics event: {}", event.getEventId(), e);
             return CompletableFuture.failedFuture(e);
         }
@@ -163,19 +174,44 @@ public class ElasticsearchIndexingService {
                 .document(event)
             );
 
-            IndexResponse response = elasticsearchClient.index(request);
+            IndexResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.index(request));
 
             log.debug("Audit event indexed: index={}, id={}, result={}",
                 indexName, response.id(), response.result());
 
             return CompletableFuture.completedFuture(response.id());
 
-        } catch (IOException e) {
+        } catch (IOException | RejectedExecutionException e) {
             log.error("Failed to index audit event: {}", event.getEventId(), e);
             return CompletableFuture.failedFuture(e);
         }
     }
 
+    /**
+     * 공격 탐지 이벤트 일괄 인덱싱 (Kafka 배치 리스너용, Bulk API 1회 호출)
+     */
+    @Async
+    public CompletableFuture<Integer> bulkIndexAttackEvents(List<AttackDetectedEvent> events) {
+        return bulkIndex("waf-attacks-", events, "attack events");
+    }
+
+    /**
+     * 접근 로그 이벤트 일괄 인덱싱 (Kafka 배치 리스너용, Bulk API 1회 호출)
+     */
+    @Async
+    public CompletableFuture<Integer> bulkIndexAccessLogEvents(List<AccessLogEvent> events) {
+        return bulkIndex("waf-access-", events, "access logs");
+    }
+
+    /**
+     * 메트릭 이벤트 일괄 인덱싱 (Kafka 배치 리스너용, Bulk API 1회 호출)
+     */
+    @Async
+    public CompletableFuture<Integer> bulkIndexMetricsEvents(List<MetricsEvent> events) {
+        return bulkIndex("waf-metrics-", events, "metrics events");
+    }
+
     /**
      * 공격 이벤트 검색
      *
@@ -284,6 +320,49 @@ public class ElasticsearchIndexingService {
         return Map.of();
     }
 
+    /**
+     * 이벤트 목록을 Bulk 요청 하나로 인덱싱
+     * - 인덱스는 이벤트별 날짜로 결정되므로 한 요청에 여러 날짜 인덱스가 섞일 수 있음
+     * - 일부 문서만 실패하면 실패 건수와 첫 오류를 로깅하고 성공 건수를 반환
+     */
+    private <T extends WAFEvent> CompletableFuture<Integer> bulkIndex(String indexPrefix, List<T> events, String description) {
+        if (events.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        try {
+            BulkRequest.Builder builder = new BulkRequest.Builder();
+            for (T event : events) {
+                String indexName = indexPrefix + formatIndexDate(event.getTimestamp());
+                builder.operations(op -> op.index(i -> i
+                    .index(indexName)
+                    .id(event.getEventId())
+                    .document(event)
+                ));
+            }
+            BulkRequest request = builder.build();
+
+            BulkResponse response = sinkConcurrencyLimiter.execute(Sink.ELASTICSEARCH,
+                () -> elasticsearchClient.bulk(request));
+
+            List<BulkResponseItem> failed = response.items().stream()
+                .filter(item -> item.error() != null)
+                .toList();
+            if (!failed.isEmpty()) {
+                log.warn("Bulk indexing of {} partially failed: {}/{} rejected, first error: {}",
+                    description, failed.size(), events.size(), failed.get(0).error().reason());
+            }
+
+            log.debug("Bulk indexed {}: count={}, took={}ms", description, events.size(), response.took());
+
+            return CompletableFuture.completedFuture(events.size() - failed.size());
+
+        } catch (IOException | RejectedExecutionException e) {
+            log.error("Failed to bulk index {}: count={}", description, events.size(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * 날짜 포맷팅 (인덱스 이름용)
      */
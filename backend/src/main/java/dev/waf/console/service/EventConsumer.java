@@ -1,19 +1,33 @@
 package dev.waf.console.service;
 
 import dev.waf.console.event.*;
+import dev.waf.console.infrastructure.kafka.KeyOrderedDispatcher;
+import dev.waf.console.infrastructure.websocket.DashboardBroadcastCoalescer;
+import dev.waf.console.waflog.stats.WAFAttackTopKTracker;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * WAF 이벤트 소비 서비스
  *
  * Kafka에서 받은 이벤트를 실시간으로 처리
+ * - 고빈도 토픽(공격, 접근 로그, 메트릭)은 poll 단위 배치로 받아 Bulk 인덱싱 후 배치당 한 번 커밋
+ * - 접근 로그/메트릭 배치는 Bulk 인덱싱이 실패했을 때만 예외를 다시 던져 컨테이너 오류 처리기(DefaultErrorHandler)가
+ *   같은 배치를 다시 전달하도록 함 (이벤트 ID가 문서 ID라 다시 인덱싱해도 중복되지 않음,
+ *   커밋 없이 반환하면 다음 배치의 커밋이 실패한 배치까지 넘어가 유실됨)
+ * - 통계/알림 등 다시 실행하면 중복되는 처리는 인덱싱이 끝난 배치에 한 번만 반영하고, 실패해도 기록만 하고 커밋
+ * - 공격 이벤트는 배치 안에서 공격 IP별로 순서를 지키며 병렬 처리 (KeyOrderedDispatcher)
  * - 공격 탐지시 즉시 대응
  * - 로그 데이터 실시간 분석
  * - 알림 및 메트릭 처리
@@ -30,92 +44,138 @@ public class EventConsumer {
     private final MetricsService metricsService;
     private final AuditService auditService;
     private final ElasticsearchIndexingService elasticsearchIndexingService;
-    private final WebSocketBroadcastService webSocketBroadcastService;
+    private final DashboardBroadcastCoalescer dashboardBroadcastCoalescer;
+    private final WAFAttackTopKTracker wafAttackTopKTracker;
+    private final WAFDistinctTracker wafDistinctTracker;
+    private final KeyOrderedDispatcher keyOrderedDispatcher;
 
     /**
-     * 공격 탐지 이벤트 처리
+     * 공격 탐지 이벤트 배치 처리
      * 고위험 공격에 대한 즉시 대응
+     * - 알림, 자동 차단, 감사 등 키별 처리는 공격 IP(레코드 키)마다 순서를 지키며 병렬 실행
+     * - 인덱싱과 브로드캐스트는 처리를 마친 이벤트를 모아 한 번에 수행
+     * - 처리하지 못한 IP가 있으면 파티션별 연속 완료 지점까지만 커밋하고 나머지는 다시 전달받음
      */
     @KafkaListener(topics = "${app.kafka.topics.attacks:waf.attacks}",
-                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}")
-    public void handleAttackDetected(@Payload AttackDetectedEvent event,
-                                   @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                   @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-                                   @Header(KafkaHeaders.OFFSET) long offset,
+                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleAttackDetected(List<ConsumerRecord<String, AttackDetectedEvent>> records,
                                    Acknowledgment acknowledgment) {
+        log.info("Processing attack batch: size={}", records.size());
+
+        KeyOrderedDispatcher.DispatchResult<AttackDetectedEvent> result =
+            keyOrderedDispatcher.dispatch(records, this::processAttacks);
+        List<AttackDetectedEvent> processed = result.processed();
+
         try {
-            log.info("Processing attack event: type={}, sourceIp={}, riskScore={} [{}:{}:{}]",
-                event.getAttackType(), event.getSourceIp(), event.getRiskScore(),
-                topic, partition, offset);
+            if (!processed.isEmpty()) {
+                // 6. Elasticsearch Bulk 인덱싱
+                elasticsearchIndexingService.bulkIndexAttackEvents(processed);
 
-            // 1. 고위험 공격 즉시 알림
-            if (event.getRiskScore() != null && event.getRiskScore() >= 80) {
-                alertService.sendCriticalAlert(event);
+                // 7. WebSocket 브로드캐스트 (짧은 주기로 모아 배열로 전송)
+                dashboardBroadcastCoalescer.recordAttacks(processed);
             }
+        } catch (Exception e) {
+            // 키별 처리는 끝났으므로 재처리하지 않고 커밋 (인덱싱/브로드캐스트 누락만 기록)
+            log.error("Failed to index or broadcast attack batch: processed={}", processed.size(), e);
+        }
 
-            // 2. IP 기반 자동 차단 검토
-            if (shouldAutoBlock(event)) {
+        keyOrderedDispatcher.commit(result, acknowledgment);
+        log.debug("Attack batch processed: processed={}, complete={}", processed.size(), result.isComplete());
+    }
+
+    /**
+     * 한 공격 IP의 이벤트를 오프셋 순서대로 처리 (예외를 던지면 해당 IP의 이벤트가 다시 전달됨)
+     */
+    private void processAttacks(String sourceIp, List<AttackDetectedEvent> events) {
+        // 1. 고위험 공격 알림 (Alert 일괄 저장)
+        alertService.sendCriticalAlerts(events.stream()
+            .filter(event -> event.getRiskScore() != null && event.getRiskScore() >= 80)
+            .toList());
+
+        // 2. IP 기반 자동 차단 검토 (반복 공격 조회와 공격 유형별 차단 요청은 한 번씩)
+        Boolean repeatedAttacker = null;
+        Set<AttackDetectedEvent.AttackType> autoBlockRequested = EnumSet.noneOf(AttackDetectedEvent.AttackType.class);
+        for (AttackDetectedEvent event : events) {
+            if (!isAutoBlockCandidate(event) || autoBlockRequested.contains(event.getAttackType())) {
+                continue;
+            }
+            if (repeatedAttacker == null) {
+                repeatedAttacker = alertService.isRepeatedAttacker(event.getSourceIp());
+            }
+            if (repeatedAttacker) {
+                autoBlockRequested.add(event.getAttackType());
                 alertService.requestAutoBlock(event.getSourceIp(), event.getAttackType());
             }
+        }
+
+        for (AttackDetectedEvent event : events) {
+            log.debug("Processing attack event: type={}, sourceIp={}, riskScore={}",
+                event.getAttackType(), event.getSourceIp(), event.getRiskScore());
 
             // 3. 공격 패턴 분석 및 룰 업데이트 제안
             analyzeAttackPattern(event);
 
-            // 4. 실시간 대시보드 업데이트
+            // 4. 실시간 대시보드 업데이트 (상위 공격 IP/URI/룰, 고유 공격 IP 스케치 포함)
             metricsService.updateAttackMetrics(event);
+            wafAttackTopKTracker.record(event);
+            wafDistinctTracker.record(event);
 
             // 5. 감사 로그 기록
             auditService.logSecurityEvent(event);
-
-            // 6. Elasticsearch 인덱싱
-            elasticsearchIndexingService.indexAttackEvent(event);
-
-            // 7. WebSocket 브로드캐스트
-            webSocketBroadcastService.broadcastAttackEvent(event);
-
-            acknowledgment.acknowledge();
-            log.debug("Attack event processed successfully");
-
-        } catch (Exception e) {
-            log.error("Failed to process attack event: {}", event.getEventId(), e);
-            // 에러 발생시 DLQ로 이동하거나 재시도 처리는 Kafka 설정에서 관리
         }
     }
 
     /**
-     * 접근 로그 이벤트 처리
+     * 접근 로그 이벤트 배치 처리
      * 트래픽 패턴 분석 및 성능 모니터링
      */
     @KafkaListener(topics = "${app.kafka.topics.logs:waf.logs}",
-                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}")
-    public void handleAccessLog(@Payload AccessLogEvent event,
+                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleAccessLog(@Payload List<AccessLogEvent> records,
                               Acknowledgment acknowledgment) {
-        try {
-            log.debug("Processing access log: ip={}, uri={}, status={}",
-                event.getClientIp(), event.getUri(), event.getStatusCode());
+        List<AccessLogEvent> events = received(records, "access log");
+        if (events.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
 
-            // 1. 트래픽 통계 업데이트
-            metricsService.updateTrafficMetrics(event);
+        log.debug("Processing access log batch: size={}", events.size());
 
-            // 2. 이상 패턴 탐지 (예: 비정상적인 요청 빈도)
-            detectAnomalousPattern(event);
+        try {
+            // 1. Elasticsearch Bulk 인덱싱 (완료까지 기다려 실패하면 배치를 다시 전달받음)
+            elasticsearchIndexingService.bulkIndexAccessLogEvents(events).join();
+        } catch (RuntimeException e) {
+            log.warn("Failed to index access log batch, redelivering: size={}, first={}",
+                events.size(), events.get(0).getEventId(), e);
+            throw e;
+        }
 
-            // 3. 성능 메트릭 수집
-            if (event.getResponseTime() != null && event.getResponseTime() > 5000) {
-                metricsService.recordSlowResponse(event);
+        try {
+            for (AccessLogEvent event : events) {
+                // 2. 트래픽 통계 업데이트 (고유 클라이언트 IP/세션 스케치 포함)
+                metricsService.updateTrafficMetrics(event);
+                wafDistinctTracker.record(event);
+
+                // 3. 이상 패턴 탐지 (예: 비정상적인 요청 빈도)
+                detectAnomalousPattern(event);
+
+                // 4. 성능 메트릭 수집
+                if (event.getResponseTime() != null && event.getResponseTime() > 5000) {
+                    metricsService.recordSlowResponse(event);
+                }
             }
 
-            // 4. Elasticsearch 인덱싱
-            elasticsearchIndexingService.indexAccessLogEvent(event);
-
-            // 5. WebSocket 브로드캐스트
-            webSocketBroadcastService.broadcastTrafficUpdate(event);
-
-            acknowledgment.acknowledge();
-
-        } catch (Exception e) {
-            log.warn("Failed to process access log: {}", event.getEventId(), e);
+            // 5. WebSocket 브로드캐스트 (주기별 집계로 병합하여 전송)
+            dashboardBroadcastCoalescer.recordAccesses(events);
+        } catch (RuntimeException e) {
+            // 인덱싱은 끝났으므로 다시 전달받지 않고 커밋 (다시 실행하면 통계가 중복 반영됨)
+            log.error("Failed to apply access log batch: size={}, first={}",
+                events.size(), events.get(0).getEventId(), e);
         }
+
+        acknowledgment.acknowledge();
     }
 
     /**
@@ -155,31 +215,46 @@ public class EventConsumer {
     }
 
     /**
-     * 메트릭 이벤트 처리
+     * 메트릭 이벤트 배치 처리
      * 실시간 성능 지표 수집 및 분석
      */
     @KafkaListener(topics = "${app.kafka.topics.metrics:waf.metrics}",
-                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}")
-    public void handleMetrics(@Payload MetricsEvent event,
+                   groupId = "${spring.kafka.consumer.group-id:waf-console-group}",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleMetrics(@Payload List<MetricsEvent> records,
                             Acknowledgment acknowledgment) {
-        try {
-            log.debug("Processing metrics: name={}, value={}",
-                event.getMetricName(), event.getValue());
-
-            // 1. 메트릭 저장 및 집계
-            metricsService.recordMetric(event);
+        List<MetricsEvent> events = received(records, "metrics");
+        if (events.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
 
-            // 2. 임계값 체크 및 알림
-            metricsService.checkThresholds(event);
+        log.debug("Processing metrics batch: size={}", events.size());
 
-            // 3. Elasticsearch 인덱싱
-            elasticsearchIndexingService.indexMetricsEvent(event);
+        try {
+            // 1. Elasticsearch Bulk 인덱싱 (완료까지 기다려 실패하면 배치를 다시 전달받음)
+            elasticsearchIndexingService.bulkIndexMetricsEvents(events).join();
+        } catch (RuntimeException e) {
+            log.warn("Failed to index metrics batch, redelivering: size={}, first={}",
+                events.size(), events.get(0).getEventId(), e);
+            throw e;
+        }
 
-            acknowledgment.acknowledge();
+        try {
+            for (MetricsEvent event : events) {
+                // 2. 메트릭 저장 및 집계
+                metricsService.recordMetric(event);
 
-        } catch (Exception e) {
-            log.warn("Failed to process metrics: {}", event.getEventId(), e);
+                // 3. 임계값 체크 및 알림
+                metricsService.checkThresholds(event);
+            }
+        } catch (RuntimeException e) {
+            // 인덱싱은 끝났으므로 다시 전달받지 않고 커밋 (다시 실행하면 집계와 알림이 중복됨)
+            log.error("Failed to apply metrics batch: size={}, first={}",
+                events.size(), events.get(0).getEventId(), e);
         }
+
+        acknowledgment.acknowledge();
     }
 
     /**
@@ -216,14 +291,28 @@ public class EventConsumer {
     }
 
     /**
-     * 자동 차단 여부 결정
+     * 배치에서 역직렬화에 실패한 레코드(null) 제외
+     * ErrorHandlingDeserializer는 배치 리스너에 실패 레코드를 null 값으로 전달함
+     */
+    private <T extends WAFEvent> List<T> received(List<T> records, String kind) {
+        List<T> events = records.stream()
+            .filter(Objects::nonNull)
+            .toList();
+        if (events.size() < records.size()) {
+            log.warn("Skipped {} undeserializable {} records in batch of {}",
+                records.size() - events.size(), kind, records.size());
+        }
+        return events;
+    }
+
+    /**
+     * 자동 차단 검토 대상 여부 (반복 공격 여부는 IP별로 한 번만 조회)
      */
-    private boolean shouldAutoBlock(AttackDetectedEvent event) {
-        // 높은 위험도 + 특정 공격 타입 + 반복 공격 패턴
+    private boolean isAutoBlockCandidate(AttackDetectedEvent event) {
+        // 높은 위험도 + 특정 공격 타입 (+ 반복 공격 패턴)
         return event.getRiskScore() != null &&
                event.getRiskScore() >= 90 &&
-               isCriticalAttackType(event.getAttackType()) &&
-               alertService.isRepeatedAttacker(event.getSourceIp());
+               isCriticalAttackType(event.getAttackType());
     }
 
     /**
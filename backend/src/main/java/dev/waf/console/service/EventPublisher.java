@@ -9,6 +9,7 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -133,6 +134,28 @@ public class EventPublisher {
             });
     }
 
+    /**
+     * WAF 로그 이벤트 일괄 발행 (발행 대기열 릴레이용)
+     *
+     * 이벤트별 로그 없이 전송만 요청하고 전체 전송 완료를 하나의 Future로 반환
+     * 공격 탐지 이벤트는 attacks 토픽, 접근 로그 이벤트는 logs 토픽으로 전송
+     * 파티션 키는 단건 발행과 동일 (소스 IP)
+     */
+    public CompletableFuture<Void> publishLogEventsInBulk(List<? extends WAFEvent> events) {
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            WAFEvent event = events.get(i);
+            enrichEvent(event);
+            sends[i] = switch (event.getEventType()) {
+                case ATTACK_DETECTED -> kafkaTemplate.send(attacksTopic, ((AttackDetectedEvent) event).getSourceIp(), event);
+                case ACCESS_LOG -> kafkaTemplate.send(logsTopic, ((AccessLogEvent) event).getClientIp(), event);
+                default -> throw new IllegalArgumentException(
+                    "Unsupported WAF log event type: " + event.getEventType());
+            };
+        }
+        return CompletableFuture.allOf(sends);
+    }
+
     /**
      * 이벤트 공통 속성 설정
      */
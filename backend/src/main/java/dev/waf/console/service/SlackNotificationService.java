@@ -1,6 +1,8 @@
 package dev.waf.console.service;
 
 import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter.Sink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +43,7 @@ public class SlackNotificationService {
     private int rateLimitMinutes;
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SinkConcurrencyLimiter sinkConcurrencyLimiter;
 
     /**
      * 긴급 공격 알림 전송
@@ -69,7 +72,10 @@ public class SlackNotificationService {
         CompletableFuture.runAsync(() -> {
             try {
                 String payload = buildSlackPayload(event);
-                sendWebhook(payload);
+                sinkConcurrencyLimiter.execute(Sink.SLACK, () -> {
+                    sendWebhook(payload);
+                    return null;
+                });
                 log.info("Slack alert sent for attack from {}", event.getSourceIp());
             } catch (Exception e) {
                 log.error("Failed to send Slack notification", e);
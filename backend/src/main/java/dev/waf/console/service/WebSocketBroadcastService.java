@@ -2,11 +2,17 @@ package dev.waf.console.service;
 
 import dev.waf.console.event.AccessLogEvent;
 import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.infrastructure.websocket.CompactDashboardEncoder;
+import dev.waf.console.infrastructure.websocket.DashboardBroadcastCoalescer;
+import dev.waf.console.infrastructure.websocket.DashboardSubscriptionTracker;
+import dev.waf.console.infrastructure.websocket.WebSocketClusterRelay;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * WebSocket 브로드캐스트 서비스
  *
@@ -15,6 +21,11 @@ import org.springframework.stereotype.Service;
  * - 트래픽 데이터 → 차트 실시간 업데이트
  * - 통계/상태 변경 → UI 실시간 반영
  *
+ * 공격/트래픽 이벤트는 노드마다 나눠 소비되므로 WebSocketClusterRelay로 다른 노드의 구독자에게도 전달하고,
+ * 노드마다 같은 데이터로 집계하는 통계/상태는 로컬 구독자에게만 전송합니다.
+ * 공격/트래픽은 필요한 필드만 담은 압축 프레임(CompactDashboardEncoder)도 함께 전송하며,
+ * 형식별로 구독자(DashboardSubscriptionTracker)가 있을 때만 직렬화하고 중계합니다.
+ *
  * @author WAF Console Team
  * @since 2.0.0
  */
@@ -23,7 +34,13 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class WebSocketBroadcastService {
 
+    private static final String ATTACKS = "/topic/dashboard/attacks";
+    private static final String TRAFFIC = "/topic/dashboard/traffic";
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketClusterRelay webSocketClusterRelay;
+    private final CompactDashboardEncoder compactDashboardEncoder;
+    private final DashboardSubscriptionTracker dashboardSubscriptionTracker;
 
     /**
      * 공격 이벤트 브로드캐스트
@@ -32,7 +49,13 @@ public class WebSocketBroadcastService {
      */
     public void broadcastAttackEvent(AttackDetectedEvent event) {
         try {
-            messagingTemplate.convertAndSend("/topic/dashboard/attacks", event);
+            if (dashboardSubscriptionTracker.hasSubscribers(ATTACKS)) {
+                webSocketClusterRelay.broadcast(ATTACKS, event);
+            }
+            if (compactSubscribed(CompactDashboardEncoder.COMPACT_ATTACKS)) {
+                webSocketClusterRelay.broadcast(CompactDashboardEncoder.COMPACT_ATTACKS,
+                        compactDashboardEncoder.encodeAttacks(List.of(event)));
+            }
             log.debug("Attack event broadcasted: eventId={}, type={}, sourceIp={}",
                     event.getEventId(), event.getAttackType(), event.getSourceIp());
         } catch (Exception e) {
@@ -40,6 +63,26 @@ public class WebSocketBroadcastService {
         }
     }
 
+    /**
+     * 공격 이벤트 배치 브로드캐스트 (배열 하나로 전송)
+     *
+     * @param events 주기 동안 모인 공격 탐지 이벤트
+     */
+    public void broadcastAttackBatch(List<AttackDetectedEvent> events) {
+        try {
+            if (dashboardSubscriptionTracker.hasSubscribers(ATTACKS)) {
+                webSocketClusterRelay.broadcast(ATTACKS, events);
+            }
+            if (compactSubscribed(CompactDashboardEncoder.COMPACT_ATTACKS)) {
+                webSocketClusterRelay.broadcast(CompactDashboardEncoder.COMPACT_ATTACKS,
+                        compactDashboardEncoder.encodeAttacks(events));
+            }
+            log.debug("Attack batch broadcasted: size={}", events.size());
+        } catch (Exception e) {
+            log.error("Failed to broadcast attack batch: size={}", events.size(), e);
+        }
+    }
+
     /**
      * 트래픽 업데이트 브로드캐스트
      *
@@ -47,7 +90,9 @@ public class WebSocketBroadcastService {
      */
     public void broadcastTrafficUpdate(AccessLogEvent event) {
         try {
-            messagingTemplate.convertAndSend("/topic/dashboard/traffic", event);
+            if (dashboardSubscriptionTracker.hasSubscribers(TRAFFIC)) {
+                webSocketClusterRelay.broadcast(TRAFFIC, event);
+            }
             log.trace("Traffic update broadcasted: eventId={}, clientIp={}",
                     event.getEventId(), event.getClientIp());
         } catch (Exception e) {
@@ -55,6 +100,30 @@ public class WebSocketBroadcastService {
         }
     }
 
+    /**
+     * 주기별 트래픽 집계 브로드캐스트
+     *
+     * @param delta 한 주기 동안의 트래픽 집계
+     */
+    public void broadcastTrafficDelta(DashboardBroadcastCoalescer.TrafficDelta delta) {
+        try {
+            if (dashboardSubscriptionTracker.hasSubscribers(TRAFFIC)) {
+                webSocketClusterRelay.broadcast(TRAFFIC, delta);
+            }
+            if (compactSubscribed(CompactDashboardEncoder.COMPACT_TRAFFIC)) {
+                webSocketClusterRelay.broadcast(CompactDashboardEncoder.COMPACT_TRAFFIC,
+                        compactDashboardEncoder.encodeTraffic(delta));
+            }
+            log.trace("Traffic delta broadcasted");
+        } catch (Exception e) {
+            log.error("Failed to broadcast traffic delta", e);
+        }
+    }
+
+    private boolean compactSubscribed(String compactDestination) {
+        return compactDashboardEncoder.isEnabled() && dashboardSubscriptionTracker.hasSubscribers(compactDestination);
+    }
+
     /**
      * 통계 업데이트 브로드캐스트
      *
@@ -1,6 +1,9 @@
 package dev.waf.console.waflog.api;
 
 import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.export.WAFLogExportFormat;
+import dev.waf.console.waflog.export.WAFLogExporter;
+import dev.waf.console.waflog.service.WAFLogCursor;
 import dev.waf.console.waflog.service.WAFLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,11 +15,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * WAF 로그 조회 API 컨트롤러
@@ -25,6 +35,8 @@ import java.time.LocalDateTime;
  * - 최근 성공/실패 로그 조회
  * - 상태별, 기간별 로그 필터링
  * - 로그 통계 정보 제공
+ * - 커서 기반 연속 조회 (/cursor/**, 깊은 페이지에서도 OFFSET 비용 없음)
+ * - 기간 내 전체 로그 스트리밍 내보내기 (/export, NDJSON/CSV)
  */
 @Tag(name = "WAF Logs", description = "WAF 로그 조회 API")
 @Slf4j
@@ -33,7 +45,10 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class WAFLogController {
 
+    private static final DateTimeFormatter EXPORT_FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
     private final WAFLogService wafLogService;
+    private final WAFLogExporter wafLogExporter;
 
     /**
      * 최근 로그 조회 (기본 500개)
@@ -174,6 +189,138 @@ public class WAFLogController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * 최근 로그 커서 조회
+     */
+    @Operation(
+        summary = "최근 로그 커서 조회",
+        description = "최근 WAF 로그를 (발생 시간, ID) 역순으로 조회합니다. 응답의 nextCursor를 다음 요청에 전달하면 이어서 조회합니다."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "로그 조회 성공"),
+        @ApiResponse(responseCode = "400", description = "유효하지 않은 커서")
+    })
+    @GetMapping("/cursor/recent")
+    public ResponseEntity<LogSliceResponse> scrollRecentLogs(
+        @Parameter(description = "이전 응답의 nextCursor (생략 시 첫 페이지)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "페이지 크기 (기본값: 100, 최대: 500)")
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        log.debug("Scrolling recent logs (size: {})", size);
+        Slice<WAFLog> logs = wafLogService.scrollRecentLogs(WAFLogCursor.decode(cursor), size);
+        return ResponseEntity.ok(LogSliceResponse.from(logs));
+    }
+
+    /**
+     * 상태별 로그 커서 조회
+     */
+    @Operation(
+        summary = "상태별 로그 커서 조회",
+        description = "특정 상태의 로그를 커서 기반으로 이어서 조회합니다."
+    )
+    @GetMapping("/cursor/status/{status}")
+    public ResponseEntity<LogSliceResponse> scrollLogsByStatus(
+        @Parameter(description = "로그 상태 (SUCCESS, BLOCKED, ERROR, WARNING)")
+        @PathVariable WAFLog.LogStatus status,
+        @Parameter(description = "이전 응답의 nextCursor (생략 시 첫 페이지)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "페이지 크기 (기본값: 100, 최대: 500)")
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        log.debug("Scrolling logs with status: {} (size: {})", status, size);
+        Slice<WAFLog> logs = wafLogService.scrollLogsByStatus(status, WAFLogCursor.decode(cursor), size);
+        return ResponseEntity.ok(LogSliceResponse.from(logs));
+    }
+
+    /**
+     * 기간별 로그 커서 조회
+     */
+    @Operation(
+        summary = "기간별 로그 커서 조회",
+        description = "특정 기간 내의 로그를 커서 기반으로 이어서 조회합니다."
+    )
+    @GetMapping("/cursor/range")
+    public ResponseEntity<LogSliceResponse> scrollLogsByTimeRange(
+        @Parameter(description = "시작 시간 (yyyy-MM-dd'T'HH:mm:ss)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @Parameter(description = "종료 시간 (yyyy-MM-dd'T'HH:mm:ss)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+        @Parameter(description = "이전 응답의 nextCursor (생략 시 첫 페이지)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "페이지 크기 (기본값: 100, 최대: 500)")
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        log.debug("Scrolling logs from {} to {} (size: {})", startTime, endTime, size);
+
+        if (startTime.isAfter(endTime)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Slice<WAFLog> logs = wafLogService.scrollLogsByTimeRange(startTime, endTime, WAFLogCursor.decode(cursor), size);
+        return ResponseEntity.ok(LogSliceResponse.from(logs));
+    }
+
+    /**
+     * 높은 위험도 로그 커서 조회
+     */
+    @Operation(
+        summary = "높은 위험도 로그 커서 조회",
+        description = "위험도 점수가 70 이상인 로그를 커서 기반으로 이어서 조회합니다."
+    )
+    @GetMapping("/cursor/high-risk")
+    public ResponseEntity<LogSliceResponse> scrollHighRiskLogs(
+        @Parameter(description = "이전 응답의 nextCursor (생략 시 첫 페이지)")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "페이지 크기 (기본값: 100, 최대: 500)")
+        @RequestParam(defaultValue = "100") int size
+    ) {
+        log.debug("Scrolling high risk logs (size: {})", size);
+        Slice<WAFLog> logs = wafLogService.scrollHighRiskLogs(WAFLogCursor.decode(cursor), size);
+        return ResponseEntity.ok(LogSliceResponse.from(logs));
+    }
+
+    /**
+     * 로그 스트리밍 내보내기
+     */
+    @Operation(
+        summary = "로그 내보내기",
+        description = "기간 내 모든 로그를 개수 제한 없이 NDJSON 또는 CSV 파일로 내려받습니다. 발생 시간 순으로 정렬됩니다."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "내보내기 시작"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청 파라미터"),
+        @ApiResponse(responseCode = "503", description = "동시 내보내기 한도 초과")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLogs(
+        @Parameter(description = "시작 시간 (포함, yyyy-MM-dd'T'HH:mm:ss)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+        @Parameter(description = "종료 시간 (제외, yyyy-MM-dd'T'HH:mm:ss)")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+        @Parameter(description = "로그 상태 (생략 시 전체)")
+        @RequestParam(required = false) WAFLog.LogStatus status,
+        @Parameter(description = "출력 형식 (NDJSON, CSV)")
+        @RequestParam(defaultValue = "NDJSON") WAFLogExportFormat format,
+        @Parameter(description = "gzip 압축 여부")
+        @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        log.info("Exporting logs from {} to {} (status: {}, format: {}, gzip: {})", startTime, endTime, status, format, gzip);
+
+        if (!startTime.isBefore(endTime)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = wafLogExporter.export(startTime, endTime, status, format, gzip);
+
+        String fileName = "waf-logs-" + startTime.format(EXPORT_FILE_TIME) + "-" + endTime.format(EXPORT_FILE_TIME) +
+            "." + format.getFileExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
     /**
      * 로그 통계 조회
      */
@@ -274,4 +421,38 @@ public class WAFLogController {
         @Schema(description = "경고 로그 수")
         private long warningCount;
     }
-}
\ No newline at end of file
+
+    /**
+     * 커서 조회 응답 DTO
+     */
+    @Schema(description = "커서 기반 로그 조회 응답")
+    @lombok.Data
+    @lombok.Builder
+    public static class LogSliceResponse {
+        @Schema(description = "조회된 로그 (발생 시간, ID 역순)")
+        private List<WAFLog> content;
+
+        @Schema(description = "조회된 로그 수")
+        private int size;
+
+        @Schema(description = "다음 페이지 존재 여부")
+        private boolean hasNext;
+
+        @Schema(description = "다음 페이지 조회에 사용할 커서 (다음 페이지가 없으면 null)")
+        private String nextCursor;
+
+        public static LogSliceResponse from(Slice<WAFLog> slice) {
+            List<WAFLog> content = slice.getContent();
+            String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? WAFLogCursor.after(content.get(content.size() - 1)).encode()
+                : null;
+
+            return LogSliceResponse.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.waf.console.waflog.dictionary;
+
+import dev.waf.console.waflog.dictionary.WAFLogDictionaryEntry.Kind;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사전 양방향 캐시 (문자열 ↔ ID)
+ *
+ * 종류별 문자열 → ID 맵과 전체 ID → 항목 맵을 함께 유지
+ * 항목 수가 maxEntries를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+ * 자주 쓰이는 값이 바뀌어도 캐시가 따라가므로 조회가 매번 DB 왕복으로 떨어지지 않음
+ *
+ * 항목마다 마지막으로 사용 일자를 DB에 기록한 날(touchedDay)을 보관하여
+ * WAFLogDictionary가 하루에 한 번만 last_used_on을 갱신하도록 함
+ *
+ * 여러 스레드에서 동시에 사용 가능 (조회도 사용 순서를 갱신하므로 단일 잠금으로 보호)
+ */
+final class DictionaryCache {
+
+    private static final long NEVER_TOUCHED = Long.MIN_VALUE;
+
+    private final Map<Kind, Map<String, Integer>> idsByValue = new EnumMap<>(Kind.class);
+    private final LinkedHashMap<Integer, CachedEntry> entriesById;
+
+    DictionaryCache(int maxEntries) {
+        for (Kind kind : Kind.values()) {
+            idsByValue.put(kind, new HashMap<>());
+        }
+        this.entriesById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedEntry> eldest) {
+                if (size() <= maxEntries) {
+                    return false;
+                }
+                CachedEntry evicted = eldest.getValue();
+                idsByValue.get(evicted.kind).remove(evicted.value);
+                return true;
+            }
+        };
+    }
+
+    synchronized Integer idOf(Kind kind, String value) {
+        Integer id = idsByValue.get(kind).get(value);
+        if (id != null) {
+            entriesById.get(id);
+        }
+        return id;
+    }
+
+    synchronized String valueOf(int id) {
+        CachedEntry entry = entriesById.get(id);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * 항목 추가 (용량을 넘으면 가장 오래 사용하지 않은 항목 제거)
+     *
+     * @param touchedDay DB의 last_used_on (epoch day, 모르면 null)
+     */
+    synchronized void put(Kind kind, String value, int id, Long touchedDay) {
+        CachedEntry existing = entriesById.get(id);
+        if (existing != null) {
+            if (touchedDay != null && touchedDay > existing.touchedDay) {
+                existing.touchedDay = touchedDay;
+            }
+            return;
+        }
+        Integer previousId = idsByValue.get(kind).put(value, id);
+        if (previousId != null) {
+            // 정리 후 다시 등록되어 ID가 바뀐 값
+            entriesById.remove(previousId);
+        }
+        entriesById.put(id, new CachedEntry(kind, value, touchedDay != null ? touchedDay : NEVER_TOUCHED));
+    }
+
+    /**
+     * 오늘 사용 일자를 기록해야 하는지 확인하고 기록한 것으로 표시
+     *
+     * @return 오늘 처음 사용되어 DB 갱신이 필요하면 true
+     */
+    synchronized boolean markTouched(int id, long today) {
+        CachedEntry entry = entriesById.get(id);
+        if (entry == null || entry.touchedDay >= today) {
+            return false;
+        }
+        entry.touchedDay = today;
+        return true;
+    }
+
+    synchronized void remove(int id) {
+        CachedEntry removed = entriesById.remove(id);
+        if (removed != null) {
+            idsByValue.get(removed.kind).remove(removed.value);
+        }
+    }
+
+    /**
+     * cutoffDay 이전에 마지막으로 사용된 항목 제거 (DB에서 정리된 항목을 캐시에서도 비움)
+     */
+    synchronized void removeTouchedBefore(long cutoffDay) {
+        Iterator<CachedEntry> iterator = entriesById.values().iterator();
+        while (iterator.hasNext()) {
+            CachedEntry entry = iterator.next();
+            if (entry.touchedDay < cutoffDay) {
+                idsByValue.get(entry.kind).remove(entry.value);
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entriesById.size();
+    }
+
+    private static final class CachedEntry {
+
+        private final Kind kind;
+        private final String value;
+        private long touchedDay;
+
+        private CachedEntry(Kind kind, String value, long touchedDay) {
+            this.kind = kind;
+            this.value = value;
+            this.touchedDay = touchedDay;
+        }
+    }
+}
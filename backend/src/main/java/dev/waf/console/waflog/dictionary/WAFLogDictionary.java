@@ -0,0 +1,310 @@
+package dev.waf.console.waflog.dictionary;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionaryEntry.Kind;
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WAF 로그 문자열 사전
+ *
+ * WAFLog의 반복 문자열 컬럼을 waf_log_dictionary의 정수 ID로 변환하고 되돌림
+ * - 엔티티에서는 WAFLogDictionaryConverters를 통해 투명하게 적용되므로 조회 코드는 문자열을 그대로 사용
+ * - 메모리 양방향 LRU 캐시(DictionaryCache)로 대부분의 변환을 DB 왕복 없이 처리
+ * - 새 문자열은 INSERT IGNORE 후 재조회하여 여러 인스턴스가 동시에 등록해도 같은 ID를 사용 (MySQL 전용)
+ * - 항목마다 마지막 사용 일자(last_used_on)를 하루 한 번 갱신하고, 만료 파티션 삭제 후
+ *   WAFLogPartitionManager가 보존 기간보다 오래 쓰이지 않은 항목을 purgeUnusedBefore로 정리
+ *
+ * 스키마 생성(ddl-auto) 이후에 초기화되도록 entityManagerFactory에 의존
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class WAFLogDictionary {
+
+    private static final String SELECT_ID_SQL =
+        "SELECT id FROM waf_log_dictionary WHERE kind = ? AND value_hash = ?";
+    private static final String INSERT_SQL =
+        "INSERT IGNORE INTO waf_log_dictionary (kind, value_hash, entry_value, last_used_on) VALUES (?, ?, ?, ?)";
+    private static final String TOUCH_SQL =
+        "UPDATE waf_log_dictionary SET last_used_on = ? WHERE id = ?";
+    private static final int PURGE_CHUNK_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final DictionaryCache cache;
+    private final int maxCachedEntries;
+    private final boolean migrateLegacyColumns;
+
+    private final Counter missCounter;
+    private final Counter purgedCounter;
+    private final Counter unknownCounter;
+
+    public WAFLogDictionary(JdbcTemplate jdbcTemplate,
+                            DatabaseDialect databaseDialect,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.waf-log.dictionary.max-cached-entries:200000}") int maxCachedEntries,
+                            @Value("${app.waf-log.dictionary.migrate-legacy-columns:true}") boolean migrateLegacyColumns) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.cache = new DictionaryCache(maxCachedEntries);
+        this.maxCachedEntries = maxCachedEntries;
+        this.migrateLegacyColumns = migrateLegacyColumns;
+
+        this.missCounter = Counter.builder("waf.log.dictionary.misses")
+            .description("Number of dictionary lookups that required a database round trip")
+            .register(meterRegistry);
+        this.purgedCounter = Counter.builder("waf.log.dictionary.purged")
+            .description("Number of dictionary entries removed after no retained log used them")
+            .register(meterRegistry);
+        this.unknownCounter = Counter.builder("waf.log.dictionary.unknown")
+            .description("Number of lookups for dictionary ids that no longer exist")
+            .register(meterRegistry);
+        Gauge.builder("waf.log.dictionary.cached.entries", cache, DictionaryCache::size)
+            .description("Number of dictionary entries held in memory")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (migrateLegacyColumns && databaseDialect.isMySql()) {
+            for (Kind kind : Kind.values()) {
+                migrateLegacyColumn(kind);
+            }
+        }
+        backfillLastUsed();
+        preload();
+    }
+
+    /**
+     * 문자열을 사전 ID로 변환 (없으면 등록)
+     *
+     * @return null 입력이면 null
+     */
+    public Integer encode(Kind kind, String value) {
+        if (value == null) {
+            return null;
+        }
+
+        LocalDate today = LocalDate.now();
+        Integer id = cache.idOf(kind, value);
+        if (id != null) {
+            if (!cache.markTouched(id, today.toEpochDay()) || jdbcTemplate.update(TOUCH_SQL, today, id) > 0) {
+                return id;
+            }
+            // 다른 인스턴스가 정리한 항목이면 다시 등록
+            cache.remove(id);
+        }
+
+        missCounter.increment();
+        id = lookupOrInsert(kind, value, today);
+        cache.put(kind, value, id, today.toEpochDay());
+        return id;
+    }
+
+    /**
+     * 사전 ID를 문자열로 변환
+     *
+     * 사전에 없는 ID(정리되었거나 다른 DB에서 옮겨 온 행)는 조회 전체를 실패시키지 않도록
+     * "<unknown:ID>" 자리 표시 문자열로 반환하고 경고를 남김 (캐시하지 않음)
+     *
+     * @return null 입력이면 null
+     */
+    public String decode(Integer id) {
+        if (id == null) {
+            return null;
+        }
+
+        String value = cache.valueOf(id);
+        if (value != null) {
+            return value;
+        }
+
+        missCounter.increment();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT kind, entry_value, last_used_on FROM waf_log_dictionary WHERE id = ?", id);
+        if (rows.isEmpty()) {
+            unknownCounter.increment();
+            log.warn("Unknown WAF log dictionary id: {} - returning placeholder", id);
+            return unknownValue(id);
+        }
+
+        Map<String, Object> row = rows.get(0);
+        value = (String) row.get("entry_value");
+        cache.put(Kind.valueOf((String) row.get("kind")), value, id, epochDay(row.get("last_used_on")));
+        return value;
+    }
+
+    /**
+     * 저장 트랜잭션 전에 배치의 문자열을 미리 등록
+     *
+     * 신규 문자열 등록이 자동 커밋으로 끝나므로, 이후 저장 트랜잭션의 flush 단계에서는
+     * 캐시 조회만 일어나고 사전 행 잠금을 트랜잭션 동안 붙잡지 않음
+     */
+    public void prepare(Collection<WAFLog> logs) {
+        for (WAFLog wafLog : logs) {
+            encode(Kind.USER_AGENT, wafLog.getUserAgent());
+            encode(Kind.REQUEST_URI, wafLog.getRequestUri());
+            encode(Kind.RULE_NAME, wafLog.getRuleName());
+            encode(Kind.BLOCK_REASON, wafLog.getBlockReason());
+        }
+    }
+
+    /**
+     * 마지막 사용 일자가 cutoff 이전인 항목 삭제
+     *
+     * 로그는 사전 등록(사용 일자 갱신) 이후에 저장되므로, cutoff가 가장 긴 보존 기간보다 이전이면
+     * 삭제되는 항목을 참조하는 로그는 이미 만료 파티션과 함께 삭제된 상태
+     * 잠금을 오래 잡지 않도록 PURGE_CHUNK_SIZE 단위로 나눠 삭제
+     *
+     * @return 삭제된 항목 수
+     */
+    public int purgeUnusedBefore(LocalDate cutoff) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                "DELETE FROM waf_log_dictionary WHERE last_used_on < ? LIMIT " + PURGE_CHUNK_SIZE, cutoff);
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+
+        cache.removeTouchedBefore(cutoff.toEpochDay());
+        if (purged > 0) {
+            purgedCounter.increment(purged);
+            log.info("Purged {} WAF log dictionary entries unused since before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private int lookupOrInsert(Kind kind, String value, LocalDate today) {
+        String hash = sha256Hex(value);
+
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_ID_SQL, Integer.class, kind.name(), hash);
+        if (ids.isEmpty()) {
+            jdbcTemplate.update(INSERT_SQL, kind.name(), hash, value, today);
+            ids = jdbcTemplate.queryForList(SELECT_ID_SQL, Integer.class, kind.name(), hash);
+        } else {
+            jdbcTemplate.update(TOUCH_SQL, today, ids.get(0));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Failed to register WAF log dictionary value: " + kind);
+        }
+        return ids.get(0);
+    }
+
+    /**
+     * 최근 등록된 항목부터 캐시 용량만큼 미리 적재
+     */
+    private void preload() {
+        try {
+            jdbcTemplate.query(
+                "SELECT id, kind, entry_value, last_used_on FROM waf_log_dictionary ORDER BY id DESC LIMIT ?",
+                rs -> {
+                    cache.put(Kind.valueOf(rs.getString("kind")), rs.getString("entry_value"), rs.getInt("id"),
+                        epochDay(rs.getObject("last_used_on", LocalDate.class)));
+                },
+                maxCachedEntries);
+            log.info("WAF log dictionary preloaded: {} entries", cache.size());
+        } catch (Exception e) {
+            log.warn("Failed to preload WAF log dictionary - entries will be loaded on demand", e);
+        }
+    }
+
+    /**
+     * last_used_on 컬럼 추가 전에 등록된 항목은 오늘 사용한 것으로 간주
+     * (참조하는 로그가 보존 기간 동안 남아 있을 수 있으므로 그 이후에 정리 대상이 됨)
+     */
+    private void backfillLastUsed() {
+        try {
+            int updated = jdbcTemplate.update(
+                "UPDATE waf_log_dictionary SET last_used_on = ? WHERE last_used_on IS NULL", LocalDate.now());
+            if (updated > 0) {
+                log.info("WAF log dictionary last-used date initialized for {} entries", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to initialize WAF log dictionary last-used dates - continuing", e);
+        }
+    }
+
+    /**
+     * 사전 도입 전 인라인 문자열 컬럼 이관
+     *
+     * 기존 컬럼이 남아 있으면 NULL 허용으로 바꾸고(신규 행은 값을 넣지 않음),
+     * 값이 있는 행을 사전에 등록한 뒤 ID 컬럼을 채우고 기존 값은 NULL로 비워 공간을 회수
+     * 기존 컬럼 자체는 운영자가 확인 후 삭제하도록 남겨 둠
+     */
+    private void migrateLegacyColumn(Kind kind) {
+        try {
+            Integer exists = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = 'waf_logs' AND column_name = ?",
+                Integer.class, kind.getLegacyColumn());
+            if (exists == null || exists == 0) {
+                return;
+            }
+
+            String legacy = kind.getLegacyColumn();
+            jdbcTemplate.execute("ALTER TABLE waf_logs MODIFY " + legacy + " " + kind.getLegacyDefinition() + " NULL");
+
+            jdbcTemplate.update(
+                "INSERT IGNORE INTO waf_log_dictionary (kind, value_hash, entry_value, last_used_on) " +
+                "SELECT DISTINCT ?, SHA2(" + legacy + ", 256), " + legacy + ", CURRENT_DATE" +
+                " FROM waf_logs WHERE " + legacy + " IS NOT NULL",
+                kind.name());
+            int migrated = jdbcTemplate.update(
+                "UPDATE waf_logs w JOIN waf_log_dictionary d " +
+                "ON d.kind = ? AND d.value_hash = SHA2(w." + legacy + ", 256) " +
+                "SET w." + kind.getIdColumn() + " = d.id, w." + legacy + " = NULL " +
+                "WHERE w." + legacy + " IS NOT NULL",
+                kind.name());
+
+            if (migrated > 0) {
+                log.info("Migrated {} rows of waf_logs.{} to dictionary ids - the legacy column can be dropped",
+                    migrated, legacy);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to migrate legacy waf_logs column for dictionary {} - continuing", kind, e);
+        }
+    }
+
+    static String unknownValue(int id) {
+        return "<unknown:" + id + ">";
+    }
+
+    private static Long epochDay(Object date) {
+        if (date instanceof LocalDate localDate) {
+            return localDate.toEpochDay();
+        }
+        if (date instanceof Date sqlDate) {
+            return sqlDate.toLocalDate().toEpochDay();
+        }
+        return null;
+    }
+
+    static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.waf.console.waflog.dictionary;
+
+import dev.waf.console.waflog.dictionary.WAFLogDictionaryEntry.Kind;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * WAFLog 문자열 필드 ↔ 사전 ID 컬럼 변환기
+ *
+ * Hibernate가 Spring 빈 컨테이너로 생성하며, 사전 빈은 스키마 생성 이후에 초기화되어야 하므로
+ * ObjectProvider로 받아 첫 변환 시점에 조회함
+ */
+public final class WAFLogDictionaryConverters {
+
+    private WAFLogDictionaryConverters() {
+    }
+
+    abstract static class DictionaryConverter implements AttributeConverter<String, Integer> {
+
+        private final Kind kind;
+        private final ObjectProvider<WAFLogDictionary> dictionaryProvider;
+
+        DictionaryConverter(Kind kind, ObjectProvider<WAFLogDictionary> dictionaryProvider) {
+            this.kind = kind;
+            this.dictionaryProvider = dictionaryProvider;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String value) {
+            return value == null ? null : dictionaryProvider.getObject().encode(kind, value);
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer id) {
+            return id == null ? null : dictionaryProvider.getObject().decode(id);
+        }
+    }
+
+    @Converter
+    public static class UserAgent extends DictionaryConverter {
+        public UserAgent(ObjectProvider<WAFLogDictionary> dictionaryProvider) {
+            super(Kind.USER_AGENT, dictionaryProvider);
+        }
+    }
+
+    @Converter
+    public static class RequestUri extends DictionaryConverter {
+        public RequestUri(ObjectProvider<WAFLogDictionary> dictionaryProvider) {
+            super(Kind.REQUEST_URI, dictionaryProvider);
+        }
+    }
+
+    @Converter
+    public static class RuleName extends DictionaryConverter {
+        public RuleName(ObjectProvider<WAFLogDictionary> dictionaryProvider) {
+            super(Kind.RULE_NAME, dictionaryProvider);
+        }
+    }
+
+    @Converter
+    public static class BlockReason extends DictionaryConverter {
+        public BlockReason(ObjectProvider<WAFLogDictionary> dictionaryProvider) {
+            super(Kind.BLOCK_REASON, dictionaryProvider);
+        }
+    }
+}
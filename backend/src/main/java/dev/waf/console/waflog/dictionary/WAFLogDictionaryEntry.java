@@ -0,0 +1,86 @@
+package dev.waf.console.waflog.dictionary;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * WAF 로그 문자열 사전 항목
+ *
+ * 반복되는 긴 문자열(User-Agent, 요청 URI, 룰 이름, 차단 사유)을 한 번만 저장하고
+ * waf_logs에는 이 테이블의 정수 ID만 기록
+ * - (kind, value_hash) 유니크 키로 같은 문자열은 하나의 ID를 공유
+ * - 문자열 길이가 인덱스 한도를 넘을 수 있으므로 SHA-256 해시로 유니크 인덱스를 구성
+ *
+ * 행은 WAFLogDictionary가 JDBC로 기록하며, 이 엔티티는 스키마 정의에 사용됨
+ */
+@Entity
+@Table(name = "waf_log_dictionary", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_waf_log_dictionary_kind_hash", columnNames = {"kind", "value_hash"})
+}, indexes = {
+    @Index(name = "idx_waf_log_dictionary_last_used_on", columnList = "last_used_on")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WAFLogDictionaryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 20)
+    private Kind kind;
+
+    /**
+     * entry_value의 SHA-256 (16진수)
+     */
+    @Column(name = "value_hash", nullable = false, length = 64, columnDefinition = "CHAR(64)")
+    private String valueHash;
+
+    @Column(name = "entry_value", nullable = false, columnDefinition = "TEXT")
+    private String entryValue;
+
+    /**
+     * 마지막으로 로그 저장에 사용된 일자 (하루 한 번 갱신, 보존 기간이 지나면 항목 정리에 사용)
+     */
+    @Column(name = "last_used_on")
+    private LocalDate lastUsedOn;
+
+    /**
+     * 사전 종류
+     *
+     * 사전 도입 전 스키마의 인라인 컬럼 정의를 함께 보관하여 기존 데이터 이관에 사용
+     */
+    public enum Kind {
+        USER_AGENT("user_agent", "user_agent_id", "VARCHAR(500)"),
+        REQUEST_URI("request_uri", "request_uri_id", "VARCHAR(1000)"),
+        RULE_NAME("rule_name", "rule_name_id", "VARCHAR(200)"),
+        BLOCK_REASON("block_reason", "block_reason_id", "VARCHAR(500)");
+
+        private final String legacyColumn;
+        private final String idColumn;
+        private final String legacyDefinition;
+
+        Kind(String legacyColumn, String idColumn, String legacyDefinition) {
+            this.legacyColumn = legacyColumn;
+            this.idColumn = idColumn;
+            this.legacyDefinition = legacyDefinition;
+        }
+
+        public String getLegacyColumn() {
+            return legacyColumn;
+        }
+
+        public String getIdColumn() {
+            return idColumn;
+        }
+
+        public String getLegacyDefinition() {
+            return legacyDefinition;
+        }
+    }
+}
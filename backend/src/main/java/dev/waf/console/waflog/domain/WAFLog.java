@@ -1,12 +1,15 @@
 package dev.waf.console.waflog.domain;
 
+import dev.waf.console.waflog.dictionary.WAFLogDictionaryConverters;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -17,67 +20,118 @@ import java.time.LocalDateTime;
  * - 성공/실패한 요청들의 상세 정보 저장
  * - 보안 분석 및 모니터링을 위한 데이터 제공
  * - 실시간 대시보드 및 리포트 생성 지원
+ *
+ * 반복이 많은 긴 문자열(User-Agent, 요청 경로, 룰 이름, 차단 사유)은 waf_log_dictionary의
+ * 정수 ID로 저장되고, 엔티티 필드에는 변환기를 통해 원래 문자열로 복원됨
+ * 쿼리 스트링은 요청마다 값이 달라 사전을 키우기만 하므로 request_query 컬럼에 그대로 저장
+ *
+ * 커서 기반 목록 조회(WAFLogCursor)는 (timestamp, id) 키셋으로 수행되며,
+ * 조회 조건별 복합 인덱스가 정렬 순서까지 포함하여 filesort 없이 커서 위치부터 읽도록 함
+ * (InnoDB 보조 인덱스는 기본 키를 뒤에 포함하므로 idx_waf_logs_timestamp는 사실상 (timestamp, id) 인덱스)
+ * 높은 위험도 조회는 위험도 범위 조건이면 정렬을 인덱스로 풀 수 없으므로 high_risk 플래그의 동등 조건으로 조회
  */
 @Entity
 @Table(name = "waf_logs", indexes = {
     @Index(name = "idx_waf_logs_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_waf_logs_status", columnList = "status"),
+    @Index(name = "idx_waf_logs_status_timestamp_id", columnList = "status, timestamp, id"),
+    @Index(name = "idx_waf_logs_high_risk_timestamp_id", columnList = "highRisk, timestamp, id"),
     @Index(name = "idx_waf_logs_source_ip", columnList = "sourceIp"),
     @Index(name = "idx_waf_logs_attack_type", columnList = "attackType")
 })
-@EntityListeners(AuditingEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class WAFLog {
 
+    /**
+     * 높은 위험도 기준 점수
+     */
+    public static final int HIGH_RISK_THRESHOLD = 70;
+
+    /**
+     * 요청/응답 헤더에서 그대로 옮겨 오는 컬럼의 최대 길이
+     *
+     * 수집 시점에 fitColumn으로 잘라서, 길이 초과 행이 스풀/배치 저장에서 거부되지 않도록 함
+     * (요청 URI, User-Agent는 사전 테이블의 TEXT 값으로 저장되므로 길이 제한 없음)
+     */
+    public static final int SOURCE_IP_LENGTH = 45;
+    public static final int HTTP_METHOD_LENGTH = 10;
+    public static final int ATTACK_TYPE_LENGTH = 50;
+    public static final int RULE_ID_LENGTH = 100;
+    public static final int SESSION_ID_LENGTH = 100;
+
+    /**
+     * 로그 ID
+     *
+     * IDENTITY 전략은 INSERT마다 생성 키를 받아와야 해서 JDBC 배치가 비활성화됨
+     * pooled 시퀀스(MySQL에서는 waf_logs_seq 테이블로 에뮬레이션)로 ID를 블록 단위 선할당하여
+     * WAFLogBatchWriter의 다건 INSERT가 하나의 배치로 묶이도록 함
+     *
+     * 파티션 분할된 테이블에서는 DB 기본 키가 (id, status, timestamp)로 확장되지만 ID 자체는 전역 유일함
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waf_log_id_generator")
+    @SequenceGenerator(name = "waf_log_id_generator", sequenceName = "waf_logs_seq", allocationSize = 500)
     private Long id;
 
     /**
      * 로그 발생 시간
+     *
+     * 수집 시점에 설정되며, 스풀/배치를 거쳐 나중에 저장되더라도 저장 시각으로 덮어쓰지 않음
      */
-    @CreatedDate
     @Column(name = "timestamp", nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
     /**
      * 요청 처리 상태 (SUCCESS, BLOCKED, ERROR)
+     *
+     * MySQLDialect는 EnumType.STRING을 네이티브 enum 컬럼으로 만들지만, enum 컬럼은
+     * RANGE COLUMNS 파티션 키로 쓸 수 없으므로(WAFLogPartitionLayout) varchar로 고정
      */
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "status", nullable = false, length = 20)
     private LogStatus status;
 
     /**
      * 클라이언트 IP 주소
      */
-    @Column(name = "source_ip", nullable = false, length = 45)
+    @Column(name = "source_ip", nullable = false, length = SOURCE_IP_LENGTH)
     private String sourceIp;
 
     /**
      * HTTP 메서드 (GET, POST, PUT, DELETE 등)
      */
-    @Column(name = "http_method", nullable = false, length = 10)
+    @Column(name = "http_method", nullable = false, length = HTTP_METHOD_LENGTH)
     private String httpMethod;
 
     /**
-     * 요청 URI
+     * 요청 경로 (쿼리 스트링 제외, 사전 ID로 저장)
+     *
+     * 사전 분리 이전에 저장된 행은 쿼리 스트링을 포함할 수 있음
      */
-    @Column(name = "request_uri", nullable = false, length = 1000)
+    @Convert(converter = WAFLogDictionaryConverters.RequestUri.class)
+    @Column(name = "request_uri_id", nullable = false)
     private String requestUri;
 
     /**
-     * User-Agent 정보
+     * 쿼리 스트링 ('?' 제외, 없으면 null)
      */
-    @Column(name = "user_agent", length = 500)
+    @Column(name = "request_query", columnDefinition = "TEXT")
+    private String requestQuery;
+
+    /**
+     * User-Agent 정보 (사전 ID로 저장)
+     */
+    @Convert(converter = WAFLogDictionaryConverters.UserAgent.class)
+    @Column(name = "user_agent_id")
     private String userAgent;
 
     /**
      * 탐지된 공격 유형 (SQL_INJECTION, XSS, CSRF 등)
      */
-    @Column(name = "attack_type", length = 50)
+    @Column(name = "attack_type", length = ATTACK_TYPE_LENGTH)
     private String attackType;
 
     /**
@@ -86,22 +140,34 @@ public class WAFLog {
     @Column(name = "risk_score")
     private Integer riskScore;
 
+    /**
+     * 높은 위험도 여부 (위험도 HIGH_RISK_THRESHOLD 이상)
+     *
+     * 저장 시 riskScore에서 계산되는 파생 컬럼으로, 높은 위험도 커서 조회가
+     * (high_risk, timestamp, id) 인덱스를 정렬 순서대로 읽도록 동등 조건을 제공
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "high_risk", nullable = false)
+    private boolean highRisk;
+
     /**
      * 매칭된 WAF 룰 ID
      */
-    @Column(name = "rule_id", length = 100)
+    @Column(name = "rule_id", length = RULE_ID_LENGTH)
     private String ruleId;
 
     /**
-     * 매칭된 WAF 룰 이름
+     * 매칭된 WAF 룰 이름 (사전 ID로 저장)
      */
-    @Column(name = "rule_name", length = 200)
+    @Convert(converter = WAFLogDictionaryConverters.RuleName.class)
+    @Column(name = "rule_name_id")
     private String ruleName;
 
     /**
-     * 차단 사유 (BLOCKED인 경우)
+     * 차단 사유 (BLOCKED인 경우, 사전 ID로 저장)
      */
-    @Column(name = "block_reason", length = 500)
+    @Convert(converter = WAFLogDictionaryConverters.BlockReason.class)
+    @Column(name = "block_reason_id")
     private String blockReason;
 
     /**
@@ -110,6 +176,15 @@ public class WAFLog {
     @Column(name = "response_time_ms")
     private Long responseTimeMs;
 
+    /**
+     * 응답 시간 (마이크로초, 수집 경로에서만 사용)
+     *
+     * 1ms 미만 응답이 모두 0으로 기록되지 않도록 지연 시간 히스토그램에는 이 값을 사용하며,
+     * 테이블에는 저장하지 않고 스풀 레코드에만 유지됨 (저장된 로그를 다시 읽으면 null)
+     */
+    @Transient
+    private Long responseTimeUs;
+
     /**
      * 응답 상태 코드
      */
@@ -137,9 +212,37 @@ public class WAFLog {
     /**
      * 세션 ID (있는 경우)
      */
-    @Column(name = "session_id", length = 100)
+    @Column(name = "session_id", length = SESSION_ID_LENGTH)
     private String sessionId;
 
+    /**
+     * 샘플 가중치 (이 행이 대표하는 요청 수)
+     *
+     * 부하 중 SUCCESS 로그가 WAFLogSampler에 의해 k건 중 1건만 저장된 경우 k,
+     * 샘플링되지 않은 로그는 null(=1). 건수/평균 집계는 COALESCE(sample_weight, 1)로 가중 합산
+     */
+    @Column(name = "sample_weight")
+    private Integer sampleWeight;
+
+    /**
+     * Entity 생성 전 자동 설정 (발생 시간이 지정되지 않은 경우에만)
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+        highRisk = riskScore != null && riskScore >= HIGH_RISK_THRESHOLD;
+    }
+
+    /**
+     * 위험도 변경 시 파생 플래그 동기화
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        highRisk = riskScore != null && riskScore >= HIGH_RISK_THRESHOLD;
+    }
+
     /**
      * 로그 처리 상태
      */
@@ -171,9 +274,10 @@ public class WAFLog {
     public static WAFLog createSuccessLog(String sourceIp, String httpMethod, String requestUri,
                                          String userAgent, Long responseTimeMs, Integer responseStatusCode) {
         return WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
+            .sourceIp(fitColumn(sourceIp, SOURCE_IP_LENGTH))
+            .httpMethod(fitColumn(httpMethod, HTTP_METHOD_LENGTH))
+            .requestUri(pathOf(requestUri))
+            .requestQuery(queryOf(requestUri))
             .userAgent(userAgent)
             .status(LogStatus.SUCCESS)
             .responseTimeMs(responseTimeMs)
@@ -189,14 +293,15 @@ public class WAFLog {
                                          String userAgent, String attackType, Integer riskScore,
                                          String ruleId, String ruleName, String blockReason) {
         return WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
+            .sourceIp(fitColumn(sourceIp, SOURCE_IP_LENGTH))
+            .httpMethod(fitColumn(httpMethod, HTTP_METHOD_LENGTH))
+            .requestUri(pathOf(requestUri))
+            .requestQuery(queryOf(requestUri))
             .userAgent(userAgent)
             .status(LogStatus.BLOCKED)
-            .attackType(attackType)
+            .attackType(fitColumn(attackType, ATTACK_TYPE_LENGTH))
             .riskScore(riskScore)
-            .ruleId(ruleId)
+            .ruleId(fitColumn(ruleId, RULE_ID_LENGTH))
             .ruleName(ruleName)
             .blockReason(blockReason)
             .responseStatusCode(403)
@@ -210,9 +315,10 @@ public class WAFLog {
     public static WAFLog createErrorLog(String sourceIp, String httpMethod, String requestUri,
                                        String userAgent, String blockReason) {
         return WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
+            .sourceIp(fitColumn(sourceIp, SOURCE_IP_LENGTH))
+            .httpMethod(fitColumn(httpMethod, HTTP_METHOD_LENGTH))
+            .requestUri(pathOf(requestUri))
+            .requestQuery(queryOf(requestUri))
             .userAgent(userAgent)
             .status(LogStatus.ERROR)
             .blockReason(blockReason)
@@ -221,6 +327,51 @@ public class WAFLog {
             .build();
     }
 
+    /**
+     * 쿼리 스트링을 포함한 전체 요청 URI
+     */
+    public String getFullRequestUri() {
+        if (requestQuery == null || requestUri == null) {
+            return requestUri;
+        }
+        return requestUri + '?' + requestQuery;
+    }
+
+    /**
+     * 요청 대상(경로?쿼리)에서 경로 부분
+     */
+    public static String pathOf(String requestTarget) {
+        if (requestTarget == null) {
+            return null;
+        }
+        int query = requestTarget.indexOf('?');
+        return query < 0 ? requestTarget : requestTarget.substring(0, query);
+    }
+
+    /**
+     * 요청 대상(경로?쿼리)에서 쿼리 스트링 부분 (없거나 비어 있으면 null)
+     */
+    public static String queryOf(String requestTarget) {
+        if (requestTarget == null) {
+            return null;
+        }
+        int query = requestTarget.indexOf('?');
+        return query < 0 || query == requestTarget.length() - 1 ? null : requestTarget.substring(query + 1);
+    }
+
+    /**
+     * 컬럼 길이에 맞게 자른 값 (null이거나 길이 이내이면 그대로 반환)
+     *
+     * 서로게이트 쌍 중간에서 잘리지 않도록 경계가 상위 서로게이트이면 한 글자 덜 자름
+     */
+    public static String fitColumn(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return value.substring(0, end);
+    }
+
     /**
      * 로그가 차단된 요청인지 확인
      */
@@ -237,8 +388,10 @@ public class WAFLog {
 
     /**
      * 위험도가 높은 로그인지 확인 (위험도 70 이상)
+     *
+     * 아직 저장되지 않은 엔티티도 판단할 수 있도록 high_risk 컬럼이 아닌 riskScore로 계산
      */
     public boolean isHighRisk() {
-        return riskScore != null && riskScore >= 70;
+        return riskScore != null && riskScore >= HIGH_RISK_THRESHOLD;
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package dev.waf.console.waflog.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * WAF 로그 Kafka 발행 대기열 (Transactional Outbox)
+ *
+ * 로그 행과 같은 트랜잭션에서 기록되어, 커밋된 로그만 WAFLogOutboxRelay가 Kafka로 발행함
+ * - 로그의 기본 키(id, status, timestamp)만 보관하고 이벤트 내용은 발행 시점에 waf_logs에서 조인하여 구성
+ *   (파티션 키인 status/timestamp까지 조인 조건에 넣어야 행마다 해당 파티션만 조회함)
+ * - 로그 ID를 그대로 키로 사용하므로 별도 ID 생성 없이 로그와 함께 JDBC 배치로 INSERT됨
+ */
+@Entity
+@Table(name = "waf_log_outbox", indexes = {
+    @Index(name = "idx_waf_log_outbox_created_at", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WAFLogOutbox implements Persistable<Long> {
+
+    @Id
+    @Column(name = "log_id")
+    private Long logId;
+
+    /**
+     * 로그 처리 상태 (waf_logs 파티션 키, 컬럼 추가 전에 기록된 행은 기동 시 채워짐)
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "log_status", length = 20)
+    private WAFLog.LogStatus logStatus;
+
+    /**
+     * 로그 발생 시간 (waf_logs 파티션 키, 컬럼 추가 전에 기록된 행은 기동 시 채워짐)
+     */
+    @Column(name = "log_timestamp")
+    private LocalDateTime logTimestamp;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public WAFLogOutbox(WAFLog wafLog, LocalDateTime createdAt) {
+        this.logId = wafLog.getId();
+        this.logStatus = wafLog.getStatus();
+        this.logTimestamp = wafLog.getTimestamp();
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public Long getId() {
+        return logId;
+    }
+
+    /**
+     * 항상 신규 행으로 취급하여 saveAll 시 merge(SELECT) 없이 persist 되도록 함
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.waf.console.waflog.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV 행 출력기
+ *
+ * 쉼표, 큰따옴표, 줄바꿈이 있는 값만 큰따옴표로 감싸고 내부 큰따옴표는 두 번 씀
+ * null은 빈 칸으로 출력
+ */
+class CsvExportRowWriter implements ExportRowWriter {
+
+    private final Writer writer;
+
+    CsvExportRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void begin(List<String> columns) throws IOException {
+        writeLine(columns.toArray());
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        writeLine(values);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escape(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String escape(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
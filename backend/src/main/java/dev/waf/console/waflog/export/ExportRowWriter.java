@@ -0,0 +1,19 @@
+package dev.waf.console.waflog.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 내보내기 행 출력기
+ *
+ * 행을 받는 즉시 출력 스트림에 쓰고 아무것도 모아 두지 않음
+ * 값은 컬럼 순서대로 전달되며 null, Number, 그 외(toString) 값만 구분함
+ */
+interface ExportRowWriter {
+
+    void begin(List<String> columns) throws IOException;
+
+    void write(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
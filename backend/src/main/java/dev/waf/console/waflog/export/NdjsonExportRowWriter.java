@@ -0,0 +1,54 @@
+package dev.waf.console.waflog.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * NDJSON 행 출력기
+ *
+ * 스트리밍 JsonGenerator로 행마다 컬럼 이름을 키로 하는 객체 한 줄을 씀 (null 값은 생략)
+ * 최상위 값 사이의 기본 구분자(공백) 대신 줄바꿈으로 행을 구분함
+ */
+class NdjsonExportRowWriter implements ExportRowWriter {
+
+    private final JsonGenerator generator;
+    private List<String> columns;
+
+    NdjsonExportRowWriter(JsonGenerator generator) {
+        this.generator = generator;
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin(List<String> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            generator.writeFieldName(columns.get(i));
+            if (value instanceof Long longValue) {
+                generator.writeNumber(longValue);
+            } else if (value instanceof Integer intValue) {
+                generator.writeNumber(intValue);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,25 @@
+package dev.waf.console.waflog.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * WAF 로그 내보내기 형식
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WAFLogExportFormat {
+
+    /**
+     * 한 줄에 JSON 객체 하나 (newline-delimited JSON)
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * 첫 줄이 헤더인 RFC 4180 CSV
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+}
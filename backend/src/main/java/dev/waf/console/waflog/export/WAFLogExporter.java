@@ -0,0 +1,268 @@
+package dev.waf.console.waflog.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.waf.console.common.exception.BusinessException;
+import dev.waf.console.common.exception.ErrorCode;
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * WAF 로그 스트리밍 내보내기
+ *
+ * 조회 API의 500건 제한 없이 기간 내 전체 로그를 NDJSON 또는 CSV로 내려보냄
+ * - 전진 전용(forward-only) JDBC 커서로 행을 읽는 즉시 응답 스트림에 쓰므로 결과 크기와 무관하게 메모리가 일정
+ * - MySQL에서는 fetch size Integer.MIN_VALUE로 행 단위 스트리밍, 그 외 DB는 fetch-size 단위로 읽음
+ * - 페이지/건수 조회 없이 단일 쿼리로 (timestamp, id) 순서대로 읽음
+ * - 클라이언트가 연결을 끊으면 쿼리를 취소하여 남은 행을 모두 읽어 버리지 않도록 함
+ *
+ * 내보내기 하나가 끝날 때까지 커넥션 하나를 점유하므로 동시 실행 수를 max-concurrent로 제한함
+ */
+@Slf4j
+@Component
+public class WAFLogExporter {
+
+    static final List<String> COLUMNS = List.of(
+        "id", "timestamp", "status", "source_ip", "http_method", "request_uri", "user_agent",
+        "attack_type", "risk_score", "rule_id", "rule_name", "block_reason", "response_time_ms",
+        "response_status_code", "payload_size", "geo_country", "session_id", "sample_weight", "metadata");
+
+    private static final String SELECT_SQL =
+        "SELECT id, `timestamp`, status, source_ip, http_method, request_uri_id, request_query, user_agent_id, " +
+        "attack_type, risk_score, rule_id, rule_name_id, block_reason_id, response_time_ms, " +
+        "response_status_code, payload_size, geo_country, session_id, sample_weight, metadata " +
+        "FROM waf_logs WHERE ";
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final WAFLogDictionary wafLogDictionary;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final Semaphore permits;
+
+    private final Map<WAFLogExportFormat, Counter> rowCounters = new EnumMap<>(WAFLogExportFormat.class);
+    private final Counter rejectedCounter;
+
+    public WAFLogExporter(JdbcTemplate jdbcTemplate,
+                          DatabaseDialect databaseDialect,
+                          WAFLogDictionary wafLogDictionary,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.waf-log.export.fetch-size:1000}") int fetchSize,
+                          @Value("${app.waf-log.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.wafLogDictionary = wafLogDictionary;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.permits = new Semaphore(maxConcurrent);
+
+        for (WAFLogExportFormat format : WAFLogExportFormat.values()) {
+            rowCounters.put(format, Counter.builder("waf.log.export.rows")
+                .description("Number of WAF log rows written by streaming exports")
+                .tag("format", format.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        this.rejectedCounter = Counter.builder("waf.log.export.rejected")
+            .description("Number of WAF log exports rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 내보내기 응답 본문 생성
+     *
+     * 동시 실행 허가는 호출 시점에 얻어 한도 초과를 응답 시작 전에 알리고, 본문 출력이 끝나면 반납함
+     * 본문이 실행되지 않고 비동기 요청이 끝나는 경우(작업 거부, 타임아웃, 연결 오류)에도
+     * 비동기 처리 완료 콜백에서 반납하며, 두 경로 중 먼저 도달한 쪽만 반납함
+     *
+     * @param startTime 시작 시간 (포함)
+     * @param endTime 종료 시간 (제외)
+     * @param status 로그 상태 (null이면 전체)
+     * @throws BusinessException 동시 실행 한도를 넘은 경우 (SERVICE_UNAVAILABLE)
+     */
+    public StreamingResponseBody export(LocalDateTime startTime, LocalDateTime endTime, LogStatus status,
+                                        WAFLogExportFormat format, boolean gzip) {
+        if (!permits.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE,
+                "진행 중인 로그 내보내기가 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Runnable release = releaseOnce();
+        releaseOnAsyncCompletion(release);
+
+        return outputStream -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream;
+                ExportRowWriter writer = createWriter(format, target);
+
+                long started = System.currentTimeMillis();
+                writer.begin(COLUMNS);
+                long rows = writeRows(startTime, endTime, status, writer);
+                writer.finish();
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+                outputStream.flush();
+
+                rowCounters.get(format).increment(rows);
+                log.info("Exported {} WAF logs from {} to {} (status: {}, format: {}, gzip: {}) in {}ms",
+                    rows, startTime, endTime, status, format, gzip, System.currentTimeMillis() - started);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * 현재 요청의 비동기 처리가 끝나면 허가를 반납하도록 등록
+     *
+     * StreamingResponseBody는 비동기 Callable로 실행되므로 afterCompletion은 본문 실행 여부와 무관하게 한 번 호출됨
+     * 요청 컨텍스트가 없으면(직접 호출) 본문의 finally에서만 반납
+     */
+    private void releaseOnAsyncCompletion(Runnable release) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+
+        WebAsyncUtils.getAsyncManager(servletAttributes.getRequest())
+            .registerCallableInterceptor(WAFLogExporter.class.getName(), new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    release.run();
+                }
+            });
+    }
+
+    private ExportRowWriter createWriter(WAFLogExportFormat format, OutputStream target) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonExportRowWriter(objectMapper.getFactory().createGenerator(target));
+            case CSV -> new CsvExportRowWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        };
+    }
+
+    private long writeRows(LocalDateTime startTime, LocalDateTime endTime, LogStatus status,
+                           ExportRowWriter writer) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            sql.append("status = ? ");
+            args.add(status.name());
+        } else {
+            sql.append("status IN ('BLOCKED', 'ERROR', 'SUCCESS', 'WARNING') ");
+        }
+        sql.append("AND `timestamp` >= ? AND `timestamp` < ? ORDER BY `timestamp`, id");
+        args.add(Timestamp.valueOf(startTime));
+        args.add(Timestamp.valueOf(endTime));
+
+        AtomicReference<PreparedStatement> statement = new AtomicReference<>();
+        long[] rows = {0};
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(databaseDialect.isMySql() ? Integer.MIN_VALUE : fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                statement.set(ps);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(readRow(rs));
+                    rows[0]++;
+                } catch (IOException e) {
+                    cancelQuietly(statement.get());
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.info("WAF log export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private Object[] readRow(ResultSet rs) throws SQLException {
+        return new Object[] {
+            rs.getObject("id", Long.class),
+            rs.getObject("timestamp", LocalDateTime.class),
+            rs.getString("status"),
+            rs.getString("source_ip"),
+            rs.getString("http_method"),
+            requestUri(wafLogDictionary.decode(rs.getObject("request_uri_id", Integer.class)), rs.getString("request_query")),
+            wafLogDictionary.decode(rs.getObject("user_agent_id", Integer.class)),
+            rs.getString("attack_type"),
+            rs.getObject("risk_score", Integer.class),
+            rs.getString("rule_id"),
+            wafLogDictionary.decode(rs.getObject("rule_name_id", Integer.class)),
+            wafLogDictionary.decode(rs.getObject("block_reason_id", Integer.class)),
+            rs.getObject("response_time_ms", Long.class),
+            rs.getObject("response_status_code", Integer.class),
+            rs.getObject("payload_size", Long.class),
+            rs.getString("geo_country"),
+            rs.getString("session_id"),
+            rs.getObject("sample_weight", Integer.class),
+            rs.getString("metadata")
+        };
+    }
+
+    private static String requestUri(String path, String query) {
+        return path == null || query == null ? path : path + '?' + query;
+    }
+
+    private static void cancelQuietly(PreparedStatement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.debug("Failed to cancel WAF log export query", e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package dev.waf.console.waflog.partition;
+
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * waf_logs 파티션 배치 계산
+ *
+ * RANGE COLUMNS(status, timestamp)로 상태별 파티션 묶음을 만들고, 각 묶음 안에서 하루 단위로 나눔
+ * - 상태 문자열 정렬 순서(BLOCKED < ERROR < SUCCESS < WARNING)대로 묶음이 이어짐
+ * - 묶음마다 p_{status}_{yyyyMMdd} 일자 파티션과 p_{status}_future 예비 파티션(status, MAXVALUE)을 두고,
+ *   새 일자 파티션은 비어 있는 예비 파티션을 REORGANIZE 하여 만듦 (데이터 이동 없음)
+ * - 가장 오래된 일자 파티션은 그 이전 시각의 행도 함께 담으므로, 보존 기간이 지나 DROP 하면 함께 삭제됨
+ *
+ * SQL 문자열 생성만 담당하며 실행은 WAFLogPartitionManager가 수행
+ */
+final class WAFLogPartitionLayout {
+
+    static final String TABLE = "waf_logs";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern DAY_PARTITION = Pattern.compile("p_([a-z]+)_(\\d{8})");
+
+    private WAFLogPartitionLayout() {
+    }
+
+    /**
+     * 상태 묶음 순서 (파티션 경계는 오름차순이어야 함)
+     */
+    static List<LogStatus> orderedStatuses() {
+        List<LogStatus> statuses = new ArrayList<>(List.of(LogStatus.values()));
+        statuses.sort(Comparator.comparing(LogStatus::name));
+        return statuses;
+    }
+
+    static String dayPartitionName(LogStatus status, LocalDate day) {
+        return "p_" + status.name().toLowerCase() + "_" + day.format(DAY_FORMAT);
+    }
+
+    static String futurePartitionName(LogStatus status) {
+        return "p_" + status.name().toLowerCase() + "_future";
+    }
+
+    /**
+     * status 컬럼을 varchar로 바꾸는 ALTER 문
+     *
+     * 매핑 고정 이전에 만들어진 테이블은 status가 enum 컬럼이라 RANGE COLUMNS 키로 쓸 수 없음
+     * (ddl-auto: update는 기존 컬럼 타입을 바꾸지 않으므로 변환 전에 직접 수정)
+     */
+    static String statusColumnToVarcharStatement() {
+        return "ALTER TABLE " + TABLE + " MODIFY status varchar(20) NOT NULL";
+    }
+
+    /**
+     * 비분할 테이블을 분할 테이블로 바꾸는 ALTER 문
+     *
+     * 상태별로 (오늘 - 보존 일수)부터 (오늘 + createAheadDays)까지 일자 파티션을 생성
+     * 파티션 키가 모든 유니크 키에 포함되어야 하므로 기본 키를 (id, status, timestamp)로 변경
+     */
+    static String partitionTableStatement(LocalDate today, int createAheadDays, Map<LogStatus, Integer> retentionDays) {
+        List<String> partitions = new ArrayList<>();
+        for (LogStatus status : orderedStatuses()) {
+            LocalDate first = today.minusDays(retentionDays.get(status));
+            for (LocalDate day = first; !day.isAfter(today.plusDays(createAheadDays)); day = day.plusDays(1)) {
+                partitions.add(dayPartition(status, day));
+            }
+            partitions.add(futurePartition(status));
+        }
+        partitions.add("PARTITION p_max VALUES LESS THAN (MAXVALUE, MAXVALUE)");
+
+        return "ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, status, `timestamp`) " +
+            "PARTITION BY RANGE COLUMNS(status, `timestamp`) (" + String.join(", ", partitions) + ")";
+    }
+
+    /**
+     * 상태별로 (오늘 + createAheadDays)까지 부족한 일자 파티션을 만드는 REORGANIZE 문
+     *
+     * @param existing 현재 파티션 이름 목록
+     * @return 실행할 ALTER 문 (상태별 최대 1개)
+     */
+    static List<String> createAheadStatements(Collection<String> existing, LocalDate today, int createAheadDays) {
+        Map<LogStatus, LocalDate> lastDays = lastDayByStatus(existing);
+        List<String> statements = new ArrayList<>();
+
+        for (LogStatus status : orderedStatuses()) {
+            if (!existing.contains(futurePartitionName(status))) {
+                continue;
+            }
+
+            LocalDate from = Optional.ofNullable(lastDays.get(status)).map(d -> d.plusDays(1)).orElse(today);
+            LocalDate until = today.plusDays(createAheadDays);
+            if (from.isAfter(until)) {
+                continue;
+            }
+
+            List<String> partitions = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(until); day = day.plusDays(1)) {
+                partitions.add(dayPartition(status, day));
+            }
+            partitions.add(futurePartition(status));
+
+            statements.add("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + futurePartitionName(status) +
+                " INTO (" + String.join(", ", partitions) + ")");
+        }
+        return statements;
+    }
+
+    /**
+     * 보존 기간이 지난 일자 파티션 이름
+     *
+     * 일자가 (오늘 - 보존 일수)보다 이전인 파티션이 대상
+     * 상태별로 가장 최근 일자 파티션은 남겨 두어 묶음이 비지 않도록 함
+     */
+    static List<String> expiredPartitions(Collection<String> existing, LocalDate today,
+                                          Map<LogStatus, Integer> retentionDays) {
+        Map<LogStatus, LocalDate> lastDays = lastDayByStatus(existing);
+        List<String> expired = new ArrayList<>();
+
+        for (String name : existing) {
+            Matcher matcher = DAY_PARTITION.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LogStatus status = parseStatus(matcher.group(1));
+            if (status == null || !retentionDays.containsKey(status)) {
+                continue;
+            }
+
+            LocalDate day = LocalDate.parse(matcher.group(2), DAY_FORMAT);
+            if (day.isBefore(today.minusDays(retentionDays.get(status))) && !day.equals(lastDays.get(status))) {
+                expired.add(name);
+            }
+        }
+        expired.sort(Comparator.naturalOrder());
+        return expired;
+    }
+
+    private static Map<LogStatus, LocalDate> lastDayByStatus(Collection<String> existing) {
+        Map<LogStatus, LocalDate> lastDays = new TreeMap<>();
+        for (String name : existing) {
+            Matcher matcher = DAY_PARTITION.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LogStatus status = parseStatus(matcher.group(1));
+            if (status != null) {
+                lastDays.merge(status, LocalDate.parse(matcher.group(2), DAY_FORMAT),
+                    (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+        return lastDays;
+    }
+
+    private static LogStatus parseStatus(String value) {
+        try {
+            return LogStatus.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String dayPartition(LogStatus status, LocalDate day) {
+        return "PARTITION " + dayPartitionName(status, day) +
+            " VALUES LESS THAN ('" + status.name() + "', '" + day.plusDays(1) + " 00:00:00')";
+    }
+
+    private static String futurePartition(LogStatus status) {
+        return "PARTITION " + futurePartitionName(status) +
+            " VALUES LESS THAN ('" + status.name() + "', MAXVALUE)";
+    }
+}
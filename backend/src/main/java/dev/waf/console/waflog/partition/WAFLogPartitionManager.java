@@ -0,0 +1,195 @@
+package dev.waf.console.waflog.partition;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * waf_logs 파티션 관리자
+ *
+ * 상태별 일자 파티션(WAFLogPartitionLayout)을 유지하여 보존 기간 정리를 행 단위 DELETE 대신
+ * 파티션 DROP(메타데이터 작업)으로 수행하고, 상태/기간 조건 조회가 해당 일자 파티션만 읽도록 함
+ * - 기동 시와 check-interval-minutes마다 create-ahead-days만큼 미래 파티션을 만들고 만료 파티션을 삭제
+ * - 만료 파티션을 삭제한 뒤에는 남은 로그가 더 이상 참조하지 않는 사전 항목도 정리
+ * - 비분할 테이블은 비어 있거나 convert-existing-table이 켜진 경우에만 분할 테이블로 변환
+ *   (데이터가 있는 테이블 변환은 전체 재작성이므로 점검 시간에 명시적으로 수행)
+ *
+ * MySQL 전용이며, 스키마 생성(ddl-auto) 이후에 실행되도록 entityManagerFactory에 의존
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(prefix = "app.waf-log.partitioning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WAFLogPartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final WAFLogDictionary wafLogDictionary;
+    private final boolean convertExistingTable;
+    private final int createAheadDays;
+    private final long checkIntervalMinutes;
+    private final Map<LogStatus, Integer> retentionDays = new EnumMap<>(LogStatus.class);
+
+    private final Counter droppedCounter;
+
+    private ScheduledExecutorService scheduler;
+
+    public WAFLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                  DatabaseDialect databaseDialect,
+                                  WAFLogDictionary wafLogDictionary,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.waf-log.partitioning.convert-existing-table:false}") boolean convertExistingTable,
+                                  @Value("${app.waf-log.partitioning.create-ahead-days:3}") int createAheadDays,
+                                  @Value("${app.waf-log.partitioning.check-interval-minutes:60}") long checkIntervalMinutes,
+                                  @Value("${app.waf-log.partitioning.retention-days.blocked:90}") int blockedRetentionDays,
+                                  @Value("${app.waf-log.partitioning.retention-days.error:30}") int errorRetentionDays,
+                                  @Value("${app.waf-log.partitioning.retention-days.warning:30}") int warningRetentionDays,
+                                  @Value("${app.waf-log.partitioning.retention-days.success:7}") int successRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.wafLogDictionary = wafLogDictionary;
+        this.convertExistingTable = convertExistingTable;
+        this.createAheadDays = createAheadDays;
+        this.checkIntervalMinutes = checkIntervalMinutes;
+
+        retentionDays.put(LogStatus.BLOCKED, blockedRetentionDays);
+        retentionDays.put(LogStatus.ERROR, errorRetentionDays);
+        retentionDays.put(LogStatus.WARNING, warningRetentionDays);
+        retentionDays.put(LogStatus.SUCCESS, successRetentionDays);
+
+        this.droppedCounter = Counter.builder("waf.log.partitions.dropped")
+            .description("Number of expired waf_logs partitions dropped by retention")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!databaseDialect.isMySql()) {
+            log.info("WAF log partitioning requires MySQL - partition manager disabled");
+            return;
+        }
+
+        maintain();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waf-log-partition-manager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::maintain, checkIntervalMinutes, checkIntervalMinutes, TimeUnit.MINUTES);
+
+        log.info("WAF log partition manager started: createAheadDays={}, retentionDays={}, checkInterval={}m",
+            createAheadDays, retentionDays, checkIntervalMinutes);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 미래 파티션 생성 및 만료 파티션 삭제
+     *
+     * 여러 인스턴스가 동시에 실행해 충돌하더라도 다음 주기에 다시 맞춰지므로 실패는 로그만 남김
+     */
+    void maintain() {
+        maintain(LocalDate.now());
+    }
+
+    void maintain(LocalDate today) {
+        try {
+            List<String> partitions = loadPartitionNames();
+
+            if (partitions.isEmpty()) {
+                if (!convertTable(today)) {
+                    return;
+                }
+                partitions = loadPartitionNames();
+            }
+
+            for (String statement : WAFLogPartitionLayout.createAheadStatements(partitions, today, createAheadDays)) {
+                jdbcTemplate.execute(statement);
+                log.debug("WAF log partitions created: {}", statement);
+            }
+
+            List<String> expired = WAFLogPartitionLayout.expiredPartitions(partitions, today, retentionDays);
+            if (!expired.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE " + WAFLogPartitionLayout.TABLE +
+                    " DROP PARTITION " + String.join(", ", expired));
+                droppedCounter.increment(expired.size());
+                log.info("Dropped {} expired WAF log partitions: {}", expired.size(), expired);
+                purgeDictionary(today);
+            }
+        } catch (Exception e) {
+            log.warn("WAF log partition maintenance failed - will retry on next check", e);
+        }
+    }
+
+    /**
+     * 가장 긴 보존 기간보다 오래 사용되지 않은 사전 항목 정리 (하루 여유를 둠)
+     */
+    private void purgeDictionary(LocalDate today) {
+        int longestRetention = retentionDays.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        wafLogDictionary.purgeUnusedBefore(today.minusDays(longestRetention + 1L));
+    }
+
+    /**
+     * 비분할 테이블을 분할 테이블로 변환
+     *
+     * @return 변환했으면 true, 조건이 맞지 않아 건너뛰었으면 false
+     */
+    private boolean convertTable(LocalDate today) {
+        Integer existingRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM " + WAFLogPartitionLayout.TABLE + " LIMIT 1) t", Integer.class);
+        boolean empty = existingRows == null || existingRows == 0;
+
+        if (!empty && !convertExistingTable) {
+            log.warn("waf_logs is not partitioned and contains data - set " +
+                "app.waf-log.partitioning.convert-existing-table=true during a maintenance window to convert it");
+            return false;
+        }
+
+        log.info("Converting waf_logs to status/day range partitions (existing data: {})", !empty);
+        if ("enum".equalsIgnoreCase(statusColumnType())) {
+            jdbcTemplate.execute(WAFLogPartitionLayout.statusColumnToVarcharStatement());
+            log.info("Converted waf_logs.status from enum to varchar for RANGE COLUMNS partitioning");
+        }
+        jdbcTemplate.execute(WAFLogPartitionLayout.partitionTableStatement(today, createAheadDays, retentionDays));
+        return true;
+    }
+
+    private List<String> loadPartitionNames() {
+        return jdbcTemplate.queryForList(
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL " +
+            "ORDER BY partition_ordinal_position",
+            String.class, WAFLogPartitionLayout.TABLE);
+    }
+
+    private String statusColumnType() {
+        return jdbcTemplate.queryForObject(
+            "SELECT data_type FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = 'status'",
+            String.class, WAFLogPartitionLayout.TABLE);
+    }
+}
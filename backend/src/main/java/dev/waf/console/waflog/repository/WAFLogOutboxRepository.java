@@ -0,0 +1,77 @@
+package dev.waf.console.waflog.repository;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLogOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * WAF 로그 발행 대기열 Repository
+ *
+ * 삭제는 실제로 발행한 로그 ID만 대상으로 함
+ * createdAt은 커밋 전에 기록되므로, 더 큰 ID가 발행된 뒤에 늦게 커밋된 트랜잭션의 행도
+ * 발행 전에 createdAt 기준 범위 삭제에 걸릴 수 있기 때문
+ */
+@Repository
+public interface WAFLogOutboxRepository extends JpaRepository<WAFLogOutbox, Long> {
+
+    /**
+     * 발행 대기 중인 로그를 로그 ID 오름차순으로 조회
+     *
+     * 로그의 전체 기본 키(id, status, timestamp)로 조인하여 행마다 해당 파티션만 조회함
+     *
+     * @param cutoff 이 시각 이전에 기록된 대기열 행만 대상
+     * @param pageable 조회 건수 (첫 페이지만 사용)
+     * @return 발행할 로그 목록
+     */
+    @Query("SELECT w FROM WAFLogOutbox o JOIN WAFLog w " +
+           "ON w.id = o.logId AND w.status = o.logStatus AND w.timestamp = o.logTimestamp " +
+           "WHERE o.createdAt < :cutoff ORDER BY o.logId ASC")
+    List<WAFLog> findPendingLogs(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * 발행이 끝난 로그의 대기열 행 삭제
+     *
+     * @param logIds 이번에 발행한 로그 ID 목록
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM WAFLogOutbox o WHERE o.logId IN :logIds")
+    int deleteByLogIds(@Param("logIds") Collection<Long> logIds);
+
+    /**
+     * 원본 로그가 이미 삭제되어(보존 기간 만료 등) 발행할 수 없는 대기열 행 삭제
+     *
+     * 원본 로그와 대기열 행은 같은 트랜잭션에서 커밋되므로, 원본이 없는 행은 늦게 커밋될 행이 아님
+     * 충분히 오래된 행(orphanCutoff 이전)만 대상으로 하여 조회와 삭제 사이의 경합을 피함
+     *
+     * @return 삭제된 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM WAFLogOutbox o WHERE o.logId <= :toLogId AND o.createdAt < :orphanCutoff " +
+           "AND NOT EXISTS (SELECT w.id FROM WAFLog w " +
+           "WHERE w.id = o.logId AND w.status = o.logStatus AND w.timestamp = o.logTimestamp)")
+    int deleteOrphansUpTo(@Param("toLogId") Long toLogId, @Param("orphanCutoff") LocalDateTime orphanCutoff);
+
+    /**
+     * log_status/log_timestamp 컬럼 추가 전에 기록된 대기열 행에 원본 로그의 키를 채움
+     *
+     * 원본 로그가 없는 행은 비어 있는 채로 남아 orphan 정리 대상이 됨
+     *
+     * @return 갱신된 행 수
+     */
+    @Modifying
+    @Query("UPDATE WAFLogOutbox o " +
+           "SET o.logStatus = (SELECT w.status FROM WAFLog w WHERE w.id = o.logId), " +
+           "o.logTimestamp = (SELECT w.timestamp FROM WAFLog w WHERE w.id = o.logId) " +
+           "WHERE o.logStatus IS NULL OR o.logTimestamp IS NULL")
+    int backfillLogKeys();
+}
@@ -3,6 +3,7 @@ package dev.waf.console.waflog.repository;
 import dev.waf.console.waflog.domain.WAFLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,6 +19,17 @@ import java.util.List;
  * - 최근 로그 조회
  * - 상태별 로그 필터링
  * - 통계 데이터 조회
+ *
+ * 상태별 건수/응답 시간/시간대별 트래픽 집계는 WAFLogRollupService의 분/시 롤업에서 조회하며,
+ * 상위 공격 IP/URI/룰은 공격 이벤트 스트림의 스케치(WAFAttackTopKTracker)에서 제공하므로
+ * 여기에는 롤업 키로 표현할 수 없는 집계(룰별 차단 수)만 남김
+ *
+ * waf_logs는 RANGE COLUMNS(status, timestamp)로 분할되므로(WAFLogPartitionManager),
+ * 기간 조건 조회는 상태 조건(특정 상태 또는 전체 상태 IN 목록)을 함께 걸어 해당 일자 파티션만 읽도록 함
+ *
+ * scroll* 조회는 (timestamp, id) 키셋 페이지로, 커서 위치보다 앞선 행을
+ * "timestamp <= :ts AND (timestamp < :ts OR id < :id)" 형태로 찾아 인덱스 범위 탐색이 되도록 함
+ * Slice로 반환하여 전체 건수 COUNT 쿼리를 생략함
  */
 @Repository
 public interface WAFLogRepository extends JpaRepository<WAFLog, Long> {
@@ -78,86 +90,122 @@ public interface WAFLogRepository extends JpaRepository<WAFLog, Long> {
      * @param pageable 페이징 정보
      * @return 해당 기간의 로그 목록
      */
+    @Query("SELECT w FROM WAFLog w " +
+           "WHERE w.status IN ('BLOCKED', 'ERROR', 'SUCCESS', 'WARNING') " +
+           "AND w.timestamp BETWEEN :startTime AND :endTime ORDER BY w.timestamp DESC")
     Page<WAFLog> findByTimestampBetweenOrderByTimestampDesc(
-        LocalDateTime startTime,
-        LocalDateTime endTime,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
         Pageable pageable
     );
 
     /**
-     * 특정 IP의 로그 조회
+     * 최근 로그 키셋 조회
      *
-     * @param sourceIp 소스 IP
-     * @param pageable 페이징 정보
-     * @return 해당 IP의 로그 목록
+     * @param cursorTime 커서 위치의 발생 시간
+     * @param cursorId 커서 위치의 ID
+     * @param pageable 페이지 크기 (page 번호는 0으로 고정)
+     * @return 커서 이후의 로그
      */
-    Page<WAFLog> findBySourceIpOrderByTimestampDesc(String sourceIp, Pageable pageable);
+    @Query("SELECT w FROM WAFLog w " +
+           "WHERE w.status IN ('BLOCKED', 'ERROR', 'SUCCESS', 'WARNING') " +
+           "AND w.timestamp <= :cursorTime AND (w.timestamp < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.timestamp DESC, w.id DESC")
+    Slice<WAFLog> scrollRecentLogs(
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") long cursorId,
+        Pageable pageable
+    );
 
     /**
-     * 특정 공격 유형의 로그 조회
+     * 상태별 로그 키셋 조회 (idx_waf_logs_status_timestamp_id)
      *
-     * @param attackType 공격 유형
-     * @param pageable 페이징 정보
-     * @return 해당 공격 유형의 로그 목록
+     * @param status 로그 상태
+     * @param cursorTime 커서 위치의 발생 시간
+     * @param cursorId 커서 위치의 ID
+     * @param pageable 페이지 크기
+     * @return 커서 이후의 해당 상태 로그
      */
-    Page<WAFLog> findByAttackTypeOrderByTimestampDesc(String attackType, Pageable pageable);
+    @Query("SELECT w FROM WAFLog w " +
+           "WHERE w.status = :status " +
+           "AND w.timestamp <= :cursorTime AND (w.timestamp < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.timestamp DESC, w.id DESC")
+    Slice<WAFLog> scrollByStatus(
+        @Param("status") WAFLog.LogStatus status,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") long cursorId,
+        Pageable pageable
+    );
 
     /**
-     * 높은 위험도 로그 조회 (위험도 70 이상)
+     * 기간별 로그 키셋 조회
      *
-     * @param minRiskScore 최소 위험도
-     * @param pageable 페이징 정보
-     * @return 높은 위험도 로그 목록
+     * @param startTime 시작 시간
+     * @param endTime 종료 시간
+     * @param cursorTime 커서 위치의 발생 시간
+     * @param cursorId 커서 위치의 ID
+     * @param pageable 페이지 크기
+     * @return 커서 이후의 해당 기간 로그
      */
-    Page<WAFLog> findByRiskScoreGreaterThanEqualOrderByTimestampDesc(
-        Integer minRiskScore,
+    @Query("SELECT w FROM WAFLog w " +
+           "WHERE w.status IN ('BLOCKED', 'ERROR', 'SUCCESS', 'WARNING') " +
+           "AND w.timestamp BETWEEN :startTime AND :endTime " +
+           "AND w.timestamp <= :cursorTime AND (w.timestamp < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.timestamp DESC, w.id DESC")
+    Slice<WAFLog> scrollByTimeRange(
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") long cursorId,
         Pageable pageable
     );
 
     /**
-     * 최근 24시간 내 상태별 로그 개수 조회
+     * 높은 위험도 로그 키셋 조회 (idx_waf_logs_high_risk_timestamp_id)
      *
-     * @param status 로그 상태
-     * @param since 기준 시간 (24시간 전)
-     * @return 로그 개수
+     * 위험도 범위 조건 뒤의 timestamp 정렬은 인덱스로 풀 수 없어 filesort가 발생하므로
+     * 저장 시 계산된 high_risk 플래그의 동등 조건으로 인덱스를 정렬 순서대로 읽음
+     *
+     * @param cursorTime 커서 위치의 발생 시간
+     * @param cursorId 커서 위치의 ID
+     * @param pageable 페이지 크기
+     * @return 커서 이후의 높은 위험도 로그
      */
-    @Query("SELECT COUNT(w) FROM WAFLog w WHERE w.status = :status AND w.timestamp >= :since")
-    long countByStatusSince(@Param("status") WAFLog.LogStatus status, @Param("since") LocalDateTime since);
+    @Query("SELECT w FROM WAFLog w " +
+           "WHERE w.highRisk = true " +
+           "AND w.timestamp <= :cursorTime AND (w.timestamp < :cursorTime OR w.id < :cursorId) " +
+           "ORDER BY w.timestamp DESC, w.id DESC")
+    Slice<WAFLog> scrollHighRisk(
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") long cursorId,
+        Pageable pageable
+    );
 
     /**
-     * 최근 24시간 내 공격 유형별 차단 로그 개수 조회
+     * 특정 IP의 로그 조회
      *
-     * @param since 기준 시간
-     * @return 공격 유형별 차단 개수
+     * @param sourceIp 소스 IP
+     * @param pageable 페이징 정보
+     * @return 해당 IP의 로그 목록
      */
-    @Query("SELECT w.attackType, COUNT(w) FROM WAFLog w " +
-           "WHERE w.status = 'BLOCKED' AND w.timestamp >= :since " +
-           "GROUP BY w.attackType ORDER BY COUNT(w) DESC")
-    List<Object[]> countBlockedByAttackTypeSince(@Param("since") LocalDateTime since);
+    Page<WAFLog> findBySourceIpOrderByTimestampDesc(String sourceIp, Pageable pageable);
 
     /**
-     * 최근 24시간 내 상위 공격 IP 조회
+     * 특정 공격 유형의 로그 조회
      *
-     * @param since 기준 시간
-     * @param limit 조회할 IP 개수
-     * @return IP별 공격 시도 횟수
+     * @param attackType 공격 유형
+     * @param pageable 페이징 정보
+     * @return 해당 공격 유형의 로그 목록
      */
-    @Query(value = "SELECT source_ip, COUNT(*) as attack_count " +
-                   "FROM waf_logs " +
-                   "WHERE status = 'BLOCKED' AND timestamp >= :since " +
-                   "GROUP BY source_ip " +
-                   "ORDER BY attack_count DESC " +
-                   "LIMIT :limit", nativeQuery = true)
-    List<Object[]> findTopAttackingIPs(@Param("since") LocalDateTime since, @Param("limit") int limit);
+    Page<WAFLog> findByAttackTypeOrderByTimestampDesc(String attackType, Pageable pageable);
 
     /**
-     * 평균 응답 시간 조회 (최근 1시간)
+     * 높은 위험도 로그 조회 (위험도 70 이상, idx_waf_logs_high_risk_timestamp_id)
      *
-     * @param since 기준 시간
-     * @return 평균 응답 시간 (밀리초)
+     * @param pageable 페이징 정보
+     * @return 높은 위험도 로그 목록
      */
-    @Query("SELECT AVG(w.responseTimeMs) FROM WAFLog w WHERE w.timestamp >= :since")
-    Double getAverageResponseTimeSince(@Param("since") LocalDateTime since);
+    Page<WAFLog> findByHighRiskTrueOrderByTimestampDesc(Pageable pageable);
 
     /**
      * 특정 룰로 차단된 로그 개수 조회
@@ -168,29 +216,4 @@ public interface WAFLogRepository extends JpaRepository<WAFLog, Long> {
      */
     @Query("SELECT COUNT(w) FROM WAFLog w WHERE w.ruleId = :ruleId AND w.status = 'BLOCKED' AND w.timestamp >= :since")
     long countBlockedByRuleSince(@Param("ruleId") String ruleId, @Param("since") LocalDateTime since);
-
-    /**
-     * 시간대별 트래픽 데이터 집계
-     * 1시간 단위로 그룹화하여 통계 반환
-     *
-     * @param startTime 시작 시간
-     * @param endTime 종료 시간
-     * @return 시간대별 집계 데이터 [hour, total, blocked, allowed, avg_response_time]
-     */
-    @Query(value = """
-        SELECT
-            DATE_FORMAT(timestamp, '%Y-%m-%d %H:00:00') as hour,
-            COUNT(*) as total,
-            SUM(CASE WHEN status = 'BLOCKED' THEN 1 ELSE 0 END) as blocked,
-            SUM(CASE WHEN status = 'SUCCESS' THEN 1 ELSE 0 END) as allowed,
-            COALESCE(AVG(response_time_ms), 0.0) as avg_response_time
-        FROM waf_logs
-        WHERE timestamp >= :startTime AND timestamp < :endTime
-        GROUP BY DATE_FORMAT(timestamp, '%Y-%m-%d %H:00:00')
-        ORDER BY hour
-        """, nativeQuery = true)
-    List<Object[]> getTrafficDataByHour(
-        @Param("startTime") LocalDateTime startTime,
-        @Param("endTime") LocalDateTime endTime
-    );
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package dev.waf.console.waflog.rollup;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 시 단위 WAF 로그 롤업
+ *
+ * 대시보드 시간대별 트래픽 차트와 24시간 통계의 대부분 구간을 담당
+ */
+@Entity
+@Table(name = "waf_log_rollup_hour", indexes = {
+    @Index(name = "idx_waf_log_rollup_hour_bucket", columnList = "bucket_start"),
+    @Index(name = "idx_waf_log_rollup_hour_status", columnList = "status, bucket_start")
+})
+public class WAFLogHourRollup extends WAFLogRollup {
+}
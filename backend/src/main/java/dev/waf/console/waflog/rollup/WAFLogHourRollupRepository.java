@@ -0,0 +1,10 @@
+package dev.waf.console.waflog.rollup;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * 시 단위 롤업 Repository
+ */
+@Repository
+public interface WAFLogHourRollupRepository extends WAFLogRollupRepository<WAFLogHourRollup> {
+}
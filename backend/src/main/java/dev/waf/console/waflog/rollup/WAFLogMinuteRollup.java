@@ -0,0 +1,18 @@
+package dev.waf.console.waflog.rollup;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * 분 단위 WAF 로그 롤업
+ *
+ * 최근 구간의 시 경계에 걸치지 않는 부분과 최근 1시간 평균 응답 시간 계산에 사용
+ */
+@Entity
+@Table(name = "waf_log_rollup_minute", indexes = {
+    @Index(name = "idx_waf_log_rollup_minute_bucket", columnList = "bucket_start"),
+    @Index(name = "idx_waf_log_rollup_minute_status", columnList = "status, bucket_start")
+})
+public class WAFLogMinuteRollup extends WAFLogRollup {
+}
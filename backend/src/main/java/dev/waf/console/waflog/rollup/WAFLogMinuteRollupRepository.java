@@ -0,0 +1,18 @@
+package dev.waf.console.waflog.rollup;
+
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분 단위 롤업 Repository
+ */
+@Repository
+public interface WAFLogMinuteRollupRepository extends WAFLogRollupRepository<WAFLogMinuteRollup> {
+
+    /**
+     * 구간 시작 시각이 from 이후인 행 (메모리 통계 창 재구성용)
+     */
+    List<WAFLogMinuteRollup> findByIdBucketStartGreaterThanEqual(LocalDateTime from);
+}
@@ -0,0 +1,74 @@
+package dev.waf.console.waflog.rollup;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.MappedSuperclass;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * WAF 로그 롤업 공통 컬럼
+ *
+ * 구간별 요청 수와 응답 시간 합/건수/구간 분포를 샘플 가중치(sample_weight)를 반영해 누적함
+ * 응답 시간 구간은 WAFLogRollupAggregator.LATENCY_BOUNDS_MS 경계로 나눈 비누적 건수
+ *
+ * 쓰기는 WAFLogRollupService의 누적 UPSERT로만 수행되므로 엔티티는 조회와 스키마 정의에만 사용
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class WAFLogRollup {
+
+    @EmbeddedId
+    private WAFLogRollupId id;
+
+    @Column(name = "request_count", nullable = false)
+    private long requestCount;
+
+    @Column(name = "latency_sum_ms", nullable = false)
+    private long latencySumMs;
+
+    @Column(name = "latency_count", nullable = false)
+    private long latencyCount;
+
+    @Column(name = "latency_le_10", nullable = false)
+    private long latencyLe10;
+
+    @Column(name = "latency_le_25", nullable = false)
+    private long latencyLe25;
+
+    @Column(name = "latency_le_50", nullable = false)
+    private long latencyLe50;
+
+    @Column(name = "latency_le_100", nullable = false)
+    private long latencyLe100;
+
+    @Column(name = "latency_le_250", nullable = false)
+    private long latencyLe250;
+
+    @Column(name = "latency_le_500", nullable = false)
+    private long latencyLe500;
+
+    @Column(name = "latency_le_1000", nullable = false)
+    private long latencyLe1000;
+
+    @Column(name = "latency_le_2500", nullable = false)
+    private long latencyLe2500;
+
+    @Column(name = "latency_le_5000", nullable = false)
+    private long latencyLe5000;
+
+    @Column(name = "latency_gt_5000", nullable = false)
+    private long latencyGt5000;
+
+    /**
+     * 응답 시간 구간별 건수 (LATENCY_BOUNDS_MS 순서, 마지막은 최대 경계 초과)
+     */
+    public long[] getLatencyBuckets() {
+        return new long[] {
+            latencyLe10, latencyLe25, latencyLe50, latencyLe100, latencyLe250,
+            latencyLe500, latencyLe1000, latencyLe2500, latencyLe5000, latencyGt5000
+        };
+    }
+}
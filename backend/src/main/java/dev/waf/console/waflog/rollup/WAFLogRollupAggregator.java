@@ -0,0 +1,207 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.waflog.domain.WAFLog;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 로그 배치를 롤업 증분으로 집계
+ *
+ * 저장 배치 하나를 (구간, 상태, 공격 유형)별 카운터로 줄여 행당 UPSERT 한 번으로 반영되도록 함
+ * 누적 UPSERT 문과 원본 테이블에서 다시 집계하는 백필 문도 같은 컬럼 정의로 생성함
+ */
+final class WAFLogRollupAggregator {
+
+    /**
+     * 응답 시간 구간 경계 (밀리초, 이하)
+     */
+    static final long[] LATENCY_BOUNDS_MS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    static final List<String> COUNTER_COLUMNS = counterColumns();
+
+    private WAFLogRollupAggregator() {
+    }
+
+    /**
+     * 구간별 증분
+     */
+    static final class Counters {
+        long requestCount;
+        long latencySumMs;
+        long latencyCount;
+        final long[] latencyBuckets = new long[LATENCY_BOUNDS_MS.length + 1];
+
+        void add(WAFLog wafLog) {
+            long weight = wafLog.getSampleWeight() != null ? wafLog.getSampleWeight() : 1;
+            requestCount += weight;
+
+            Long responseTimeMs = wafLog.getResponseTimeMs();
+            if (responseTimeMs != null) {
+                latencySumMs += responseTimeMs * weight;
+                latencyCount += weight;
+                latencyBuckets[bucketIndex(responseTimeMs)] += weight;
+            }
+        }
+
+        /**
+         * COUNTER_COLUMNS 순서의 값
+         */
+        Object[] values() {
+            Object[] values = new Object[3 + latencyBuckets.length];
+            values[0] = requestCount;
+            values[1] = latencySumMs;
+            values[2] = latencyCount;
+            for (int i = 0; i < latencyBuckets.length; i++) {
+                values[3 + i] = latencyBuckets[i];
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 로그 목록을 구간 단위로 집계
+     *
+     * @param unit 구간 단위 (MINUTES 또는 HOURS)
+     * @return 키 순으로 정렬된 증분
+     */
+    static TreeMap<WAFLogRollupId, Counters> aggregate(Collection<WAFLog> logs, ChronoUnit unit) {
+        TreeMap<WAFLogRollupId, Counters> increments = new TreeMap<>();
+        for (WAFLog wafLog : logs) {
+            if (wafLog.getTimestamp() == null || wafLog.getStatus() == null) {
+                continue;
+            }
+            WAFLogRollupId key = new WAFLogRollupId(
+                wafLog.getTimestamp().truncatedTo(unit),
+                wafLog.getStatus().name(),
+                wafLog.getAttackType() != null ? wafLog.getAttackType() : "");
+            increments.computeIfAbsent(key, k -> new Counters()).add(wafLog);
+        }
+        return increments;
+    }
+
+    static int bucketIndex(long responseTimeMs) {
+        for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+            if (responseTimeMs <= LATENCY_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BOUNDS_MS.length;
+    }
+
+    /**
+     * 증분을 더하는 UPSERT 문 (MySQL)
+     */
+    static String upsertStatement(String table) {
+        List<String> updates = new ArrayList<>();
+        for (String column : COUNTER_COLUMNS) {
+            updates.add(column + " = " + column + " + VALUES(" + column + ")");
+        }
+        return "INSERT INTO " + table + " (bucket_start, status, attack_type, " + String.join(", ", COUNTER_COLUMNS) +
+            ") VALUES (?, ?, ?" + ", ?".repeat(COUNTER_COLUMNS.size()) + ") " +
+            "ON DUPLICATE KEY UPDATE " + String.join(", ", updates);
+    }
+
+    /**
+     * 원본 로그에서 구간별로 다시 집계해 더하는 백필 문 (MySQL)
+     *
+     * 바인딩 인자: 시작 시각(포함), 종료 시각(제외), 포함할 최대 로그 ID
+     *
+     * @param bucketFormat 구간 시작 시각 DATE_FORMAT 형식
+     */
+    static String backfillStatement(String table, String bucketFormat) {
+        String weight = "COALESCE(sample_weight, 1)";
+        List<String> selects = new ArrayList<>();
+        selects.add("SUM(" + weight + ")");
+        selects.add("COALESCE(SUM(response_time_ms * " + weight + "), 0)");
+        selects.add("SUM(CASE WHEN response_time_ms IS NOT NULL THEN " + weight + " ELSE 0 END)");
+        for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+            String lowerBound = i == 0 ? "" : "response_time_ms > " + LATENCY_BOUNDS_MS[i - 1] + " AND ";
+            selects.add("SUM(CASE WHEN " + lowerBound + "response_time_ms <= " + LATENCY_BOUNDS_MS[i] +
+                " THEN " + weight + " ELSE 0 END)");
+        }
+        selects.add("SUM(CASE WHEN response_time_ms > " + LATENCY_BOUNDS_MS[LATENCY_BOUNDS_MS.length - 1] +
+            " THEN " + weight + " ELSE 0 END)");
+
+        List<String> updates = new ArrayList<>();
+        for (String column : COUNTER_COLUMNS) {
+            updates.add(column + " = " + column + " + VALUES(" + column + ")");
+        }
+
+        return "INSERT INTO " + table + " (bucket_start, status, attack_type, " + String.join(", ", COUNTER_COLUMNS) + ") " +
+            "SELECT DATE_FORMAT(`timestamp`, '" + bucketFormat + "'), status, COALESCE(attack_type, ''), " +
+            String.join(", ", selects) + " " +
+            "FROM waf_logs WHERE status IN ('BLOCKED', 'ERROR', 'SUCCESS', 'WARNING') " +
+            "AND `timestamp` >= ? AND `timestamp` < ? AND id <= ? " +
+            "GROUP BY DATE_FORMAT(`timestamp`, '" + bucketFormat + "'), status, COALESCE(attack_type, '') " +
+            "ON DUPLICATE KEY UPDATE " + String.join(", ", updates);
+    }
+
+    /**
+     * 조회 구간 [from, to)를 시 롤업으로 읽을 부분과 분 롤업으로 읽을 앞뒤 부분으로 나눔
+     *
+     * 시 경계에 맞는 가운데 구간만 시 롤업에서 읽고, 앞뒤의 1시간 미만 부분은 분 롤업에서 읽음
+     * 분 단위 해상도이므로 from은 분 단위로 절삭됨
+     *
+     * @return 분 롤업 구간 목록과 시 롤업 구간 (없으면 null)
+     */
+    static Split split(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime firstHour = start.truncatedTo(ChronoUnit.HOURS);
+        if (firstHour.isBefore(start)) {
+            firstHour = firstHour.plusHours(1);
+        }
+        LocalDateTime lastHour = to.truncatedTo(ChronoUnit.HOURS);
+
+        if (!firstHour.isBefore(lastHour)) {
+            return new Split(List.of(new Range(start, to)), null);
+        }
+
+        List<Range> minuteRanges = new ArrayList<>();
+        if (start.isBefore(firstHour)) {
+            minuteRanges.add(new Range(start, firstHour));
+        }
+        if (lastHour.isBefore(to)) {
+            minuteRanges.add(new Range(lastHour, to));
+        }
+        return new Split(minuteRanges, new Range(firstHour, lastHour));
+    }
+
+    static final class Range {
+        final LocalDateTime from;
+        final LocalDateTime to;
+
+        Range(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + from + ", " + to + ")";
+        }
+    }
+
+    static final class Split {
+        final List<Range> minuteRanges;
+        final Range hourRange;
+
+        Split(List<Range> minuteRanges, Range hourRange) {
+            this.minuteRanges = minuteRanges;
+            this.hourRange = hourRange;
+        }
+    }
+
+    private static List<String> counterColumns() {
+        List<String> columns = new ArrayList<>(List.of("request_count", "latency_sum_ms", "latency_count"));
+        for (long bound : LATENCY_BOUNDS_MS) {
+            columns.add("latency_le_" + bound);
+        }
+        columns.add("latency_gt_" + LATENCY_BOUNDS_MS[LATENCY_BOUNDS_MS.length - 1]);
+        return List.copyOf(columns);
+    }
+}
@@ -0,0 +1,88 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 롤업 백필과 저장 경로의 로그 ID 경계
+ *
+ * 롤업이 비어 있으면 기동 시 waf_log_rollup_watermark에 그 시점의 최대 로그 ID를 INSERT IGNORE로 기록하고,
+ * 행을 넣은 인스턴스만 백필을 맡음 (동시에 기동한 인스턴스가 같은 로그를 중복 백필하지 않음)
+ * - 백필은 경계 이하의 로그만, 저장 경로는 경계를 초과하는 로그만 롤업에 반영하므로 두 경로가 겹치지 않음
+ * - pooled 시퀀스는 기동 후 새 블록을 할당받으므로 경계 이후 저장되는 로그는 항상 경계보다 큰 ID를 받음
+ *
+ * 저장 경로가 경계를 읽기 전에 결정되도록 WAFLogRollupService가 이 빈에 의존함
+ * MySQL 전용이며 그 외 DB이거나 backfill-on-empty가 꺼져 있으면 경계 없이(0) 모든 로그를 저장 경로에서 반영
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class WAFLogRollupBackfillWatermark {
+
+    static final String BACKFILL = "backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final boolean backfillOnEmpty;
+
+    private volatile long maxLogId;
+    private volatile boolean claimed;
+
+    public WAFLogRollupBackfillWatermark(JdbcTemplate jdbcTemplate,
+                                         DatabaseDialect databaseDialect,
+                                         @Value("${app.waf-log.rollup.backfill-on-empty:true}") boolean backfillOnEmpty) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.backfillOnEmpty = backfillOnEmpty;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!backfillOnEmpty || !databaseDialect.isMySql()) {
+            return;
+        }
+
+        try {
+            if (isEmpty(WAFLogRollupService.MINUTE_TABLE) && isEmpty(WAFLogRollupService.HOUR_TABLE)) {
+                claimed = jdbcTemplate.update(
+                    "INSERT IGNORE INTO waf_log_rollup_watermark (name, max_log_id, created_at) " +
+                    "SELECT ?, COALESCE(MAX(id), 0), NOW(6) FROM waf_logs", BACKFILL) == 1;
+            }
+
+            List<Long> watermark = jdbcTemplate.queryForList(
+                "SELECT max_log_id FROM waf_log_rollup_watermark WHERE name = ?", Long.class, BACKFILL);
+            maxLogId = watermark.isEmpty() ? 0 : watermark.get(0);
+            log.info("WAF log rollup backfill watermark: maxLogId={}, claimed={}", maxLogId, claimed);
+        } catch (Exception e) {
+            log.warn("Failed to resolve WAF log rollup backfill watermark - skipping backfill", e);
+            claimed = false;
+        }
+    }
+
+    /**
+     * 백필이 반영하는 최대 로그 ID (저장 경로는 이 ID를 초과하는 로그만 반영)
+     */
+    public long maxLogId() {
+        return maxLogId;
+    }
+
+    /**
+     * 이 인스턴스가 백필을 맡았는지 여부
+     */
+    public boolean claimed() {
+        return claimed;
+    }
+
+    private boolean isEmpty(String table) {
+        Integer rows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT 1 FROM " + table + " LIMIT 1) t", Integer.class);
+        return rows == null || rows == 0;
+    }
+}
@@ -0,0 +1,57 @@
+package dev.waf.console.waflog.rollup;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 롤업 행 키 (구간 시작 시각, 상태, 공격 유형)
+ *
+ * 공격 유형이 없는 로그는 빈 문자열로 저장하여 기본 키에 NULL이 들어가지 않도록 함
+ * 정렬 순서는 일괄 갱신 시 행 잠금 순서를 고정하여 교착 상태를 피하는 데 사용
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class WAFLogRollupId implements Serializable, Comparable<WAFLogRollupId> {
+
+    private static final Comparator<WAFLogRollupId> ORDER = Comparator
+        .comparing(WAFLogRollupId::getBucketStart)
+        .thenComparing(WAFLogRollupId::getStatus)
+        .thenComparing(WAFLogRollupId::getAttackType);
+
+    /**
+     * 구간 시작 시각 (분 또는 시 단위로 절삭)
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * 로그 상태
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * 공격 유형 (없으면 빈 문자열)
+     */
+    @Column(name = "attack_type", nullable = false, length = 50)
+    private String attackType;
+
+    @Override
+    public int compareTo(WAFLogRollupId other) {
+        return ORDER.compare(this, other);
+    }
+}
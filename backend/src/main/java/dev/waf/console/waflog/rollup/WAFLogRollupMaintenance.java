@@ -0,0 +1,143 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WAF 로그 롤업 백필 및 보존 기간 정리
+ *
+ * - 이 인스턴스가 백필 경계(WAFLogRollupBackfillWatermark)를 기록했으면 경계 ID까지의 원본 로그를
+ *   하루 단위로 다시 집계해 채움. 경계를 초과하는 로그는 저장 경로에서만 누적되므로 두 경로가 겹치지 않음
+ * - purge-interval-minutes마다 보존 기간이 지난 분/시 롤업 행을 삭제
+ *
+ * MySQL 전용이며, 스키마 생성(ddl-auto) 이후에 실행되도록 entityManagerFactory에 의존
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class WAFLogRollupMaintenance {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final WAFLogRollupBackfillWatermark backfillWatermark;
+    private final int minuteRetentionDays;
+    private final int hourRetentionDays;
+    private final long purgeIntervalMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    public WAFLogRollupMaintenance(JdbcTemplate jdbcTemplate,
+                                   DatabaseDialect databaseDialect,
+                                   WAFLogRollupBackfillWatermark backfillWatermark,
+                                   @Value("${app.waf-log.rollup.minute-retention-days:7}") int minuteRetentionDays,
+                                   @Value("${app.waf-log.rollup.hour-retention-days:400}") int hourRetentionDays,
+                                   @Value("${app.waf-log.rollup.purge-interval-minutes:60}") long purgeIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.backfillWatermark = backfillWatermark;
+        this.minuteRetentionDays = minuteRetentionDays;
+        this.hourRetentionDays = hourRetentionDays;
+        this.purgeIntervalMinutes = purgeIntervalMinutes;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!databaseDialect.isMySql()) {
+            log.info("WAF log rollup maintenance requires MySQL - disabled");
+            return;
+        }
+
+        Long backfillMaxId = backfillWatermark.claimed() && backfillWatermark.maxLogId() > 0
+            ? backfillWatermark.maxLogId() : null;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waf-log-rollup-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (backfillMaxId != null) {
+            scheduler.execute(() -> backfill(backfillMaxId));
+        }
+        scheduler.scheduleWithFixedDelay(this::purge, 0, purgeIntervalMinutes, TimeUnit.MINUTES);
+
+        log.info("WAF log rollup maintenance started: minuteRetentionDays={}, hourRetentionDays={}, backfillMaxId={}",
+            minuteRetentionDays, hourRetentionDays, backfillMaxId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 롤업 행 삭제
+     */
+    void purge() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int minuteRows = jdbcTemplate.update("DELETE FROM " + WAFLogRollupService.MINUTE_TABLE +
+                " WHERE bucket_start < ?", Timestamp.valueOf(now.minusDays(minuteRetentionDays)));
+            int hourRows = jdbcTemplate.update("DELETE FROM " + WAFLogRollupService.HOUR_TABLE +
+                " WHERE bucket_start < ?", Timestamp.valueOf(now.minusDays(hourRetentionDays)));
+            if (minuteRows > 0 || hourRows > 0) {
+                log.info("Purged expired WAF log rollups: minute={}, hour={}", minuteRows, hourRows);
+            }
+        } catch (Exception e) {
+            log.warn("WAF log rollup purge failed - will retry on next check", e);
+        }
+    }
+
+    /**
+     * 원본 로그를 하루 단위로 나누어 분/시 롤업으로 다시 집계
+     *
+     * 하루씩 짧은 자동 커밋 문으로 실행하여 원본 테이블 잠금을 오래 잡지 않음
+     */
+    private void backfill(long maxId) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        try {
+            LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(`timestamp`) FROM waf_logs", LocalDateTime.class);
+            if (oldest == null) {
+                return;
+            }
+
+            backfillTable(WAFLogRollupAggregator.backfillStatement(WAFLogRollupService.MINUTE_TABLE, "%Y-%m-%d %H:%i:00"),
+                laterOf(oldest.toLocalDate(), today.minusDays(minuteRetentionDays)), today, maxId);
+            backfillTable(WAFLogRollupAggregator.backfillStatement(WAFLogRollupService.HOUR_TABLE, "%Y-%m-%d %H:00:00"),
+                laterOf(oldest.toLocalDate(), today.minusDays(hourRetentionDays)), today, maxId);
+            log.info("WAF log rollup backfill completed up to log id {} in {}ms", maxId, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("WAF log rollup backfill failed - dashboard statistics may miss logs up to id {}", maxId, e);
+        }
+    }
+
+    private void backfillTable(String statement, LocalDate firstDay, LocalDate lastDay, long maxId) {
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            jdbcTemplate.update(statement,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()), maxId);
+        }
+    }
+
+    private static LocalDate laterOf(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
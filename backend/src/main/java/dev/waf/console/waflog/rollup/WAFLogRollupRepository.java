@@ -0,0 +1,60 @@
+package dev.waf.console.waflog.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분/시 롤업 공통 조회
+ *
+ * 모든 조회는 구간 시작 시각 범위 [from, to) 조건이며 원본 로그 양과 무관하게
+ * (구간 수 × 상태 × 공격 유형) 행만 읽음
+ */
+@NoRepositoryBean
+public interface WAFLogRollupRepository<T extends WAFLogRollup> extends JpaRepository<T, WAFLogRollupId> {
+
+    /**
+     * 상태별 요청 수
+     *
+     * @return [status, requestCount]
+     */
+    @Query("SELECT r.id.status, SUM(r.requestCount) FROM #{#entityName} r " +
+           "WHERE r.id.bucketStart >= :from AND r.id.bucketStart < :to GROUP BY r.id.status")
+    List<Object[]> sumRequestsByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 공격 유형별 차단 요청 수
+     *
+     * @return [attackType, requestCount]
+     */
+    @Query("SELECT r.id.attackType, SUM(r.requestCount) FROM #{#entityName} r " +
+           "WHERE r.id.status = 'BLOCKED' AND r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+           "GROUP BY r.id.attackType")
+    List<Object[]> sumBlockedByAttackType(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 응답 시간 합과 건수
+     *
+     * @return [latencySumMs, latencyCount] (행이 없으면 0)
+     */
+    @Query("SELECT COALESCE(SUM(r.latencySumMs), 0L), COALESCE(SUM(r.latencyCount), 0L) FROM #{#entityName} r " +
+           "WHERE r.id.bucketStart >= :from AND r.id.bucketStart < :to")
+    List<Object[]> sumLatency(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 구간별 트래픽 집계
+     *
+     * @return [bucketStart, total, blocked, allowed, latencySumMs, latencyCount] (구간 순)
+     */
+    @Query("SELECT r.id.bucketStart, SUM(r.requestCount), " +
+           "SUM(CASE WHEN r.id.status = 'BLOCKED' THEN r.requestCount ELSE 0L END), " +
+           "SUM(CASE WHEN r.id.status = 'SUCCESS' THEN r.requestCount ELSE 0L END), " +
+           "SUM(r.latencySumMs), SUM(r.latencyCount) " +
+           "FROM #{#entityName} r WHERE r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+           "GROUP BY r.id.bucketStart ORDER BY r.id.bucketStart")
+    List<Object[]> sumTrafficByBucket(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,206 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.rollup.WAFLogRollupAggregator.Counters;
+import dev.waf.console.waflog.rollup.WAFLogRollupAggregator.Range;
+import dev.waf.console.waflog.rollup.WAFLogRollupAggregator.Split;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * WAF 로그 롤업 서비스
+ *
+ * 원본 로그 저장 트랜잭션에서 분/시 롤업을 누적 갱신하고, 대시보드/통계 조회는 롤업만 읽음
+ * - 저장 배치를 (구간, 상태, 공격 유형)별로 줄인 뒤 키 순서대로 누적 UPSERT (교착 상태 방지)
+ * - 로그와 같은 트랜잭션에서 갱신되므로 롤업은 커밋된 로그와 항상 일치함
+ * - 조회 비용은 기간의 구간 수에만 비례하고 원본 로그 양과 무관함
+ *
+ * 롤업 도입 전 로그는 백필이 채우므로 WAFLogRollupBackfillWatermark의 경계 이하 ID는 반영하지 않음
+ *
+ * 같은 분의 같은 상태 행은 동시 저장 트랜잭션끼리 행 잠금을 주고받으므로
+ * 저장은 WAFLogBatchWriter처럼 소수의 기록 스레드를 통해 일괄로 수행하는 것을 전제로 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WAFLogRollupService {
+
+    static final String MINUTE_TABLE = "waf_log_rollup_minute";
+    static final String HOUR_TABLE = "waf_log_rollup_hour";
+
+    private static final String MINUTE_UPSERT_SQL = WAFLogRollupAggregator.upsertStatement(MINUTE_TABLE);
+    private static final String HOUR_UPSERT_SQL = WAFLogRollupAggregator.upsertStatement(HOUR_TABLE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WAFLogMinuteRollupRepository minuteRollupRepository;
+    private final WAFLogHourRollupRepository hourRollupRepository;
+    private final WAFLogRollupBackfillWatermark backfillWatermark;
+
+    /**
+     * 저장된 로그를 분/시 롤업에 반영
+     *
+     * 로그 저장과 같은 트랜잭션에서 호출되어야 함
+     *
+     * @param logs 저장된 로그 목록
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<WAFLog> logs) {
+        long watermark = backfillWatermark.maxLogId();
+        List<WAFLog> live = watermark > 0
+            ? logs.stream().filter(wafLog -> wafLog.getId() == null || wafLog.getId() > watermark).toList()
+            : List.copyOf(logs);
+        if (live.isEmpty()) {
+            return;
+        }
+        upsert(MINUTE_UPSERT_SQL, WAFLogRollupAggregator.aggregate(live, ChronoUnit.MINUTES));
+        upsert(HOUR_UPSERT_SQL, WAFLogRollupAggregator.aggregate(live, ChronoUnit.HOURS));
+    }
+
+    /**
+     * 기간 내 상태별 요청 수 (샘플 가중치 반영, 분 단위 해상도)
+     */
+    @Transactional(readOnly = true)
+    public Map<WAFLog.LogStatus, Long> countByStatus(LocalDateTime from, LocalDateTime to) {
+        Map<WAFLog.LogStatus, Long> counts = new EnumMap<>(WAFLog.LogStatus.class);
+        for (WAFLog.LogStatus status : WAFLog.LogStatus.values()) {
+            counts.put(status, 0L);
+        }
+        sumByKey(from, to, WAFLogRollupRepository::sumRequestsByStatus)
+            .forEach((status, count) -> counts.put(WAFLog.LogStatus.valueOf(status), count));
+        return counts;
+    }
+
+    /**
+     * 기간 내 공격 유형별 차단 요청 수 (공격 유형이 없으면 UNKNOWN)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countBlockedByAttackType(LocalDateTime from, LocalDateTime to) {
+        Map<String, Long> counts = new HashMap<>();
+        sumByKey(from, to, WAFLogRollupRepository::sumBlockedByAttackType)
+            .forEach((attackType, count) -> counts.merge(attackType.isEmpty() ? "UNKNOWN" : attackType, count, Long::sum));
+        return counts;
+    }
+
+    /**
+     * 기간 내 평균 응답 시간 (샘플 가중 평균)
+     *
+     * @return 응답 시간이 기록된 로그가 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public Double averageResponseTimeMs(LocalDateTime from, LocalDateTime to) {
+        long latencySum = 0;
+        long latencyCount = 0;
+        for (Object[] row : collect(from, to, WAFLogRollupRepository::sumLatency)) {
+            latencySum += ((Number) row[0]).longValue();
+            latencyCount += ((Number) row[1]).longValue();
+        }
+        return latencyCount > 0 ? (double) latencySum / latencyCount : null;
+    }
+
+    /**
+     * 시간대별 트래픽 (시 단위 롤업)
+     *
+     * @param from 시작 시간 (해당 시간대부터 포함)
+     * @param to 종료 시간 (해당 시간대까지 포함)
+     * @return 데이터가 있는 시간대만 시간 순으로 반환
+     */
+    @Transactional(readOnly = true)
+    public List<HourlyTraffic> hourlyTraffic(LocalDateTime from, LocalDateTime to) {
+        List<HourlyTraffic> traffic = new ArrayList<>();
+        List<Object[]> rows = hourRollupRepository.sumTrafficByBucket(
+            from.truncatedTo(ChronoUnit.HOURS), to.truncatedTo(ChronoUnit.HOURS).plusHours(1));
+
+        for (Object[] row : rows) {
+            long latencySum = ((Number) row[4]).longValue();
+            long latencyCount = ((Number) row[5]).longValue();
+            traffic.add(HourlyTraffic.builder()
+                .hour((LocalDateTime) row[0])
+                .totalRequests(((Number) row[1]).longValue())
+                .blockedRequests(((Number) row[2]).longValue())
+                .allowedRequests(((Number) row[3]).longValue())
+                .averageResponseTimeMs(latencyCount > 0 ? (double) latencySum / latencyCount : 0.0)
+                .build());
+        }
+        return traffic;
+    }
+
+    /**
+     * 기간 내 분 단위 롤업 행 (from 이후 전체)
+     *
+     * 기동 시 메모리 통계 창(WAFLogStatisticsWindow)을 다시 채우는 데 사용
+     */
+    @Transactional(readOnly = true)
+    public List<WAFLogMinuteRollup> minuteRollupsSince(LocalDateTime from) {
+        return minuteRollupRepository.findByIdBucketStartGreaterThanEqual(from.truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    private void upsert(String sql, TreeMap<WAFLogRollupId, Counters> increments) {
+        List<Object[]> batchArgs = new ArrayList<>(increments.size());
+        increments.forEach((key, counters) -> {
+            Object[] values = counters.values();
+            Object[] args = new Object[3 + values.length];
+            args[0] = Timestamp.valueOf(key.getBucketStart());
+            args[1] = key.getStatus();
+            args[2] = key.getAttackType();
+            System.arraycopy(values, 0, args, 3, values.length);
+            batchArgs.add(args);
+        });
+        jdbcTemplate.batchUpdate(sql, batchArgs);
+    }
+
+    /**
+     * 분/시 롤업에서 각각 읽은 [키, 합계] 행을 키별로 합산
+     */
+    private Map<String, Long> sumByKey(LocalDateTime from, LocalDateTime to, RollupQuery query) {
+        Map<String, Long> sums = new HashMap<>();
+        for (Object[] row : collect(from, to, query)) {
+            sums.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        return sums;
+    }
+
+    private List<Object[]> collect(LocalDateTime from, LocalDateTime to, RollupQuery query) {
+        Split split = WAFLogRollupAggregator.split(from, to);
+        List<Object[]> rows = new ArrayList<>();
+        for (Range range : split.minuteRanges) {
+            rows.addAll(query.run(minuteRollupRepository, range.from, range.to));
+        }
+        if (split.hourRange != null) {
+            rows.addAll(query.run(hourRollupRepository, split.hourRange.from, split.hourRange.to));
+        }
+        return rows;
+    }
+
+    @FunctionalInterface
+    private interface RollupQuery {
+        List<Object[]> run(WAFLogRollupRepository<?> repository, LocalDateTime from, LocalDateTime to);
+    }
+
+    /**
+     * 시간대별 트래픽 데이터 클래스
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class HourlyTraffic {
+        private LocalDateTime hour;
+        private long totalRequests;
+        private long blockedRequests;
+        private long allowedRequests;
+        private double averageResponseTimeMs;
+    }
+}
@@ -0,0 +1,36 @@
+package dev.waf.console.waflog.rollup;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 롤업 백필 경계
+ *
+ * 백필을 맡은 인스턴스가 기동 시 한 번 기록하며, 이 ID 이하의 로그는 백필이,
+ * 초과하는 로그는 저장 경로(WAFLogRollupService.record)가 롤업에 반영함
+ *
+ * 쓰기는 WAFLogRollupBackfillWatermark의 INSERT IGNORE로만 수행되므로 엔티티는 스키마 정의에만 사용
+ */
+@Entity
+@Table(name = "waf_log_rollup_watermark")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WAFLogRollupWatermark {
+
+    @Id
+    @Column(name = "name", length = 32)
+    private String name;
+
+    @Column(name = "max_log_id", nullable = false)
+    private long maxLogId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
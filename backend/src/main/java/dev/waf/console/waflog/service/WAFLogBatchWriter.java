@@ -0,0 +1,289 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter.Sink;
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import dev.waf.console.waflog.domain.WAFLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WAF 로그 배치 기록기 (Group Commit)
+ *
+ * 요청마다 트랜잭션을 열어 단건 INSERT 하던 방식을 대체
+ * - 제한된 크기의 큐에 로그를 모은 뒤 전용 스레드가 일괄 저장
+ * - batch-size 건이 모이거나 flush-interval-ms가 지나면 하나의 트랜잭션으로 커밋
+ * - pooled 시퀀스 ID와 hibernate.jdbc.batch_size 설정으로 다건 INSERT가 JDBC 배치로 전송됨
+ * - 같은 트랜잭션에서 발행 대기열(waf_log_outbox) 행을 기록하여 커밋된 로그만 Kafka로 발행됨
+ * - 데이터/제약 조건 오류로 배치가 실패하면 반씩 나눠 다시 저장하여 문제 행만 실패로 집계
+ *   (연결 장애 같은 일시적 오류는 나눠도 같은 결과이므로 배치 전체를 실패로 집계)
+ *
+ * 커넥션 풀 관점에서는 요청 수와 무관하게 기록 스레드 하나만 커넥션을 점유함
+ */
+@Slf4j
+@Component
+public class WAFLogBatchWriter {
+
+    private final WAFLogService wafLogService;
+    private final WAFLogDictionary wafLogDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final SinkConcurrencyLimiter sinkConcurrencyLimiter;
+
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<WAFLog> queue;
+
+    private final AtomicLong persistedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public WAFLogBatchWriter(WAFLogService wafLogService,
+                             WAFLogDictionary wafLogDictionary,
+                             TransactionTemplate transactionTemplate,
+                             JdbcTemplate jdbcTemplate,
+                             DatabaseDialect databaseDialect,
+                             SinkConcurrencyLimiter sinkConcurrencyLimiter,
+                             @Value("${app.waf-log.ingest.batch-size:500}") int batchSize,
+                             @Value("${app.waf-log.ingest.flush-interval-ms:200}") long flushIntervalMs,
+                             @Value("${app.waf-log.ingest.queue-capacity:20000}") int queueCapacity) {
+        this.wafLogService = wafLogService;
+        this.wafLogDictionary = wafLogDictionary;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.sinkConcurrencyLimiter = sinkConcurrencyLimiter;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        alignIdSequence();
+
+        running = true;
+        flusherThread = new Thread(this::runFlushLoop, "waf-log-batch-writer");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+
+        log.info("WAF log batch writer started: batchSize={}, flushIntervalMs={}, queueCapacity={}",
+            batchSize, TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), queue.remainingCapacity());
+    }
+
+    /**
+     * 종료 시 큐에 남은 로그를 모두 기록한 뒤 스레드 종료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            flusherThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        log.info("WAF log batch writer stopped: persisted={}, failed={}, flushes={}",
+            persistedCount.get(), failedCount.get(), flushCount.get());
+    }
+
+    /**
+     * 로그 기록 요청 (논블로킹)
+     *
+     * @param wafLog 저장할 로그
+     * @return 큐가 가득 차 수용하지 못한 경우 false
+     */
+    public boolean submit(WAFLog wafLog) {
+        return queue.offer(wafLog);
+    }
+
+    /**
+     * 로그 기록 요청 (제한 시간 대기)
+     *
+     * 큐가 가득 찬 경우 호출 스레드를 최대 timeout 동안 대기시켜 상류로 백프레셔를 전달
+     *
+     * @return 제한 시간 내 수용하지 못한 경우 false
+     */
+    public boolean submit(WAFLog wafLog, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(wafLog, timeout, unit);
+    }
+
+    /**
+     * 로그 목록과 발행 대기열 행을 하나의 트랜잭션으로 저장
+     *
+     * Kafka 발행은 커밋 이후 WAFLogOutboxRelay가 대기열에서 읽어 수행
+     * 새 사전 문자열은 트랜잭션 전에 미리 등록하여 저장 트랜잭션이 사전 행 잠금을 잡지 않게 함
+     *
+     * @param batch 저장할 로그 목록
+     * @return 저장된 로그 목록
+     */
+    public List<WAFLog> persistBatch(List<WAFLog> batch) {
+        List<WAFLog> savedLogs = sinkConcurrencyLimiter.execute(Sink.JDBC, () -> {
+            wafLogDictionary.prepare(batch);
+            return transactionTemplate.execute(status -> wafLogService.saveAllWithOutbox(batch));
+        });
+        if (savedLogs == null) {
+            return List.of();
+        }
+
+        persistedCount.addAndGet(savedLogs.size());
+        flushCount.incrementAndGet();
+        log.debug("WAF log batch persisted: {} rows", savedLogs.size());
+        return savedLogs;
+    }
+
+    /**
+     * 현재 큐에 대기 중인 로그 수
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getPersistedCount() {
+        return persistedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * 기록 스레드 루프
+     * 첫 로그가 도착한 시점부터 flush-interval 동안 batch-size까지 모아서 저장
+     */
+    private void runFlushLoop() {
+        List<WAFLog> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                WAFLog first = running
+                    ? queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS)
+                    : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    WAFLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop()에 의한 종료 신호: running=false 상태로 루프를 돌며 남은 로그를 모두 비움
+                log.debug("WAF log batch writer interrupted - draining {} pending logs", queue.size());
+            }
+
+            flush(batch);
+        }
+    }
+
+    private void flush(List<WAFLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            persistIsolatingFailures(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * 배치를 저장하고, 데이터 오류로 실패하면 반씩 나눠 재시도하여 실패한 행만 버림
+     */
+    private void persistIsolatingFailures(List<WAFLog> rows) {
+        try {
+            persistBatch(rows);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                failedCount.addAndGet(rows.size());
+                log.error("Failed to persist WAF log batch: {} rows dropped", rows.size(), e);
+            } else if (rows.size() == 1) {
+                failedCount.incrementAndGet();
+                WAFLog rejected = rows.get(0);
+                log.error("WAF log row rejected by the database - dropped: status={}, sourceIp={}, timestamp={}",
+                    rejected.getStatus(), rejected.getSourceIp(), rejected.getTimestamp(), e);
+            } else {
+                int half = rows.size() / 2;
+                log.warn("WAF log batch of {} rows failed - retrying in halves to isolate the bad rows: {}",
+                    rows.size(), e.getMessage());
+                persistIsolatingFailures(rows.subList(0, half));
+                persistIsolatingFailures(rows.subList(half, rows.size()));
+            }
+        }
+    }
+
+    /**
+     * 같은 배치를 그대로 다시 저장하면 성공할 수 있는 오류인지 여부
+     *
+     * 커넥션/일시적 DB 오류와 JDBC 동시 실행 허가 대기 초과는 일시적 오류,
+     * 그 외(길이 초과, 제약 조건 위반 등 행 데이터 때문에 나는 오류)는 같은 행으로 재시도해도 다시 실패함
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                || cause instanceof RecoverableDataAccessException
+                || cause instanceof CannotGetJdbcConnectionException
+                || cause instanceof DataAccessResourceFailureException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof RejectedExecutionException
+                || cause instanceof SQLTransientException
+                || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IDENTITY에서 pooled 시퀀스로 전환된 기존 DB를 위해
+     * 시퀀스 테이블의 next_val을 기존 최대 ID 이후로 맞춤 (MySQL 전용)
+     */
+    private void alignIdSequence() {
+        if (!databaseDialect.isMySql()) {
+            return;
+        }
+
+        try {
+            int updated = jdbcTemplate.update(
+                "UPDATE waf_logs_seq SET next_val = " +
+                "GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM waf_logs))");
+            log.debug("WAF log id sequence aligned (rows updated: {})", updated);
+        } catch (Exception e) {
+            log.warn("Failed to align WAF log id sequence - continuing with current sequence value", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.common.exception.BusinessException;
+import dev.waf.console.common.exception.ErrorCode;
+import dev.waf.console.waflog.domain.WAFLog;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * WAF 로그 키셋 커서
+ *
+ * (timestamp, id) 내림차순 조회에서 마지막으로 받은 행의 위치를 나타냄
+ * 다음 페이지는 이 위치보다 앞선 행(timestamp가 작거나, 같으면 id가 작은 행)부터 읽으므로
+ * OFFSET 페이지와 달리 깊은 페이지에서도 인덱스 탐색 비용이 일정하고, 그 사이 새 로그가 들어와도 중복/누락이 없음
+ *
+ * 클라이언트에는 내부 구조를 드러내지 않도록 Base64url 문자열로 전달함
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public final class WAFLogCursor {
+
+    /**
+     * 첫 페이지 커서 (모든 행보다 뒤의 위치)
+     */
+    public static final WAFLogCursor FIRST = new WAFLogCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * 마지막 행의 발생 시간
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * 마지막 행의 ID
+     */
+    private final long id;
+
+    /**
+     * 주어진 로그 바로 다음 위치의 커서
+     */
+    public static WAFLogCursor after(WAFLog wafLog) {
+        return new WAFLogCursor(wafLog.getTimestamp(), wafLog.getId());
+    }
+
+    /**
+     * 클라이언트가 전달한 커서 문자열 해석
+     *
+     * @param value 커서 문자열 (비어 있으면 첫 페이지)
+     * @throws BusinessException 형식이 올바르지 않은 경우
+     */
+    public static WAFLogCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(value));
+            if (buffer.remaining() != ENCODED_BYTES) {
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "유효하지 않은 커서입니다.");
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new WAFLogCursor(timestamp, buffer.getLong());
+        } catch (IllegalArgumentException | DateTimeException | BufferUnderflowException e) {
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "유효하지 않은 커서입니다.");
+        }
+    }
+
+    /**
+     * 클라이언트에 전달할 커서 문자열
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+            .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+            .putInt(timestamp.getNano())
+            .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
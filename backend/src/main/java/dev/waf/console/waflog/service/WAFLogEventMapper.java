@@ -0,0 +1,85 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.event.WAFEvent;
+import dev.waf.console.waflog.domain.WAFLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장된 WAFLog를 Kafka 이벤트로 변환
+ *
+ * - 차단된 요청은 AttackDetectedEvent, 그 외 요청은 AccessLogEvent
+ * - 이벤트 ID를 로그 ID에서 만들어 UUID 생성을 생략하고,
+ *   발행 대기열 재발행 시 소비자가 같은 이벤트로 식별할 수 있게 함
+ */
+@Slf4j
+@Component
+public class WAFLogEventMapper {
+
+    private static final String EVENT_ID_PREFIX = "waf-log-";
+
+    /**
+     * 로그 하나를 이벤트로 변환
+     *
+     * @param wafLog 저장된 로그 (ID 필수)
+     * @return 공격 탐지 또는 접근 로그 이벤트
+     */
+    public WAFEvent toEvent(WAFLog wafLog) {
+        WAFEvent event = wafLog.isBlocked() ? toAttackEvent(wafLog) : toAccessEvent(wafLog);
+
+        // WAFEvent 부모 클래스 필드 설정
+        String eventId = EVENT_ID_PREFIX + wafLog.getId();
+        event.setEventId(eventId);
+        event.setCorrelationId(eventId);
+        event.setTimestamp(wafLog.getTimestamp());
+        return event;
+    }
+
+    private AttackDetectedEvent toAttackEvent(WAFLog wafLog) {
+        return AttackDetectedEvent.builder()
+            .sourceIp(wafLog.getSourceIp())
+            .targetUrl(wafLog.getFullRequestUri())
+            .httpMethod(wafLog.getHttpMethod())
+            .attackType(convertToAttackType(wafLog.getAttackType()))
+            .riskScore(wafLog.getRiskScore())
+            .signature(wafLog.getBlockReason())
+            .ruleId(wafLog.getRuleId())
+            .ruleName(wafLog.getRuleName())
+            .payload(null)  // 실제 구현시 추가
+            .userAgent(wafLog.getUserAgent())
+            .build();
+    }
+
+    private AccessLogEvent toAccessEvent(WAFLog wafLog) {
+        return AccessLogEvent.builder()
+            .clientIp(wafLog.getSourceIp())
+            .method(wafLog.getHttpMethod())
+            .uri(wafLog.getFullRequestUri())
+            .statusCode(wafLog.getResponseStatusCode())
+            .responseTime(wafLog.getResponseTimeMs())
+            .userAgent(wafLog.getUserAgent())
+            .referer(null)  // 실제 구현시 추가
+            .sessionId(wafLog.getSessionId())
+            .userId(null)  // 실제 구현시 추가
+            .sampleWeight(wafLog.getSampleWeight())
+            .build();
+    }
+
+    /**
+     * 문자열 공격 타입을 AttackDetectedEvent.AttackType enum으로 변환
+     */
+    private AttackDetectedEvent.AttackType convertToAttackType(String attackType) {
+        if (attackType == null) {
+            return AttackDetectedEvent.AttackType.UNKNOWN;
+        }
+
+        try {
+            return AttackDetectedEvent.AttackType.valueOf(attackType.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown attack type: {}", attackType);
+            return AttackDetectedEvent.AttackType.UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.domain.WAFLog;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * high_risk 플래그 도입 전 로그 이관
+ *
+ * 컬럼이 추가될 때 기존 행은 모두 false로 채워지므로, 위험도 기준 이상인 행의 플래그를 채운 뒤
+ * 더 이상 쓰이지 않는 (risk_score, timestamp) 인덱스를 삭제함
+ * - 기존 인덱스가 남아 있는 경우에만 실행되어 이관이 끝난 뒤에는 기동 비용이 없음
+ * - 기존 인덱스로 대상 행을 찾아 청크 단위로 갱신하여 긴 잠금을 피함 (MySQL 전용)
+ *
+ * 스키마 갱신(ddl-auto) 이후에 초기화되도록 entityManagerFactory에 의존
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class WAFLogHighRiskMigration {
+
+    static final String LEGACY_INDEX = "idx_waf_logs_risk_score_timestamp";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public WAFLogHighRiskMigration(JdbcTemplate jdbcTemplate,
+                                   DatabaseDialect databaseDialect,
+                                   @Value("${app.waf-log.high-risk.migrate-legacy-rows:true}") boolean enabled,
+                                   @Value("${app.waf-log.high-risk.migration-chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled || !databaseDialect.isMySql()) {
+            return;
+        }
+
+        try {
+            Integer legacyIndex = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'waf_logs' AND index_name = ?",
+                Integer.class, LEGACY_INDEX);
+            if (legacyIndex == null || legacyIndex == 0) {
+                return;
+            }
+
+            long migrated = 0;
+            int updated;
+            do {
+                updated = jdbcTemplate.update(
+                    "UPDATE waf_logs SET high_risk = TRUE WHERE risk_score >= ? AND high_risk = FALSE LIMIT ?",
+                    WAFLog.HIGH_RISK_THRESHOLD, chunkSize);
+                migrated += updated;
+            } while (updated == chunkSize);
+
+            jdbcTemplate.execute("DROP INDEX " + LEGACY_INDEX + " ON waf_logs");
+            log.info("Backfilled high_risk on {} waf_logs rows and dropped {}", migrated, LEGACY_INDEX);
+        } catch (Exception e) {
+            log.warn("Failed to migrate waf_logs high_risk flag - high risk queries may miss older rows", e);
+        }
+    }
+}
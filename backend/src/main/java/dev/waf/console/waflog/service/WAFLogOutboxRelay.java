@@ -0,0 +1,191 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.event.WAFEvent;
+import dev.waf.console.service.EventPublisher;
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.repository.WAFLogOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WAF 로그 발행 대기열 릴레이
+ *
+ * waf_log_outbox에 기록된(= 커밋된) 로그를 로그 ID 순서로 chunk-size 단위로 읽어
+ * Kafka로 일괄 발행하고, 전송이 모두 확인되면 발행한 로그 ID의 대기열 행만 삭제
+ * - ID 범위로 지우지 않으므로 더 큰 ID보다 늦게 커밋된 행은 남아 다음 회차에 발행됨
+ * - 원본 로그가 삭제된 대기열 행은 orphan-age-ms가 지난 뒤 함께 정리
+ * - 로그는 전체 기본 키(id, status, timestamp)로 조인하여 파티션 분할된 waf_logs에서도 해당 파티션만 읽음
+ * - Kafka 장애 중에는 지수 백오프(최대 max-backoff-ms)로 같은 범위를 재시도
+ *
+ * 전송 확인과 삭제 커밋 사이에 프로세스가 종료되면 해당 범위가 한 번 더 발행될 수 있음 (at-least-once)
+ * 이벤트 ID가 로그 ID에서 만들어지므로 소비자는 eventId로 중복을 걸러낼 수 있음
+ * 여러 인스턴스가 같은 DB를 사용하는 경우 한 인스턴스에서만 relay.enabled를 켜는 것을 권장
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.waf-log.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WAFLogOutboxRelay {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private final WAFLogOutboxRepository wafLogOutboxRepository;
+    private final WAFLogEventMapper wafLogEventMapper;
+    private final EventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final long settleMillis;
+    private final long orphanAgeMillis;
+    private final long idleWaitMillis;
+    private final long sendTimeoutMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    private volatile boolean running;
+    private Thread relayThread;
+
+    public WAFLogOutboxRelay(WAFLogOutboxRepository wafLogOutboxRepository,
+                             WAFLogEventMapper wafLogEventMapper,
+                             EventPublisher eventPublisher,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.waf-log.outbox.relay.chunk-size:2000}") int chunkSize,
+                             @Value("${app.waf-log.outbox.relay.settle-ms:1000}") long settleMillis,
+                             @Value("${app.waf-log.outbox.relay.orphan-age-ms:86400000}") long orphanAgeMillis,
+                             @Value("${app.waf-log.outbox.relay.idle-wait-ms:200}") long idleWaitMillis,
+                             @Value("${app.waf-log.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMillis,
+                             @Value("${app.waf-log.outbox.relay.max-backoff-ms:30000}") long maxBackoffMillis) {
+        this.wafLogOutboxRepository = wafLogOutboxRepository;
+        this.wafLogEventMapper = wafLogEventMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.settleMillis = settleMillis;
+        this.orphanAgeMillis = orphanAgeMillis;
+        this.idleWaitMillis = idleWaitMillis;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+
+        this.publishedCounter = Counter.builder("waf.log.outbox.published")
+            .description("Number of WAF log events relayed from the outbox to Kafka")
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("waf.log.outbox.relay.failures")
+            .description("Number of failed outbox relay attempts")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        backfillLegacyRows();
+        running = true;
+        relayThread = new Thread(this::runRelayLoop, "waf-log-outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    /**
+     * 릴레이 중단 (남은 대기열 행은 다음 기동 시 발행됨)
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * 대기열에서 한 구간을 읽어 발행하고 삭제
+     *
+     * @return 발행한 이벤트 수 (대상이 없으면 0)
+     */
+    int relayOnce() throws Exception {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(settleMillis));
+        List<WAFLog> logs = wafLogOutboxRepository.findPendingLogs(cutoff, PageRequest.of(0, chunkSize));
+        if (logs.isEmpty()) {
+            return 0;
+        }
+
+        List<WAFEvent> events = new ArrayList<>(logs.size());
+        for (WAFLog wafLog : logs) {
+            events.add(wafLogEventMapper.toEvent(wafLog));
+        }
+        eventPublisher.publishLogEventsInBulk(events).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        List<Long> publishedIds = new ArrayList<>(logs.size());
+        for (WAFLog wafLog : logs) {
+            publishedIds.add(wafLog.getId());
+        }
+        Long lastLogId = publishedIds.get(publishedIds.size() - 1);
+        LocalDateTime orphanCutoff = cutoff.minusNanos(TimeUnit.MILLISECONDS.toNanos(orphanAgeMillis));
+        Integer deleted = transactionTemplate.execute(status ->
+            wafLogOutboxRepository.deleteByLogIds(publishedIds)
+                + wafLogOutboxRepository.deleteOrphansUpTo(lastLogId, orphanCutoff));
+
+        publishedCounter.increment(events.size());
+        log.debug("WAF log outbox relayed: {} events, {} rows deleted (up to log ID {})",
+            events.size(), deleted, lastLogId);
+        return events.size();
+    }
+
+    /**
+     * 로그 키 컬럼이 추가되기 전에 기록된 대기열 행은 전체 키 조인에 걸리지 않으므로 기동 시 채움
+     */
+    private void backfillLegacyRows() {
+        try {
+            Integer updated = transactionTemplate.execute(status -> wafLogOutboxRepository.backfillLogKeys());
+            if (updated != null && updated > 0) {
+                log.info("WAF log outbox backfilled log keys for {} rows", updated);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill WAF log outbox log keys - legacy rows are not relayed until the next start", e);
+        }
+    }
+
+    private void runRelayLoop() {
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+        while (running) {
+            try {
+                if (relayOnce() < chunkSize) {
+                    Thread.sleep(idleWaitMillis);
+                }
+
+                if (backoffMillis > INITIAL_BACKOFF_MILLIS) {
+                    log.info("WAF log outbox relay recovered");
+                    backoffMillis = INITIAL_BACKOFF_MILLIS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                failureCounter.increment();
+                log.warn("WAF log outbox relay failed - retrying in {} ms", backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+
+        log.info("WAF log outbox relay stopped");
+    }
+}
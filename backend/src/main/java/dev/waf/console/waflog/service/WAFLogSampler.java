@@ -0,0 +1,193 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SUCCESS 로그 적응형 샘플러
+ *
+ * 대시보드는 SUCCESS 요청에 대해 건수와 응답 시간 분포만 필요하므로,
+ * 부하가 높을 때 SUCCESS 로그는 k건 중 1건만 저장하고 sample_weight에 대표 건수를 기록
+ * - BLOCKED/ERROR/WARNING 로그는 항상 전수 저장
+ * - k는 SUCCESS 유입량의 EWMA(1초 구간)를 target-success-per-second로 나눈 값 (최대 max-weight)
+ * - 건너뛴 건수를 누적해 다음에 저장되는 로그의 가중치로 넘기므로 k가 바뀌어도 합계가 보존됨
+ * - 누적분은 같은 분(롤업 구간) 안에서만 넘기고, 다음 로그의 발생 시각이 다른 분이면 마지막으로
+ *   건너뛴 로그를 누적 건수를 가중치로 하여 대신 저장 (takeFlushed, 유입이 멈춘 경우 flushIfWindowClosed)
+ *   그렇지 않으면 분/시 롤업에서 이전 구간의 건수가 다음 구간으로 옮겨짐
+ *
+ * 링 버퍼 저장 소비 스레드 하나에서만 호출됨 (스레드 안전하지 않음)
+ */
+@Slf4j
+@Component
+public class WAFLogSampler {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final double targetPerSecond;
+    private final int maxWeight;
+    private final double ewmaAlpha;
+
+    private final Counter skippedCounter;
+
+    private boolean windowStarted;
+    private long windowStartNanos;
+    private long windowCount;
+    private double rateEwma;
+    private int pendingCount;
+    private WAFLog heldLog;
+    private LocalDateTime pendingMinute;
+    private WAFLog flushedLog;
+    private volatile int currentWeight = 1;
+
+    public WAFLogSampler(MeterRegistry meterRegistry,
+                         @Value("${app.waf-log.sampling.enabled:true}") boolean enabled,
+                         @Value("${app.waf-log.sampling.target-success-per-second:200}") double targetPerSecond,
+                         @Value("${app.waf-log.sampling.max-weight:100}") int maxWeight,
+                         @Value("${app.waf-log.sampling.ewma-alpha:0.3}") double ewmaAlpha) {
+        this.enabled = enabled;
+        this.targetPerSecond = targetPerSecond;
+        this.maxWeight = maxWeight;
+        this.ewmaAlpha = ewmaAlpha;
+
+        this.skippedCounter = Counter.builder("waf.log.sampling.skipped")
+            .description("Number of SUCCESS logs not persisted due to adaptive sampling")
+            .register(meterRegistry);
+        Gauge.builder("waf.log.sampling.weight", this, WAFLogSampler::getCurrentWeight)
+            .description("Current SUCCESS log sampling weight (1 in k persisted)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 저장 여부 결정
+     *
+     * 저장 대상인 SUCCESS 로그에는 대표 건수(2 이상인 경우)를 sampleWeight로 설정
+     * 호출 후 takeFlushed로 이전 구간의 누적분을 대표하는 로그가 있는지 확인해 이 로그보다 먼저 저장해야 함
+     *
+     * @param wafLog 판단할 로그
+     * @return 저장해야 하면 true, 샘플링으로 건너뛰면 false
+     */
+    public boolean sample(WAFLog wafLog) {
+        return sample(wafLog, System.nanoTime());
+    }
+
+    boolean sample(WAFLog wafLog, long nowNanos) {
+        if (!enabled || wafLog.getStatus() != WAFLog.LogStatus.SUCCESS) {
+            return true;
+        }
+
+        updateRate(nowNanos);
+
+        LocalDateTime minute = minuteOf(wafLog.getTimestamp());
+        if (pendingCount > 0 && !Objects.equals(minute, pendingMinute)) {
+            flushPending();
+        }
+
+        pendingCount++;
+        if (pendingCount < currentWeight) {
+            hold(wafLog, minute);
+            return false;
+        }
+
+        if (pendingCount > 1) {
+            wafLog.setSampleWeight(pendingCount);
+        }
+        discardHeld();
+        pendingCount = 0;
+        return true;
+    }
+
+    /**
+     * 구간이 바뀌어 내보낸 대표 로그 (없으면 null)
+     *
+     * 이전 구간에서 마지막으로 건너뛴 로그에 누적 건수를 가중치로 설정한 것으로, 한 번만 반환됨
+     */
+    public WAFLog takeFlushed() {
+        WAFLog flushed = flushedLog;
+        flushedLog = null;
+        return flushed;
+    }
+
+    /**
+     * 누적분의 구간(분)이 이미 지났으면 대표 로그를 내보냄 (유입이 멈춘 동안 호출, 없으면 null)
+     */
+    public WAFLog flushIfWindowClosed(LocalDateTime now) {
+        if (pendingCount == 0 || Objects.equals(minuteOf(now), pendingMinute)) {
+            return null;
+        }
+        flushPending();
+        return takeFlushed();
+    }
+
+    public int getCurrentWeight() {
+        return currentWeight;
+    }
+
+    /**
+     * 건너뛴 로그를 구간 대표 후보로 보관 (이전 후보는 최종적으로 건너뜀)
+     */
+    private void hold(WAFLog wafLog, LocalDateTime minute) {
+        discardHeld();
+        heldLog = wafLog;
+        pendingMinute = minute;
+    }
+
+    private void discardHeld() {
+        if (heldLog != null) {
+            skippedCounter.increment();
+            heldLog = null;
+        }
+    }
+
+    /**
+     * 보관 중인 후보에 누적 건수를 가중치로 설정하고 저장 대상으로 내보냄
+     */
+    private void flushPending() {
+        if (pendingCount > 1) {
+            heldLog.setSampleWeight(pendingCount);
+        }
+        flushedLog = heldLog;
+        heldLog = null;
+        pendingCount = 0;
+    }
+
+    private static LocalDateTime minuteOf(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.truncatedTo(ChronoUnit.MINUTES) : null;
+    }
+
+    /**
+     * 1초 구간이 끝날 때마다 유입량 EWMA를 갱신하고 가중치를 다시 계산
+     */
+    private void updateRate(long now) {
+        if (!windowStarted) {
+            windowStartNanos = now;
+            windowStarted = true;
+        }
+
+        long elapsed = now - windowStartNanos;
+        if (elapsed >= WINDOW_NANOS) {
+            double rate = windowCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            rateEwma = rateEwma == 0 ? rate : ewmaAlpha * rate + (1 - ewmaAlpha) * rateEwma;
+            windowStartNanos = now;
+            windowCount = 0;
+
+            int weight = (int) Math.min(maxWeight, Math.max(1, Math.ceil(rateEwma / targetPerSecond)));
+            if (weight != currentWeight) {
+                log.info("SUCCESS log sampling weight changed: {} -> {} (ingest rate: {}/s)",
+                    currentWeight, weight, Math.round(rateEwma));
+                currentWeight = weight;
+            }
+        }
+        windowCount++;
+    }
+}
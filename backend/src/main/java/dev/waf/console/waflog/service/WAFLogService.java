@@ -1,24 +1,34 @@
 package dev.waf.console.waflog.service;
 
-import dev.waf.console.event.AccessLogEvent;
-import dev.waf.console.event.AttackDetectedEvent;
-import dev.waf.console.service.EventPublisher;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter;
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter.Sink;
 import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLogOutbox;
+import dev.waf.console.waflog.repository.WAFLogOutboxRepository;
 import dev.waf.console.waflog.repository.WAFLogRepository;
+import dev.waf.console.waflog.rollup.WAFLogRollupService;
+import dev.waf.console.waflog.stats.SpaceSavingSketch;
+import dev.waf.console.waflog.stats.WAFAttackTopKTracker;
+import dev.waf.console.waflog.stats.WAFLatencyTracker;
+import dev.waf.console.waflog.stats.WAFLogSlidingWindow;
+import dev.waf.console.waflog.stats.WAFLogStatisticsWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 /**
  * WAF 로그 서비스
@@ -27,6 +37,11 @@ import java.util.stream.Collectors;
  * - 비동기 로그 저장으로 성능 최적화
  * - 다양한 조건의 로그 조회
  * - 로그 통계 및 분석 데이터 제공
+ *
+ * 로그 저장 시 같은 트랜잭션에서 발행 대기열(waf_log_outbox) 행을 함께 기록하고,
+ * Kafka 발행은 WAFLogOutboxRelay가 커밋된 행만 일괄로 수행
+ * 같은 트랜잭션에서 분/시 롤업도 누적 갱신하며, 커밋 후에는 메모리 통계 창(WAFLogStatisticsWindow)에 반영함
+ * 통계 조회는 통계 창에서 응답하고, 창을 사용할 수 없으면 원본 대신 롤업을 읽음
  */
 @Slf4j
 @Service
@@ -34,7 +49,13 @@ import java.util.stream.Collectors;
 public class WAFLogService {
 
     private final WAFLogRepository wafLogRepository;
-    private final EventPublisher eventPublisher;
+    private final WAFLogOutboxRepository wafLogOutboxRepository;
+    private final WAFLogRollupService wafLogRollupService;
+    private final WAFLogStatisticsWindow wafLogStatisticsWindow;
+    private final WAFAttackTopKTracker wafAttackTopKTracker;
+    private final WAFLatencyTracker wafLatencyTracker;
+    private final SinkConcurrencyLimiter sinkConcurrencyLimiter;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 최근 로그 조회 (최대 500개)
@@ -130,26 +151,89 @@ public class WAFLogService {
         Pageable pageable = PageRequest.of(0, safeLimit);
 
         log.debug("Retrieving high risk logs (limit: {})", safeLimit);
-        return wafLogRepository.findByRiskScoreGreaterThanEqualOrderByTimestampDesc(70, pageable);
+        return wafLogRepository.findByHighRiskTrueOrderByTimestampDesc(pageable);
+    }
+
+    /**
+     * 최근 로그 커서 조회
+     *
+     * OFFSET 없이 커서 위치부터 읽으므로 페이지 깊이와 무관하게 비용이 일정함
+     *
+     * @param cursor 이전 페이지의 마지막 위치 (첫 페이지는 WAFLogCursor.FIRST)
+     * @param size 페이지 크기 (최대 500)
+     * @return 커서 이후의 로그 (hasNext로 다음 페이지 여부 확인)
+     */
+    @Transactional(readOnly = true)
+    public Slice<WAFLog> scrollRecentLogs(WAFLogCursor cursor, int size) {
+        log.debug("Scrolling recent logs after {} (size: {})", cursor, size);
+        return wafLogRepository.scrollRecentLogs(cursor.getTimestamp(), cursor.getId(), cursorPage(size));
+    }
+
+    /**
+     * 상태별 로그 커서 조회
+     *
+     * @param status 로그 상태
+     * @param cursor 이전 페이지의 마지막 위치
+     * @param size 페이지 크기 (최대 500)
+     * @return 커서 이후의 해당 상태 로그
+     */
+    @Transactional(readOnly = true)
+    public Slice<WAFLog> scrollLogsByStatus(WAFLog.LogStatus status, WAFLogCursor cursor, int size) {
+        log.debug("Scrolling {} logs after {} (size: {})", status, cursor, size);
+        return wafLogRepository.scrollByStatus(status, cursor.getTimestamp(), cursor.getId(), cursorPage(size));
+    }
+
+    /**
+     * 기간별 로그 커서 조회
+     *
+     * @param startTime 시작 시간
+     * @param endTime 종료 시간
+     * @param cursor 이전 페이지의 마지막 위치
+     * @param size 페이지 크기 (최대 500)
+     * @return 커서 이후의 해당 기간 로그
+     */
+    @Transactional(readOnly = true)
+    public Slice<WAFLog> scrollLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime,
+                                               WAFLogCursor cursor, int size) {
+        log.debug("Scrolling logs from {} to {} after {} (size: {})", startTime, endTime, cursor, size);
+        return wafLogRepository.scrollByTimeRange(startTime, endTime,
+            cursor.getTimestamp(), cursor.getId(), cursorPage(size));
+    }
+
+    /**
+     * 높은 위험도 로그 커서 조회 (위험도 70 이상)
+     *
+     * @param cursor 이전 페이지의 마지막 위치
+     * @param size 페이지 크기 (최대 500)
+     * @return 커서 이후의 높은 위험도 로그
+     */
+    @Transactional(readOnly = true)
+    public Slice<WAFLog> scrollHighRiskLogs(WAFLogCursor cursor, int size) {
+        log.debug("Scrolling high risk logs after {} (size: {})", cursor, size);
+        return wafLogRepository.scrollHighRisk(cursor.getTimestamp(), cursor.getId(), cursorPage(size));
+    }
+
+    private Pageable cursorPage(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, 500)));
     }
 
     /**
      * 로그 저장 (비동기)
      *
+     * 저장은 JDBC 싱크 허가를 얻은 뒤 트랜잭션을 시작하여
+     * 커넥션을 얻기 전에 세마포어에서 대기함
+     *
      * @param wafLog 저장할 로그
      * @return 저장된 로그
      */
     @Async
-    @Transactional
     public CompletableFuture<WAFLog> saveLogAsync(WAFLog wafLog) {
         try {
-            WAFLog savedLog = wafLogRepository.save(wafLog);
+            WAFLog savedLog = sinkConcurrencyLimiter.execute(Sink.JDBC,
+                () -> transactionTemplate.execute(status -> saveAllWithOutbox(List.of(wafLog)).get(0)));
             log.debug("WAF log saved asynchronously: {} - {} - {}",
                 savedLog.getStatus(), savedLog.getSourceIp(), savedLog.getRequestUri());
 
-            // Kafka로 이벤트 발행
-            publishToKafka(savedLog);
-
             return CompletableFuture.completedFuture(savedLog);
         } catch (Exception e) {
             log.error("Failed to save WAF log asynchronously", e);
@@ -165,16 +249,38 @@ public class WAFLogService {
      */
     @Transactional
     public WAFLog saveLog(WAFLog wafLog) {
-        WAFLog savedLog = wafLogRepository.save(wafLog);
+        WAFLog savedLog = saveAllWithOutbox(List.of(wafLog)).get(0);
         log.debug("WAF log saved: {} - {} - {}",
             savedLog.getStatus(), savedLog.getSourceIp(), savedLog.getRequestUri());
 
-        // Kafka로 이벤트 발행
-        publishToKafka(savedLog);
-
         return savedLog;
     }
 
+    /**
+     * 로그와 발행 대기열 행을 함께 저장하고 롤업, 통계 창, 응답 시간 히스토그램에 반영
+     *
+     * 호출자의 트랜잭션 안에서 실행되어야 하며, 두 테이블의 INSERT가 같은 JDBC 배치로 전송됨
+     *
+     * @param logs 저장할 로그 목록
+     * @return 저장된 로그 목록
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<WAFLog> saveAllWithOutbox(List<WAFLog> logs) {
+        List<WAFLog> savedLogs = wafLogRepository.saveAll(logs);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WAFLogOutbox> outboxRows = new ArrayList<>(savedLogs.size());
+        for (WAFLog savedLog : savedLogs) {
+            outboxRows.add(new WAFLogOutbox(savedLog, now));
+        }
+        wafLogOutboxRepository.saveAll(outboxRows);
+        wafLogRollupService.record(savedLogs);
+        wafLogStatisticsWindow.recordAfterCommit(savedLogs);
+        wafLatencyTracker.recordAfterCommit(savedLogs);
+
+        return savedLogs;
+    }
+
     /**
      * 요청 처리 로그 생성 및 저장
      *
@@ -191,9 +297,10 @@ public class WAFLogService {
                                               String userAgent, WAFLog.LogStatus status,
                                               Long responseTimeMs, Integer responseStatusCode) {
         WAFLog log = WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
+            .sourceIp(WAFLog.fitColumn(sourceIp, WAFLog.SOURCE_IP_LENGTH))
+            .httpMethod(WAFLog.fitColumn(httpMethod, WAFLog.HTTP_METHOD_LENGTH))
+            .requestUri(WAFLog.pathOf(requestUri))
+            .requestQuery(WAFLog.queryOf(requestUri))
             .userAgent(userAgent)
             .status(status)
             .responseTimeMs(responseTimeMs)
@@ -222,14 +329,15 @@ public class WAFLogService {
                                                        String userAgent, String attackType, Integer riskScore,
                                                        String ruleId, String ruleName, String blockReason) {
         WAFLog log = WAFLog.builder()
-            .sourceIp(sourceIp)
-            .httpMethod(httpMethod)
-            .requestUri(requestUri)
+            .sourceIp(WAFLog.fitColumn(sourceIp, WAFLog.SOURCE_IP_LENGTH))
+            .httpMethod(WAFLog.fitColumn(httpMethod, WAFLog.HTTP_METHOD_LENGTH))
+            .requestUri(WAFLog.pathOf(requestUri))
+            .requestQuery(WAFLog.queryOf(requestUri))
             .userAgent(userAgent)
             .status(WAFLog.LogStatus.BLOCKED)
-            .attackType(attackType)
+            .attackType(WAFLog.fitColumn(attackType, WAFLog.ATTACK_TYPE_LENGTH))
             .riskScore(riskScore)
-            .ruleId(ruleId)
+            .ruleId(WAFLog.fitColumn(ruleId, WAFLog.RULE_ID_LENGTH))
             .ruleName(ruleName)
             .blockReason(blockReason)
             .timestamp(LocalDateTime.now())
@@ -241,30 +349,37 @@ public class WAFLogService {
     /**
      * 로그 통계 조회
      *
+     * 건수/응답 시간/공격 유형 집계는 메모리 통계 창에서 DB 조회 없이 계산하고,
+     * 창을 사용할 수 없으면 분/시 롤업에서 읽음 (어느 쪽이든 원본 로그 양과 무관한 비용)
+     * 상위 공격 IP/대상 URI/룰 ID는 공격 이벤트 스트림의 Space-Saving 스케치에서 과대 추정 상한과 함께 제공
+     *
      * @return 로그 통계 정보
      */
     @Transactional(readOnly = true)
     public LogStatistics getLogStatistics() {
-        LocalDateTime last24Hours = LocalDateTime.now().minusHours(24);
-        LocalDateTime lastHour = LocalDateTime.now().minusHours(1);
-
-        long successCount = wafLogRepository.countByStatusSince(WAFLog.LogStatus.SUCCESS, last24Hours);
-        long blockedCount = wafLogRepository.countByStatusSince(WAFLog.LogStatus.BLOCKED, last24Hours);
-        long errorCount = wafLogRepository.countByStatusSince(WAFLog.LogStatus.ERROR, last24Hours);
-        long warningCount = wafLogRepository.countByStatusSince(WAFLog.LogStatus.WARNING, last24Hours);
-
-        Double avgResponseTime = wafLogRepository.getAverageResponseTimeSince(lastHour);
-
-        // 공격 유형별 차단 통계
-        List<Object[]> attackTypeStats = wafLogRepository.countBlockedByAttackTypeSince(last24Hours);
-        Map<String, Long> attackTypeCounts = attackTypeStats.stream()
-            .collect(Collectors.toMap(
-                row -> (String) row[0],
-                row -> (Long) row[1]
-            ));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime last24Hours = now.minusHours(24);
+        LocalDateTime lastHour = now.minusHours(1);
+
+        Map<WAFLog.LogStatus, Long> statusCounts;
+        Map<String, Long> attackTypeCounts;
+        Double avgResponseTime;
+
+        if (wafLogStatisticsWindow.isReady()) {
+            WAFLogSlidingWindow.Totals lastDayTotals = wafLogStatisticsWindow.totals(24 * 60);
+            statusCounts = lastDayTotals.getStatusCounts();
+            attackTypeCounts = lastDayTotals.getBlockedByAttackType();
+            avgResponseTime = wafLogStatisticsWindow.totals(60).getAverageResponseTimeMs();
+        } else {
+            statusCounts = wafLogRollupService.countByStatus(last24Hours, now);
+            attackTypeCounts = wafLogRollupService.countBlockedByAttackType(last24Hours, now);
+            avgResponseTime = wafLogRollupService.averageResponseTimeMs(lastHour, now);
+        }
 
-        // 상위 공격 IP
-        List<Object[]> topAttackingIPs = wafLogRepository.findTopAttackingIPs(last24Hours, 10);
+        long successCount = statusCounts.get(WAFLog.LogStatus.SUCCESS);
+        long blockedCount = statusCounts.get(WAFLog.LogStatus.BLOCKED);
+        long errorCount = statusCounts.get(WAFLog.LogStatus.ERROR);
+        long warningCount = statusCounts.get(WAFLog.LogStatus.WARNING);
 
         return LogStatistics.builder()
             .successCount(successCount)
@@ -274,75 +389,14 @@ public class WAFLogService {
             .totalCount(successCount + blockedCount + errorCount + warningCount)
             .averageResponseTimeMs(avgResponseTime != null ? avgResponseTime : 0.0)
             .attackTypeCounts(attackTypeCounts)
-            .topAttackingIPs(topAttackingIPs)
+            .topAttackingIPs(topAttacks(WAFAttackTopKTracker.Dimension.SOURCE_IP))
+            .topTargetUris(topAttacks(WAFAttackTopKTracker.Dimension.TARGET_URI))
+            .topRuleIds(topAttacks(WAFAttackTopKTracker.Dimension.RULE_ID))
             .build();
     }
 
-    /**
-     * WAFLog를 Kafka 이벤트로 변환하여 발행
-     */
-    private void publishToKafka(WAFLog wafLog) {
-        try {
-            if (wafLog.isBlocked()) {
-                // 차단된 요청은 공격 탐지 이벤트로 발행
-                AttackDetectedEvent attackEvent = AttackDetectedEvent.builder()
-                    .sourceIp(wafLog.getSourceIp())
-                    .targetUrl(wafLog.getRequestUri())
-                    .httpMethod(wafLog.getHttpMethod())
-                    .attackType(convertToAttackType(wafLog.getAttackType()))
-                    .riskScore(wafLog.getRiskScore())
-                    .signature(wafLog.getBlockReason())
-                    .ruleId(wafLog.getRuleId())
-                    .ruleName(wafLog.getRuleName())
-                    .payload(null)  // 실제 구현시 추가
-                    .userAgent(wafLog.getUserAgent())
-                    .build();
-
-                // WAFEvent 부모 클래스 필드 설정
-                attackEvent.setTimestamp(wafLog.getTimestamp());
-
-                eventPublisher.publishAttackDetected(attackEvent);
-                log.debug("Attack detected event published for log ID: {}", wafLog.getId());
-            } else {
-                // 일반 요청은 접근 로그 이벤트로 발행
-                AccessLogEvent accessEvent = AccessLogEvent.builder()
-                    .clientIp(wafLog.getSourceIp())
-                    .method(wafLog.getHttpMethod())
-                    .uri(wafLog.getRequestUri())
-                    .statusCode(wafLog.getResponseStatusCode())
-                    .responseTime(wafLog.getResponseTimeMs())
-                    .userAgent(wafLog.getUserAgent())
-                    .referer(null)  // 실제 구현시 추가
-                    .sessionId(wafLog.getSessionId())
-                    .userId(null)  // 실제 구현시 추가
-                    .build();
-
-                // WAFEvent 부모 클래스 필드 설정
-                accessEvent.setTimestamp(wafLog.getTimestamp());
-
-                eventPublisher.publishAccessLog(accessEvent);
-                log.debug("Access log event published for log ID: {}", wafLog.getId());
-            }
-        } catch (Exception e) {
-            log.warn("Failed to publish event to Kafka for log ID: {}", wafLog.getId(), e);
-            // Kafka 발행 실패는 전체 로그 저장을 실패시키지 않음
-        }
-    }
-
-    /**
-     * 문자열 공격 타입을 AttackDetectedEvent.AttackType enum으로 변환
-     */
-    private AttackDetectedEvent.AttackType convertToAttackType(String attackType) {
-        if (attackType == null) {
-            return AttackDetectedEvent.AttackType.UNKNOWN;
-        }
-
-        try {
-            return AttackDetectedEvent.AttackType.valueOf(attackType.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            log.warn("Unknown attack type: {}", attackType);
-            return AttackDetectedEvent.AttackType.UNKNOWN;
-        }
+    private List<SpaceSavingSketch.HeavyHitter> topAttacks(WAFAttackTopKTracker.Dimension dimension) {
+        return wafAttackTopKTracker.top(dimension, 24 * 60, 10).getEntries();
     }
 
     /**
@@ -358,7 +412,9 @@ public class WAFLogService {
         private long totalCount;
         private double averageResponseTimeMs;
         private Map<String, Long> attackTypeCounts;
-        private List<Object[]> topAttackingIPs;
+        private List<SpaceSavingSketch.HeavyHitter> topAttackingIPs;
+        private List<SpaceSavingSketch.HeavyHitter> topTargetUris;
+        private List<SpaceSavingSketch.HeavyHitter> topRuleIds;
 
         public double getBlockedPercentage() {
             return totalCount > 0 ? (blockedCount * 100.0) / totalCount : 0.0;
@@ -0,0 +1,77 @@
+package dev.waf.console.waflog.stats;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * 시간 구간 번호로 슬롯이 정해지는 고정 크기 링
+ *
+ * 구간 번호(예: 에포크 분)를 capacity로 나눈 나머지 슬롯에 구간 값을 보관하고,
+ * 슬롯에 이전 구간의 값이 남아 있으면 새 구간 값으로 교체(CAS)함
+ * 교체 직전에 이전 값을 갱신하던 스레드의 반영분은 만료 구간과 함께 버려짐
+ *
+ * @param <T> 구간 값 (스레드 안전해야 함)
+ */
+final class BucketRing<T> {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot<T>> slots;
+
+    BucketRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 구간 값 조회 또는 생성
+     *
+     * @return 슬롯이 이미 더 최근 구간으로 교체되었으면 null
+     */
+    T getOrCreate(long index, LongFunction<T> factory) {
+        int slot = slotOf(index);
+        while (true) {
+            Slot<T> current = slots.get(slot);
+            if (current != null && current.index == index) {
+                return current.value;
+            }
+            if (current != null && current.index > index) {
+                return null;
+            }
+            Slot<T> fresh = new Slot<>(index, factory.apply(index));
+            if (slots.compareAndSet(slot, current, fresh)) {
+                return fresh.value;
+            }
+        }
+    }
+
+    /**
+     * 구간 값 조회
+     *
+     * @return 해당 구간 값이 없으면(비었거나 다른 구간으로 교체됨) null
+     */
+    T get(long index) {
+        Slot<T> current = slots.get(slotOf(index));
+        return current != null && current.index == index ? current.value : null;
+    }
+
+    private int slotOf(long index) {
+        return (int) Math.floorMod(index, (long) capacity);
+    }
+
+    private static final class Slot<T> {
+        final long index;
+        final T value;
+
+        Slot(long index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package dev.waf.console.waflog.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 노드 간 교환되는 시간 구간별 스케치 링
+ *
+ * bucketMinutes 단위 구간마다 스케치를 하나씩 두고, 조회 시 기간 내 구간의 로컬 스케치와
+ * 다른 노드가 게시한 같은 구간 스케치를 병합함
+ * - 구간은 변경 버전을 가지며, 교환 시 게시 이후 변경된 구간만 직렬화하여 게시
+ * - 필드 형식: {이름}:{구간 시작 에포크 분}
+ *
+ * 구간 크기는 모든 노드가 같게 설정해야 함
+ * 게시/수신(collectChanged, acceptPeers)은 WAFLogSketchExchange의 교환 스레드에서만 호출
+ *
+ * @param <S> 스케치 타입 (스레드 안전하지 않아도 됨, 구간 단위로 동기화)
+ */
+@Slf4j
+final class ExchangedSketchRing<S> {
+
+    private final String name;
+    private final long bucketMinutes;
+    private final Ops<S> ops;
+    private final BucketRing<Bucket<S>> ring;
+
+    /**
+     * 다른 노드의 구간 스케치 (구간 번호 → 노드 간 병합 스케치), 교환 주기마다 교체
+     */
+    private volatile Map<Long, S> peerBuckets = Map.of();
+
+    /**
+     * 게시한 적이 있는 필드 (교환 스레드 전용)
+     */
+    private final Set<String> publishedFields = new HashSet<>();
+
+    ExchangedSketchRing(String name, long bucketMinutes, int capacity, Ops<S> ops) {
+        this.name = name;
+        this.bucketMinutes = bucketMinutes;
+        this.ops = ops;
+        this.ring = new BucketRing<>(capacity);
+    }
+
+    String name() {
+        return name;
+    }
+
+    int capacity() {
+        return ring.capacity();
+    }
+
+    long indexOf(LocalDateTime time) {
+        return Math.floorDiv(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60), bucketMinutes);
+    }
+
+    /**
+     * minutes분을 덮는 구간 수 (올림, 최대 링 크기)
+     */
+    int spanOf(long minutes) {
+        return (int) Math.min(ring.capacity(), Math.max(1, (minutes + bucketMinutes - 1) / bucketMinutes));
+    }
+
+    /**
+     * timestamp가 속한 구간 스케치 갱신
+     *
+     * 미래 시각은 현재 구간으로, 링보다 오래된 시각은 버림
+     */
+    void update(LocalDateTime timestamp, LocalDateTime now, Consumer<S> updater) {
+        long currentIndex = indexOf(now);
+        long index = Math.min(indexOf(timestamp), currentIndex);
+        if (index <= currentIndex - ring.capacity()) {
+            return;
+        }
+        Bucket<S> bucket = ring.getOrCreate(index, i -> new Bucket<>(ops.create.get()));
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            updater.accept(bucket.sketch);
+            bucket.version++;
+        }
+    }
+
+    /**
+     * [fromIndex, toIndex] 구간의 로컬 및 다른 노드 스케치 병합 결과 (입력 구간은 변경하지 않음)
+     */
+    S merged(long fromIndex, long toIndex) {
+        Map<Long, S> peers = peerBuckets;
+        S merged = ops.create.get();
+        for (long index = fromIndex; index <= toIndex; index++) {
+            Bucket<S> bucket = ring.get(index);
+            if (bucket != null) {
+                S local;
+                synchronized (bucket) {
+                    local = ops.copy.apply(bucket.sketch);
+                }
+                merged = ops.merge.apply(merged, local);
+            }
+            S peer = peers.get(index);
+            if (peer != null) {
+                merged = ops.merge.apply(merged, peer);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 게시 이후 변경된 구간과 링에서 벗어난 게시 필드 수집
+     *
+     * @param fields 변경 구간 필드가 추가됨
+     * @param expiredFields 만료 필드가 추가됨
+     * @return 게시 성공 후 호출하여 게시 버전을 기록하는 콜백
+     */
+    Runnable collectChanged(LocalDateTime now, Map<String, byte[]> fields, List<String> expiredFields) {
+        long currentIndex = indexOf(now);
+        long oldestIndex = currentIndex - ring.capacity() + 1;
+
+        Map<String, byte[]> changed = new HashMap<>();
+        Map<Bucket<S>, Long> versions = new HashMap<>();
+        for (long index = oldestIndex; index <= currentIndex; index++) {
+            Bucket<S> bucket = ring.get(index);
+            if (bucket == null) {
+                continue;
+            }
+            synchronized (bucket) {
+                if (bucket.version != bucket.publishedVersion) {
+                    changed.put(field(index), ops.toBytes.apply(bucket.sketch));
+                    versions.put(bucket, bucket.version);
+                }
+            }
+        }
+
+        for (Iterator<String> iterator = publishedFields.iterator(); iterator.hasNext(); ) {
+            String field = iterator.next();
+            if (parseIndex(field) < oldestIndex) {
+                expiredFields.add(field);
+                iterator.remove();
+            }
+        }
+        fields.putAll(changed);
+
+        return () -> {
+            publishedFields.addAll(changed.keySet());
+            versions.forEach((bucket, version) -> {
+                synchronized (bucket) {
+                    bucket.publishedVersion = version;
+                }
+            });
+        };
+    }
+
+    /**
+     * 다른 노드가 게시한 필드 중 이 링의 필드를 구간별로 병합하여 교체
+     */
+    void acceptPeers(List<Map<String, byte[]>> peers, LocalDateTime now) {
+        long oldestIndex = indexOf(now) - ring.capacity() + 1;
+        String prefix = name + ":";
+        Map<Long, S> loaded = new HashMap<>();
+        for (Map<String, byte[]> peer : peers) {
+            peer.forEach((field, bytes) -> {
+                if (!field.startsWith(prefix)) {
+                    return;
+                }
+                try {
+                    long index = parseIndex(field);
+                    if (index >= oldestIndex) {
+                        loaded.merge(index, ops.fromBytes.apply(bytes), ops.merge);
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.debug("Skipping malformed sketch field: {}", field);
+                }
+            });
+        }
+        peerBuckets = loaded;
+    }
+
+    private String field(long index) {
+        return name + ":" + (index * bucketMinutes);
+    }
+
+    private long parseIndex(String field) {
+        return Math.floorDiv(Long.parseLong(field.substring(field.lastIndexOf(':') + 1)), bucketMinutes);
+    }
+
+    private static final class Bucket<S> {
+        final S sketch;
+        long version;
+        long publishedVersion;
+
+        Bucket(S sketch) {
+            this.sketch = sketch;
+        }
+    }
+
+    /**
+     * 스케치 타입별 연산
+     *
+     * merge는 입력을 변경하지 않고 새 스케치를 반환해야 함
+     * fromBytes는 형식 오류 시 IllegalArgumentException을 던져야 함
+     */
+    static final class Ops<S> {
+        final Supplier<S> create;
+        final UnaryOperator<S> copy;
+        final BinaryOperator<S> merge;
+        final Function<S, byte[]> toBytes;
+        final Function<byte[], S> fromBytes;
+
+        Ops(Supplier<S> create, UnaryOperator<S> copy, BinaryOperator<S> merge,
+            Function<S, byte[]> toBytes, Function<byte[], S> fromBytes) {
+            this.create = create;
+            this.copy = copy;
+            this.merge = merge;
+            this.toBytes = toBytes;
+            this.fromBytes = fromBytes;
+        }
+    }
+}
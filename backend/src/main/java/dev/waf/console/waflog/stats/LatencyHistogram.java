@@ -0,0 +1,240 @@
+package dev.waf.console.waflog.stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 응답 시간 히스토그램 (HDR 방식 로그-선형 구간)
+ *
+ * 마이크로초 값을 2의 거듭제곱 구간마다 SUB_BUCKETS개의 등간격 하위 구간으로 나눠 셈
+ * - 32μs 미만은 1μs 단위로 정확하고, 그 이상은 상대 오차가 1/64(약 1.6%) 이내
+ * - 구간 배치가 고정이므로 같은 위치의 카운트를 더하면 병합되어 시간 구간 간, 노드 간 병합에 사용
+ * - 약 38시간(2^37μs) 이상은 가장 큰 구간에 포함
+ *
+ * 직렬화 시 0이 아닌 구간만 (인덱스 차이, 카운트) 가변 길이 정수로 기록하여 보통 수백 바이트 이하
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 함
+ */
+public final class LatencyHistogram {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 37;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    static final long MAX_TRACKABLE_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long sumMicros;
+    private long maxMicros;
+
+    /**
+     * 응답 시간 반영
+     *
+     * @param micros 응답 시간 (마이크로초, 음수는 0으로 처리)
+     * @param weight 가중치 (0 이하는 무시)
+     */
+    public void record(long micros, long weight) {
+        if (weight <= 0) {
+            return;
+        }
+        long value = Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS);
+        counts[indexOf(value)] += weight;
+        totalCount += weight;
+        sumMicros += value * weight;
+        maxMicros = Math.max(maxMicros, value);
+    }
+
+    /**
+     * 분위수 값 (마이크로초)
+     *
+     * 해당 순위가 속한 구간의 중앙값을 반환하며, 기록된 최댓값을 넘지 않음
+     *
+     * @param quantile 0 ~ 1 (예: 0.99)
+     * @return 비어 있으면 0
+     */
+    public long valueAtQuantile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(lowerBound(i) + (width(i) - 1) / 2, maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    /**
+     * 두 히스토그램을 병합한 새 히스토그램 (입력은 변경하지 않음)
+     */
+    public static LatencyHistogram merge(LatencyHistogram left, LatencyHistogram right) {
+        LatencyHistogram result = new LatencyHistogram();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            result.counts[i] = left.counts[i] + right.counts[i];
+        }
+        result.totalCount = left.totalCount + right.totalCount;
+        result.sumMicros = left.sumMicros + right.sumMicros;
+        result.maxMicros = Math.max(left.maxMicros, right.maxMicros);
+        return result;
+    }
+
+    /**
+     * 반영된 전체 가중치
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 평균 응답 시간 (마이크로초, 비어 있으면 0)
+     */
+    public double getMeanMicros() {
+        return totalCount > 0 ? (double) sumMicros / totalCount : 0.0;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKET_COUNT);
+        copy.totalCount = totalCount;
+        copy.sumMicros = sumMicros;
+        copy.maxMicros = maxMicros;
+        return copy;
+    }
+
+    /**
+     * 직렬화 (노드 간 교환용)
+     */
+    public byte[] toBytes() {
+        int filled = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                filled++;
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(32 + filled * 4);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(sumMicros);
+            out.writeLong(maxMicros);
+            writeVarLong(out, filled);
+            int previous = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    writeVarLong(out, i - previous);
+                    writeVarLong(out, counts[i]);
+                    previous = i;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 역직렬화
+     *
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static LatencyHistogram fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported histogram format version: " + version);
+            }
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.sumMicros = in.readLong();
+            histogram.maxMicros = in.readLong();
+            long filled = readVarLong(in);
+            if (filled > BUCKET_COUNT) {
+                throw new IllegalArgumentException("Invalid bucket count: " + filled);
+            }
+            long index = -1;
+            for (long i = 0; i < filled; i++) {
+                long delta = readVarLong(in);
+                if (delta <= 0 || delta > BUCKET_COUNT) {
+                    throw new IllegalArgumentException("Invalid bucket offset: " + delta);
+                }
+                index += delta;
+                long count = readVarLong(in);
+                if (index >= BUCKET_COUNT || count <= 0) {
+                    throw new IllegalArgumentException("Invalid bucket: " + index + "=" + count);
+                }
+                histogram.counts[(int) index] = count;
+                histogram.totalCount += count;
+            }
+            if (histogram.sumMicros < 0 || histogram.maxMicros < 0 || histogram.maxMicros > MAX_TRACKABLE_MICROS) {
+                throw new IllegalArgumentException("Invalid histogram totals");
+            }
+            return histogram;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed histogram", e);
+        }
+    }
+
+    /**
+     * 값이 속한 구간 인덱스
+     *
+     * 값 < SUB_BUCKETS: 값 그대로, 그 외: 최상위 비트 위치(지수)별 SUB_BUCKETS개 하위 구간 중 하나
+     */
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << shift;
+    }
+
+    private static long width(int index) {
+        return index < SUB_BUCKETS ? 1 : 1L << ((index - SUB_BUCKETS) / SUB_BUCKETS);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,308 @@
+package dev.waf.console.waflog.stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving 상위 빈도 항목(heavy hitters) 스케치
+ *
+ * capacity개의 카운터만 유지하며, 추적하지 않는 항목이 들어오면 가장 작은 카운터를 넘겨받음
+ * - 각 항목의 count는 실제 빈도의 상한이고, count - error는 하한
+ * - 목록에 없는 항목의 실제 빈도는 getMaxError() 이하 (전체 가중치 / capacity 이하)
+ * - 카운터는 최소 힙으로 관리하여 갱신/교체가 O(log capacity)
+ *
+ * 두 스케치의 병합 결과도 같은 상한/하한 보장을 유지하므로 시간 구간 간, 노드 간 병합에 사용
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 함
+ */
+public final class SpaceSavingSketch {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    private final int capacity;
+    private final String[] items;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> positions;
+
+    private int size;
+    private long total;
+
+    /**
+     * 추적하지 않는 항목의 빈도 상한 (병합으로 생긴 스케치가 가득 차지 않았을 때 사용)
+     */
+    private long floor;
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new String[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * 항목 빈도 반영
+     *
+     * @param weight 가중치 (0 이하는 무시)
+     */
+    public void offer(String item, long weight) {
+        if (item == null || weight <= 0) {
+            return;
+        }
+        total += weight;
+
+        Integer position = positions.get(item);
+        if (position != null) {
+            counts[position] += weight;
+            siftDown(position);
+            return;
+        }
+
+        if (size < capacity) {
+            set(size, item, floor + weight, floor);
+            siftUp(size++);
+            return;
+        }
+
+        long minCount = counts[0];
+        positions.remove(items[0]);
+        set(0, item, minCount + weight, minCount);
+        siftDown(0);
+    }
+
+    /**
+     * 두 스케치를 병합한 새 스케치 (입력은 변경하지 않음)
+     *
+     * 한쪽에만 있는 항목은 다른 쪽의 미추적 항목 상한을 더해 상한을 유지하고,
+     * 병합 후 카운터가 많은 순으로 capacity개를 남김
+     */
+    public static SpaceSavingSketch merge(SpaceSavingSketch left, SpaceSavingSketch right) {
+        long leftBound = left.getMaxError();
+        long rightBound = right.getMaxError();
+        Map<String, long[]> merged = new HashMap<>((left.size + right.size) * 2);
+
+        for (int i = 0; i < left.size; i++) {
+            Integer other = right.positions.get(left.items[i]);
+            merged.put(left.items[i], other != null
+                ? new long[] {left.counts[i] + right.counts[other], left.errors[i] + right.errors[other]}
+                : new long[] {left.counts[i] + rightBound, left.errors[i] + rightBound});
+        }
+        for (int i = 0; i < right.size; i++) {
+            if (!left.positions.containsKey(right.items[i])) {
+                merged.put(right.items[i],
+                    new long[] {right.counts[i] + leftBound, right.errors[i] + leftBound});
+            }
+        }
+
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed());
+
+        SpaceSavingSketch result = new SpaceSavingSketch(Math.max(left.capacity, right.capacity));
+        result.total = left.total + right.total;
+        result.floor = leftBound + rightBound;
+        int kept = Math.min(entries.size(), result.capacity);
+        for (int i = 0; i < kept; i++) {
+            Map.Entry<String, long[]> entry = entries.get(i);
+            result.set(result.size, entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            result.siftUp(result.size++);
+        }
+        return result;
+    }
+
+    /**
+     * 빈도 상한이 큰 순서로 최대 limit개 항목
+     */
+    public List<HeavyHitter> top(int limit) {
+        List<HeavyHitter> hitters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hitters.add(new HeavyHitter(items[i], counts[i], errors[i]));
+        }
+        hitters.sort(Comparator.comparingLong(HeavyHitter::getCount).reversed()
+            .thenComparing(HeavyHitter::getValue));
+        return hitters.size() > limit ? new ArrayList<>(hitters.subList(0, limit)) : hitters;
+    }
+
+    /**
+     * 목록에 없는 항목의 빈도 상한
+     */
+    public long getMaxError() {
+        return size == capacity ? Math.max(counts[0], floor) : floor;
+    }
+
+    /**
+     * 반영된 전체 가중치
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isEmpty() {
+        return total == 0 && size == 0;
+    }
+
+    public SpaceSavingSketch copy() {
+        SpaceSavingSketch copy = new SpaceSavingSketch(capacity);
+        System.arraycopy(items, 0, copy.items, 0, size);
+        System.arraycopy(counts, 0, copy.counts, 0, size);
+        System.arraycopy(errors, 0, copy.errors, 0, size);
+        copy.positions.putAll(positions);
+        copy.size = size;
+        copy.total = total;
+        copy.floor = floor;
+        return copy;
+    }
+
+    /**
+     * 직렬화 (노드 간 교환용)
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 + size * 32);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(capacity);
+            out.writeLong(total);
+            out.writeLong(floor);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                byte[] item = items[i].getBytes(StandardCharsets.UTF_8);
+                out.writeInt(item.length);
+                out.write(item);
+                out.writeLong(counts[i]);
+                out.writeLong(errors[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 역직렬화
+     *
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static SpaceSavingSketch fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format version: " + version);
+            }
+            int capacity = in.readInt();
+            if (capacity <= 0 || capacity > MAX_CAPACITY) {
+                throw new IllegalArgumentException("Invalid sketch capacity: " + capacity);
+            }
+            SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+            sketch.total = in.readLong();
+            sketch.floor = in.readLong();
+            int size = in.readInt();
+            if (size < 0 || size > sketch.capacity) {
+                throw new IllegalArgumentException("Invalid sketch size: " + size);
+            }
+            for (int i = 0; i < size; i++) {
+                byte[] item = new byte[in.readInt()];
+                in.readFully(item);
+                sketch.set(sketch.size, new String(item, StandardCharsets.UTF_8), in.readLong(), in.readLong());
+                sketch.siftUp(sketch.size++);
+            }
+            return sketch;
+        } catch (IOException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Malformed sketch", e);
+        }
+    }
+
+    private void set(int index, String item, long count, long error) {
+        items[index] = item;
+        counts[index] = count;
+        errors[index] = error;
+        positions.put(item, index);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+            if (counts[index] <= counts[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        String item = items[a];
+        long count = counts[a];
+        long error = errors[a];
+        items[a] = items[b];
+        counts[a] = counts[b];
+        errors[a] = errors[b];
+        items[b] = item;
+        counts[b] = count;
+        errors[b] = error;
+        positions.put(items[a], a);
+        positions.put(items[b], b);
+    }
+
+    /**
+     * 상위 빈도 항목
+     */
+    @lombok.Getter
+    @lombok.ToString
+    @lombok.EqualsAndHashCode
+    @lombok.AllArgsConstructor
+    public static class HeavyHitter {
+        /**
+         * 항목 값 (IP, URI, 룰 ID 등)
+         */
+        private final String value;
+
+        /**
+         * 빈도 상한
+         */
+        private final long count;
+
+        /**
+         * 최대 과대 추정치 (실제 빈도는 count - maxError 이상)
+         */
+        private final long maxError;
+
+        /**
+         * 보장되는 최소 빈도
+         */
+        public long getGuaranteedCount() {
+            return count - maxError;
+        }
+    }
+}
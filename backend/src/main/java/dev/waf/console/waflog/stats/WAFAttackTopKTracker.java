@@ -0,0 +1,126 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.event.AttackDetectedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공격 상위 항목(IP, 대상 URI, 룰 ID) 추적기
+ *
+ * 원본 로그를 GROUP BY 하지 않고, 공격 탐지 이벤트를 소비하면서 구간별 Space-Saving 스케치를 갱신함
+ * - 항목 종류마다 bucket-minutes 단위 구간 링을 두고, 조회 시 기간 내 구간 스케치를 병합
+ * - 메모리는 (구간 수 × capacity)로 고정되며, 결과마다 과대 추정 상한(maxError)을 함께 제공
+ * - 구간 링은 WAFLogSketchExchange로 다른 노드와 교환되어 조회 시 함께 병합되므로,
+ *   Kafka 파티션이 여러 노드에 나뉘어도 전체 스트림 기준 상위 항목이 됨
+ *
+ * 구간 크기와 capacity는 모든 노드가 같게 설정해야 함
+ */
+@Slf4j
+@Component
+public class WAFAttackTopKTracker {
+
+    static final String EXCHANGE_KIND = "topk";
+    static final int WINDOW_MINUTES = 24 * 60;
+
+    /**
+     * 항목 값 최대 길이 (긴 URI가 메모리를 차지하지 않도록 절삭)
+     */
+    private static final int MAX_VALUE_LENGTH = 512;
+
+    /**
+     * 추적 항목 종류
+     */
+    public enum Dimension {
+        SOURCE_IP,
+        TARGET_URI,
+        RULE_ID
+    }
+
+    private final Map<Dimension, ExchangedSketchRing<SpaceSavingSketch>> rings = new EnumMap<>(Dimension.class);
+
+    public WAFAttackTopKTracker(WAFLogSketchExchange sketchExchange,
+                                @Value("${app.waf-log.stats.top-k.capacity:256}") int capacity,
+                                @Value("${app.waf-log.stats.top-k.bucket-minutes:10}") long bucketMinutes) {
+        int windowBuckets = (int) ((WINDOW_MINUTES + bucketMinutes - 1) / bucketMinutes);
+        ExchangedSketchRing.Ops<SpaceSavingSketch> ops = new ExchangedSketchRing.Ops<>(
+            () -> new SpaceSavingSketch(capacity),
+            SpaceSavingSketch::copy,
+            SpaceSavingSketch::merge,
+            SpaceSavingSketch::toBytes,
+            SpaceSavingSketch::fromBytes);
+        for (Dimension dimension : Dimension.values()) {
+            rings.put(dimension, new ExchangedSketchRing<>(dimension.name(), bucketMinutes, windowBuckets, ops));
+        }
+        sketchExchange.register(EXCHANGE_KIND, new ArrayList<>(rings.values()));
+
+        log.info("WAF attack top-K tracker started: capacity={}, bucket={}m", capacity, bucketMinutes);
+    }
+
+    /**
+     * 공격 탐지 이벤트 반영
+     */
+    public void record(AttackDetectedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+
+        offer(Dimension.SOURCE_IP, timestamp, now, event.getSourceIp());
+        offer(Dimension.TARGET_URI, timestamp, now, event.getTargetUrl());
+        offer(Dimension.RULE_ID, timestamp, now, event.getRuleId());
+    }
+
+    /**
+     * 최근 minutes분(구간 단위로 올림) 동안의 상위 항목
+     *
+     * @param dimension 항목 종류
+     * @param minutes 조회 기간 (최대 24시간)
+     * @param limit 최대 항목 수
+     */
+    public TopK top(Dimension dimension, int minutes, int limit) {
+        ExchangedSketchRing<SpaceSavingSketch> ring = rings.get(dimension);
+        long currentIndex = ring.indexOf(LocalDateTime.now());
+        SpaceSavingSketch merged = ring.merged(currentIndex - ring.spanOf(minutes) + 1, currentIndex);
+
+        return TopK.builder()
+            .entries(merged.top(limit))
+            .total(merged.getTotal())
+            .maxError(merged.getMaxError())
+            .build();
+    }
+
+    private void offer(Dimension dimension, LocalDateTime timestamp, LocalDateTime now, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String item = value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value;
+        rings.get(dimension).update(timestamp, now, sketch -> sketch.offer(item, 1));
+    }
+
+    /**
+     * 상위 항목 조회 결과
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class TopK {
+        /**
+         * 빈도 상한 순 상위 항목
+         */
+        private List<SpaceSavingSketch.HeavyHitter> entries;
+
+        /**
+         * 기간 내 전체 공격 이벤트 수
+         */
+        private long total;
+
+        /**
+         * 목록에 없는 항목의 빈도 상한
+         */
+        private long maxError;
+    }
+}
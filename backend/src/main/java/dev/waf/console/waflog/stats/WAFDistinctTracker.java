@@ -0,0 +1,136 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.waflog.domain.WAFLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고유 클라이언트 IP, 고유 공격 IP, 고유 세션 수 추적기
+ *
+ * COUNT(DISTINCT source_ip) 없이, 접근 로그/공격 탐지 이벤트를 소비하면서 구간별 HyperLogLog 스케치를 갱신함
+ * - Kafka 접근 로그는 부하 시 WAFLogSampler가 SUCCESS 로그를 줄인 뒤의 스트림이라 고유 수가 과소 집계되므로,
+ *   이 노드가 수집한 로그는 링 버퍼 메트릭 핸들러(WAFLogMetricsHandler)에서 샘플링 전에 전수 반영
+ *   (같은 값을 두 번 넣어도 HyperLogLog 추정치는 변하지 않으므로 두 경로를 함께 사용해도 중복 집계되지 않음)
+ * - 항목마다 분 단위 구간 링(최근 1시간)과 시 단위 구간 링(최근 7일)을 두고, 조회 시 기간 내 구간을 병합
+ * - 적은 요청을 여러 IP로 나눠 보내는 분산 공격은 요청 수보다 고유 IP 수에서 드러남
+ * - 구간 링은 WAFLogSketchExchange로 다른 노드와 교환되어 전체 스트림 기준 고유 수가 됨
+ *
+ * 차단된 요청은 공격 탐지 이벤트로만 발행되므로 공격 IP는 고유 클라이언트 IP에도 반영
+ * precision은 모든 노드가 같게 설정해야 함
+ */
+@Slf4j
+@Component
+public class WAFDistinctTracker {
+
+    static final String EXCHANGE_KIND = "hll";
+    static final int MINUTE_BUCKETS = 60;
+    static final int HOUR_BUCKETS = 7 * 24 + 1;
+
+    /**
+     * 고유 수 항목
+     */
+    public enum Metric {
+        CLIENT_IP,
+        ATTACKER_IP,
+        SESSION_ID
+    }
+
+    private final Map<Metric, ExchangedSketchRing<HyperLogLog>> minuteRings = new EnumMap<>(Metric.class);
+    private final Map<Metric, ExchangedSketchRing<HyperLogLog>> hourRings = new EnumMap<>(Metric.class);
+
+    public WAFDistinctTracker(WAFLogSketchExchange sketchExchange,
+                              @Value("${app.waf-log.stats.distinct.precision:12}") int precision) {
+        new HyperLogLog(precision); // 잘못된 설정은 기동 시 실패
+        ExchangedSketchRing.Ops<HyperLogLog> ops = new ExchangedSketchRing.Ops<>(
+            () -> new HyperLogLog(precision),
+            HyperLogLog::copy,
+            HyperLogLog::merge,
+            HyperLogLog::toBytes,
+            HyperLogLog::fromBytes);
+
+        List<ExchangedSketchRing<?>> rings = new ArrayList<>();
+        for (Metric metric : Metric.values()) {
+            ExchangedSketchRing<HyperLogLog> minuteRing =
+                new ExchangedSketchRing<>(metric.name() + "/MINUTE", 1, MINUTE_BUCKETS, ops);
+            ExchangedSketchRing<HyperLogLog> hourRing =
+                new ExchangedSketchRing<>(metric.name() + "/HOUR", 60, HOUR_BUCKETS, ops);
+            minuteRings.put(metric, minuteRing);
+            hourRings.put(metric, hourRing);
+            rings.add(minuteRing);
+            rings.add(hourRing);
+        }
+        sketchExchange.register(EXCHANGE_KIND, rings);
+
+        log.info("WAF distinct tracker started: precision={}, registers={}", precision, 1 << precision);
+    }
+
+    /**
+     * 접근 로그 이벤트 반영 (클라이언트 IP, 세션)
+     */
+    public void record(AccessLogEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+        add(Metric.CLIENT_IP, timestamp, now, event.getClientIp());
+        add(Metric.SESSION_ID, timestamp, now, event.getSessionId());
+    }
+
+    /**
+     * 링 버퍼에 발행된 로그 반영 (샘플링 전, 클라이언트 IP/세션, 차단된 요청이면 공격 IP)
+     */
+    public void record(WAFLog wafLog) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime timestamp = wafLog.getTimestamp() != null ? wafLog.getTimestamp() : now;
+        add(Metric.CLIENT_IP, timestamp, now, wafLog.getSourceIp());
+        add(Metric.SESSION_ID, timestamp, now, wafLog.getSessionId());
+        if (wafLog.isBlocked()) {
+            add(Metric.ATTACKER_IP, timestamp, now, wafLog.getSourceIp());
+        }
+    }
+
+    /**
+     * 공격 탐지 이벤트 반영 (공격 IP, 클라이언트 IP)
+     */
+    public void record(AttackDetectedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : now;
+        add(Metric.ATTACKER_IP, timestamp, now, event.getSourceIp());
+        add(Metric.CLIENT_IP, timestamp, now, event.getSourceIp());
+    }
+
+    /**
+     * 최근 minutes분 동안의 고유 수
+     *
+     * 1시간 이하는 분 구간, 그보다 길면 시 구간(시 단위로 올림, 최대 7일)으로 계산
+     */
+    public long distinct(Metric metric, int minutes) {
+        ExchangedSketchRing<HyperLogLog> ring = minutes <= MINUTE_BUCKETS ? minuteRings.get(metric) : hourRings.get(metric);
+        long currentIndex = ring.indexOf(LocalDateTime.now());
+        return ring.merged(currentIndex - ring.spanOf(minutes) + 1, currentIndex).estimate();
+    }
+
+    /**
+     * hour가 속한 1시간 구간의 고유 수 (최근 7일 이전이면 0)
+     */
+    public long hourly(Metric metric, LocalDateTime hour) {
+        ExchangedSketchRing<HyperLogLog> ring = hourRings.get(metric);
+        long index = ring.indexOf(hour);
+        return ring.merged(index, index).estimate();
+    }
+
+    private void add(Metric metric, LocalDateTime timestamp, LocalDateTime now, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        minuteRings.get(metric).update(timestamp, now, sketch -> sketch.add(value));
+        hourRings.get(metric).update(timestamp, now, sketch -> sketch.add(value));
+    }
+}
@@ -0,0 +1,135 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 응답 시간 분위수(p50/p90/p99/p999) 추적기
+ *
+ * 평균만으로는 보이지 않는 꼬리 지연을 원본 로그 조회 없이 제공하기 위해,
+ * 저장 경로에서 커밋된 로그의 응답 시간을 구간별 LatencyHistogram에 반영함
+ * - 분 단위 구간 링(최근 1시간)과 시 단위 구간 링(최근 7일)을 두고, 조회 시 기간 내 구간을 병합
+ * - 수집 시 측정한 마이크로초 값을 우선 사용하여 1ms 미만 응답도 구분 (없으면 밀리초 값)
+ * - 샘플링된 로그는 샘플 가중치만큼 반영
+ * - 구간 링은 WAFLogSketchExchange로 다른 노드와 교환되어, 로그를 나눠 저장하는 배포에서도 전체 기준 분위수가 됨
+ */
+@Slf4j
+@Component
+public class WAFLatencyTracker {
+
+    static final String EXCHANGE_KIND = "latency";
+    static final int MINUTE_BUCKETS = 60;
+    static final int HOUR_BUCKETS = 7 * 24 + 1;
+
+    private final ExchangedSketchRing<LatencyHistogram> minuteRing;
+    private final ExchangedSketchRing<LatencyHistogram> hourRing;
+
+    public WAFLatencyTracker(WAFLogSketchExchange sketchExchange) {
+        ExchangedSketchRing.Ops<LatencyHistogram> ops = new ExchangedSketchRing.Ops<>(
+            LatencyHistogram::new,
+            LatencyHistogram::copy,
+            LatencyHistogram::merge,
+            LatencyHistogram::toBytes,
+            LatencyHistogram::fromBytes);
+        this.minuteRing = new ExchangedSketchRing<>("MINUTE", 1, MINUTE_BUCKETS, ops);
+        this.hourRing = new ExchangedSketchRing<>("HOUR", 60, HOUR_BUCKETS, ops);
+        sketchExchange.register(EXCHANGE_KIND, List.of(minuteRing, hourRing));
+
+        log.info("WAF latency tracker started: buckets={}, maxTrackable={}us",
+            LatencyHistogram.BUCKET_COUNT, LatencyHistogram.MAX_TRACKABLE_MICROS);
+    }
+
+    /**
+     * 저장된 로그를 현재 트랜잭션 커밋 후 반영 (트랜잭션 밖이면 즉시 반영)
+     *
+     * @param logs 저장된 로그 목록
+     */
+    public void recordAfterCommit(List<WAFLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(logs);
+                }
+            });
+        } else {
+            record(logs);
+        }
+    }
+
+    /**
+     * 최근 minutes분 동안의 분위수
+     *
+     * 1시간 이하는 분 구간, 그보다 길면 시 구간(시 단위로 올림, 최대 7일)으로 계산
+     */
+    public LatencyPercentiles percentiles(int minutes) {
+        ExchangedSketchRing<LatencyHistogram> ring = minutes <= MINUTE_BUCKETS ? minuteRing : hourRing;
+        long currentIndex = ring.indexOf(LocalDateTime.now());
+        return LatencyPercentiles.of(ring.merged(currentIndex - ring.spanOf(minutes) + 1, currentIndex));
+    }
+
+    /**
+     * hour가 속한 1시간 구간의 분위수 (최근 7일 이전이면 빈 결과)
+     */
+    public LatencyPercentiles hourly(LocalDateTime hour) {
+        long index = hourRing.indexOf(hour);
+        return LatencyPercentiles.of(hourRing.merged(index, index));
+    }
+
+    private void record(List<WAFLog> logs) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WAFLog wafLog : logs) {
+            Long micros = wafLog.getResponseTimeUs() != null ? wafLog.getResponseTimeUs()
+                : wafLog.getResponseTimeMs() != null ? wafLog.getResponseTimeMs() * 1000 : null;
+            if (micros == null || wafLog.getTimestamp() == null) {
+                continue;
+            }
+            long weight = wafLog.getSampleWeight() != null ? wafLog.getSampleWeight() : 1;
+            minuteRing.update(wafLog.getTimestamp(), now, histogram -> histogram.record(micros, weight));
+            hourRing.update(wafLog.getTimestamp(), now, histogram -> histogram.record(micros, weight));
+        }
+    }
+
+    /**
+     * 응답 시간 분위수 (밀리초)
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class LatencyPercentiles {
+        /**
+         * 반영된 요청 수 (샘플 가중치 포함)
+         */
+        private long count;
+
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double p999Ms;
+
+        /**
+         * 기록된 최대 응답 시간
+         */
+        private double maxMs;
+
+        static LatencyPercentiles of(LatencyHistogram histogram) {
+            return LatencyPercentiles.builder()
+                .count(histogram.getTotalCount())
+                .p50Ms(histogram.valueAtQuantile(0.50) / 1000.0)
+                .p90Ms(histogram.valueAtQuantile(0.90) / 1000.0)
+                .p99Ms(histogram.valueAtQuantile(0.99) / 1000.0)
+                .p999Ms(histogram.valueAtQuantile(0.999) / 1000.0)
+                .maxMs(histogram.getMaxMicros() / 1000.0)
+                .build();
+        }
+    }
+}
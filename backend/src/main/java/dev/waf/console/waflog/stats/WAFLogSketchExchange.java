@@ -0,0 +1,221 @@
+package dev.waf.console.waflog.stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 콘솔 노드 간 통계 스케치 교환 (Redis)
+ *
+ * Kafka 소비 파티션이 노드마다 나뉘므로 각 노드의 스케치는 전체 스트림의 일부만 반영함
+ * 노드별로 자신의 구간 스케치를 Redis 해시에 게시하고, 조회 시 다른 노드의 스케치를 병합하여 전체 통계를 구성
+ * - 키: waf:stats:sketch:{종류}:{노드 ID}, 필드: 구간 식별자, 값: Base64 직렬화 스케치
+ * - 노드 목록은 마지막 게시 시각을 점수로 하는 정렬 집합에 유지하고, ttl 동안 게시가 없는 노드는 제외
+ *
+ * 교환 주기(interval-seconds)마다 등록된 구간 링의 변경분을 게시하고 다른 노드의 구간을 받아 링에 반영하며,
+ * Redis 장애 시에는 각 링이 로컬 구간만으로 조회되고 다음 주기에 다시 시도
+ *
+ * 노드 ID는 프로세스마다 새로 생성되므로, 재시작 전 자신이 게시한 스케치도 다른 노드의 것으로 읽혀
+ * 재시작 후에도 이전 구간 통계가 유지됨
+ */
+@Slf4j
+@Component
+public class WAFLogSketchExchange {
+
+    private static final String KEY_PREFIX = "waf:stats:sketch:";
+    private static final String NODES_KEY = KEY_PREFIX + "nodes";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long intervalSeconds;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 스케치 종류 → 교환 대상 구간 링
+     */
+    private final Map<String, List<ExchangedSketchRing<?>>> registrations = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public WAFLogSketchExchange(RedisTemplate<String, Object> redisTemplate,
+                                @Value("${app.waf-log.stats.exchange.enabled:true}") boolean enabled,
+                                @Value("${app.waf-log.stats.exchange.ttl-hours:25}") long ttlHours,
+                                @Value("${app.waf-log.stats.exchange.interval-seconds:30}") long intervalSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("WAF log sketch exchange disabled - statistics sketches cover this node's partitions only");
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "waf-log-sketch-exchange");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::exchangeAll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+
+        log.info("WAF log sketch exchange started: interval={}s, ttl={}, node={}", intervalSeconds, ttl, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            if (scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                // 종료 전 마지막 구간을 게시하여 재시작 후에도 다른 노드의 것으로 읽히도록 함
+                exchangeAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 교환할 구간 링 등록 (등록 직후 한 번 교환하여 다른 노드의 구간을 바로 받음)
+     *
+     * @param kind 스케치 종류 (종류마다 Redis 키가 분리되며, 링 이름은 종류 안에서 고유해야 함)
+     */
+    void register(String kind, List<ExchangedSketchRing<?>> rings) {
+        registrations.put(kind, List.copyOf(rings));
+        if (scheduler != null) {
+            scheduler.execute(() -> exchange(kind));
+        }
+    }
+
+    private void exchangeAll() {
+        registrations.keySet().forEach(this::exchange);
+    }
+
+    /**
+     * 한 종류의 변경 구간 게시 및 다른 노드의 구간 수신
+     */
+    private void exchange(String kind) {
+        List<ExchangedSketchRing<?>> rings = registrations.getOrDefault(kind, List.of());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, byte[]> fields = new HashMap<>();
+            List<String> expiredFields = new ArrayList<>();
+            List<Runnable> onPublished = new ArrayList<>(rings.size());
+            for (ExchangedSketchRing<?> ring : rings) {
+                onPublished.add(ring.collectChanged(now, fields, expiredFields));
+            }
+
+            publish(kind, fields, expiredFields);
+            onPublished.forEach(Runnable::run);
+
+            List<Map<String, byte[]>> peers = readPeers(kind);
+            for (ExchangedSketchRing<?> ring : rings) {
+                ring.acceptPeers(peers, now);
+            }
+        } catch (Exception e) {
+            log.warn("WAF log sketch exchange failed for {} - using local buckets until next exchange", kind, e);
+        }
+    }
+
+    /**
+     * 자신의 구간 스케치 게시 (같은 필드는 덮어씀)
+     *
+     * @param kind 스케치 종류 (예: topk)
+     * @param fields 구간 식별자 → 직렬화 스케치
+     * @param expiredFields 더 이상 필요 없는 구간 식별자
+     */
+    public void publish(String kind, Map<String, byte[]> fields, Collection<String> expiredFields) {
+        if (!enabled || (fields.isEmpty() && expiredFields.isEmpty())) {
+            return;
+        }
+
+        String key = nodeKey(kind, nodeId);
+        if (!fields.isEmpty()) {
+            Map<String, Object> encoded = new HashMap<>(fields.size() * 2);
+            fields.forEach((field, bytes) -> encoded.put(field, Base64.getEncoder().encodeToString(bytes)));
+            redisTemplate.opsForHash().putAll(key, encoded);
+        }
+        if (!expiredFields.isEmpty()) {
+            redisTemplate.opsForHash().delete(key, expiredFields.toArray());
+        }
+        redisTemplate.expire(key, ttl);
+
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - ttl.toMillis());
+    }
+
+    /**
+     * 다른 노드가 게시한 스케치
+     *
+     * @param kind 스케치 종류
+     * @return 노드별 [구간 식별자 → 직렬화 스케치] 목록
+     */
+    public List<Map<String, byte[]>> readPeers(String kind) {
+        if (!enabled) {
+            return List.of();
+        }
+
+        Set<Object> nodes = redisTemplate.opsForZSet()
+            .rangeByScore(NODES_KEY, System.currentTimeMillis() - ttl.toMillis(), Double.MAX_VALUE);
+        if (nodes == null) {
+            return List.of();
+        }
+
+        List<Map<String, byte[]>> peers = new ArrayList<>();
+        for (Object node : nodes) {
+            if (nodeId.equals(node)) {
+                continue;
+            }
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(nodeKey(kind, node.toString()));
+            Map<String, byte[]> decoded = new HashMap<>(entries.size() * 2);
+            entries.forEach((field, value) -> {
+                try {
+                    decoded.put(field.toString(), Base64.getDecoder().decode(value.toString()));
+                } catch (IllegalArgumentException e) {
+                    log.debug("Skipping malformed sketch field {} from node {}", field, node);
+                }
+            });
+            if (!decoded.isEmpty()) {
+                peers.add(decoded);
+            }
+        }
+        return peers;
+    }
+
+    private static String nodeKey(String kind, String node) {
+        return KEY_PREFIX + kind + ":" + node;
+    }
+}
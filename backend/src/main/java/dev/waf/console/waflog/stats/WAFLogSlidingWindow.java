@@ -0,0 +1,163 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.waflog.domain.WAFLog;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 분 단위 구간 링으로 구성된 슬라이딩 윈도우 집계
+ *
+ * 최근 capacity분 동안의 상태별 요청 수, 공격 유형별 차단 수, 응답 시간 합/건수를 메모리에 유지
+ * - 분 구간은 BucketRing에 보관되며, 슬롯에 이전 분의 구간이 남아 있으면 새 구간으로 교체됨
+ * - 카운터는 LongAdder이므로 여러 기록 스레드가 같은 구간을 갱신해도 경합이 셀 단위로 분산됨
+ * - 조회는 최근 N개 구간을 합산할 뿐이므로 DB 조회 없이 마이크로초 단위로 응답함
+ *
+ * 샘플 가중치(sample_weight)는 롤업과 같은 방식으로 반영
+ */
+public final class WAFLogSlidingWindow {
+
+    private static final WAFLog.LogStatus[] STATUSES = WAFLog.LogStatus.values();
+
+    private final BucketRing<Bucket> buckets;
+
+    /**
+     * @param capacity 유지할 분 구간 수
+     */
+    public WAFLogSlidingWindow(int capacity) {
+        this.buckets = new BucketRing<>(capacity);
+    }
+
+    /**
+     * 저장된 로그 한 건을 발생 시각의 분 구간에 반영
+     *
+     * @param now 현재 시각 (창 범위 판단 기준)
+     */
+    public void record(WAFLog wafLog, LocalDateTime now) {
+        if (wafLog.getTimestamp() == null || wafLog.getStatus() == null) {
+            return;
+        }
+        long weight = wafLog.getSampleWeight() != null ? wafLog.getSampleWeight() : 1;
+        Long responseTimeMs = wafLog.getResponseTimeMs();
+        add(wafLog.getTimestamp(), wafLog.getStatus(), wafLog.getAttackType(), weight,
+            responseTimeMs != null ? responseTimeMs * weight : 0,
+            responseTimeMs != null ? weight : 0,
+            now);
+    }
+
+    /**
+     * 이미 집계된 값을 분 구간에 더함 (롤업에서 창을 다시 채울 때 사용)
+     *
+     * 창보다 오래된 구간은 버리고, 현재보다 미래인 구간(시계 차이)은 현재 구간에 더함
+     *
+     * @param attackType 공격 유형 (없으면 null 또는 빈 문자열, 차단 요청만 유형별로 집계)
+     */
+    public void add(LocalDateTime bucketStart, WAFLog.LogStatus status, String attackType,
+                    long requestCount, long latencySumMs, long latencyCount, LocalDateTime now) {
+        long currentMinute = minuteOf(now);
+        long minute = Math.min(minuteOf(bucketStart), currentMinute);
+        if (minute <= currentMinute - buckets.capacity()) {
+            return;
+        }
+
+        Bucket bucket = buckets.getOrCreate(minute, index -> new Bucket());
+        if (bucket == null) {
+            return;
+        }
+
+        bucket.statusCounts[status.ordinal()].add(requestCount);
+        if (status == WAFLog.LogStatus.BLOCKED) {
+            String key = attackType == null || attackType.isEmpty() ? "UNKNOWN" : attackType;
+            bucket.blockedByAttackType.computeIfAbsent(key, k -> new LongAdder()).add(requestCount);
+        }
+        if (latencyCount > 0) {
+            bucket.latencySumMs.add(latencySumMs);
+            bucket.latencyCount.add(latencyCount);
+        }
+    }
+
+    /**
+     * 현재 분을 포함한 최근 minutes개 구간의 합계
+     *
+     * @param now 현재 시각
+     * @param minutes 합산할 구간 수 (capacity 이하로 제한)
+     */
+    public Totals totals(LocalDateTime now, int minutes) {
+        long currentMinute = minuteOf(now);
+        int span = Math.max(1, Math.min(minutes, buckets.capacity()));
+
+        long[] statusCounts = new long[STATUSES.length];
+        Map<String, Long> blockedByAttackType = new HashMap<>();
+        long latencySumMs = 0;
+        long latencyCount = 0;
+
+        for (long minute = currentMinute - span + 1; minute <= currentMinute; minute++) {
+            Bucket bucket = buckets.get(minute);
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < STATUSES.length; i++) {
+                statusCounts[i] += bucket.statusCounts[i].sum();
+            }
+            bucket.blockedByAttackType.forEach((attackType, count) ->
+                blockedByAttackType.merge(attackType, count.sum(), Long::sum));
+            latencySumMs += bucket.latencySumMs.sum();
+            latencyCount += bucket.latencyCount.sum();
+        }
+
+        Map<WAFLog.LogStatus, Long> counts = new EnumMap<>(WAFLog.LogStatus.class);
+        for (WAFLog.LogStatus status : STATUSES) {
+            counts.put(status, statusCounts[status.ordinal()]);
+        }
+
+        return Totals.builder()
+            .statusCounts(counts)
+            .blockedByAttackType(blockedByAttackType)
+            .latencySumMs(latencySumMs)
+            .latencyCount(latencyCount)
+            .build();
+    }
+
+    private static long minuteOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static final class Bucket {
+        final LongAdder[] statusCounts = new LongAdder[STATUSES.length];
+        final Map<String, LongAdder> blockedByAttackType = new ConcurrentHashMap<>();
+        final LongAdder latencySumMs = new LongAdder();
+        final LongAdder latencyCount = new LongAdder();
+
+        Bucket() {
+            for (int i = 0; i < statusCounts.length; i++) {
+                statusCounts[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * 창 합계 데이터 클래스
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class Totals {
+        private Map<WAFLog.LogStatus, Long> statusCounts;
+        private Map<String, Long> blockedByAttackType;
+        private long latencySumMs;
+        private long latencyCount;
+
+        /**
+         * 샘플 가중 평균 응답 시간
+         *
+         * @return 응답 시간이 기록된 로그가 없으면 null
+         */
+        public Double getAverageResponseTimeMs() {
+            return latencyCount > 0 ? (double) latencySumMs / latencyCount : null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.rollup.WAFLogMinuteRollup;
+import dev.waf.console.waflog.rollup.WAFLogRollupService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 최근 24시간 WAF 로그 통계 창
+ *
+ * 저장 경로에서 커밋된 로그를 WAFLogSlidingWindow에 반영하여
+ * 대시보드 통계(상태별 건수, 공격 유형별 차단 수, 최근 1시간 평균 응답 시간)를 DB 조회 없이 제공
+ * - 기동 시 분 단위 롤업으로 창을 다시 채우므로 재시작해도 통계가 0으로 돌아가지 않음
+ * - 롤백된 트랜잭션의 로그가 섞이지 않도록 커밋 이후에만 반영
+ * - 재구성에 실패하거나 비활성화된 경우 isReady()가 false이며, 호출자는 롤업 조회로 대체
+ *
+ * 창은 인스턴스마다 자신이 저장한 로그만 반영하므로, 여러 인스턴스가 로그를 나눠 저장하는 배포에서는
+ * app.waf-log.stats.window.enabled=false로 롤업 조회를 사용
+ */
+@Slf4j
+@Component
+public class WAFLogStatisticsWindow {
+
+    static final int WINDOW_MINUTES = 24 * 60;
+
+    private final WAFLogRollupService wafLogRollupService;
+    private final boolean enabled;
+    private final WAFLogSlidingWindow window = new WAFLogSlidingWindow(WINDOW_MINUTES);
+
+    private volatile boolean ready;
+
+    public WAFLogStatisticsWindow(WAFLogRollupService wafLogRollupService,
+                                  @Value("${app.waf-log.stats.window.enabled:true}") boolean enabled) {
+        this.wafLogRollupService = wafLogRollupService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 분 단위 롤업으로 창을 채움
+     *
+     * WAFLogService가 이 빈에 의존하므로 로그 저장이 시작되기 전에 완료됨
+     */
+    @PostConstruct
+    public void rebuild() {
+        if (!enabled) {
+            log.info("WAF log statistics window disabled - statistics will be read from rollups");
+            return;
+        }
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<WAFLogMinuteRollup> rollups = wafLogRollupService.minuteRollupsSince(now.minusMinutes(WINDOW_MINUTES));
+            for (WAFLogMinuteRollup rollup : rollups) {
+                window.add(rollup.getId().getBucketStart(),
+                    WAFLog.LogStatus.valueOf(rollup.getId().getStatus()),
+                    rollup.getId().getAttackType(),
+                    rollup.getRequestCount(), rollup.getLatencySumMs(), rollup.getLatencyCount(), now);
+            }
+            ready = true;
+            log.info("WAF log statistics window rebuilt from {} minute rollup rows", rollups.size());
+        } catch (Exception e) {
+            log.warn("Failed to rebuild WAF log statistics window - statistics will be read from rollups", e);
+        }
+    }
+
+    /**
+     * 창에서 통계를 조회할 수 있는지 여부
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 저장된 로그를 현재 트랜잭션 커밋 후 창에 반영 (트랜잭션 밖이면 즉시 반영)
+     *
+     * @param logs 저장된 로그 목록
+     */
+    public void recordAfterCommit(List<WAFLog> logs) {
+        if (!ready || logs.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(logs);
+                }
+            });
+        } else {
+            record(logs);
+        }
+    }
+
+    /**
+     * 현재 분을 포함한 최근 minutes분의 합계
+     */
+    public WAFLogSlidingWindow.Totals totals(int minutes) {
+        return window.totals(LocalDateTime.now(), minutes);
+    }
+
+    private void record(List<WAFLog> logs) {
+        LocalDateTime now = LocalDateTime.now();
+        for (WAFLog wafLog : logs) {
+            window.record(wafLog, now);
+        }
+    }
+}
@@ -44,7 +44,14 @@ class DashboardControllerTest {
             900L,
             10.0,
             45.5,
-            3600L
+            12.5,
+            48.0,
+            210.0,
+            880.0,
+            3600L,
+            420L,
+            37L,
+            512L
         );
         when(dashboardService.getWAFStats()).thenReturn(mockStats);
 
@@ -58,7 +65,10 @@ class DashboardControllerTest {
             .andExpect(jsonPath("$.data.allowedRequests").value(900))
             .andExpect(jsonPath("$.data.blockRate").value(10.0))
             .andExpect(jsonPath("$.data.avgResponseTime").value(45.5))
+            .andExpect(jsonPath("$.data.p99ResponseTime").value(210.0))
             .andExpect(jsonPath("$.data.uptime").value(3600))
+            .andExpect(jsonPath("$.data.uniqueVisitors").value(420))
+            .andExpect(jsonPath("$.data.uniqueAttackers").value(37))
             .andExpect(jsonPath("$.timestamp").exists());
     }
 
@@ -93,8 +103,8 @@ class DashboardControllerTest {
     void getTrafficData_shouldReturn200WithData() throws Exception {
         // Given
         List<TrafficDataResponse> mockTraffic = List.of(
-            new TrafficDataResponse("2024-12-10T14:00:00", 234L, 12L, 222L, 42.5),
-            new TrafficDataResponse("2024-12-10T15:00:00", 198L, 8L, 190L, 38.2)
+            new TrafficDataResponse("2024-12-10T14:00:00", 234L, 12L, 222L, 42.5, 11.8, 45.0, 190.0, 640.0, 87L, 5L),
+            new TrafficDataResponse("2024-12-10T15:00:00", 198L, 8L, 190L, 38.2, 10.2, 40.0, 150.0, 420.0, 64L, 3L)
         );
         when(dashboardService.getTrafficData(anyInt())).thenReturn(mockTraffic);
 
@@ -7,8 +7,11 @@ import dev.waf.console.dashboard.api.dto.TrafficDataResponse;
 import dev.waf.console.dashboard.api.dto.WAFStatsResponse;
 import dev.waf.console.dashboard.api.dto.WAFStatusResponse;
 import dev.waf.console.waflog.domain.WAFLog;
-import dev.waf.console.waflog.repository.WAFLogRepository;
+import dev.waf.console.waflog.rollup.WAFLogRollupService;
 import dev.waf.console.waflog.service.WAFLogService;
+import dev.waf.console.waflog.stats.SpaceSavingSketch;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
+import dev.waf.console.waflog.stats.WAFLatencyTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,8 +22,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -45,16 +48,23 @@ class DashboardServiceTest {
     private CustomRuleService customRuleService;
 
     @Mock
-    private WAFLogRepository wafLogRepository;
+    private WAFLogRollupService wafLogRollupService;
 
     @Mock
     private CustomRuleRepository customRuleRepository;
 
+    @Mock
+    private WAFDistinctTracker wafDistinctTracker;
+
+    @Mock
+    private WAFLatencyTracker wafLatencyTracker;
+
     @InjectMocks
     private DashboardServiceImpl dashboardService;
 
     private WAFLogService.LogStatistics mockLogStats;
     private CustomRuleService.RuleStatistics mockRuleStats;
+    private WAFLatencyTracker.LatencyPercentiles mockLatency;
 
     @BeforeEach
     void setUp() {
@@ -63,8 +73,8 @@ class DashboardServiceTest {
         attackTypeCounts.put("SQL_INJECTION", 10L);
         attackTypeCounts.put("XSS", 5L);
 
-        List<Object[]> topIPs = new ArrayList<>();
-        topIPs.add(new Object[]{"192.168.1.100", 15L});
+        List<SpaceSavingSketch.HeavyHitter> topIPs = List.of(
+            new SpaceSavingSketch.HeavyHitter("192.168.1.100", 15L, 0L));
 
         mockLogStats = WAFLogService.LogStatistics.builder()
             .successCount(850L)
@@ -77,6 +87,16 @@ class DashboardServiceTest {
             .topAttackingIPs(topIPs)
             .build();
 
+        // Mock 응답 시간 분위수
+        mockLatency = WAFLatencyTracker.LatencyPercentiles.builder()
+            .count(1000L)
+            .p50Ms(12.5)
+            .p90Ms(48.0)
+            .p99Ms(210.0)
+            .p999Ms(880.0)
+            .maxMs(1200.0)
+            .build();
+
         // Mock 룰 통계 데이터
         mockRuleStats = CustomRuleService.RuleStatistics.builder()
             .totalRules(50L)
@@ -92,6 +112,9 @@ class DashboardServiceTest {
     void getWAFStats_shouldReturnCorrectStatistics() {
         // Given
         when(wafLogService.getLogStatistics()).thenReturn(mockLogStats);
+        when(wafDistinctTracker.distinct(WAFDistinctTracker.Metric.CLIENT_IP, 24 * 60)).thenReturn(420L);
+        when(wafDistinctTracker.distinct(WAFDistinctTracker.Metric.ATTACKER_IP, 24 * 60)).thenReturn(37L);
+        when(wafLatencyTracker.percentiles(60)).thenReturn(mockLatency);
 
         // When
         WAFStatsResponse response = dashboardService.getWAFStats();
@@ -103,7 +126,12 @@ class DashboardServiceTest {
         assertThat(response.allowedRequests()).isEqualTo(850L);
         assertThat(response.blockRate()).isEqualTo(10.0);
         assertThat(response.avgResponseTime()).isEqualTo(45.5);
+        assertThat(response.p50ResponseTime()).isEqualTo(12.5);
+        assertThat(response.p99ResponseTime()).isEqualTo(210.0);
+        assertThat(response.p999ResponseTime()).isEqualTo(880.0);
         assertThat(response.uptime()).isGreaterThanOrEqualTo(0L);
+        assertThat(response.uniqueVisitors()).isEqualTo(420L);
+        assertThat(response.uniqueAttackers()).isEqualTo(37L);
     }
 
     @Test
@@ -130,26 +158,45 @@ class DashboardServiceTest {
     @DisplayName("트래픽 데이터 조회 - 시간대별 집계")
     void getTrafficData_shouldReturnHourlyData() {
         // Given
-        List<Object[]> mockTrafficData = new ArrayList<>();
-        Timestamp timestamp = Timestamp.valueOf("2024-12-10 14:00:00");
-        mockTrafficData.add(new Object[]{timestamp, 234L, 12L, 222L, 42.5});
-        mockTrafficData.add(new Object[]{timestamp, 198L, 8L, 190L, 38.2});
-
-        when(wafLogRepository.getTrafficDataByHour(any(LocalDateTime.class), any(LocalDateTime.class)))
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<WAFLogRollupService.HourlyTraffic> mockTrafficData = List.of(
+            WAFLogRollupService.HourlyTraffic.builder()
+                .hour(currentHour.minusHours(1))
+                .totalRequests(234L)
+                .blockedRequests(12L)
+                .allowedRequests(222L)
+                .averageResponseTimeMs(42.5)
+                .build(),
+            WAFLogRollupService.HourlyTraffic.builder()
+                .hour(currentHour)
+                .totalRequests(198L)
+                .blockedRequests(8L)
+                .allowedRequests(190L)
+                .averageResponseTimeMs(38.2)
+                .build()
+        );
+
+        when(wafLogRollupService.hourlyTraffic(any(LocalDateTime.class), any(LocalDateTime.class)))
             .thenReturn(mockTrafficData);
+        when(wafLatencyTracker.hourly(any(LocalDateTime.class))).thenReturn(mockLatency);
 
         // When
-        List<TrafficDataResponse> response = dashboardService.getTrafficData(24);
+        List<TrafficDataResponse> response = dashboardService.getTrafficData(2);
 
-        // Then
+        // Then: 2시간 전 시간대는 데이터가 없어 0으로 채워짐
         assertThat(response).isNotNull();
-        assertThat(response).hasSize(2);
-
-        TrafficDataResponse first = response.get(0);
-        assertThat(first.totalRequests()).isEqualTo(234L);
-        assertThat(first.blockedRequests()).isEqualTo(12L);
-        assertThat(first.allowedRequests()).isEqualTo(222L);
-        assertThat(first.responseTime()).isEqualTo(42.5);
+        assertThat(response).hasSize(3);
+        assertThat(response.get(0).totalRequests()).isZero();
+
+        TrafficDataResponse previousHour = response.get(1);
+        assertThat(previousHour.totalRequests()).isEqualTo(234L);
+        assertThat(previousHour.blockedRequests()).isEqualTo(12L);
+        assertThat(previousHour.allowedRequests()).isEqualTo(222L);
+        assertThat(previousHour.responseTime()).isEqualTo(42.5);
+        assertThat(previousHour.p90ResponseTime()).isEqualTo(48.0);
+        assertThat(previousHour.p99ResponseTime()).isEqualTo(210.0);
+        assertThat(response.get(0).p99ResponseTime()).isZero();
+        assertThat(response.get(2).totalRequests()).isEqualTo(198L);
     }
 
     @Test
@@ -0,0 +1,157 @@
+package dev.waf.console.dashboard.service;
+
+import dev.waf.console.dashboard.api.dto.AttackEventResponse;
+import dev.waf.console.dashboard.api.dto.TrafficDataResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatsResponse;
+import dev.waf.console.dashboard.api.dto.WAFStatusResponse;
+import dev.waf.console.service.WebSocketBroadcastService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DashboardSnapshotService 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("대시보드 스냅샷 서비스 테스트")
+class DashboardSnapshotServiceTest {
+
+    @Mock
+    private DashboardServiceImpl dashboardServiceImpl;
+
+    @Mock
+    private WebSocketBroadcastService webSocketBroadcastService;
+
+    private WAFStatsResponse stats;
+    private WAFStatusResponse status;
+    private List<TrafficDataResponse> traffic;
+    private List<AttackEventResponse> attacks;
+
+    @BeforeEach
+    void setUp() {
+        stats = new WAFStatsResponse(1000L, 100L, 900L, 10.0, 45.5, 12.0, 48.0, 210.0, 880.0, 3600L, 420L, 37L, 512L);
+        status = new WAFStatusResponse("active", "1.0.0", "2024-12-10T10:00:00", "2024-12-10T14:00:00", 50, 40);
+        traffic = IntStream.rangeClosed(0, 24)
+            .mapToObj(i -> new TrafficDataResponse("hour-" + i, i, 0L, i, 0.0, 0.0, 0.0, 0.0, 0.0, 0L, 0L))
+            .toList();
+        attacks = IntStream.range(0, 100)
+            .mapToObj(i -> new AttackEventResponse("attack-" + i, "2024-12-10T14:00:00", "10.0.0." + i, "/",
+                "XSS", "high", true, "", "", List.of()))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("여러 조회가 한 번 집계한 스냅샷을 공유하고 범위 안에서는 잘라서 응답")
+    void queriesShareSnapshot() {
+        // given
+        DashboardSnapshotService service = service(60_000);
+        stubSnapshot();
+
+        // when
+        WAFStatsResponse statsResponse = service.getWAFStats();
+        WAFStatusResponse statusResponse = service.getWAFStatus();
+        List<TrafficDataResponse> lastSixHours = service.getTrafficData(6);
+        List<AttackEventResponse> recentTen = service.getRecentAttacks(10);
+
+        // then
+        assertThat(statsResponse).isEqualTo(stats);
+        assertThat(statusResponse).isEqualTo(status);
+        assertThat(lastSixHours).hasSize(7);
+        assertThat(lastSixHours.get(6).timestamp()).isEqualTo("hour-24");
+        assertThat(recentTen).extracting(AttackEventResponse::id).startsWith("attack-0").hasSize(10);
+        verify(dashboardServiceImpl, times(1)).getWAFStats();
+        verify(dashboardServiceImpl, times(1)).getTrafficData(24);
+        verify(dashboardServiceImpl, times(1)).getRecentAttacks(100);
+    }
+
+    @Test
+    @DisplayName("스냅샷 범위를 넘는 트래픽 조회는 직접 집계")
+    void largerRangeIsComputedDirectly() {
+        // given
+        DashboardSnapshotService service = service(60_000);
+        when(dashboardServiceImpl.getTrafficData(72)).thenReturn(traffic);
+
+        // when
+        List<TrafficDataResponse> response = service.getTrafficData(72);
+
+        // then
+        assertThat(response).isEqualTo(traffic);
+        verify(dashboardServiceImpl, times(0)).getWAFStats();
+    }
+
+    @Test
+    @DisplayName("동시에 갱신해도 집계는 한 번만 실행되고 결과를 공유")
+    void concurrentRefreshIsSingleFlight() throws Exception {
+        // given
+        DashboardSnapshotService service = service(60_000);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(dashboardServiceImpl.getWAFStats()).thenAnswer(invocation -> {
+            computing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return stats;
+        });
+        when(dashboardServiceImpl.getWAFStatus()).thenReturn(status);
+        when(dashboardServiceImpl.getTrafficData(24)).thenReturn(traffic);
+        when(dashboardServiceImpl.getRecentAttacks(100)).thenReturn(attacks);
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<DashboardSnapshot> first = CompletableFuture.supplyAsync(service::refresh, executor);
+            assertThat(computing.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<DashboardSnapshot> second = CompletableFuture.supplyAsync(service::refresh, executor);
+            Thread.sleep(100);
+            release.countDown();
+
+            // then
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            verify(dashboardServiceImpl, times(1)).getWAFStats();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("갱신에 실패하면 이전 스냅샷으로 응답")
+    void failedRefreshKeepsPreviousSnapshot() {
+        // given: 주기 0 → 매 조회마다 갱신 시도
+        DashboardSnapshotService service = service(0);
+        stubSnapshot();
+        service.getWAFStats();
+        when(dashboardServiceImpl.getWAFStats()).thenThrow(new IllegalStateException("db down"));
+
+        // when
+        WAFStatsResponse response = service.getWAFStats();
+
+        // then
+        assertThat(response).isEqualTo(stats);
+    }
+
+    private DashboardSnapshotService service(long intervalMs) {
+        return new DashboardSnapshotService(dashboardServiceImpl, webSocketBroadcastService, true, intervalMs, 24, 100);
+    }
+
+    private void stubSnapshot() {
+        when(dashboardServiceImpl.getWAFStats()).thenReturn(stats);
+        when(dashboardServiceImpl.getWAFStatus()).thenReturn(status);
+        when(dashboardServiceImpl.getTrafficData(24)).thenReturn(traffic);
+        when(dashboardServiceImpl.getRecentAttacks(100)).thenReturn(attacks);
+    }
+}
@@ -0,0 +1,126 @@
+package dev.waf.console.dashboard.service;
+
+import dev.waf.console.dashboard.api.dto.WindowedCountResponse;
+import dev.waf.console.dashboard.api.dto.WindowedCountResponse.KeyCount;
+import dev.waf.console.infrastructure.kafka.streams.WAFAggregationTopology.Aggregate;
+import org.apache.kafka.streams.StreamsMetadata;
+import org.apache.kafka.streams.state.HostInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+/**
+ * WindowedAggregateService 단위 테스트
+ */
+@DisplayName("윈도우 집계 조회 서비스 테스트")
+class WindowedAggregateServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 12, 10, 14, 0);
+
+    @Test
+    @DisplayName("노드별 결과를 윈도우 시작 시간으로 합쳐 전체 건수는 더하고 상위 키는 다시 고름")
+    void mergesNodeResultsPerWindow() {
+        // given
+        List<WindowedCountResponse> node1 = List.of(
+            window(T0.plusMinutes(1), 7, new KeyCount("XSS", 4), new KeyCount("SQL_INJECTION", 3)),
+            window(T0, 5, new KeyCount("XSS", 5)));
+        List<WindowedCountResponse> node2 = List.of(
+            window(T0, 12, new KeyCount("SQL_INJECTION", 9), new KeyCount("PATH_TRAVERSAL", 2)));
+
+        // when
+        List<WindowedCountResponse> merged = WindowedAggregateService.merge(List.of(node1, node2), 2);
+
+        // then
+        assertThat(merged).extracting(WindowedCountResponse::windowStart).containsExactly(T0, T0.plusMinutes(1));
+        assertThat(merged.get(0).total()).isEqualTo(17);
+        assertThat(merged.get(0).top()).containsExactly(new KeyCount("SQL_INJECTION", 9), new KeyCount("XSS", 5));
+        assertThat(merged.get(1).total()).isEqualTo(7);
+        assertThat(merged.get(1).top()).containsExactly(new KeyCount("XSS", 4), new KeyCount("SQL_INJECTION", 3));
+    }
+
+    @Test
+    @DisplayName("Kafka Streams가 실행 중이 아니면 조회 불가 예외")
+    void failsWhenStreamsIsNotRunning() {
+        // given
+        WindowedAggregateService service = new WindowedAggregateService(
+            new StaticListableBeanFactory().getBeanProvider(StreamsBuilderFactoryBean.class), "", 2000);
+
+        // when & then
+        assertThatThrownBy(() -> service.getWindows(Aggregate.ATTACKS_BY_TYPE, 60, 10, false))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("not running");
+    }
+
+    @Test
+    @DisplayName("저장소의 활성 태스크를 가진 다른 노드만 조회 대상 (대기 복제본만 가진 노드와 자기 자신 제외)")
+    void selectsOnlyActivePeers() {
+        // given
+        String store = Aggregate.ATTACKS_BY_TYPE.storeName();
+        HostInfo self = new HostInfo("node-1", 8080);
+        List<StreamsMetadata> metadata = List.of(
+            metadata(self, Set.of(store), Set.of()),
+            metadata(new HostInfo("node-2", 8080), Set.of(store), Set.of()),
+            metadata(new HostInfo("node-3", 8080), Set.of(), Set.of(store)));
+
+        // when
+        List<HostInfo> peers = WindowedAggregateService.activePeers(metadata, store, self);
+
+        // then
+        assertThat(peers).containsExactly(new HostInfo("node-2", 8080));
+    }
+
+    @Test
+    @DisplayName("다른 노드를 병렬로 조회하고 전체 기한을 넘긴 노드는 제외")
+    void fetchesPeersInParallelWithinDeadline() {
+        // given
+        WindowedAggregateService service = new WindowedAggregateService(
+            new StaticListableBeanFactory().getBeanProvider(StreamsBuilderFactoryBean.class), "", 500);
+        List<HostInfo> peers = List.of(new HostInfo("node-2", 8080), new HostInfo("node-3", 8080),
+            new HostInfo("node-4", 8080));
+        CountDownLatch never = new CountDownLatch(1);
+
+        // when
+        long started = System.nanoTime();
+        List<List<WindowedCountResponse>> parts = service.fetchAll(peers, host -> {
+            try {
+                if (host.host().equals("node-4")) {
+                    never.await();
+                }
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(window(T0, 1, new KeyCount(host.host(), 1)));
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        service.stop();
+
+        // then
+        assertThat(parts).hasSize(2);
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1000));
+    }
+
+    private static StreamsMetadata metadata(HostInfo host, Set<String> activeStores, Set<String> standbyStores) {
+        StreamsMetadata metadata = mock(StreamsMetadata.class);
+        lenient().when(metadata.hostInfo()).thenReturn(host);
+        lenient().when(metadata.stateStoreNames()).thenReturn(activeStores);
+        lenient().when(metadata.standbyStateStoreNames()).thenReturn(standbyStores);
+        return metadata;
+    }
+
+    private static WindowedCountResponse window(LocalDateTime start, long total, KeyCount... top) {
+        return new WindowedCountResponse(start, start.plusMinutes(1), total, List.of(top));
+    }
+}
@@ -0,0 +1,104 @@
+package dev.waf.console.infrastructure.concurrency;
+
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter.Sink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SinkConcurrencyLimiter 단위 테스트
+ */
+@DisplayName("싱크별 동시 실행 제한 테스트")
+class SinkConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("동시 실행 수가 싱크 제한을 넘지 않음")
+    void limitsConcurrentCalls() throws Exception {
+        // given
+        SinkConcurrencyLimiter limiter = createLimiter(1000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // when
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Thread thread = new Thread(() -> limiter.execute(Sink.JDBC, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                running.decrementAndGet();
+                return null;
+            }));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(maxRunning.get()).isBetween(1, 3);
+        assertThat(limiter.getInFlight(Sink.JDBC)).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 시간 안에 허가를 얻지 못하면 거부하고 다른 싱크에는 영향 없음")
+    void rejectsWhenSaturated() throws Exception {
+        // given: SLACK 허가 1개를 점유
+        SinkConcurrencyLimiter limiter = createLimiter(50);
+        CountDownLatch acquired = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                limiter.execute(Sink.SLACK, () -> {
+                    acquired.countDown();
+                    release.await();
+                    return null;
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        assertThatThrownBy(() -> limiter.execute(Sink.SLACK, () -> "sent"))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(limiter.execute(Sink.ELASTICSEARCH, () -> "indexed")).isEqualTo("indexed");
+
+        release.countDown();
+        holder.join();
+        assertThat(limiter.execute(Sink.SLACK, () -> "sent")).isEqualTo("sent");
+    }
+
+    @Test
+    @DisplayName("호출이 예외로 끝나도 허가를 반환")
+    void releasesPermitOnFailure() {
+        // given
+        SinkConcurrencyLimiter limiter = createLimiter(50);
+
+        // when
+        assertThatThrownBy(() -> limiter.execute(Sink.ELASTICSEARCH, () -> {
+            throw new IOException("connection refused");
+        })).isInstanceOf(IOException.class);
+
+        // then
+        assertThat(limiter.getInFlight(Sink.ELASTICSEARCH)).isZero();
+    }
+
+    private SinkConcurrencyLimiter createLimiter(long acquireTimeoutMillis) {
+        return new SinkConcurrencyLimiter(new SimpleMeterRegistry(), 3, 2, 1, acquireTimeoutMillis);
+    }
+}
@@ -0,0 +1,136 @@
+package dev.waf.console.infrastructure.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * KeyOrderedDispatcher 단위 테스트
+ */
+@DisplayName("Kafka 키 단위 병렬 처리 테스트")
+class KeyOrderedDispatcherTest {
+
+    private static final Duration REDELIVERY_DELAY = Duration.ofMillis(100);
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("서로 다른 키는 동시에 처리하고 같은 키는 오프셋 순서를 지킴")
+    void processesKeysConcurrentlyInOrder() {
+        // given
+        KeyOrderedDispatcher dispatcher = dispatcher(4);
+        List<ConsumerRecord<String, String>> records = List.of(
+            record(0, "A", "a0"), record(1, "B", "b1"), record(2, "A", "a2"), record(3, "B", "b3"));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Map<String, List<String>> handled = new ConcurrentHashMap<>();
+
+        // when
+        KeyOrderedDispatcher.DispatchResult<String> result = dispatcher.dispatch(records, (key, values) -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            handled.put(key, values);
+        });
+
+        // then
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(handled).containsEntry("A", List.of("a0", "a2")).containsEntry("B", List.of("b1", "b3"));
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.processed()).containsExactly("a0", "b1", "a2", "b3");
+    }
+
+    @Test
+    @DisplayName("실패한 키 앞까지만 커밋하고 다시 전달되면 이미 완료한 레코드는 건너뜀")
+    void commitsLowWaterMarkAndSkipsCompletedOnRedelivery() {
+        // given
+        KeyOrderedDispatcher dispatcher = dispatcher(4);
+        List<ConsumerRecord<String, String>> records = List.of(
+            record(10, "B", "b10"), record(11, "A", "a11"), record(12, "B", "b12"), record(13, "A", "a13"));
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+
+        // when
+        KeyOrderedDispatcher.DispatchResult<String> failed = dispatcher.dispatch(records, (key, values) -> {
+            if (key.equals("A")) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            handled.addAll(values);
+        });
+        dispatcher.commit(failed, acknowledgment);
+
+        KeyOrderedDispatcher.DispatchResult<String> redelivered = dispatcher.dispatch(records.subList(1, 4),
+            (key, values) -> handled.addAll(values));
+
+        // then
+        assertThat(failed.firstIncompleteIndex()).isEqualTo(1);
+        assertThat(failed.processed()).containsExactly("b10", "b12");
+        verify(acknowledgment).nack(1, REDELIVERY_DELAY);
+        verify(acknowledgment, never()).acknowledge();
+
+        assertThat(redelivered.isComplete()).isTrue();
+        assertThat(redelivered.processed()).containsExactly("a11", "a13");
+        assertThat(handled).containsExactlyInAnyOrder("b10", "b12", "a11", "a13");
+    }
+
+    @Test
+    @DisplayName("같은 키가 max-attempts번 실패하면 건너뛰고 배치를 완료 처리")
+    void givesUpAfterMaxAttempts() {
+        // given
+        KeyOrderedDispatcher dispatcher = dispatcher(2);
+        List<ConsumerRecord<String, String>> records = List.of(record(0, "A", "poison"), record(1, "B", "b1"));
+
+        // when
+        KeyOrderedDispatcher.DispatchResult<String> first = dispatcher.dispatch(records, KeyOrderedDispatcherTest::rejectPoison);
+        KeyOrderedDispatcher.DispatchResult<String> second = dispatcher.dispatch(records, KeyOrderedDispatcherTest::rejectPoison);
+
+        // then
+        assertThat(first.isComplete()).isFalse();
+        assertThat(second.isComplete()).isTrue();
+        assertThat(second.processed()).isEmpty();
+    }
+
+    private KeyOrderedDispatcher dispatcher(int maxAttempts) {
+        return new KeyOrderedDispatcher(new SimpleMeterRegistry(), workers, maxAttempts, REDELIVERY_DELAY);
+    }
+
+    private static ConsumerRecord<String, String> record(long offset, String key, String value) {
+        return new ConsumerRecord<>("waf.attacks", 0, offset, key, value);
+    }
+
+    private static void rejectPoison(String key, List<String> values) {
+        if (values.contains("poison")) {
+            throw new IllegalArgumentException("poison record");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
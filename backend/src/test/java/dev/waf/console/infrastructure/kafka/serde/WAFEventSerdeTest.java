@@ -0,0 +1,165 @@
+package dev.waf.console.infrastructure.kafka.serde;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.WAFEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WAF 이벤트 바이너리 직렬화 단위 테스트
+ */
+@DisplayName("WAF 이벤트 바이너리 직렬화 테스트")
+class WAFEventSerdeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final WAFEventSchemaRegistry registry = new WAFEventSchemaRegistry(objectMapper, "");
+    private final WAFEventBinaryCodec codec = new WAFEventBinaryCodec(objectMapper);
+
+    @Test
+    @DisplayName("스키마가 있는 이벤트는 헤더에 타입/버전을 싣고 바이너리로 기록하며 JSON보다 작음")
+    void roundTripsBinaryWithHeaders() throws Exception {
+        // given
+        WAFEventSerializer serializer = new WAFEventSerializer(registry, codec, true);
+        WAFEventDeserializer deserializer = deserializer();
+        AccessLogEvent event = accessLog();
+        Headers headers = new RecordHeaders();
+
+        // when
+        byte[] binary = serializer.serialize("waf.logs", headers, event);
+        Object decoded = deserializer.deserialize("waf.logs", headers, binary);
+
+        // then
+        assertThat(header(headers, WAFEventSerializer.EVENT_TYPE_HEADER)).isEqualTo("ACCESS_LOG");
+        assertThat(header(headers, WAFEventSerializer.SCHEMA_VERSION_HEADER)).isEqualTo("1");
+        assertThat(decoded).isEqualTo(event);
+        assertThat(binary.length).isLessThan(objectMapper.writeValueAsBytes(event).length / 2);
+    }
+
+    @Test
+    @DisplayName("헤더가 없는 메시지는 JSON으로 읽음 (바이너리 비활성화 또는 전환 전 메시지)")
+    void fallsBackToJson() {
+        // given
+        WAFEventSerializer serializer = new WAFEventSerializer(registry, codec, false);
+        serializer.configure(Map.of(), false);
+        WAFEventDeserializer deserializer = deserializer();
+        AccessLogEvent event = accessLog();
+        Headers headers = new RecordHeaders();
+
+        // when
+        byte[] json = serializer.serialize("waf.logs", headers, event);
+        Object decoded = deserializer.deserialize("waf.logs", headers, json);
+
+        // then
+        assertThat(headers.lastHeader(WAFEventSerializer.EVENT_TYPE_HEADER)).isNull();
+        assertThat(new String(json, StandardCharsets.UTF_8)).contains("\"clientIp\":\"203.0.113.7\"");
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("헤더 버전의 스키마로 읽어 필드 이름으로 대응하며, 모르는 스키마 버전은 역직렬화 오류")
+    void resolvesWriterSchemaByFieldName() {
+        // given
+        WAFEventSchema writer = schema(2, "eventId", "clientIp", "uri");
+        WAFEventSchema renamed = schema(3, "eventId", "clientAddress", "uri");
+        WAFEventSchemaRegistry evolving = new WAFEventSchemaRegistry(List.of(writer, renamed));
+        WAFEventDeserializer deserializer = new WAFEventDeserializer(evolving, codec);
+        AccessLogEvent event = accessLog();
+        event.setVersion("2.0");
+        byte[] binary = codec.encode(event, evolving.forEvent(event));
+
+        // when
+        Headers asRenamed = headers("ACCESS_LOG", "3");
+        AccessLogEvent decoded = (AccessLogEvent) deserializer.deserialize("waf.logs", asRenamed, binary);
+
+        // then
+        assertThat(evolving.forEvent(event)).isSameAs(writer);
+        assertThat(decoded.getEventId()).isEqualTo(event.getEventId());
+        assertThat(decoded.getUri()).isEqualTo(event.getUri());
+        assertThat(decoded.getClientIp()).isNull();
+        assertThatThrownBy(() -> deserializer.deserialize("waf.logs", headers("ACCESS_LOG", "9"), binary))
+            .isInstanceOf(SerializationException.class)
+            .hasMessageContaining("Unknown WAF event schema");
+    }
+
+    @Test
+    @DisplayName("타입별 최신 스키마는 이벤트 클래스의 필드를 모두 포함하고, 빠진 필드가 있으면 기동 시 실패")
+    void latestSchemasCoverEventFields() {
+        // given
+        WAFEventSchema bundled = registry.forEvent(accessLog());
+        List<WAFEventSchema.Field> withoutSampleWeight = bundled.fields().stream()
+            .filter(field -> !field.name().equals("sampleWeight"))
+            .toList();
+        WAFEventSchemaRegistry incomplete = new WAFEventSchemaRegistry(List.of(bundled,
+            new WAFEventSchema(WAFEvent.WAFEventType.ACCESS_LOG, 2, withoutSampleWeight)));
+
+        // when & then
+        assertThatCode(registry::verifyLatestSchemasCoverEventFields).doesNotThrowAnyException();
+        assertThatThrownBy(incomplete::verifyLatestSchemasCoverEventFields)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("ACCESS_LOG v2 is missing [sampleWeight]");
+    }
+
+    private WAFEventDeserializer deserializer() {
+        WAFEventDeserializer deserializer = new WAFEventDeserializer(registry, codec);
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "dev.waf.console.event"), false);
+        return deserializer;
+    }
+
+    private static AccessLogEvent accessLog() {
+        AccessLogEvent event = AccessLogEvent.builder()
+            .clientIp("203.0.113.7")
+            .method("GET")
+            .uri("/api/products?page=2")
+            .protocol("HTTP/1.1")
+            .statusCode(200)
+            .responseSize(5120L)
+            .responseTime(42L)
+            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+            .sessionId("session-1")
+            .cached(false)
+            .sampleWeight(10)
+            .build();
+        event.setEventId("5f0c2b1e-8d4a-4a57-9a1e-3f2d6c7b8e90");
+        event.setTimestamp(LocalDateTime.of(2024, 12, 10, 14, 0, 0, 123_456_000));
+        event.setSource("waf-console");
+        event.setCorrelationId("c0ffee00-1234-4cde-8f00-abcdef012345");
+        event.setMetadata(Map.of("node", "edge-1"));
+        return event;
+    }
+
+    private static WAFEventSchema schema(int version, String... fields) {
+        return new WAFEventSchema(WAFEvent.WAFEventType.ACCESS_LOG, version, Arrays.stream(fields)
+            .map(name -> new WAFEventSchema.Field(name, WAFEventSchema.FieldType.STRING))
+            .toList());
+    }
+
+    private static Headers headers(String type, String version) {
+        Headers headers = new RecordHeaders();
+        headers.add(WAFEventSerializer.EVENT_TYPE_HEADER, type.getBytes(StandardCharsets.UTF_8));
+        headers.add(WAFEventSerializer.SCHEMA_VERSION_HEADER, version.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    private static String header(Headers headers, String key) {
+        return new String(headers.lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+}
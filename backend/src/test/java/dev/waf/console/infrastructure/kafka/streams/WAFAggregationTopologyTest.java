@@ -0,0 +1,149 @@
+package dev.waf.console.infrastructure.kafka.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventBinaryCodec;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventDeserializer;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSchemaRegistry;
+import dev.waf.console.infrastructure.kafka.serde.WAFEventSerializer;
+import dev.waf.console.infrastructure.kafka.streams.WAFAggregationTopology.Aggregate;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.test.TestRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFAggregationTopology 단위 테스트 (TopologyTestDriver)
+ */
+@DisplayName("Kafka Streams 윈도우 집계 토폴로지 테스트")
+class WAFAggregationTopologyTest {
+
+    private static final Instant T0 = Instant.parse("2024-12-10T05:00:00Z");
+
+    @TempDir
+    Path stateDir;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, Object> attacks;
+    private TestInputTopic<String, Object> accessLogs;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        WAFEventSchemaRegistry registry = new WAFEventSchemaRegistry(objectMapper, "");
+        WAFEventBinaryCodec codec = new WAFEventBinaryCodec(objectMapper);
+        WAFEventSerializer serializer = new WAFEventSerializer(registry, codec, true);
+
+        StreamsBuilder builder = new StreamsBuilder();
+        new WAFAggregationTopology("waf.attacks", "waf.logs",
+            Serdes.serdeFrom(serializer, new WAFEventDeserializer(registry, codec)),
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(1),
+            Duration.ofSeconds(30), Duration.ofDays(1)).build(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "waf-aggregation-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir.toString());
+        props.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+            LogAndContinueExceptionHandler.class);
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        attacks = driver.createInputTopic("waf.attacks", new StringSerializer(), serializer);
+        accessLogs = driver.createInputTopic("waf.logs", new StringSerializer(), serializer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("공격 유형/룰은 1분 텀블링 윈도우, 공격 IP는 5분 호핑 윈도우로 집계")
+    void countsAttacksPerWindow() {
+        // given
+        attacks.pipeInput("10.0.0.1", attack("10.0.0.1", AttackDetectedEvent.AttackType.SQL_INJECTION, "R-942100"), T0.plusSeconds(10));
+        attacks.pipeInput("10.0.0.1", attack("10.0.0.1", AttackDetectedEvent.AttackType.SQL_INJECTION, "R-942100"), T0.plusSeconds(20));
+        attacks.pipeInput("10.0.0.2", attack("10.0.0.2", AttackDetectedEvent.AttackType.XSS, null), T0.plusSeconds(70));
+
+        // when
+        WindowStore<String, Long> byType = driver.getWindowStore(Aggregate.ATTACKS_BY_TYPE.storeName());
+        WindowStore<String, Long> byRule = driver.getWindowStore(Aggregate.ATTACKS_BY_RULE.storeName());
+        WindowStore<String, Long> bySourceIp = driver.getWindowStore(Aggregate.ATTACKS_BY_SOURCE_IP.storeName());
+
+        // then
+        assertThat(byType.fetch("SQL_INJECTION", T0.toEpochMilli())).isEqualTo(2L);
+        assertThat(byType.fetch("XSS", T0.toEpochMilli())).isNull();
+        assertThat(byType.fetch("XSS", T0.plusSeconds(60).toEpochMilli())).isEqualTo(1L);
+        assertThat(byRule.fetch("R-942100", T0.toEpochMilli())).isEqualTo(2L);
+        assertThat(bySourceIp.fetch("10.0.0.1", T0.toEpochMilli())).isEqualTo(2L);
+        assertThat(bySourceIp.fetch("10.0.0.1", T0.minusSeconds(240).toEpochMilli())).isEqualTo(2L);
+        assertThat(bySourceIp.fetch("10.0.0.1", T0.plusSeconds(60).toEpochMilli())).isNull();
+        assertThat(bySourceIp.fetch("10.0.0.2", T0.plusSeconds(60).toEpochMilli())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("응답 상태 코드별 요청 수는 샘플링 가중치로 합산하고 읽을 수 없는 레코드는 건너뜀")
+    void sumsSampledRequestsPerStatus() {
+        // given
+        TestInputTopic<String, byte[]> rawLogs =
+            driver.createInputTopic("waf.logs", new StringSerializer(), new ByteArraySerializer());
+        RecordHeaders corruptHeaders = new RecordHeaders();
+        corruptHeaders.add(WAFEventSerializer.EVENT_TYPE_HEADER, "ACCESS_LOG".getBytes(StandardCharsets.UTF_8));
+        corruptHeaders.add(WAFEventSerializer.SCHEMA_VERSION_HEADER, "9".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        accessLogs.pipeInput("203.0.113.7", accessLog(200, 10), T0.plusSeconds(1));
+        rawLogs.pipeInput(new TestRecord<>("203.0.113.7", new byte[]{1, 2, 3}, corruptHeaders, T0.plusSeconds(2)));
+        accessLogs.pipeInput("203.0.113.8", accessLog(200, null), T0.plusSeconds(3));
+        accessLogs.pipeInput("203.0.113.9", accessLog(403, null), T0.plusSeconds(4));
+        accessLogs.pipeInput("203.0.113.9", accessLog(null, null), T0.plusSeconds(5));
+
+        // then
+        WindowStore<String, Long> byStatus = driver.getWindowStore(Aggregate.REQUESTS_BY_STATUS.storeName());
+        assertThat(byStatus.fetch("200", T0.toEpochMilli())).isEqualTo(11L);
+        assertThat(byStatus.fetch("403", T0.toEpochMilli())).isEqualTo(1L);
+        assertThat(Aggregate.fromStoreName("requests-by-status")).contains(Aggregate.REQUESTS_BY_STATUS);
+        assertThat(Aggregate.fromStoreName("requests")).isEmpty();
+    }
+
+    static AttackDetectedEvent attack(String sourceIp, AttackDetectedEvent.AttackType attackType, String ruleId) {
+        return AttackDetectedEvent.builder()
+            .sourceIp(sourceIp)
+            .attackType(attackType)
+            .ruleId(ruleId)
+            .riskScore(70)
+            .blocked(true)
+            .build();
+    }
+
+    static AccessLogEvent accessLog(Integer statusCode, Integer sampleWeight) {
+        return AccessLogEvent.builder()
+            .method("GET")
+            .uri("/api/products")
+            .statusCode(statusCode)
+            .sampleWeight(sampleWeight)
+            .build();
+    }
+}
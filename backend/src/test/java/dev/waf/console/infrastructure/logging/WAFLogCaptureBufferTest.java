@@ -0,0 +1,56 @@
+package dev.waf.console.infrastructure.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogCaptureBuffer 단위 테스트
+ */
+@DisplayName("요청 캡처 버퍼 테스트")
+class WAFLogCaptureBufferTest {
+
+    @Test
+    @DisplayName("X-Forwarded-For에서 첫 번째 주소를 공백 없이 추출")
+    void firstForwardedAddress() {
+        // given
+        String single = "203.0.113.7";
+
+        // when & then
+        assertThat(WAFLogCaptureBuffer.firstForwardedAddress(single)).isSameAs(single);
+        assertThat(WAFLogCaptureBuffer.firstForwardedAddress(" 203.0.113.7 , 10.0.0.1")).isEqualTo("203.0.113.7");
+        assertThat(WAFLogCaptureBuffer.firstForwardedAddress("203.0.113.7,10.0.0.1")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("메타데이터 JSON 값의 따옴표, 역슬래시, 제어 문자를 이스케이프")
+    void metadataEscapesValues() {
+        // given
+        WAFLogCaptureBuffer capture = WAFLogCaptureBuffer.current();
+
+        // when
+        String metadata = capture.beginObject()
+            .field("referer", "https://example.com/?q=\"x\"")
+            .field("accept", null)
+            .field("path", "C:\\temp\n\u0001")
+            .endObject();
+
+        // then
+        assertThat(metadata).isEqualTo(
+            "{\"referer\":\"https://example.com/?q=\\\"x\\\"\",\"path\":\"C:\\\\temp\\n\\u0001\"}");
+    }
+
+    @Test
+    @DisplayName("기록할 필드가 없으면 빈 객체를 반환")
+    void emptyMetadata() {
+        // when
+        String metadata = WAFLogCaptureBuffer.current()
+            .beginObject()
+            .field("referer", "")
+            .endObject();
+
+        // then
+        assertThat(metadata).isEqualTo("{}");
+    }
+}
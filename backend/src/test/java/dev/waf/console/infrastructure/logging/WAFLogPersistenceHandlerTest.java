@@ -0,0 +1,60 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.infrastructure.logging.spool.WAFLogSpool;
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.service.WAFLogBatchWriter;
+import dev.waf.console.waflog.service.WAFLogSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * WAFLogPersistenceHandler 단위 테스트 (배치 기록기 큐 포화 시 폐기)
+ */
+@DisplayName("WAF 로그 저장 핸들러 테스트")
+class WAFLogPersistenceHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WAFLogBatchWriter wafLogBatchWriter = mock(WAFLogBatchWriter.class);
+    private final WAFLogSampler wafLogSampler = mock(WAFLogSampler.class);
+
+    @Test
+    @DisplayName("배치 기록기 큐가 대기 한도 동안 비지 않으면 로그를 폐기하고 상태별로 집계")
+    @SuppressWarnings("unchecked")
+    void dropsLogAfterSubmitTimeout() throws Exception {
+        // given
+        ObjectProvider<WAFLogSpool> noSpool = mock(ObjectProvider.class);
+        when(wafLogSampler.sample(any())).thenReturn(true);
+        when(wafLogBatchWriter.submit(any(), anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(false);
+        WAFLogPersistenceHandler handler = new WAFLogPersistenceHandler(
+            wafLogBatchWriter, wafLogSampler, noSpool, meterRegistry, 100);
+        WAFLog wafLog = WAFLog.builder()
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(WAFLog.LogStatus.BLOCKED)
+            .timestamp(LocalDateTime.now())
+            .build();
+
+        // when
+        long startedAt = System.nanoTime();
+        handler.onEvent(wafLog, 0, true);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        // then
+        assertThat(elapsedMillis).isLessThan(TimeUnit.SECONDS.toMillis(5));
+        assertThat(meterRegistry.counter("waf.log.persistence.dropped", "status", "BLOCKED").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("waf.log.persistence.dropped", "status", "SUCCESS").count()).isZero();
+    }
+}
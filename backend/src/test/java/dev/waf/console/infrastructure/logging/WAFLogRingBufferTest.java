@@ -0,0 +1,206 @@
+package dev.waf.console.infrastructure.logging;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogRingBuffer 단위 테스트
+ */
+@DisplayName("WAFLog 링 버퍼 테스트")
+class WAFLogRingBufferTest {
+
+    private WAFLogRingBuffer ringBuffer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ringBuffer != null) {
+            ringBuffer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("모든 핸들러가 발행 순서대로 로그를 전달받음")
+    void deliversEventsInOrderToEveryHandler() throws Exception {
+        // given
+        RecordingHandler first = new RecordingHandler("first", 100, null);
+        RecordingHandler second = new RecordingHandler("second", 100, null);
+        ringBuffer = createRingBuffer(List.of(first, second), 256);
+        ringBuffer.start();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            ringBuffer.publish(createLog("10.0.0." + i, WAFLog.LogStatus.SUCCESS));
+        }
+
+        // then
+        assertThat(first.await()).isTrue();
+        assertThat(second.await()).isTrue();
+        assertThat(first.sourceIps()).hasSize(100).startsWith("10.0.0.0", "10.0.0.1").endsWith("10.0.0.99");
+        assertThat(second.sourceIps()).isEqualTo(first.sourceIps());
+    }
+
+    @Test
+    @DisplayName("소비자 지연 시 SUCCESS 로그는 폐기되고 BLOCKED 로그는 보존됨")
+    void shedsSuccessButKeepsBlockedWhenConsumerStalls() throws Exception {
+        // given: 첫 로그에서 멈추는 소비자, 용량 8 / SUCCESS 한도 4
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingHandler slowHandler = new RecordingHandler("slow", 4 + 6, gate);
+        ringBuffer = createRingBuffer(List.of(slowHandler), 8);
+        ringBuffer.start();
+
+        // when
+        for (int i = 0; i < 6; i++) {
+            ringBuffer.publish(createLog("10.0.0." + i, WAFLog.LogStatus.SUCCESS));
+        }
+        for (int i = 0; i < 6; i++) {
+            assertThat(ringBuffer.publish(createLog("10.0.1." + i, WAFLog.LogStatus.BLOCKED))).isTrue();
+        }
+
+        // then: SUCCESS 2건 폐기, 링에 들어가지 못한 BLOCKED 2건은 보조 큐에 보관
+        assertThat(ringBuffer.getDroppedCounts().get(WAFLog.LogStatus.SUCCESS)).isEqualTo(2L);
+        assertThat(ringBuffer.getDroppedCounts().get(WAFLog.LogStatus.BLOCKED)).isZero();
+        assertThat(ringBuffer.getBlockedOverflowSize()).isEqualTo(2);
+
+        // when: 소비자 재개
+        gate.countDown();
+
+        // then: 보조 큐의 BLOCKED 로그까지 모두 전달됨
+        assertThat(slowHandler.await()).isTrue();
+        assertThat(slowHandler.sourceIps())
+            .filteredOn(ip -> ip.startsWith("10.0.1."))
+            .hasSize(6);
+    }
+
+    @Test
+    @DisplayName("종료와 겹친 발행은 모두 전달되거나 폐기로 집계됨")
+    void accountsForEveryPublishRacingShutdown() throws Exception {
+        // given
+        AtomicLong delivered = new AtomicLong();
+        WAFLogEventHandler counting = (wafLog, sequence, endOfBatch) -> delivered.incrementAndGet();
+        ringBuffer = createRingBuffer(List.of(counting), 1024);
+        ringBuffer.start();
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong attempted = new AtomicLong();
+        CountDownLatch producing = new CountDownLatch(4);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread producer = new Thread(() -> {
+                producing.countDown();
+                for (int i = 0; i < 20_000; i++) {
+                    attempted.incrementAndGet();
+                    if (ringBuffer.publish(createLog("10.0.2." + (i % 250), WAFLog.LogStatus.WARNING))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        // when
+        producing.await();
+        ringBuffer.stop();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // then
+        long dropped = ringBuffer.getDroppedCounts().get(WAFLog.LogStatus.WARNING);
+        assertThat(delivered.get()).isEqualTo(accepted.get());
+        assertThat(accepted.get() + dropped).isEqualTo(attempted.get());
+    }
+
+    @Test
+    @DisplayName("모든 핸들러가 지나간 슬롯은 비워서 처리된 로그를 붙잡지 않음")
+    void releasesConsumedSlots() throws Exception {
+        // given
+        RecordingHandler first = new RecordingHandler("first", 1, null);
+        RecordingHandler second = new RecordingHandler("second", 1, null);
+        ringBuffer = createRingBuffer(List.of(first, second), 8);
+        ringBuffer.start();
+        WeakReference<WAFLog> consumed = new WeakReference<>(publish("10.0.3.1"));
+
+        // when
+        assertThat(first.await()).isTrue();
+        assertThat(second.await()).isTrue();
+        for (int i = 0; i < 50 && consumed.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        // then
+        assertThat(consumed.get()).isNull();
+    }
+
+    private WAFLog publish(String sourceIp) {
+        WAFLog wafLog = createLog(sourceIp, WAFLog.LogStatus.WARNING);
+        ringBuffer.publish(wafLog);
+        return wafLog;
+    }
+
+    private WAFLogRingBuffer createRingBuffer(List<WAFLogEventHandler> handlers, int capacity) {
+        return new WAFLogRingBuffer(handlers, new SimpleMeterRegistry(), capacity,
+            WAFLogRingBuffer.OverflowPolicy.SHED_BY_PRIORITY, 0.5, 0.75, 100);
+    }
+
+    private WAFLog createLog(String sourceIp, WAFLog.LogStatus status) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(status)
+            .build();
+    }
+
+    /**
+     * 전달받은 로그를 기록하는 테스트용 핸들러
+     */
+    private static class RecordingHandler implements WAFLogEventHandler {
+
+        private final String name;
+        private final CountDownLatch received;
+        private final CountDownLatch gate;
+        private final List<String> sourceIps = new CopyOnWriteArrayList<>();
+
+        RecordingHandler(String name, int expected, CountDownLatch gate) {
+            this.name = name;
+            this.received = new CountDownLatch(expected);
+            this.gate = gate;
+        }
+
+        @Override
+        public void onEvent(WAFLog wafLog, long sequence, boolean endOfBatch) throws InterruptedException {
+            if (gate != null) {
+                gate.await();
+            }
+            sourceIps.add(wafLog.getSourceIp());
+            received.countDown();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+
+        List<String> sourceIps() {
+            return sourceIps;
+        }
+    }
+}
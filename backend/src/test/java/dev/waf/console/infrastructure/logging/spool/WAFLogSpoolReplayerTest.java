@@ -0,0 +1,132 @@
+package dev.waf.console.infrastructure.logging.spool;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.service.WAFLogBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * WAFLogSpoolReplayer 단위 테스트 (재시도/격리)
+ */
+@DisplayName("WAFLog 스풀 재생기 테스트")
+class WAFLogSpoolReplayerTest {
+
+    private static final String BAD_IP = "203.0.113.250, 198.51.100.1, 192.0.2.1, 10.0.0.1, 10.0.0.2";
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WAFLogBatchWriter wafLogBatchWriter = mock(WAFLogBatchWriter.class);
+    private final List<String> persisted = new CopyOnWriteArrayList<>();
+
+    private WAFLogSpool spool;
+    private WAFLogSpoolReplayer replayer;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (replayer != null) {
+            replayer.stop();
+        }
+        if (spool != null) {
+            spool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("DB가 거부한 행은 나눠 읽어 격리하고 건너뛰며, 나머지 행은 모두 저장")
+    void quarantinesRejectedRowAndMovesOn() throws Exception {
+        // given
+        when(wafLogBatchWriter.persistBatch(anyList())).thenAnswer(invocation -> {
+            List<WAFLog> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> BAD_IP.equals(row.getSourceIp()))) {
+                throw new DataIntegrityViolationException("Data too long for column 'source_ip'");
+            }
+            rows.forEach(row -> persisted.add(row.getSourceIp()));
+            return rows;
+        });
+        spool = openSpool();
+        for (int i = 0; i < 20; i++) {
+            spool.append(createLog(i == 11 ? BAD_IP : "10.0.0." + i));
+        }
+
+        // when
+        replayer = startReplayer();
+
+        // then
+        assertThat(awaitDrained()).isTrue();
+        assertThat(persisted).hasSize(19).doesNotContain(BAD_IP).startsWith("10.0.0.0").endsWith("10.0.0.19");
+        assertThat(meterRegistry.counter("waf.log.spool.quarantined").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("연결 오류는 같은 배치를 그대로 재시도하고 행을 건너뛰지 않음")
+    void retriesTransientFailureWithoutSkipping() throws Exception {
+        // given
+        when(wafLogBatchWriter.persistBatch(anyList()))
+            .thenThrow(new CannotGetJdbcConnectionException("Connection is not available"))
+            .thenAnswer(invocation -> {
+                List<WAFLog> rows = invocation.getArgument(0);
+                rows.forEach(row -> persisted.add(row.getSourceIp()));
+                return rows;
+            });
+        spool = openSpool();
+        for (int i = 0; i < 5; i++) {
+            spool.append(createLog("10.0.0." + i));
+        }
+
+        // when
+        replayer = startReplayer();
+
+        // then
+        assertThat(awaitDrained()).isTrue();
+        assertThat(persisted).containsExactly("10.0.0.0", "10.0.0.1", "10.0.0.2", "10.0.0.3", "10.0.0.4");
+        assertThat(meterRegistry.counter("waf.log.spool.quarantined").count()).isZero();
+    }
+
+    private WAFLogSpool openSpool() throws Exception {
+        WAFLogSpool opened = new WAFLogSpool(meterRegistry, directory.toString(), 1, 4, 50, 1000);
+        opened.open();
+        return opened;
+    }
+
+    private WAFLogSpoolReplayer startReplayer() {
+        WAFLogSpoolReplayer started = new WAFLogSpoolReplayer(spool, wafLogBatchWriter, meterRegistry, 8, 10, 100);
+        started.start();
+        return started;
+    }
+
+    private boolean awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (spool.hasBacklog() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return !spool.hasBacklog();
+    }
+
+    private WAFLog createLog(String sourceIp) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
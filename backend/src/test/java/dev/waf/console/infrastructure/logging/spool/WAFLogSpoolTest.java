@@ -0,0 +1,149 @@
+package dev.waf.console.infrastructure.logging.spool;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogSpool 단위 테스트
+ */
+@DisplayName("WAFLog 선기록 스풀 테스트")
+class WAFLogSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private WAFLogSpool spool;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (spool != null) {
+            spool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("기록한 로그를 모든 필드 그대로 순서대로 읽음")
+    void pollReturnsAppendedLogsInOrder() throws Exception {
+        // given
+        spool = openSpool(1, 4);
+        WAFLog blocked = WAFLog.createBlockedLog("192.168.1.100", "POST", "/api/login?next=%2Fadmin",
+            "Mozilla/5.0", "SQL_INJECTION", 95, "942100", "SQL Injection Attack", "SQL injection detected");
+        blocked.setMetadata("{\"note\":\"한글 메타데이터\"}");
+        WAFLog success = WAFLog.createSuccessLog("10.0.0.1", "GET", "/api/health", null, 12L, 200);
+
+        // when
+        spool.append(blocked);
+        spool.append(success);
+        WAFLogSpool.SpoolBatch batch = spool.poll(10);
+
+        // then
+        assertThat(batch.logs()).hasSize(2);
+        assertThat(batch.logs().get(0))
+            .usingRecursiveComparison()
+            .isEqualTo(blocked);
+        assertThat(batch.logs().get(1).getUserAgent()).isNull();
+        assertThat(batch.logs().get(1).getResponseTimeMs()).isEqualTo(12L);
+        assertThat(batch.logs().get(1).getTimestamp()).isEqualTo(success.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("커밋 전까지는 같은 레코드를 다시 읽고, 커밋 후에는 다음 레코드부터 읽음")
+    void commitAdvancesReadPosition() throws Exception {
+        // given
+        spool = openSpool(1, 4);
+        for (int i = 0; i < 5; i++) {
+            spool.append(createLog("10.0.0." + i));
+        }
+
+        // when
+        WAFLogSpool.SpoolBatch first = spool.poll(3);
+        WAFLogSpool.SpoolBatch retried = spool.poll(3);
+        spool.commit(retried);
+        WAFLogSpool.SpoolBatch rest = spool.poll(10);
+        spool.commit(rest);
+
+        // then
+        assertThat(retried.logs()).extracting(WAFLog::getSourceIp)
+            .containsExactlyElementsOf(first.logs().stream().map(WAFLog::getSourceIp).toList());
+        assertThat(rest.logs()).extracting(WAFLog::getSourceIp).containsExactly("10.0.0.3", "10.0.0.4");
+        assertThat(spool.hasBacklog()).isFalse();
+        assertThat(spool.getBacklogBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("재시작 시 커밋되지 않은 로그를 다시 읽음")
+    void reopenReplaysUncommittedLogs() throws Exception {
+        // given
+        spool = openSpool(1, 4);
+        for (int i = 0; i < 4; i++) {
+            spool.append(createLog("10.0.0." + i));
+        }
+        spool.commit(spool.poll(1));
+        spool.close();
+
+        // when
+        spool = openSpool(1, 4);
+        WAFLogSpool.SpoolBatch batch = spool.poll(10);
+
+        // then
+        assertThat(batch.logs()).extracting(WAFLog::getSourceIp)
+            .containsExactly("10.0.0.1", "10.0.0.2", "10.0.0.3");
+    }
+
+    @Test
+    @DisplayName("세그먼트를 넘겨 기록하고, 최대 세그먼트 수에 도달하면 기록을 거부함")
+    void rollsSegmentsAndRejectsWhenFull() throws Exception {
+        // given: 1MB 세그먼트 2개, 레코드당 약 300KB
+        spool = openSpool(1, 2);
+        String largeMetadata = "x".repeat(300 * 1024);
+
+        // when
+        int accepted = 0;
+        for (int i = 0; i < 10; i++) {
+            WAFLog wafLog = createLog("10.0.0." + i);
+            wafLog.setMetadata(largeMetadata);
+            if (spool.append(wafLog)) {
+                accepted++;
+            }
+        }
+
+        // then: 세그먼트당 3건씩 2개 세그먼트
+        assertThat(accepted).isEqualTo(6);
+
+        // when: 재생 후에는 다시 기록 가능
+        WAFLogSpool.SpoolBatch batch = spool.poll(10);
+        spool.commit(batch);
+        WAFLog next = createLog("10.0.1.0");
+        next.setMetadata(largeMetadata);
+
+        // then
+        assertThat(batch.logs()).hasSize(6);
+        assertThat(spool.append(next)).isTrue();
+    }
+
+    private WAFLogSpool openSpool(int segmentSizeMb, int maxSegments) throws Exception {
+        WAFLogSpool opened = new WAFLogSpool(new SimpleMeterRegistry(), directory.toString(),
+            segmentSizeMb, maxSegments, 50, 1000);
+        opened.open();
+        return opened;
+    }
+
+    private WAFLog createLog(String sourceIp) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
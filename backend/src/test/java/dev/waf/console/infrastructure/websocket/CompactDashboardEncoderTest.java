@@ -0,0 +1,157 @@
+package dev.waf.console.infrastructure.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.waf.console.event.AttackDetectedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompactDashboardEncoder / CompactSubscriptionInterceptor 단위 테스트
+ */
+@DisplayName("대시보드 압축 프레임 테스트")
+class CompactDashboardEncoderTest {
+
+    private final CompactDashboardEncoder encoder = new CompactDashboardEncoder(true);
+    private final DashboardSubscriptionTracker tracker =
+        new DashboardSubscriptionTracker(null, "node-1", new SimpleMeterRegistry(), false, 1000);
+
+    @Test
+    @DisplayName("공격 배치는 반복 문자열을 사전으로 묶고 타임스탬프를 직전 값과의 차이로 표현")
+    void encodesAttacksColumnar() {
+        // given
+        LocalDateTime base = LocalDateTime.of(2024, 12, 10, 14, 0, 0);
+        List<AttackDetectedEvent> events = List.of(
+            attack("a-1", base, "10.0.0.1", true),
+            attack("a-2", base.plusNanos(15_000_000), "10.0.0.1", true),
+            attack("a-3", base.plusNanos(5_000_000), "10.0.0.2", false));
+
+        // when
+        CompactDashboardEncoder.CompactAttackBatch batch = encoder.encodeAttacks(events);
+
+        // then
+        assertThat(batch.count()).isEqualTo(3);
+        assertThat(batch.timestampDeltas()).containsExactly(0L, 15L, -10L);
+        assertThat(batch.dictionary()).containsExactly("SQL_INJECTION", "10.0.0.1", "/login", "942100", "10.0.0.2");
+        assertThat(batch.attackTypes()).containsExactly(0, 0, 0);
+        assertThat(batch.sourceIps()).containsExactly(1, 1, 4);
+        assertThat(batch.httpMethods()).containsExactly(null, null, null);
+        assertThat(batch.blocked()).containsExactly(1, 1, 0);
+    }
+
+    @Test
+    @DisplayName("압축 프레임은 같은 공격 배치의 전체 JSON보다 작음")
+    void compactFrameIsSmallerThanJson() throws Exception {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        LocalDateTime base = LocalDateTime.of(2024, 12, 10, 14, 0, 0);
+        List<AttackDetectedEvent> events = IntStream.range(0, 100)
+            .mapToObj(i -> attack("attack-" + i, base.plusSeconds(i), "10.0.0." + (i % 5), true))
+            .toList();
+        events.forEach(event -> event.setMetadata(Map.of("country", "KR", "asn", 4766)));
+
+        // when
+        int fullSize = objectMapper.writeValueAsBytes(events).length;
+        int compactSize = objectMapper.writeValueAsBytes(encoder.encodeAttacks(events)).length;
+
+        // then
+        assertThat(compactSize).isLessThan(fullSize / 3);
+    }
+
+    @Test
+    @DisplayName("format: compact 헤더로 구독하면 압축 프레임 목적지로 바뀌고 그 외 구독은 그대로")
+    void rewritesCompactSubscriptions() {
+        // given
+        CompactSubscriptionInterceptor interceptor = new CompactSubscriptionInterceptor(encoder, tracker);
+        Message<byte[]> compact = subscribe("/topic/dashboard/attacks", "compact");
+        Message<byte[]> json = subscribe("/topic/dashboard/attacks", null);
+        Message<byte[]> stats = subscribe("/topic/dashboard/stats", "compact");
+
+        // when & then
+        assertThat(destinationOf(interceptor.preSend(compact, null))).isEqualTo(CompactDashboardEncoder.COMPACT_ATTACKS);
+        assertThat(interceptor.preSend(json, null)).isSameAs(json);
+        assertThat(interceptor.preSend(stats, null)).isSameAs(stats);
+    }
+
+    @Test
+    @DisplayName("구독 목적지별로 구독 수를 세고 구독 해제와 연결 종료 시 빼서 구독자가 있는 형식만 전송")
+    void countsSubscriptionsPerFormat() {
+        // given
+        CompactSubscriptionInterceptor interceptor = new CompactSubscriptionInterceptor(encoder, tracker);
+
+        // when
+        interceptor.preSend(subscribe("session-1", "sub-0", "/topic/dashboard/attacks", "compact"), null);
+        interceptor.preSend(subscribe("session-2", "sub-0", "/topic/dashboard/attacks", null), null);
+        interceptor.preSend(subscribe("session-2", "sub-1", "/topic/dashboard/traffic", null), null);
+
+        // then
+        assertThat(tracker.hasSubscribers(CompactDashboardEncoder.COMPACT_ATTACKS)).isTrue();
+        assertThat(tracker.hasSubscribers("/topic/dashboard/attacks")).isTrue();
+        assertThat(tracker.hasSubscribers(CompactDashboardEncoder.COMPACT_TRAFFIC)).isFalse();
+
+        // when
+        interceptor.preSend(frame(StompCommand.UNSUBSCRIBE, "session-1", "sub-0"), null);
+        interceptor.preSend(frame(StompCommand.DISCONNECT, "session-2", null), null);
+
+        // then
+        assertThat(tracker.hasSubscribers(CompactDashboardEncoder.COMPACT_ATTACKS)).isFalse();
+        assertThat(tracker.hasSubscribers("/topic/dashboard/attacks")).isFalse();
+        assertThat(tracker.hasSubscribers("/topic/dashboard/traffic")).isFalse();
+    }
+
+    private static AttackDetectedEvent attack(String eventId, LocalDateTime timestamp, String sourceIp, boolean blocked) {
+        AttackDetectedEvent event = AttackDetectedEvent.builder()
+            .attackType(AttackDetectedEvent.AttackType.SQL_INJECTION)
+            .sourceIp(sourceIp)
+            .targetUrl("/login")
+            .ruleId("942100")
+            .riskScore(90)
+            .blocked(blocked)
+            .payload("' OR 1=1 --")
+            .userAgent("Mozilla/5.0 (X11; Linux x86_64)")
+            .build();
+        event.setEventId(eventId);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+
+    private static Message<byte[]> subscribe(String destination, String format) {
+        return subscribe("session-1", "sub-0", destination, format);
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination, String format) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setSessionId(sessionId);
+        if (format != null) {
+            accessor.setNativeHeader(CompactDashboardEncoder.FORMAT_HEADER, format);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            accessor.setSubscriptionId(subscriptionId);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static String destinationOf(Message<?> message) {
+        return StompHeaderAccessor.wrap(message).getDestination();
+    }
+}
@@ -0,0 +1,118 @@
+package dev.waf.console.infrastructure.websocket;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.service.WebSocketBroadcastService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * DashboardBroadcastCoalescer 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("대시보드 브로드캐스트 병합 테스트")
+class DashboardBroadcastCoalescerTest {
+
+    @Mock
+    private WebSocketBroadcastService webSocketBroadcastService;
+
+    @Test
+    @DisplayName("주기 동안의 접근 로그는 프레임 하나로 집계되고 요청이 없으면 전송하지 않음")
+    void trafficIsCoalescedPerInterval() {
+        // given
+        DashboardBroadcastCoalescer coalescer = coalescer(true, 3);
+        coalescer.recordAccess(access("/api/login?next=/home", 200, 10L, null));
+        coalescer.recordAccess(access("/api/login", 403, 30L, null));
+        coalescer.recordAccess(access("/static/app.js", 200, 2L, 8));
+
+        // when
+        coalescer.flushTraffic();
+        coalescer.flushTraffic();
+
+        // then
+        ArgumentCaptor<DashboardBroadcastCoalescer.TrafficDelta> captor =
+            ArgumentCaptor.forClass(DashboardBroadcastCoalescer.TrafficDelta.class);
+        verify(webSocketBroadcastService, times(1)).broadcastTrafficDelta(captor.capture());
+        verify(webSocketBroadcastService, never()).broadcastTrafficUpdate(any());
+
+        DashboardBroadcastCoalescer.TrafficDelta delta = captor.getValue();
+        assertThat(delta.getTotalRequests()).isEqualTo(10);
+        assertThat(delta.getStatusCounts()).isEqualTo(Map.of("2xx", 9L, "4xx", 1L));
+        assertThat(delta.getTopUris()).containsExactly(
+            new DashboardBroadcastCoalescer.UriCount("/static/app.js", 8),
+            new DashboardBroadcastCoalescer.UriCount("/api/login", 2));
+        assertThat(delta.getMaxResponseTime()).isEqualTo(30.0);
+    }
+
+    @Test
+    @DisplayName("공격 이벤트는 배열로 모아 전송하고 상한을 넘으면 최신 이벤트를 유지")
+    void attacksAreBatchedKeepingNewest() {
+        // given
+        DashboardBroadcastCoalescer coalescer = coalescer(true, 2);
+        coalescer.recordAttack(attack("a-1"));
+        coalescer.recordAttack(attack("a-2"));
+        coalescer.recordAttack(attack("a-3"));
+
+        // when
+        coalescer.flushAttacks();
+        coalescer.flushAttacks();
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AttackDetectedEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(webSocketBroadcastService, times(1)).broadcastAttackBatch(captor.capture());
+        assertThat(captor.getValue()).extracting(AttackDetectedEvent::getEventId).containsExactly("a-2", "a-3");
+    }
+
+    @Test
+    @DisplayName("비활성화하면 이벤트마다 바로 전송")
+    void disabledBroadcastsEachEvent() {
+        // given
+        DashboardBroadcastCoalescer coalescer = coalescer(false, 2);
+        AccessLogEvent access = access("/", 200, 1L, null);
+        AttackDetectedEvent attack = attack("a-1");
+
+        // when
+        coalescer.recordAccess(access);
+        coalescer.recordAttack(attack);
+
+        // then
+        verify(webSocketBroadcastService).broadcastTrafficUpdate(access);
+        verify(webSocketBroadcastService).broadcastAttackEvent(attack);
+    }
+
+    private DashboardBroadcastCoalescer coalescer(boolean enabled, int maxAttackBatch) {
+        return new DashboardBroadcastCoalescer(webSocketBroadcastService, enabled, 1000, 250, 10, maxAttackBatch);
+    }
+
+    private AccessLogEvent access(String uri, int status, Long responseTime, Integer sampleWeight) {
+        return AccessLogEvent.builder()
+            .uri(uri)
+            .statusCode(status)
+            .responseTime(responseTime)
+            .sampleWeight(sampleWeight)
+            .build();
+    }
+
+    private AttackDetectedEvent attack(String eventId) {
+        AttackDetectedEvent event = AttackDetectedEvent.builder()
+            .attackType(AttackDetectedEvent.AttackType.XSS)
+            .sourceIp("10.0.0.1")
+            .build();
+        event.setEventId(eventId);
+        return event;
+    }
+}
@@ -0,0 +1,116 @@
+package dev.waf.console.infrastructure.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WebSocketClusterRelay 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket 노드 간 중계 테스트")
+class WebSocketClusterRelayTest {
+
+    private static final String ATTACKS = "/topic/dashboard/attacks";
+
+    @Mock
+    private SimpMessagingTemplate originTemplate;
+
+    @Mock
+    private SimpMessagingTemplate peerTemplate;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    @DisplayName("한 번 직렬화한 바이트를 로컬 구독자와 다른 노드에 그대로 전달")
+    void relaysSerializedOnce() {
+        // given
+        WebSocketClusterRelay origin = relay(originTemplate, true);
+        WebSocketClusterRelay peer = relay(peerTemplate, true);
+        when(originTemplate.getMessageConverter()).thenReturn(new MappingJackson2MessageConverter());
+
+        // when
+        origin.broadcast(ATTACKS, List.of(Map.of("eventId", "a-1")));
+        byte[] batch = origin.nextBatch();
+        peer.onEnvelope(batch);
+
+        // then
+        Message<byte[]> local = sent(originTemplate);
+        Message<byte[]> relayed = sent(peerTemplate);
+        assertThat(new String(local.getPayload())).isEqualTo("[{\"eventId\":\"a-1\"}]");
+        assertThat(relayed.getPayload()).isEqualTo(local.getPayload());
+        assertThat(relayed.getHeaders().get(MessageHeaders.CONTENT_TYPE).toString())
+            .isEqualTo(MimeTypeUtils.APPLICATION_JSON_VALUE);
+        assertThat(origin.nextBatch()).isNull();
+    }
+
+    @Test
+    @DisplayName("자신이 발행한 배치와 이미 전달한 배치는 다시 전달하지 않음")
+    void deduplicatesPerNode() {
+        // given
+        WebSocketClusterRelay origin = relay(originTemplate, true);
+        WebSocketClusterRelay peer = relay(peerTemplate, true);
+        when(originTemplate.getMessageConverter()).thenReturn(new MappingJackson2MessageConverter());
+        origin.broadcast(ATTACKS, List.of("first"));
+        byte[] first = origin.nextBatch();
+        origin.broadcast(ATTACKS, List.of("second"));
+        byte[] second = origin.nextBatch();
+
+        // when
+        peer.onEnvelope(second);
+        peer.onEnvelope(first);
+        peer.onEnvelope(second);
+        origin.onEnvelope(second);
+
+        // then
+        verify(peerTemplate, times(1)).send(eq(ATTACKS), any());
+        verify(originTemplate, times(2)).send(eq(ATTACKS), any());
+    }
+
+    @Test
+    @DisplayName("비활성화하면 로컬 구독자에게만 전송")
+    void disabledSendsLocallyOnly() {
+        // given
+        WebSocketClusterRelay relay = relay(originTemplate, false);
+        when(originTemplate.getMessageConverter()).thenReturn(new MappingJackson2MessageConverter());
+
+        // when
+        relay.broadcast(ATTACKS, List.of("attack"));
+
+        // then
+        verify(originTemplate).send(eq(ATTACKS), any());
+        assertThat(relay.nextBatch()).isNull();
+    }
+
+    private WebSocketClusterRelay relay(SimpMessagingTemplate template, boolean enabled) {
+        return new WebSocketClusterRelay(template, redisTemplate, new SimpleMeterRegistry(), enabled, 50, 500, 10_000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<byte[]> sent(SimpMessagingTemplate template) {
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(template).send(eq(ATTACKS), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,161 @@
+package dev.waf.console.infrastructure.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WebSocketOutboundBackpressure 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebSocket 송신 배압 정책 테스트")
+class WebSocketOutboundBackpressureTest {
+
+    private static final String STATS = "/topic/dashboard/stats";
+    private static final String ATTACKS = "/topic/dashboard/attacks";
+
+    @Mock
+    private WebSocketSession session;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Deque<Runnable> senderTasks;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        senderTasks = new ArrayDeque<>();
+    }
+
+    @Test
+    @DisplayName("대시보드 스냅샷 목적지는 대기열에 최신 프레임 하나만 남기고 나머지는 순서대로 전송")
+    void conflatesSnapshotDestinations() throws Exception {
+        // given
+        WebSocketOutboundBackpressure backpressure = backpressure(10, 10_000);
+        BackpressureSessionDecorator decorated = register(backpressure);
+        TextMessage stats1 = frame(STATS, "{\"totalRequests\":1}");
+        TextMessage stats2 = frame(STATS, "{\"totalRequests\":2}");
+        TextMessage attack = frame(ATTACKS, "[{}]");
+        TextMessage stats3 = frame(STATS, "{\"totalRequests\":3}");
+
+        // when
+        decorated.sendMessage(stats1);
+        decorated.sendMessage(stats2);
+        decorated.sendMessage(attack);
+        decorated.sendMessage(stats3);
+        runSenderTasks();
+
+        // then
+        InOrder inOrder = inOrder(session);
+        inOrder.verify(session).sendMessage(attack);
+        inOrder.verify(session).sendMessage(stats3);
+        verify(session, never()).sendMessage(stats1);
+        verify(session, never()).sendMessage(stats2);
+        assertThat(meterRegistry.get("waf.websocket.outbound.conflated").tag("destination", STATS).counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 세션 연결을 끊고 대기 중인 프레임을 버림")
+    void disconnectsWhenQueueIsFull() throws Exception {
+        // given
+        WebSocketOutboundBackpressure backpressure = backpressure(2, 10_000);
+        BackpressureSessionDecorator decorated = register(backpressure);
+
+        // when
+        decorated.sendMessage(frame(ATTACKS, "[1]"));
+        decorated.sendMessage(frame(ATTACKS, "[2]"));
+        decorated.sendMessage(frame(ATTACKS, "[3]"));
+        decorated.sendMessage(frame(ATTACKS, "[4]"));
+        runSenderTasks();
+
+        // then
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+        assertThat(decorated.getQueued()).isZero();
+        assertThat(meterRegistry.get("waf.websocket.outbound.disconnects").tag("destination", ATTACKS).counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("waf.websocket.outbound.dropped").tag("destination", ATTACKS).counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("한 프레임 전송이 제한 시간을 넘기면 세션 연결을 끊음")
+    void disconnectsStalledSession() throws Exception {
+        // given
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(session).sendMessage(any());
+        WebSocketOutboundBackpressure backpressure = new WebSocketOutboundBackpressure(
+            meterRegistry, 10, new String[] {STATS}, 0, runnable -> new Thread(runnable).start());
+        BackpressureSessionDecorator decorated = register(backpressure);
+
+        // when
+        decorated.sendMessage(frame(ATTACKS, "[1]"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        backpressure.disconnectStalled();
+        release.countDown();
+
+        // then
+        verify(session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(decorated.isClosing()).isTrue();
+    }
+
+    @Test
+    @DisplayName("STOMP MESSAGE 프레임에서만 목적지를 읽고 사용자별 목적지는 태그를 묶음")
+    void parsesDestinations() {
+        // when & then
+        assertThat(BackpressureSessionDecorator.destinationOf(frame(STATS, "{}"))).isEqualTo(STATS);
+        assertThat(BackpressureSessionDecorator.destinationOf(new TextMessage("\n"))).isNull();
+        assertThat(BackpressureSessionDecorator.destinationOf(new TextMessage("CONNECTED\nversion:1.2\n\n\u0000")))
+            .isNull();
+        assertThat(WebSocketOutboundBackpressure.destinationTag("/queue/user-42")).isEqualTo("/queue");
+        assertThat(WebSocketOutboundBackpressure.destinationTag(null)).isEqualTo("none");
+    }
+
+    private WebSocketOutboundBackpressure backpressure(int maxQueueDepth, long stallTimeoutMs) {
+        return new WebSocketOutboundBackpressure(meterRegistry, maxQueueDepth, new String[] {STATS, "/topic/dashboard/status"},
+            stallTimeoutMs, senderTasks::add);
+    }
+
+    private BackpressureSessionDecorator register(WebSocketOutboundBackpressure backpressure) {
+        when(session.getId()).thenReturn("session-1");
+        return backpressure.register(session);
+    }
+
+    private void runSenderTasks() {
+        while (!senderTasks.isEmpty()) {
+            senderTasks.poll().run();
+        }
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination
+            + "\ncontent-type:application/json\nsubscription:sub-0\nmessage-id:1\n\n" + body + "\u0000");
+    }
+}
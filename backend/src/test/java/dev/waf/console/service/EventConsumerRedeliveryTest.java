@@ -0,0 +1,158 @@
+package dev.waf.console.service;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.infrastructure.kafka.KeyOrderedDispatcher;
+import dev.waf.console.infrastructure.websocket.DashboardBroadcastCoalescer;
+import dev.waf.console.waflog.stats.WAFAttackTopKTracker;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * EventConsumer 배치 재전달 테스트 (내장 Kafka)
+ *
+ * 배치 컨테이너와 같은 구성(MANUAL 커밋 + DefaultErrorHandler)에서 실패한 배치가 실제로 다시 전달되는지 확인
+ */
+@ExtendWith(MockitoExtension.class)
+@EmbeddedKafka(partitions = 1, topics = EventConsumerRedeliveryTest.TOPIC)
+@DisplayName("Kafka 배치 실패 재전달 테스트")
+class EventConsumerRedeliveryTest {
+
+    static final String TOPIC = "waf.logs.redelivery";
+    private static final String GROUP = "redelivery-test";
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ElasticsearchIndexingService elasticsearchIndexingService;
+
+    @Mock
+    private DashboardBroadcastCoalescer dashboardBroadcastCoalescer;
+
+    @Mock
+    private WAFAttackTopKTracker wafAttackTopKTracker;
+
+    @Mock
+    private WAFDistinctTracker wafDistinctTracker;
+
+    private final KeyOrderedDispatcher keyOrderedDispatcher = new KeyOrderedDispatcher(new SimpleMeterRegistry(), 1, 1, 0);
+    private KafkaMessageListenerContainer<String, String> container;
+
+    @AfterEach
+    void tearDown() {
+        if (container != null) {
+            container.stop();
+        }
+        keyOrderedDispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("접근 로그 Bulk 인덱싱에 실패하면 같은 배치를 다시 전달받고, 통계는 성공한 전달에서 한 번만 반영한 뒤 커밋")
+    void redeliversFailedAccessLogBatch(EmbeddedKafkaBroker broker) throws Exception {
+        // given
+        EventConsumer eventConsumer = new EventConsumer(alertService, metricsService, auditService,
+            elasticsearchIndexingService, dashboardBroadcastCoalescer, wafAttackTopKTracker, wafDistinctTracker,
+            keyOrderedDispatcher);
+        when(elasticsearchIndexingService.bulkIndexAccessLogEvents(anyList()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("bulk failed")))
+            .thenReturn(CompletableFuture.completedFuture(2));
+
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(
+            KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()));
+        template.send(TOPIC, "10.0.0.9", "/login");
+        template.send(TOPIC, "10.0.0.9", "/search");
+        template.flush();
+
+        List<List<String>> deliveries = new CopyOnWriteArrayList<>();
+        CountDownLatch redelivered = new CountDownLatch(2);
+        ContainerProperties properties = new ContainerProperties(TOPIC);
+        properties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        properties.setMessageListener((BatchAcknowledgingMessageListener<String, String>) (records, acknowledgment) -> {
+            deliveries.add(records.stream().map(ConsumerRecord::value).toList());
+            redelivered.countDown();
+            eventConsumer.handleAccessLog(records.stream().map(record -> access(record.value())).toList(), acknowledgment);
+        });
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps(GROUP, "false", broker);
+        container = new KafkaMessageListenerContainer<>(
+            new DefaultKafkaConsumerFactory<>(consumerProps, new StringDeserializer(), new StringDeserializer()),
+            properties);
+        container.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(100L, 3L)));
+
+        // when
+        container.start();
+
+        // then
+        assertThat(redelivered.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(deliveries.get(0)).containsExactly("/login", "/search");
+        assertThat(deliveries.get(1)).containsExactly("/login", "/search");
+        assertThat(committedOffset(broker, Duration.ofSeconds(10))).isEqualTo(2L);
+        verify(metricsService, times(2)).updateTrafficMetrics(any());
+        verify(dashboardBroadcastCoalescer, times(1)).recordAccesses(anyList());
+    }
+
+    private static Long committedOffset(EmbeddedKafkaBroker broker, Duration timeout) throws Exception {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        OffsetAndMetadata committed;
+        do {
+            committed = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, TOPIC, 0);
+            if (committed != null && committed.offset() == 2L) {
+                break;
+            }
+            Thread.sleep(100);
+        } while (System.nanoTime() < deadline);
+        return committed != null ? committed.offset() : null;
+    }
+
+    private static AccessLogEvent access(String uri) {
+        return AccessLogEvent.builder()
+            .clientIp("10.0.0.9")
+            .uri(uri)
+            .statusCode(200)
+            .responseTime(20L)
+            .build();
+    }
+}
@@ -0,0 +1,164 @@
+package dev.waf.console.service;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.infrastructure.websocket.DashboardBroadcastCoalescer;
+import dev.waf.console.waflog.stats.WAFAttackTopKTracker;
+import dev.waf.console.waflog.stats.WAFDistinctTracker;
+import dev.waf.console.infrastructure.kafka.KeyOrderedDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * EventConsumer 배치 리스너 단위 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Kafka 이벤트 배치 소비 테스트")
+class EventConsumerTest {
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ElasticsearchIndexingService elasticsearchIndexingService;
+
+    @Mock
+    private DashboardBroadcastCoalescer dashboardBroadcastCoalescer;
+
+    @Mock
+    private WAFAttackTopKTracker wafAttackTopKTracker;
+
+    @Mock
+    private WAFDistinctTracker wafDistinctTracker;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    private KeyOrderedDispatcher keyOrderedDispatcher;
+    private EventConsumer eventConsumer;
+
+    @BeforeEach
+    void setUp() {
+        keyOrderedDispatcher = new KeyOrderedDispatcher(new SimpleMeterRegistry(), 4, 4, 0);
+        eventConsumer = new EventConsumer(alertService, metricsService, auditService, elasticsearchIndexingService,
+            dashboardBroadcastCoalescer, wafAttackTopKTracker, wafDistinctTracker, keyOrderedDispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyOrderedDispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("공격 배치는 IP별 알림 저장과 자동 차단 검토 후 Bulk 인덱싱, 병합 브로드캐스트하고 한 번만 커밋")
+    void handlesAttackBatch() {
+        // given
+        AttackDetectedEvent first = attack("10.0.0.1", AttackDetectedEvent.AttackType.SQL_INJECTION, 95);
+        AttackDetectedEvent second = attack("10.0.0.1", AttackDetectedEvent.AttackType.SQL_INJECTION, 92);
+        AttackDetectedEvent low = attack("10.0.0.2", AttackDetectedEvent.AttackType.XSS, 40);
+        when(alertService.isRepeatedAttacker("10.0.0.1")).thenReturn(true);
+
+        // when
+        eventConsumer.handleAttackDetected(List.of(
+            record(0, "10.0.0.1", first),
+            record(1, "10.0.0.3", null),
+            record(2, "10.0.0.1", second),
+            record(3, "10.0.0.2", low)), acknowledgment);
+
+        // then
+        List<AttackDetectedEvent> received = List.of(first, second, low);
+        verify(alertService).sendCriticalAlerts(List.of(first, second));
+        verify(alertService, times(1)).isRepeatedAttacker("10.0.0.1");
+        verify(alertService, times(1)).requestAutoBlock("10.0.0.1", AttackDetectedEvent.AttackType.SQL_INJECTION);
+        verify(elasticsearchIndexingService).bulkIndexAttackEvents(received);
+        verify(dashboardBroadcastCoalescer).recordAttacks(received);
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    @Test
+    @DisplayName("접근 로그 Bulk 인덱싱에 실패하면 통계를 반영하지 않고 커밋 없이 예외를 다시 던져 배치를 다시 전달받음")
+    void rethrowsFailedBatch() {
+        // given
+        List<AccessLogEvent> events = List.of(access("/login", 20L), access("/search", 6000L));
+        when(elasticsearchIndexingService.bulkIndexAccessLogEvents(events))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("bulk failed")));
+
+        // when & then
+        assertThatThrownBy(() -> eventConsumer.handleAccessLog(events, acknowledgment))
+            .isInstanceOf(CompletionException.class)
+            .hasRootCauseInstanceOf(IOException.class);
+        verify(metricsService, never()).updateTrafficMetrics(any());
+        verify(wafDistinctTracker, never()).record(any(AccessLogEvent.class));
+        verify(dashboardBroadcastCoalescer, never()).recordAccesses(anyList());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("인덱싱 후 통계/브로드캐스트 반영이 실패해도 다시 전달받지 않고 한 번만 커밋")
+    void acknowledgesWhenSideEffectsFailAfterIndexing() {
+        // given
+        List<AccessLogEvent> events = List.of(access("/login", 20L), access("/search", 6000L));
+        when(elasticsearchIndexingService.bulkIndexAccessLogEvents(events))
+            .thenReturn(CompletableFuture.completedFuture(2));
+        doThrow(new IllegalStateException("broadcast failed"))
+            .when(dashboardBroadcastCoalescer).recordAccesses(anyList());
+
+        // when
+        eventConsumer.handleAccessLog(events, acknowledgment);
+
+        // then
+        verify(metricsService, times(2)).updateTrafficMetrics(any());
+        verify(metricsService).recordSlowResponse(events.get(1));
+        verify(acknowledgment, times(1)).acknowledge();
+    }
+
+    private static AttackDetectedEvent attack(String sourceIp, AttackDetectedEvent.AttackType attackType, int riskScore) {
+        return AttackDetectedEvent.builder()
+            .sourceIp(sourceIp)
+            .attackType(attackType)
+            .riskScore(riskScore)
+            .blocked(true)
+            .build();
+    }
+
+    private static ConsumerRecord<String, AttackDetectedEvent> record(long offset, String key, AttackDetectedEvent event) {
+        return new ConsumerRecord<>("waf.attacks", 0, offset, key, event);
+    }
+
+    private static AccessLogEvent access(String uri, long responseTime) {
+        return AccessLogEvent.builder()
+            .clientIp("10.0.0.9")
+            .uri(uri)
+            .statusCode(200)
+            .responseTime(responseTime)
+            .build();
+    }
+}
@@ -0,0 +1,78 @@
+package dev.waf.console.waflog.dictionary;
+
+import dev.waf.console.waflog.dictionary.WAFLogDictionaryEntry.Kind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DictionaryCache 단위 테스트
+ */
+@DisplayName("WAF 로그 사전 캐시 테스트")
+class DictionaryCacheTest {
+
+    @Test
+    @DisplayName("문자열과 ID를 양방향으로 조회하고 종류별로 구분")
+    void bidirectionalLookup() {
+        // given
+        DictionaryCache cache = new DictionaryCache(10);
+
+        // when
+        cache.put(Kind.USER_AGENT, "Mozilla/5.0", 1, null);
+        cache.put(Kind.REQUEST_URI, "/api/logs", 2, null);
+
+        // then
+        assertThat(cache.idOf(Kind.USER_AGENT, "Mozilla/5.0")).isEqualTo(1);
+        assertThat(cache.idOf(Kind.REQUEST_URI, "Mozilla/5.0")).isNull();
+        assertThat(cache.valueOf(2)).isEqualTo("/api/logs");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("용량이 가득 차면 가장 오래 사용하지 않은 항목을 양방향 모두에서 제거")
+    void evictsLeastRecentlyUsed() {
+        // given
+        DictionaryCache cache = new DictionaryCache(2);
+        cache.put(Kind.RULE_NAME, "SQLi", 1, null);
+        cache.put(Kind.RULE_NAME, "XSS", 2, null);
+        cache.idOf(Kind.RULE_NAME, "SQLi");
+
+        // when
+        cache.put(Kind.RULE_NAME, "RCE", 3, null);
+
+        // then
+        assertThat(cache.idOf(Kind.RULE_NAME, "XSS")).isNull();
+        assertThat(cache.valueOf(2)).isNull();
+        assertThat(cache.idOf(Kind.RULE_NAME, "RCE")).isEqualTo(3);
+        assertThat(cache.valueOf(1)).isEqualTo("SQLi");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("사용 일자는 하루 한 번만 갱신 대상이고, 정리 기준일 이전에 사용된 항목은 제거")
+    void tracksTouchedDay() {
+        // given
+        DictionaryCache cache = new DictionaryCache(10);
+        cache.put(Kind.REQUEST_URI, "/api/logs", 1, 100L);
+        cache.put(Kind.REQUEST_URI, "/api/stats", 2, 90L);
+
+        // when & then
+        assertThat(cache.markTouched(1, 100L)).isFalse();
+        assertThat(cache.markTouched(1, 101L)).isTrue();
+        assertThat(cache.markTouched(1, 101L)).isFalse();
+
+        cache.removeTouchedBefore(95L);
+        assertThat(cache.valueOf(2)).isNull();
+        assertThat(cache.idOf(Kind.REQUEST_URI, "/api/stats")).isNull();
+        assertThat(cache.idOf(Kind.REQUEST_URI, "/api/logs")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사전 해시는 MySQL SHA2(value, 256)과 같은 16진수 문자열")
+    void valueHashMatchesMySqlSha2() {
+        // when & then
+        assertThat(WAFLogDictionary.sha256Hex("abc"))
+            .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
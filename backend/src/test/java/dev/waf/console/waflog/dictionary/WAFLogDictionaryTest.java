@@ -0,0 +1,42 @@
+package dev.waf.console.waflog.dictionary;
+
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * WAFLogDictionary 단위 테스트
+ */
+@DisplayName("WAF 로그 사전 테스트")
+class WAFLogDictionaryTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WAFLogDictionary dictionary = new WAFLogDictionary(
+        jdbcTemplate, mock(DatabaseDialect.class), meterRegistry, 100, false);
+
+    @Test
+    @DisplayName("사전에 없는 ID는 예외 대신 자리 표시 문자열로 복원하고 집계")
+    void decodesUnknownIdAsPlaceholder() {
+        // given
+        when(jdbcTemplate.queryForList(anyString(), eq(42))).thenReturn(List.of());
+
+        // when
+        String value = dictionary.decode(42);
+
+        // then
+        assertThat(value).isEqualTo("<unknown:42>");
+        assertThat(dictionary.decode(null)).isNull();
+        assertThat(meterRegistry.counter("waf.log.dictionary.unknown").count()).isEqualTo(1);
+    }
+}
@@ -156,4 +156,39 @@ class WAFLogTest implements TestFixtures {
         assertThat(pathTraversalLog.getAttackType()).isEqualTo("PATH_TRAVERSAL");
         assertThat(pathTraversalLog.isBlocked()).isTrue();
     }
+
+    @Test
+    @DisplayName("헤더에서 온 값은 팩토리에서 컬럼 길이로 잘림")
+    void fitsHeaderValuesToColumnLengths() {
+        // given
+        String forwarded = "203.0.113.250, 198.51.100.1, 192.0.2.1, 10.0.0.1, 10.0.0.2";
+        String ruleId = "r".repeat(WAFLog.RULE_ID_LENGTH + 20);
+
+        // when
+        WAFLog blockedLog = WAFLog.createBlockedLog(forwarded, "PROPFIND-EXTENDED", "/api/test", null,
+            "SQL_INJECTION", 90, ruleId, "rule", "blocked");
+
+        // then
+        assertThat(blockedLog.getSourceIp()).hasSize(WAFLog.SOURCE_IP_LENGTH);
+        assertThat(blockedLog.getHttpMethod()).isEqualTo("PROPFIND-E");
+        assertThat(blockedLog.getRuleId()).hasSize(WAFLog.RULE_ID_LENGTH);
+        assertThat(blockedLog.getAttackType()).isEqualTo("SQL_INJECTION");
+        assertThat(WAFLog.fitColumn("ab\uD83D\uDE00", 3)).isEqualTo("ab");
+        assertThat(WAFLog.fitColumn(null, 3)).isNull();
+    }
+
+    @Test
+    @DisplayName("요청 대상은 경로와 쿼리 스트링으로 나눠 담고 전체 URI로 다시 합침")
+    void splitsRequestTargetIntoPathAndQuery() {
+        // given & when
+        WAFLog withQuery = WAFLog.createSuccessLog("10.0.0.1", "GET", "/api/logs?page=0&size=20", null, 10L, 200);
+        WAFLog withoutQuery = WAFLog.createSuccessLog("10.0.0.1", "GET", "/api/logs?", null, 10L, 200);
+
+        // then
+        assertThat(withQuery.getRequestUri()).isEqualTo("/api/logs");
+        assertThat(withQuery.getRequestQuery()).isEqualTo("page=0&size=20");
+        assertThat(withQuery.getFullRequestUri()).isEqualTo("/api/logs?page=0&size=20");
+        assertThat(withoutQuery.getRequestQuery()).isNull();
+        assertThat(withoutQuery.getFullRequestUri()).isEqualTo("/api/logs");
+    }
 }
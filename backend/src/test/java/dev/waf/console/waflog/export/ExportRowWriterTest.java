@@ -0,0 +1,58 @@
+package dev.waf.console.waflog.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내보내기 행 출력기 단위 테스트
+ */
+@DisplayName("WAF 로그 내보내기 행 출력 테스트")
+class ExportRowWriterTest {
+
+    private static final List<String> COLUMNS = List.of("id", "request_uri", "risk_score", "block_reason");
+
+    @Test
+    @DisplayName("CSV는 헤더 후 행마다 CRLF로 구분하고 특수 문자가 있는 값만 따옴표로 감쌈")
+    void csv() throws Exception {
+        // given
+        StringWriter out = new StringWriter();
+        CsvExportRowWriter writer = new CsvExportRowWriter(out);
+
+        // when
+        writer.begin(COLUMNS);
+        writer.write(new Object[] {1L, "/search?q=a,b", 90, "say \"hi\"\nnow"});
+        writer.write(new Object[] {2L, "/", null, null});
+        writer.finish();
+
+        // then
+        assertThat(out.toString()).isEqualTo(
+            "id,request_uri,risk_score,block_reason\r\n" +
+            "1,\"/search?q=a,b\",90,\"say \"\"hi\"\"\nnow\"\r\n" +
+            "2,/,,\r\n");
+    }
+
+    @Test
+    @DisplayName("NDJSON은 행마다 JSON 객체 한 줄이며 숫자는 숫자로, null은 생략")
+    void ndjson() throws Exception {
+        // given
+        StringWriter out = new StringWriter();
+        NdjsonExportRowWriter writer = new NdjsonExportRowWriter(new JsonFactory().createGenerator(out));
+
+        // when
+        writer.begin(COLUMNS);
+        writer.write(new Object[] {1L, "/login", 90, "SQL \"injection\""});
+        writer.write(new Object[] {2L, "/", null, null});
+        writer.finish();
+
+        // then
+        assertThat(out.toString()).isEqualTo(
+            "{\"id\":1,\"request_uri\":\"/login\",\"risk_score\":90,\"block_reason\":\"SQL \\\"injection\\\"\"}\n" +
+            "{\"id\":2,\"request_uri\":\"/\"}\n");
+    }
+}
@@ -0,0 +1,106 @@
+package dev.waf.console.waflog.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.waf.console.common.exception.BusinessException;
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * WAFLogExporter 단위 테스트 (동시 실행 허가 반납)
+ */
+@DisplayName("WAF 로그 내보내기 허가 반납 테스트")
+class WAFLogExporterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 12, 10, 0, 0);
+    private static final LocalDateTime END = START.plusDays(1);
+
+    private WAFLogExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new WAFLogExporter(mock(JdbcTemplate.class), mock(DatabaseDialect.class), mock(WAFLogDictionary.class), new ObjectMapper(),
+            new SimpleMeterRegistry(), 1000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("본문이 실행되지 않고 비동기 요청이 끝나도 허가를 반납")
+    void releasesPermitWhenBodyNeverRuns() throws Exception {
+        // given
+        MockHttpServletRequest request = asyncRequest();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(task -> {
+            throw new TaskRejectedException("executor saturated");
+        });
+        StreamingResponseBody body = exporter.export(START, END, null, WAFLogExportFormat.NDJSON, false);
+
+        // when
+        asyncManager.startCallableProcessing(() -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+        request.getAsyncContext().complete();
+
+        // then
+        assertThatCode(() -> exporter.export(START, END, null, WAFLogExportFormat.NDJSON, false))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("본문 종료와 비동기 완료가 모두 반납을 시도해도 허가는 한 번만 반납")
+    void releasesPermitOnlyOnce() throws Exception {
+        // given
+        MockHttpServletRequest request = asyncRequest();
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(Runnable::run);
+        StreamingResponseBody body = exporter.export(START, END, null, WAFLogExportFormat.CSV, false);
+
+        // when
+        asyncManager.startCallableProcessing(() -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        });
+        request.getAsyncContext().complete();
+
+        // then
+        asyncRequest();
+        exporter.export(START, END, null, WAFLogExportFormat.CSV, false);
+        assertThatThrownBy(() -> exporter.export(START, END, null, WAFLogExportFormat.CSV, false))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/logs/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return request;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.waf.console.waflog.partition;
+
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogPartitionLayout 단위 테스트
+ */
+@DisplayName("WAF 로그 파티션 배치 계산 테스트")
+class WAFLogPartitionLayoutTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final Map<LogStatus, Integer> RETENTION = Map.of(
+        LogStatus.BLOCKED, 90,
+        LogStatus.ERROR, 30,
+        LogStatus.WARNING, 30,
+        LogStatus.SUCCESS, 2
+    );
+
+    @Test
+    @DisplayName("테이블 변환 시 상태 정렬 순서대로 일자 파티션과 예비 파티션을 생성")
+    void partitionTableStatement() {
+        // when
+        String statement = WAFLogPartitionLayout.partitionTableStatement(TODAY, 1, RETENTION);
+
+        // then
+        assertThat(statement)
+            .startsWith("ALTER TABLE waf_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, status, `timestamp`) " +
+                "PARTITION BY RANGE COLUMNS(status, `timestamp`)")
+            .contains("PARTITION p_success_20250308 VALUES LESS THAN ('SUCCESS', '2025-03-09 00:00:00')")
+            .contains("PARTITION p_success_20250311 VALUES LESS THAN ('SUCCESS', '2025-03-12 00:00:00')")
+            .doesNotContain("p_success_20250307")
+            .endsWith("PARTITION p_max VALUES LESS THAN (MAXVALUE, MAXVALUE))");
+        assertThat(statement.indexOf("p_blocked_future"))
+            .isLessThan(statement.indexOf("p_error_"))
+            .isLessThan(statement.indexOf("p_success_"));
+        assertThat(statement.indexOf("p_success_future")).isLessThan(statement.indexOf("p_warning_"));
+    }
+
+    @Test
+    @DisplayName("마지막 일자 이후부터 부족한 미래 파티션만 예비 파티션을 재구성해 생성")
+    void createAheadStatements() {
+        // given
+        List<String> existing = List.of(
+            "p_blocked_20250309", "p_blocked_20250310", "p_blocked_future",
+            "p_success_20250313", "p_success_future", "p_max");
+
+        // when
+        List<String> statements = WAFLogPartitionLayout.createAheadStatements(existing, TODAY, 3);
+
+        // then: BLOCKED는 11~13일 생성, SUCCESS는 이미 충분, ERROR/WARNING은 예비 파티션이 없어 건너뜀
+        assertThat(statements).containsExactly(
+            "ALTER TABLE waf_logs REORGANIZE PARTITION p_blocked_future INTO (" +
+                "PARTITION p_blocked_20250311 VALUES LESS THAN ('BLOCKED', '2025-03-12 00:00:00'), " +
+                "PARTITION p_blocked_20250312 VALUES LESS THAN ('BLOCKED', '2025-03-13 00:00:00'), " +
+                "PARTITION p_blocked_20250313 VALUES LESS THAN ('BLOCKED', '2025-03-14 00:00:00'), " +
+                "PARTITION p_blocked_future VALUES LESS THAN ('BLOCKED', MAXVALUE))");
+    }
+
+    @Test
+    @DisplayName("상태별 보존 기간이 지난 일자 파티션만 삭제 대상")
+    void expiredPartitions() {
+        // given
+        List<String> existing = List.of(
+            "p_blocked_20241209", "p_blocked_20241210", "p_blocked_future",
+            "p_success_20250307", "p_success_20250308", "p_success_20250310", "p_success_future",
+            "p_max");
+
+        // when
+        List<String> expired = WAFLogPartitionLayout.expiredPartitions(existing, TODAY, RETENTION);
+
+        // then: BLOCKED 90일(2024-12-10부터 보존), SUCCESS 2일(2025-03-08부터 보존)
+        assertThat(expired).containsExactly("p_blocked_20241209", "p_success_20250307");
+    }
+
+    @Test
+    @DisplayName("보존 기간이 지났더라도 상태별 마지막 일자 파티션은 남김")
+    void keepsLatestDayPartition() {
+        // given
+        List<String> existing = List.of("p_success_20250101", "p_success_future", "p_max");
+
+        // when & then
+        assertThat(WAFLogPartitionLayout.expiredPartitions(existing, TODAY, RETENTION)).isEmpty();
+    }
+}
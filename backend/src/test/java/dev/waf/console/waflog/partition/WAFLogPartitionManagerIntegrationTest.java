@@ -0,0 +1,122 @@
+package dev.waf.console.waflog.partition;
+
+import dev.waf.console.config.AbstractIntegrationTest;
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.repository.WAFLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogPartitionManager 통합 테스트 (MySQL)
+ *
+ * 파티션 DDL은 암묵적으로 커밋되므로 테스트 트랜잭션 없이 실행하고, 끝나면 분할을 해제함
+ */
+@DisplayName("WAF 로그 파티션 관리 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WAFLogPartitionManagerIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseDialect databaseDialect;
+
+    @Autowired
+    private WAFLogDictionary wafLogDictionary;
+
+    @Autowired
+    private WAFLogRepository wafLogRepository;
+
+    @AfterEach
+    void tearDown() {
+        wafLogRepository.deleteAllInBatch();
+        if (!partitionNames().isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE waf_logs REMOVE PARTITIONING");
+        }
+    }
+
+    @Test
+    @DisplayName("매핑된 status 컬럼으로 상태별 일자 파티션을 만들고 보존 기간이 지난 일자는 행과 함께 삭제")
+    void partitionsTableAndDropsExpiredDays() {
+        // given
+        LocalDate today = LocalDate.now();
+        WAFLogPartitionManager manager = new WAFLogPartitionManager(jdbcTemplate, databaseDialect, wafLogDictionary,
+            new SimpleMeterRegistry(), true, 2, 60, 3, 3, 3, 1);
+        WAFLog yesterday = wafLogRepository.save(successLog(today.minusDays(1).atTime(12, 0)));
+        WAFLog current = wafLogRepository.save(successLog(today.atTime(12, 0)));
+
+        // when
+        manager.maintain(today);
+
+        // then
+        assertThat(statusColumnType()).isEqualTo("varchar");
+        assertThat(partitionNames()).contains(
+            WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.SUCCESS, today.minusDays(1)),
+            WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.BLOCKED, today.plusDays(2)),
+            WAFLogPartitionLayout.futurePartitionName(WAFLog.LogStatus.SUCCESS),
+            "p_max");
+
+        // when (이틀 뒤 점검: SUCCESS 보존 1일, 가장 긴 보존 기간보다 오래 쓰이지 않은 사전 항목 정리)
+        jdbcTemplate.update(
+            "INSERT INTO waf_log_dictionary (kind, value_hash, entry_value, last_used_on) VALUES (?, ?, ?, ?)",
+            "REQUEST_URI", "0".repeat(64), "/api/stale", today.minusDays(10));
+        manager.maintain(today.plusDays(2));
+
+        // then
+        assertThat(partitionNames())
+            .doesNotContain(
+                WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.SUCCESS, today.minusDays(1)),
+                WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.SUCCESS, today))
+            .contains(
+                WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.SUCCESS, today.plusDays(4)),
+                WAFLogPartitionLayout.dayPartitionName(WAFLog.LogStatus.BLOCKED, today.minusDays(1)));
+        assertThat(wafLogRepository.existsById(yesterday.getId())).isFalse();
+        assertThat(wafLogRepository.existsById(current.getId())).isFalse();
+        assertThat(dictionaryValues()).contains("/api/test").doesNotContain("/api/stale");
+    }
+
+    private List<String> dictionaryValues() {
+        return jdbcTemplate.queryForList("SELECT entry_value FROM waf_log_dictionary", String.class);
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'waf_logs' AND partition_name IS NOT NULL",
+            String.class);
+    }
+
+    private String statusColumnType() {
+        return jdbcTemplate.queryForObject(
+            "SELECT data_type FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'waf_logs' AND column_name = 'status'",
+            String.class);
+    }
+
+    private static WAFLog successLog(LocalDateTime timestamp) {
+        return WAFLog.builder()
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .userAgent("Mozilla/5.0")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .responseTimeMs(150L)
+            .responseStatusCode(200)
+            .timestamp(timestamp)
+            .build();
+    }
+}
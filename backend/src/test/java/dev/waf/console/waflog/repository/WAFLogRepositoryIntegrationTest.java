@@ -0,0 +1,85 @@
+package dev.waf.console.waflog.repository;
+
+import dev.waf.console.config.AbstractIntegrationTest;
+import dev.waf.console.waflog.domain.WAFLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogRepository 통합 테스트 (MySQL)
+ *
+ * 실행 계획 통계를 갱신하는 ANALYZE TABLE은 암묵적으로 커밋되므로 테스트 트랜잭션 없이 실행하고 직접 정리함
+ */
+@DisplayName("WAF 로그 저장소 통합 테스트")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WAFLogRepositoryIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WAFLogRepository wafLogRepository;
+
+    @AfterEach
+    void tearDown() {
+        wafLogRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("높은 위험도 커서 조회는 high_risk 인덱스를 정렬 순서대로 읽어 filesort 없이 실행")
+    void scrollsHighRiskLogsWithoutFilesort() {
+        // given
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        List<WAFLog> logs = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            logs.add(log(base.plusSeconds(i), i % 50 == 0 ? 90 : 30));
+        }
+        wafLogRepository.saveAll(logs);
+        jdbcTemplate.execute("ANALYZE TABLE waf_logs");
+        LocalDateTime cursorTime = base.plusSeconds(1000);
+
+        // when
+        Map<String, Object> plan = jdbcTemplate.queryForMap(
+            "EXPLAIN SELECT * FROM waf_logs w WHERE w.high_risk = TRUE " +
+            "AND w.timestamp <= ? AND (w.timestamp < ? OR w.id < ?) " +
+            "ORDER BY w.timestamp DESC, w.id DESC LIMIT 51",
+            cursorTime, cursorTime, Long.MAX_VALUE);
+        Slice<WAFLog> page = wafLogRepository.scrollHighRisk(cursorTime, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        // then
+        assertThat(plan.get("key")).isEqualTo("idx_waf_logs_high_risk_timestamp_id");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("filesort");
+        assertThat(page.getContent()).hasSize(10).allMatch(WAFLog::isHighRisk);
+        assertThat(page.getContent()).extracting(WAFLog::getTimestamp)
+            .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    private static WAFLog log(LocalDateTime timestamp, int riskScore) {
+        return WAFLog.builder()
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .userAgent("Mozilla/5.0")
+            .status(WAFLog.LogStatus.WARNING)
+            .riskScore(riskScore)
+            .responseTimeMs(150L)
+            .responseStatusCode(200)
+            .timestamp(timestamp)
+            .build();
+    }
+}
@@ -0,0 +1,111 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import dev.waf.console.waflog.rollup.WAFLogRollupAggregator.Counters;
+import dev.waf.console.waflog.rollup.WAFLogRollupAggregator.Split;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogRollupAggregator 단위 테스트
+ */
+@DisplayName("WAF 로그 롤업 집계 테스트")
+class WAFLogRollupAggregatorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 10, 14, 0);
+
+    @Test
+    @DisplayName("분 단위 구간, 상태, 공격 유형별로 샘플 가중치를 반영해 합산")
+    void aggregateByMinute() {
+        // given
+        List<WAFLog> logs = List.of(
+            log(BASE.plusSeconds(5), LogStatus.SUCCESS, null, 8L, 4),
+            log(BASE.plusSeconds(50), LogStatus.SUCCESS, null, 30L, null),
+            log(BASE.plusMinutes(1), LogStatus.SUCCESS, null, null, null),
+            log(BASE.plusSeconds(10), LogStatus.BLOCKED, "XSS", 7000L, null));
+
+        // when
+        TreeMap<WAFLogRollupId, Counters> increments = WAFLogRollupAggregator.aggregate(logs, ChronoUnit.MINUTES);
+
+        // then
+        assertThat(increments.keySet()).containsExactly(
+            new WAFLogRollupId(BASE, "BLOCKED", "XSS"),
+            new WAFLogRollupId(BASE, "SUCCESS", ""),
+            new WAFLogRollupId(BASE.plusMinutes(1), "SUCCESS", ""));
+
+        Counters success = increments.get(new WAFLogRollupId(BASE, "SUCCESS", ""));
+        assertThat(success.requestCount).isEqualTo(5);
+        assertThat(success.latencySumMs).isEqualTo(8 * 4 + 30);
+        assertThat(success.latencyCount).isEqualTo(5);
+        assertThat(success.latencyBuckets[0]).isEqualTo(4);
+        assertThat(success.latencyBuckets[2]).isEqualTo(1);
+
+        Counters blocked = increments.get(new WAFLogRollupId(BASE, "BLOCKED", "XSS"));
+        assertThat(blocked.latencyBuckets[WAFLogRollupAggregator.LATENCY_BOUNDS_MS.length]).isEqualTo(1);
+        assertThat(increments.get(new WAFLogRollupId(BASE.plusMinutes(1), "SUCCESS", "")).latencyCount).isZero();
+    }
+
+    @Test
+    @DisplayName("누적 UPSERT 문은 모든 카운터 컬럼을 기존 값에 더함")
+    void upsertStatement() {
+        // when
+        String statement = WAFLogRollupAggregator.upsertStatement("waf_log_rollup_minute");
+
+        // then
+        assertThat(statement)
+            .startsWith("INSERT INTO waf_log_rollup_minute (bucket_start, status, attack_type, request_count, ")
+            .contains("latency_le_10, ", "latency_gt_5000)")
+            .contains("request_count = request_count + VALUES(request_count)")
+            .endsWith("latency_gt_5000 = latency_gt_5000 + VALUES(latency_gt_5000)");
+        assertThat(statement.chars().filter(c -> c == '?').count())
+            .isEqualTo(3 + WAFLogRollupAggregator.COUNTER_COLUMNS.size());
+    }
+
+    @Test
+    @DisplayName("조회 구간은 시 경계 안쪽만 시 롤업, 앞뒤 자투리는 분 롤업으로 나눔")
+    void splitRange() {
+        // when
+        Split split = WAFLogRollupAggregator.split(BASE.minusHours(24).plusMinutes(23).plusSeconds(45),
+            BASE.plusMinutes(17));
+
+        // then
+        assertThat(split.hourRange.from).isEqualTo(BASE.minusHours(23));
+        assertThat(split.hourRange.to).isEqualTo(BASE);
+        assertThat(split.minuteRanges).hasSize(2);
+        assertThat(split.minuteRanges.get(0).from).isEqualTo(BASE.minusHours(24).plusMinutes(23));
+        assertThat(split.minuteRanges.get(0).to).isEqualTo(BASE.minusHours(23));
+        assertThat(split.minuteRanges.get(1).from).isEqualTo(BASE);
+        assertThat(split.minuteRanges.get(1).to).isEqualTo(BASE.plusMinutes(17));
+    }
+
+    @Test
+    @DisplayName("1시간 안쪽 구간은 분 롤업만 사용")
+    void splitShortRange() {
+        // when
+        Split split = WAFLogRollupAggregator.split(BASE.minusMinutes(40), BASE.plusMinutes(10));
+
+        // then
+        assertThat(split.hourRange).isNull();
+        assertThat(split.minuteRanges).hasSize(1);
+        assertThat(split.minuteRanges.get(0).from).isEqualTo(BASE.minusMinutes(40));
+    }
+
+    private WAFLog log(LocalDateTime timestamp, LogStatus status, String attackType, Long responseTimeMs,
+                       Integer sampleWeight) {
+        return WAFLog.builder()
+            .timestamp(timestamp)
+            .status(status)
+            .attackType(attackType)
+            .responseTimeMs(responseTimeMs)
+            .sampleWeight(sampleWeight)
+            .build();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.waf.console.waflog.rollup;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WAFLogRollupService 단위 테스트 (백필 경계)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WAF 로그 롤업 저장 경로 테스트")
+class WAFLogRollupServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 10, 14, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private WAFLogMinuteRollupRepository minuteRollupRepository;
+
+    @Mock
+    private WAFLogHourRollupRepository hourRollupRepository;
+
+    @Mock
+    private WAFLogRollupBackfillWatermark backfillWatermark;
+
+    @InjectMocks
+    private WAFLogRollupService wafLogRollupService;
+
+    @Test
+    @DisplayName("백필 경계 이하 ID의 로그는 백필이 반영하므로 저장 경로에서 제외")
+    @SuppressWarnings("unchecked")
+    void skipsLogsCoveredByBackfill() {
+        // given
+        when(backfillWatermark.maxLogId()).thenReturn(100L);
+        List<WAFLog> logs = List.of(
+            log(99L, BASE.plusSeconds(5)),
+            log(100L, BASE.plusMinutes(1)),
+            log(101L, BASE.plusMinutes(2)));
+
+        // when
+        wafLogRollupService.record(logs);
+
+        // then
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> minuteRows = batches.getAllValues().get(0);
+        assertThat(minuteRows).hasSize(1);
+        assertThat(minuteRows.get(0)[0]).isEqualTo(Timestamp.valueOf(BASE.plusMinutes(2)));
+    }
+
+    @Test
+    @DisplayName("모든 로그가 백필 경계 이하이면 롤업을 갱신하지 않음")
+    void recordsNothingBelowWatermark() {
+        // given
+        when(backfillWatermark.maxLogId()).thenReturn(100L);
+
+        // when
+        wafLogRollupService.record(List.of(log(42L, BASE)));
+
+        // then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private static WAFLog log(Long id, LocalDateTime timestamp) {
+        return WAFLog.builder()
+            .id(id)
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(LogStatus.SUCCESS)
+            .responseTimeMs(20L)
+            .timestamp(timestamp)
+            .build();
+    }
+}
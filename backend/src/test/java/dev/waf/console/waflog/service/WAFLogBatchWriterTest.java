@@ -0,0 +1,114 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.infrastructure.concurrency.SinkConcurrencyLimiter;
+import dev.waf.console.infrastructure.persistence.DatabaseDialect;
+import dev.waf.console.waflog.dictionary.WAFLogDictionary;
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * WAFLogBatchWriter 단위 테스트 (실패 행 격리)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WAF 로그 배치 기록기 테스트")
+class WAFLogBatchWriterTest {
+
+    private static final String BAD_IP = "203.0.113.250, 198.51.100.1, 192.0.2.1, 10.0.0.1, 10.0.0.2";
+
+    @Mock
+    private WAFLogService wafLogService;
+
+    @Mock
+    private WAFLogDictionary wafLogDictionary;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DatabaseDialect databaseDialect;
+
+    private WAFLogBatchWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        SinkConcurrencyLimiter limiter = new SinkConcurrencyLimiter(new SimpleMeterRegistry(), 1, 1, 1, 1000);
+        writer = new WAFLogBatchWriter(wafLogService, wafLogDictionary, transactionTemplate, null, databaseDialect,
+            limiter, 100, 50, 1000);
+    }
+
+    @Test
+    @DisplayName("데이터 오류로 배치가 실패하면 반씩 나눠 저장하여 문제 행만 실패로 집계")
+    void isolatesRejectedRow() throws Exception {
+        // given
+        when(wafLogService.saveAllWithOutbox(anyList())).thenAnswer(invocation -> {
+            List<WAFLog> rows = invocation.getArgument(0);
+            if (rows.stream().anyMatch(row -> BAD_IP.equals(row.getSourceIp()))) {
+                throw new DataIntegrityViolationException("Data too long for column 'source_ip'");
+            }
+            return new ArrayList<>(rows);
+        });
+        writer.start();
+
+        // when
+        for (int i = 0; i < 40; i++) {
+            writer.submit(log(i == 17 ? BAD_IP : "10.0.0." + i));
+        }
+        writer.stop();
+
+        // then
+        assertThat(writer.getFailedCount()).isEqualTo(1);
+        assertThat(writer.getPersistedCount()).isEqualTo(39);
+    }
+
+    @Test
+    @DisplayName("연결 오류는 나눠 저장해도 같은 결과이므로 배치 단위로 실패 집계")
+    void doesNotSplitOnTransientFailure() throws Exception {
+        // given
+        when(wafLogService.saveAllWithOutbox(anyList()))
+            .thenThrow(new CannotGetJdbcConnectionException("Connection is not available"));
+        writer.start();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            writer.submit(log("10.0.0." + i));
+        }
+        writer.stop();
+
+        // then
+        assertThat(writer.getFailedCount()).isEqualTo(10);
+        assertThat(WAFLogBatchWriter.isTransient(new DataIntegrityViolationException("duplicate"))).isFalse();
+    }
+
+    private static WAFLog log(String sourceIp) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .responseTimeMs(20L)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
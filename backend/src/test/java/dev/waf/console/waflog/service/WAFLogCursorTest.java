@@ -0,0 +1,55 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.common.exception.BusinessException;
+import dev.waf.console.waflog.domain.WAFLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WAFLogCursor 단위 테스트
+ */
+@DisplayName("WAF 로그 키셋 커서 테스트")
+class WAFLogCursorTest {
+
+    @Test
+    @DisplayName("마지막 로그의 발생 시간(나노초 포함)과 ID가 커서 문자열로 보존됨")
+    void encodeAndDecode() {
+        // given
+        WAFLog last = WAFLog.builder()
+            .id(123456789L)
+            .timestamp(LocalDateTime.of(2025, 3, 10, 12, 30, 45, 123_456_789))
+            .build();
+
+        // when
+        String encoded = WAFLogCursor.after(last).encode();
+        WAFLogCursor decoded = WAFLogCursor.decode(encoded);
+
+        // then
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(decoded.getTimestamp()).isEqualTo(last.getTimestamp());
+        assertThat(decoded.getId()).isEqualTo(123456789L);
+    }
+
+    @Test
+    @DisplayName("커서가 없으면 첫 페이지부터 조회")
+    void blankCursorIsFirstPage() {
+        // when & then
+        assertThat(WAFLogCursor.decode(null)).isEqualTo(WAFLogCursor.FIRST);
+        assertThat(WAFLogCursor.decode(" ")).isEqualTo(WAFLogCursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("형식이 올바르지 않은 커서는 잘못된 요청으로 거부")
+    void rejectsMalformedCursor() {
+        // when & then
+        assertThatThrownBy(() -> WAFLogCursor.decode("not a cursor!"))
+            .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> WAFLogCursor.decode("AAAA"))
+            .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.event.AttackDetectedEvent;
+import dev.waf.console.event.WAFEvent;
+import dev.waf.console.waflog.domain.WAFLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogEventMapper 단위 테스트
+ */
+@DisplayName("WAF 로그 이벤트 변환 테스트")
+class WAFLogEventMapperTest {
+
+    private final WAFLogEventMapper mapper = new WAFLogEventMapper();
+
+    @Test
+    @DisplayName("차단 로그는 공격 탐지 이벤트로 변환되고 이벤트 ID는 로그 ID에서 생성")
+    void blockedLogToAttackEvent() {
+        // given
+        WAFLog wafLog = createLog(42L, WAFLog.LogStatus.BLOCKED);
+        wafLog.setAttackType("sql_injection");
+
+        // when
+        WAFEvent event = mapper.toEvent(wafLog);
+
+        // then
+        assertThat(event).isInstanceOf(AttackDetectedEvent.class);
+        AttackDetectedEvent attackEvent = (AttackDetectedEvent) event;
+        assertThat(attackEvent.getEventId()).isEqualTo("waf-log-42");
+        assertThat(attackEvent.getAttackType()).isEqualTo(AttackDetectedEvent.AttackType.SQL_INJECTION);
+        assertThat(attackEvent.getSourceIp()).isEqualTo("10.0.0.1");
+        assertThat(attackEvent.getTimestamp()).isEqualTo(wafLog.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("그 외 로그는 가중치를 포함한 접근 로그 이벤트로 변환")
+    void successLogToAccessEvent() {
+        // given
+        WAFLog wafLog = createLog(7L, WAFLog.LogStatus.SUCCESS);
+        wafLog.setSampleWeight(20);
+
+        // when
+        WAFEvent event = mapper.toEvent(wafLog);
+
+        // then
+        assertThat(event).isInstanceOf(AccessLogEvent.class);
+        AccessLogEvent accessEvent = (AccessLogEvent) event;
+        assertThat(accessEvent.getEventId()).isEqualTo("waf-log-7");
+        assertThat(accessEvent.getClientIp()).isEqualTo("10.0.0.1");
+        assertThat(accessEvent.getSampleWeight()).isEqualTo(20);
+    }
+
+    private WAFLog createLog(Long id, WAFLog.LogStatus status) {
+        return WAFLog.builder()
+            .id(id)
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(status)
+            .responseStatusCode(200)
+            .responseTimeMs(10L)
+            .timestamp(LocalDateTime.of(2025, 1, 1, 12, 0))
+            .build();
+    }
+}
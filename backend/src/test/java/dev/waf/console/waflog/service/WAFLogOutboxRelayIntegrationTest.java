@@ -0,0 +1,126 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.config.AbstractIntegrationTest;
+import dev.waf.console.service.EventPublisher;
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLogOutbox;
+import dev.waf.console.waflog.repository.WAFLogOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("WAF 로그 발행 대기열 릴레이 통합 테스트")
+class WAFLogOutboxRelayIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private WAFLogService wafLogService;
+
+    @Autowired
+    private WAFLogOutboxRepository wafLogOutboxRepository;
+
+    @Autowired
+    private WAFLogEventMapper wafLogEventMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final EventPublisher eventPublisher = mock(EventPublisher.class);
+
+    private WAFLogOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        wafLogOutboxRepository.deleteAllInBatch();
+        relay = new WAFLogOutboxRelay(wafLogOutboxRepository, wafLogEventMapper, eventPublisher, transactionTemplate,
+            new SimpleMeterRegistry(), 2000, 0, 86_400_000, 200, 1000, 1000);
+    }
+
+    @Test
+    @DisplayName("더 큰 ID를 발행하는 동안 늦게 커밋된 작은 ID의 대기열 행은 지우지 않고 다음 회차에 발행")
+    void keepsRowCommittedOutOfOrder() throws Exception {
+        // given
+        WAFLog first = wafLogService.saveLog(createTestLog("10.0.0.1"));
+        WAFLog late = wafLogService.saveLog(createTestLog("10.0.0.2"));
+        WAFLog last = wafLogService.saveLog(createTestLog("10.0.0.3"));
+
+        // late는 ID를 먼저 받았지만 트랜잭션이 아직 커밋되지 않아 대기열 행이 보이지 않는 상태
+        LocalDateTime lateCreatedAt = wafLogOutboxRepository.findById(late.getId()).orElseThrow().getCreatedAt();
+        wafLogOutboxRepository.deleteById(late.getId());
+        entityManager.flush();
+
+        AtomicInteger publishCalls = new AtomicInteger();
+        when(eventPublisher.publishLogEventsInBulk(anyList())).thenAnswer(invocation -> {
+            if (publishCalls.incrementAndGet() == 1) {
+                // 첫 발행과 삭제 사이에 late 트랜잭션이 커밋됨 (createdAt은 커밋 전에 기록된 시각)
+                wafLogOutboxRepository.save(new WAFLogOutbox(late, lateCreatedAt));
+                entityManager.flush();
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // when
+        int firstRelay = relay.relayOnce();
+
+        // then
+        assertThat(firstRelay).isEqualTo(2);
+        assertThat(wafLogOutboxRepository.existsById(first.getId())).isFalse();
+        assertThat(wafLogOutboxRepository.existsById(last.getId())).isFalse();
+        assertThat(wafLogOutboxRepository.existsById(late.getId())).isTrue();
+
+        // when
+        int secondRelay = relay.relayOnce();
+
+        // then
+        assertThat(secondRelay).isEqualTo(1);
+        assertThat(wafLogOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("로그 키 컬럼이 비어 있는 이전 대기열 행은 기동 시 채워져 전체 키 조인으로 발행")
+    void backfillsLegacyRowsBeforeRelaying() throws Exception {
+        // given
+        WAFLog legacy = wafLogService.saveLog(createTestLog("10.0.0.4"));
+        entityManager.flush();
+        entityManager.createNativeQuery(
+                "UPDATE waf_log_outbox SET log_status = NULL, log_timestamp = NULL WHERE log_id = :logId")
+            .setParameter("logId", legacy.getId())
+            .executeUpdate();
+        entityManager.clear();
+        when(eventPublisher.publishLogEventsInBulk(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // when
+        int updated = wafLogOutboxRepository.backfillLogKeys();
+        entityManager.clear();
+        int relayed = relay.relayOnce();
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(relayed).isEqualTo(1);
+        assertThat(wafLogOutboxRepository.existsById(legacy.getId())).isFalse();
+    }
+
+    private WAFLog createTestLog(String sourceIp) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .userAgent("Mozilla/5.0")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .responseTimeMs(150L)
+            .responseStatusCode(200)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
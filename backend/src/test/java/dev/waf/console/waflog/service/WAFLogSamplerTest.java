@@ -0,0 +1,138 @@
+package dev.waf.console.waflog.service;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogSampler 단위 테스트
+ */
+@DisplayName("SUCCESS 로그 적응형 샘플러 테스트")
+class WAFLogSamplerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("목표 유입량 이하에서는 모든 로그를 가중치 없이 저장")
+    void keepsEverythingBelowTarget() {
+        // given: 목표 200/s, 실제 100/s
+        WAFLogSampler sampler = createSampler(200);
+
+        // when
+        int kept = 0;
+        for (int i = 0; i < 500; i++) {
+            WAFLog wafLog = createLog(WAFLog.LogStatus.SUCCESS);
+            if (sampler.sample(wafLog, i * 10 * MILLIS)) {
+                kept++;
+                assertThat(wafLog.getSampleWeight()).isNull();
+            }
+        }
+
+        // then
+        assertThat(kept).isEqualTo(500);
+        assertThat(sampler.getCurrentWeight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("부하 시 SUCCESS 로그를 줄여 저장하되 가중치 합은 전체 건수와 일치")
+    void weightsPreserveTotalUnderLoad() {
+        // given: 목표 200/s, 실제 4000/s
+        WAFLogSampler sampler = createSampler(200);
+
+        // when
+        int total = 200_000;
+        int kept = 0;
+        long weightSum = 0;
+        for (int i = 0; i < total; i++) {
+            WAFLog wafLog = createLog(WAFLog.LogStatus.SUCCESS);
+            if (sampler.sample(wafLog, i * 250_000L)) {
+                kept++;
+                weightSum += wafLog.getSampleWeight() != null ? wafLog.getSampleWeight() : 1;
+            }
+        }
+
+        // then: 마지막 저장 이후 대기 중인 건수(가중치 미만)만큼만 차이 남
+        assertThat(sampler.getCurrentWeight()).isEqualTo(20);
+        assertThat(kept).isLessThan(total / 10);
+        assertThat(total - weightSum).isBetween(0L, (long) sampler.getCurrentWeight());
+    }
+
+    @Test
+    @DisplayName("BLOCKED/ERROR/WARNING 로그는 부하와 무관하게 항상 저장")
+    void neverSamplesNonSuccessLogs() {
+        // given
+        WAFLogSampler sampler = createSampler(10);
+        for (int i = 0; i < 10_000; i++) {
+            sampler.sample(createLog(WAFLog.LogStatus.SUCCESS), i * 100_000L);
+        }
+
+        // when & then
+        for (WAFLog.LogStatus status : new WAFLog.LogStatus[]{
+                WAFLog.LogStatus.BLOCKED, WAFLog.LogStatus.ERROR, WAFLog.LogStatus.WARNING}) {
+            WAFLog wafLog = createLog(status);
+            assertThat(sampler.sample(wafLog, TimeUnit.SECONDS.toNanos(2))).isTrue();
+            assertThat(wafLog.getSampleWeight()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("분이 바뀌면 이전 분의 누적분을 마지막으로 건너뛴 로그에 실어 먼저 저장")
+    void flushesPendingWeightWhenMinuteChanges() {
+        // given: 가중치가 20이 된 뒤 건너뛴 로그가 대기 중인 상태까지 같은 분에서 유입
+        WAFLogSampler sampler = createSampler(200);
+        LocalDateTime firstMinute = LocalDateTime.of(2024, 12, 10, 14, 0, 59);
+        long nanos = 0;
+        int skippedSinceKept = 0;
+        WAFLog lastSkipped = null;
+        while (sampler.getCurrentWeight() < 20 || skippedSinceKept < 2) {
+            WAFLog wafLog = createLog(WAFLog.LogStatus.SUCCESS, firstMinute);
+            if (sampler.sample(wafLog, nanos)) {
+                skippedSinceKept = 0;
+                lastSkipped = null;
+            } else {
+                skippedSinceKept++;
+                lastSkipped = wafLog;
+            }
+            nanos += 250_000L;
+        }
+
+        // when: 다음 분의 첫 로그
+        WAFLog nextMinuteLog = createLog(WAFLog.LogStatus.SUCCESS, firstMinute.plusSeconds(1));
+        boolean kept = sampler.sample(nextMinuteLog, nanos);
+        WAFLog flushed = sampler.takeFlushed();
+
+        // then: 이전 분의 대기 건수는 이전 분의 로그로 저장되고 다음 분 로그로 넘어가지 않음
+        assertThat(kept).isFalse();
+        assertThat(flushed).isSameAs(lastSkipped);
+        assertThat(flushed.getTimestamp()).isEqualTo(firstMinute);
+        assertThat(flushed.getSampleWeight()).isEqualTo(skippedSinceKept);
+        assertThat(sampler.takeFlushed()).isNull();
+        assertThat(sampler.flushIfWindowClosed(firstMinute.plusSeconds(30))).isNull();
+        assertThat(sampler.flushIfWindowClosed(firstMinute.plusMinutes(2))).isSameAs(nextMinuteLog);
+    }
+
+    private WAFLogSampler createSampler(double targetPerSecond) {
+        return new WAFLogSampler(new SimpleMeterRegistry(), true, targetPerSecond, 100, 1.0);
+    }
+
+    private WAFLog createLog(WAFLog.LogStatus status) {
+        return createLog(status, null);
+    }
+
+    private WAFLog createLog(WAFLog.LogStatus status, LocalDateTime timestamp) {
+        return WAFLog.builder()
+            .sourceIp("10.0.0.1")
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(status)
+            .responseTimeMs(10L)
+            .timestamp(timestamp)
+            .build();
+    }
+}
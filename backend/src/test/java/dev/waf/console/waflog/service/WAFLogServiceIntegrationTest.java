@@ -3,6 +3,8 @@ package dev.waf.console.waflog.service;
 import dev.waf.console.config.AbstractIntegrationTest;
 import dev.waf.console.waflog.domain.WAFLog;
 import dev.waf.console.waflog.repository.WAFLogRepository;
+import dev.waf.console.waflog.rollup.WAFLogHourRollupRepository;
+import dev.waf.console.waflog.rollup.WAFLogMinuteRollupRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,9 +25,17 @@ class WAFLogServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private WAFLogRepository wafLogRepository;
 
+    @Autowired
+    private WAFLogMinuteRollupRepository minuteRollupRepository;
+
+    @Autowired
+    private WAFLogHourRollupRepository hourRollupRepository;
+
     @BeforeEach
     void setUp() {
         wafLogRepository.deleteAll();
+        minuteRollupRepository.deleteAllInBatch();
+        hourRollupRepository.deleteAllInBatch();
     }
 
     @Test
@@ -0,0 +1,95 @@
+package dev.waf.console.waflog.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HyperLogLog 단위 테스트
+ */
+@DisplayName("HyperLogLog 고유 항목 수 스케치 테스트")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("적은 수의 고유 IP는 선형 계수로 거의 정확하게 추정하고 중복은 무시")
+    void smallCardinalityIsNearlyExact() {
+        // given
+        HyperLogLog sketch = new HyperLogLog(12);
+
+        // when
+        for (int repeat = 0; repeat < 5; repeat++) {
+            addIps(sketch, 0, 100);
+        }
+
+        // then
+        assertThat(sketch.estimate()).isCloseTo(100L, within(2L));
+    }
+
+    @Test
+    @DisplayName("큰 고유 수도 상대 오차 5% 이내로 추정")
+    void largeCardinalityWithinError() {
+        // given
+        HyperLogLog tenThousand = new HyperLogLog(12);
+        HyperLogLog hundredThousand = new HyperLogLog(12);
+
+        // when
+        addIps(tenThousand, 0, 10_000);
+        addIps(hundredThousand, 0, 100_000);
+
+        // then
+        assertThat(tenThousand.estimate()).isCloseTo(10_000L, within(500L));
+        assertThat(hundredThousand.estimate()).isCloseTo(100_000L, within(5_000L));
+    }
+
+    @Test
+    @DisplayName("병합 결과는 합집합의 고유 수이며 입력 스케치는 변경하지 않음")
+    void mergeIsUnion() {
+        // given
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        addIps(left, 0, 6_000);
+        addIps(right, 4_000, 10_000);
+        long leftBefore = left.estimate();
+
+        // when
+        HyperLogLog merged = HyperLogLog.merge(left, right);
+
+        // then
+        assertThat(merged.estimate()).isCloseTo(10_000L, within(500L));
+        assertThat(left.estimate()).isEqualTo(leftBefore);
+        assertThatThrownBy(() -> HyperLogLog.merge(left, new HyperLogLog(10)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("희소/밀집 직렬화 후에도 같은 추정치를 유지하고 잘못된 입력은 거부")
+    void serializationRoundTrip() {
+        // given
+        HyperLogLog sparse = new HyperLogLog(12);
+        addIps(sparse, 0, 50);
+        HyperLogLog dense = new HyperLogLog(12);
+        addIps(dense, 0, 50_000);
+
+        // when
+        byte[] sparseBytes = sparse.toBytes();
+        byte[] denseBytes = dense.toBytes();
+
+        // then
+        assertThat(sparseBytes.length).isLessThan(1 << 12);
+        assertThat(HyperLogLog.fromBytes(sparseBytes).estimate()).isEqualTo(sparse.estimate());
+        assertThat(HyperLogLog.fromBytes(denseBytes).estimate()).isEqualTo(dense.estimate());
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[] {1, 12, 0, 3}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[] {1, 30, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void addIps(HyperLogLog sketch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            sketch.add("10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.waf.console.waflog.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * LatencyHistogram 단위 테스트
+ */
+@DisplayName("응답 시간 히스토그램 테스트")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("구간 인덱스는 값 순서를 유지하고 하한은 상대 오차 1/32 이내")
+    void bucketLayout() {
+        // given
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 65, 1_000, 12_345, 999_999, LatencyHistogram.MAX_TRACKABLE_MICROS};
+
+        // when & then
+        int previous = -1;
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(index).isGreaterThanOrEqualTo(previous).isLessThan(LatencyHistogram.BUCKET_COUNT);
+            long lowerBound = LatencyHistogram.lowerBound(index);
+            assertThat(lowerBound).isLessThanOrEqualTo(value);
+            assertThat(value - lowerBound).isLessThanOrEqualTo(value / 32);
+            previous = index;
+        }
+    }
+
+    @Test
+    @DisplayName("1ms 미만 응답도 구분하며 분위수는 가중치를 반영")
+    void quantilesWithWeights() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(300, 890);      // 0.3ms
+        histogram.record(20_000, 100);   // 20ms
+        histogram.record(500_000, 9);    // 500ms
+        histogram.record(2_000_000, 1);  // 2s
+
+        // when & then
+        assertThat(histogram.getTotalCount()).isEqualTo(1000);
+        assertThat(histogram.valueAtQuantile(0.50)).isCloseTo(300L, within(5L));
+        assertThat(histogram.valueAtQuantile(0.90)).isCloseTo(20_000L, within(320L));
+        assertThat(histogram.valueAtQuantile(0.99)).isCloseTo(20_000L, within(320L));
+        assertThat(histogram.valueAtQuantile(0.999)).isCloseTo(500_000L, within(8_000L));
+        assertThat(histogram.valueAtQuantile(1.0)).isEqualTo(2_000_000L);
+        assertThat(new LatencyHistogram().valueAtQuantile(0.99)).isZero();
+    }
+
+    @Test
+    @DisplayName("병합 결과는 두 히스토그램의 합이며 입력은 변경하지 않음")
+    void mergeAddsCounts() {
+        // given
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            fast.record(1_000, 1);
+        }
+        slow.record(800_000, 1);
+
+        // when
+        LatencyHistogram merged = LatencyHistogram.merge(fast, slow);
+
+        // then
+        assertThat(merged.getTotalCount()).isEqualTo(100);
+        assertThat(merged.valueAtQuantile(0.99)).isCloseTo(1_000L, within(16L));
+        assertThat(merged.valueAtQuantile(0.999)).isCloseTo(800_000L, within(12_500L));
+        assertThat(merged.getMaxMicros()).isEqualTo(800_000L);
+        assertThat(fast.getTotalCount()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("직렬화 후에도 같은 분위수를 유지하고 잘못된 입력은 거부")
+    void serializationRoundTrip() {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 37L, 1 + i % 3);
+        }
+
+        // when
+        byte[] bytes = histogram.toBytes();
+        LatencyHistogram restored = LatencyHistogram.fromBytes(bytes);
+
+        // then
+        assertThat(bytes.length).isLessThan(LatencyHistogram.BUCKET_COUNT * 8);
+        assertThat(restored.getTotalCount()).isEqualTo(histogram.getTotalCount());
+        assertThat(restored.getMeanMicros()).isEqualTo(histogram.getMeanMicros());
+        assertThat(restored.valueAtQuantile(0.999)).isEqualTo(histogram.valueAtQuantile(0.999));
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(new byte[] {1, 0, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyHistogram.fromBytes(new byte[] {9}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,139 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.waflog.stats.SpaceSavingSketch.HeavyHitter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SpaceSavingSketch 단위 테스트
+ */
+@DisplayName("Space-Saving 상위 빈도 스케치 테스트")
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("카운터가 남아 있으면 정확한 빈도를 오차 없이 유지")
+    void exactWhileNotFull() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+
+        // when
+        offer(sketch, "10.0.0.1", 5);
+        offer(sketch, "10.0.0.2", 3);
+        offer(sketch, "10.0.0.3", 7);
+
+        // then
+        assertThat(sketch.top(2)).containsExactly(
+            new HeavyHitter("10.0.0.3", 7, 0),
+            new HeavyHitter("10.0.0.1", 5, 0));
+        assertThat(sketch.getTotal()).isEqualTo(15);
+        assertThat(sketch.getMaxError()).isZero();
+    }
+
+    @Test
+    @DisplayName("가득 차면 가장 작은 카운터를 넘겨받고 넘겨받은 값을 오차로 기록")
+    void replacesMinimumCounter() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        offer(sketch, "a", 5);
+        offer(sketch, "b", 3);
+
+        // when
+        offer(sketch, "c", 1);
+
+        // then
+        assertThat(sketch.top(10)).containsExactly(
+            new HeavyHitter("a", 5, 0),
+            new HeavyHitter("c", 4, 3));
+        assertThat(sketch.getMaxError()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("병합 시 한쪽에만 있는 항목은 다른 쪽의 미추적 상한을 더해 상한을 유지")
+    void mergeKeepsUpperBounds() {
+        // given
+        SpaceSavingSketch left = new SpaceSavingSketch(3);
+        offer(left, "a", 10);
+        offer(left, "b", 4);
+        offer(left, "c", 1);
+        offer(left, "d", 1);
+
+        SpaceSavingSketch right = new SpaceSavingSketch(3);
+        offer(right, "a", 2);
+        offer(right, "e", 6);
+
+        // when
+        SpaceSavingSketch merged = SpaceSavingSketch.merge(left, right);
+
+        // then
+        assertThat(merged.top(10)).containsExactly(
+            new HeavyHitter("a", 12, 0),
+            new HeavyHitter("e", 8, 2),
+            new HeavyHitter("b", 4, 0));
+        assertThat(merged.getTotal()).isEqualTo(24);
+        assertThat(merged.getMaxError()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("치우친 스트림에서 모든 항목의 실제 빈도가 보장 범위 안에 있음")
+    void boundsHoldOnSkewedStream() {
+        // given
+        Random random = new Random(42);
+        Map<String, Long> actual = new HashMap<>();
+        SpaceSavingSketch first = new SpaceSavingSketch(20);
+        SpaceSavingSketch second = new SpaceSavingSketch(20);
+
+        // when: 두 노드가 스트림을 나눠 받은 뒤 병합
+        for (int i = 0; i < 20_000; i++) {
+            String ip = "10.0." + (int) Math.floor(Math.pow(random.nextDouble(), 3) * 200);
+            actual.merge(ip, 1L, Long::sum);
+            (i % 2 == 0 ? first : second).offer(ip, 1);
+        }
+        SpaceSavingSketch merged = SpaceSavingSketch.merge(first, second);
+
+        // then
+        Map<String, HeavyHitter> listed = new HashMap<>();
+        merged.top(20).forEach(hitter -> listed.put(hitter.getValue(), hitter));
+        actual.forEach((ip, count) -> {
+            HeavyHitter hitter = listed.get(ip);
+            if (hitter != null) {
+                assertThat(count).isBetween(hitter.getGuaranteedCount(), hitter.getCount());
+            } else {
+                assertThat(count).isLessThanOrEqualTo(merged.getMaxError());
+            }
+        });
+        assertThat(listed).containsKey("10.0.0");
+    }
+
+    @Test
+    @DisplayName("직렬화 후 복원하면 같은 항목과 오차 상한을 유지")
+    void serializationRoundTrip() {
+        // given
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        offer(sketch, "/api/login", 9);
+        offer(sketch, "/admin", 2);
+        offer(sketch, "/사용자", 1);
+
+        // when
+        SpaceSavingSketch restored = SpaceSavingSketch.fromBytes(sketch.toBytes());
+
+        // then
+        assertThat(restored.top(10)).isEqualTo(sketch.top(10));
+        assertThat(restored.getTotal()).isEqualTo(12);
+        assertThat(restored.getMaxError()).isEqualTo(sketch.getMaxError());
+        assertThatThrownBy(() -> SpaceSavingSketch.fromBytes(new byte[] {9, 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void offer(SpaceSavingSketch sketch, String item, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.offer(item, 1);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.event.AccessLogEvent;
+import dev.waf.console.waflog.domain.WAFLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * WAFDistinctTracker 단위 테스트
+ */
+@DisplayName("고유 IP/세션 추적기 테스트")
+class WAFDistinctTrackerTest {
+
+    private final WAFDistinctTracker tracker = new WAFDistinctTracker(mock(WAFLogSketchExchange.class), 12);
+
+    @Test
+    @DisplayName("샘플링 전 로그로 전수 집계하고, 같은 요청이 Kafka 접근 로그로 다시 들어와도 고유 수는 그대로")
+    void countsCapturedLogsBeforeSampling() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 2000; i++) {
+            tracker.record(log("10.0." + (i / 256) + "." + (i % 256), now));
+        }
+        long beforeKafka = tracker.distinct(WAFDistinctTracker.Metric.CLIENT_IP, 60);
+
+        // when: 샘플링으로 일부만 저장되어 발행된 접근 로그
+        for (int i = 0; i < 2000; i += 20) {
+            tracker.record(AccessLogEvent.builder().clientIp("10.0." + (i / 256) + "." + (i % 256)).build());
+        }
+
+        // then
+        assertThat(beforeKafka).isBetween(1900L, 2100L);
+        assertThat(tracker.distinct(WAFDistinctTracker.Metric.CLIENT_IP, 60)).isEqualTo(beforeKafka);
+        assertThat(tracker.distinct(WAFDistinctTracker.Metric.ATTACKER_IP, 60)).isZero();
+    }
+
+    private static WAFLog log(String sourceIp, LocalDateTime timestamp) {
+        return WAFLog.builder()
+            .sourceIp(sourceIp)
+            .httpMethod("GET")
+            .requestUri("/api/test")
+            .status(WAFLog.LogStatus.SUCCESS)
+            .timestamp(timestamp)
+            .build();
+    }
+}
@@ -0,0 +1,105 @@
+package dev.waf.console.waflog.stats;
+
+import dev.waf.console.waflog.domain.WAFLog;
+import dev.waf.console.waflog.domain.WAFLog.LogStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * WAFLogSlidingWindow 단위 테스트
+ */
+@DisplayName("WAF 로그 슬라이딩 윈도우 집계 테스트")
+class WAFLogSlidingWindowTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 10, 14, 30, 20);
+
+    @Test
+    @DisplayName("상태별 건수, 차단 공격 유형, 응답 시간을 샘플 가중치를 반영해 합산")
+    void totals() {
+        // given
+        WAFLogSlidingWindow window = new WAFLogSlidingWindow(60);
+        window.record(log(NOW.minusSeconds(5), LogStatus.SUCCESS, null, 10L, 5), NOW);
+        window.record(log(NOW.minusMinutes(3), LogStatus.SUCCESS, null, 40L, null), NOW);
+        window.record(log(NOW.minusMinutes(10), LogStatus.BLOCKED, "XSS", null, null), NOW);
+        window.record(log(NOW.minusMinutes(10), LogStatus.BLOCKED, null, null, null), NOW);
+
+        // when
+        WAFLogSlidingWindow.Totals totals = window.totals(NOW, 60);
+
+        // then
+        assertThat(totals.getStatusCounts())
+            .containsEntry(LogStatus.SUCCESS, 6L)
+            .containsEntry(LogStatus.BLOCKED, 2L)
+            .containsEntry(LogStatus.ERROR, 0L);
+        assertThat(totals.getBlockedByAttackType())
+            .containsEntry("XSS", 1L)
+            .containsEntry("UNKNOWN", 1L);
+        assertThat(totals.getAverageResponseTimeMs()).isEqualTo((10.0 * 5 + 40) / 6);
+    }
+
+    @Test
+    @DisplayName("조회 구간 밖의 분 구간은 합산하지 않음")
+    void totalsWithinSpan() {
+        // given
+        WAFLogSlidingWindow window = new WAFLogSlidingWindow(60);
+        window.record(log(NOW, LogStatus.ERROR, null, 100L, null), NOW);
+        window.record(log(NOW.minusMinutes(5), LogStatus.ERROR, null, 300L, null), NOW);
+
+        // when
+        WAFLogSlidingWindow.Totals lastMinutes = window.totals(NOW, 5);
+
+        // then
+        assertThat(lastMinutes.getStatusCounts()).containsEntry(LogStatus.ERROR, 1L);
+        assertThat(lastMinutes.getAverageResponseTimeMs()).isEqualTo(100.0);
+        assertThat(window.totals(NOW, 6).getStatusCounts()).containsEntry(LogStatus.ERROR, 2L);
+    }
+
+    @Test
+    @DisplayName("창이 한 바퀴 돌면 이전 분 구간을 새 구간으로 교체")
+    void evictsExpiredMinutes() {
+        // given
+        WAFLogSlidingWindow window = new WAFLogSlidingWindow(60);
+        window.record(log(NOW, LogStatus.SUCCESS, null, null, null), NOW);
+
+        // when: 60분 뒤 같은 슬롯에 기록
+        LocalDateTime later = NOW.plusMinutes(60);
+        window.record(log(later, LogStatus.WARNING, null, null, null), later);
+        window.record(log(NOW, LogStatus.SUCCESS, null, null, null), later);
+
+        // then: 만료된 분의 기록은 버려지고 새 구간만 남음
+        WAFLogSlidingWindow.Totals totals = window.totals(later, 60);
+        assertThat(totals.getStatusCounts())
+            .containsEntry(LogStatus.SUCCESS, 0L)
+            .containsEntry(LogStatus.WARNING, 1L);
+        assertThat(totals.getAverageResponseTimeMs()).isNull();
+    }
+
+    @Test
+    @DisplayName("현재보다 미래인 로그는 현재 분 구간에 반영")
+    void futureTimestampCountsAsCurrentMinute() {
+        // given
+        WAFLogSlidingWindow window = new WAFLogSlidingWindow(60);
+
+        // when
+        window.add(NOW.plusMinutes(3), LogStatus.BLOCKED, "", 7, 0, 0, NOW);
+
+        // then
+        assertThat(window.totals(NOW, 1).getStatusCounts()).containsEntry(LogStatus.BLOCKED, 7L);
+        assertThat(window.totals(NOW, 1).getBlockedByAttackType()).containsEntry("UNKNOWN", 7L);
+    }
+
+    private WAFLog log(LocalDateTime timestamp, LogStatus status, String attackType, Long responseTimeMs,
+                       Integer sampleWeight) {
+        return WAFLog.builder()
+            .timestamp(timestamp)
+            .status(status)
+            .attackType(attackType)
+            .responseTimeMs(responseTimeMs)
+            .sampleWeight(sampleWeight)
+            .build();
+    }
+}
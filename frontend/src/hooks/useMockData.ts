@@ -7,7 +7,14 @@ const mockWAFStats = {
   allowedRequests: 12613,
   blockRate: 1.8,
   avgResponseTime: 145,
-  uptime: 2847392000 // milliseconds
+  p50ResponseTime: 92,
+  p90ResponseTime: 310,
+  p99ResponseTime: 870,
+  p999ResponseTime: 1950,
+  uptime: 2847392000, // milliseconds
+  uniqueVisitors: 1873,
+  uniqueAttackers: 57,
+  uniqueSessions: 2410
 };
 
 const mockWAFStatus = {
@@ -24,7 +31,13 @@ const mockTrafficData = Array.from({ length: 24 }, (_, i) => ({
   totalRequests: Math.floor(Math.random() * 500) + 100,
   blockedRequests: Math.floor(Math.random() * 50) + 5,
   allowedRequests: Math.floor(Math.random() * 450) + 95,
-  responseTime: Math.floor(Math.random() * 200) + 50
+  responseTime: Math.floor(Math.random() * 200) + 50,
+  p50ResponseTime: Math.floor(Math.random() * 100) + 20,
+  p90ResponseTime: Math.floor(Math.random() * 300) + 150,
+  p99ResponseTime: Math.floor(Math.random() * 800) + 400,
+  p999ResponseTime: Math.floor(Math.random() * 2000) + 1000,
+  uniqueVisitors: Math.floor(Math.random() * 120) + 20,
+  uniqueAttackers: Math.floor(Math.random() * 10) + 1
 }));
 
 const mockRecentAttacks = Array.from({ length: 10 }, (_, i) => ({
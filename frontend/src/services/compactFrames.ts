@@ -0,0 +1,88 @@
+import { TrafficDelta } from '../types/waf';
+
+/**
+ * 대시보드 압축 프레임 디코더
+ *
+ * 구독 시 `format: compact` 헤더를 주면 서버가 필요한 필드만 열 단위로 담은 프레임을 보냅니다.
+ * - 문자열 열은 프레임별 사전(dict) 인덱스
+ * - 타임스탬프는 t0(epoch ms)와 직전 값과의 차이(dt)
+ * 디코딩 결과는 기존 JSON 이벤트와 같은 필드 이름을 사용합니다.
+ */
+
+export const COMPACT_SUBSCRIBE_HEADERS = { format: 'compact' };
+
+interface CompactAttackBatch {
+  v: number;
+  n: number;
+  t0: number | null;
+  dt: (number | null)[];
+  dict: string[];
+  id: (string | null)[];
+  type: (number | null)[];
+  ip: (number | null)[];
+  url: (number | null)[];
+  method: (number | null)[];
+  rule: (number | null)[];
+  ruleName: (number | null)[];
+  risk: (number | null)[];
+  blocked: (number | null)[];
+  geo: (number | null)[];
+}
+
+interface CompactTraffic {
+  v: number;
+  t0: number | null;
+  dur: number | null;
+  n: number;
+  s: Record<string, number>;
+  uri: string[];
+  uc: number[];
+  o: number;
+  lat: [number, number, number, number];
+}
+
+export const isCompactFrame = (body: unknown): boolean =>
+  typeof body === 'object' && body !== null && !Array.isArray(body) && 'v' in body;
+
+export const decodeCompactAttacks = (frame: CompactAttackBatch) => {
+  const lookup = (index: number | null) => (index === null ? null : frame.dict[index]);
+  const attacks = [];
+  let previous = frame.t0 ?? 0;
+
+  for (let i = 0; i < frame.n; i++) {
+    const delta = frame.dt[i];
+    let timestamp: string | null = null;
+    if (delta !== null) {
+      previous += delta;
+      timestamp = new Date(previous).toISOString();
+    }
+
+    attacks.push({
+      eventId: frame.id[i],
+      timestamp,
+      attackType: lookup(frame.type[i]),
+      sourceIp: lookup(frame.ip[i]),
+      targetUrl: lookup(frame.url[i]),
+      httpMethod: lookup(frame.method[i]),
+      ruleId: lookup(frame.rule[i]),
+      ruleName: lookup(frame.ruleName[i]),
+      riskScore: frame.risk[i],
+      blocked: frame.blocked[i] === null ? null : frame.blocked[i] === 1,
+      geoLocation: lookup(frame.geo[i]),
+    });
+  }
+  return attacks;
+};
+
+export const decodeCompactTraffic = (frame: CompactTraffic): TrafficDelta => ({
+  windowStart: frame.t0 !== null ? new Date(frame.t0).toISOString() : '',
+  windowEnd: frame.t0 !== null && frame.dur !== null ? new Date(frame.t0 + frame.dur).toISOString() : '',
+  totalRequests: frame.n,
+  statusCounts: frame.s,
+  topUris: frame.uri.map((uri, i) => ({ uri, count: frame.uc[i] })),
+  otherUriRequests: frame.o,
+  avgResponseTime: frame.lat[0],
+  p50ResponseTime: frame.lat[1],
+  p99ResponseTime: frame.lat[2],
+  maxResponseTime: frame.lat[3],
+});
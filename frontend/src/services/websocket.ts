@@ -1,5 +1,11 @@
 import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
+import {
+  COMPACT_SUBSCRIBE_HEADERS,
+  decodeCompactAttacks,
+  decodeCompactTraffic,
+  isCompactFrame,
+} from './compactFrames';
 
 type WebSocketEventHandler = (data: any) => void;
 
@@ -96,25 +102,26 @@ class WAFWebSocket {
   private subscribeToTopics(): void {
     if (!this.client) return;
 
-    // 공격 이벤트 구독
+    // 공격 이벤트 구독 (서버가 짧은 주기로 모아 전송, 압축 프레임 요청)
     this.client.subscribe('/topic/dashboard/attacks', (message: IMessage) => {
       try {
-        const attack = JSON.parse(message.body);
-        this.emit('attackBlocked', attack);
+        const body = JSON.parse(message.body);
+        const attacks = isCompactFrame(body) ? decodeCompactAttacks(body) : Array.isArray(body) ? body : [body];
+        attacks.forEach((attack) => this.emit('attackBlocked', attack));
       } catch (error) {
         console.error('Failed to parse attack event:', error);
       }
-    });
+    }, COMPACT_SUBSCRIBE_HEADERS);
 
-    // 트래픽 업데이트 구독
+    // 트래픽 업데이트 구독 (주기별 집계 TrafficDelta, 압축 프레임 요청)
     this.client.subscribe('/topic/dashboard/traffic', (message: IMessage) => {
       try {
-        const traffic = JSON.parse(message.body);
-        this.emit('trafficUpdate', traffic);
+        const body = JSON.parse(message.body);
+        this.emit('trafficUpdate', isCompactFrame(body) ? decodeCompactTraffic(body) : body);
       } catch (error) {
         console.error('Failed to parse traffic update:', error);
       }
-    });
+    }, COMPACT_SUBSCRIBE_HEADERS);
 
     // 통계 업데이트 구독
     this.client.subscribe('/topic/dashboard/stats', (message: IMessage) => {
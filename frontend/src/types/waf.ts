@@ -4,7 +4,14 @@ export interface WAFStats {
   allowedRequests: number;
   blockRate: number;
   avgResponseTime: number;
+  p50ResponseTime: number;  // 최근 1시간 응답 시간 분위수 (ms)
+  p90ResponseTime: number;
+  p99ResponseTime: number;
+  p999ResponseTime: number;
   uptime: number;
+  uniqueVisitors: number;   // 최근 24시간 고유 클라이언트 IP (추정치)
+  uniqueAttackers: number;  // 최근 24시간 고유 공격 IP (추정치)
+  uniqueSessions: number;   // 최근 24시간 고유 세션 (추정치)
 }
 
 export interface WAFStatus {
@@ -42,6 +49,26 @@ export interface TrafficData {
   blockedRequests: number;
   allowedRequests: number;
   responseTime: number;
+  p50ResponseTime: number;
+  p90ResponseTime: number;
+  p99ResponseTime: number;
+  p999ResponseTime: number;
+  uniqueVisitors: number;
+  uniqueAttackers: number;
+}
+
+// /topic/dashboard/traffic 주기별 집계 프레임
+export interface TrafficDelta {
+  windowStart: string;
+  windowEnd: string;
+  totalRequests: number;
+  statusCounts: Record<string, number>;
+  topUris: { uri: string; count: number }[];
+  otherUriRequests: number;
+  avgResponseTime: number;
+  p50ResponseTime: number;
+  p99ResponseTime: number;
+  maxResponseTime: number;
 }
 
 export interface AttackEvent {